@@ -0,0 +1,29 @@
+package com.company.admin.archive;
+
+/**
+ * Columns of a month archive file, in the order they are stored within each row
+ * group. Readers decompress only the columns they ask for.
+ */
+public enum ArchiveColumn {
+    /** Attendance id, delta-encoded within the group */
+    ID,
+    /** Employee id, delta-encoded; rows are sorted by it */
+    USER_ID,
+    /** Day of month */
+    DAY,
+    /** Index into the file's status dictionary, -1 for none */
+    STATUS,
+    /** Nano of day, -1 for none */
+    CHECK_IN_TIME,
+    /** Nano of day, -1 for none */
+    CHECK_OUT_TIME,
+    /** NaN for none */
+    TOTAL_HOURS,
+    /** Unscaled value at scale 8, {@link Long#MIN_VALUE} for none */
+    CHECK_IN_LATITUDE,
+    CHECK_IN_LONGITUDE,
+    CHECK_OUT_LATITUDE,
+    CHECK_OUT_LONGITUDE,
+    /** Dictionary of the group's distinct remarks followed by one index per row, -1 for none */
+    REMARKS
+}
@@ -0,0 +1,281 @@
+package com.company.admin.archive;
+
+import com.company.attendance.model.AttendanceStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archive File
+ * Read access to one archived month. The file holds row groups of separately
+ * deflated columns followed by a footer with each group's row count, employee and
+ * day ranges and column positions. Rows are split into blocks of employees, and
+ * each block into one row group per day, rows sorted by employee. Scans skip the
+ * groups whose ranges exclude the requested employee or days, so an employee's
+ * month reads one block and a day reads one group per block, and only decompress
+ * the requested columns. Positional reads make an open file safe to share between
+ * threads; it is reference counted and closes when the last holder closes it.
+ */
+public final class ArchiveFile implements Closeable {
+
+    static final byte[] MAGIC = "ATTARC01".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    /** Footer offset, footer length, footer checksum, magic */
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + MAGIC.length;
+
+    private static final int COLUMN_COUNT = ArchiveColumn.values().length;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final YearMonth month;
+    private final long rowCount;
+    private final AttendanceStatus[] statuses;
+    private final List<RowGroupInfo> rowGroups;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private ArchiveFile(Path path, FileChannel channel, YearMonth month, long rowCount,
+                        AttendanceStatus[] statuses, List<RowGroupInfo> rowGroups) {
+        this.path = path;
+        this.channel = channel;
+        this.month = month;
+        this.rowCount = rowCount;
+        this.statuses = statuses;
+        this.rowGroups = rowGroups;
+    }
+
+    /**
+     * Open an archive file and read its footer; the caller holds the first reference
+     */
+    public static ArchiveFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < MAGIC.length + TRAILER_BYTES) {
+                throw new IOException("Archive file " + path + " is truncated");
+            }
+
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            int footerLength = trailer.getInt();
+            long footerChecksum = trailer.getLong();
+            byte[] magic = new byte[MAGIC.length];
+            trailer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || footerOffset < MAGIC.length
+                    || footerOffset + footerLength != size - TRAILER_BYTES) {
+                throw new IOException("Archive file " + path + " is incomplete or not an archive file");
+            }
+
+            byte[] footer = new byte[footerLength];
+            read(channel, footerOffset, footerLength).get(footer);
+            CRC32 crc = new CRC32();
+            crc.update(footer);
+            if (crc.getValue() != footerChecksum) {
+                throw new IOException("Archive file " + path + " has a corrupt footer");
+            }
+
+            return readFooter(path, channel, new DataInputStream(new ByteArrayInputStream(footer)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowGroupCount() {
+        return rowGroups.size();
+    }
+
+    public long getSize() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Whether a row group may hold rows of the employee (any employee when null)
+     * within the inclusive day-of-month range
+     */
+    public boolean mayContain(int rowGroup, Long userId, int fromDay, int toDay) {
+        RowGroupInfo info = rowGroups.get(rowGroup);
+        return info.maxDay >= fromDay && info.minDay <= toDay
+            && (userId == null || (info.minUserId <= userId && info.maxUserId >= userId));
+    }
+
+    /**
+     * Read the given columns of one row group
+     */
+    public ArchiveRowGroup readRowGroup(int rowGroup, Set<ArchiveColumn> columns) throws IOException {
+        RowGroupInfo info = rowGroups.get(rowGroup);
+        ArchiveRowGroup group = new ArchiveRowGroup(month, info.rows, statuses);
+        for (ArchiveColumn column : columns) {
+            int c = column.ordinal();
+            ByteBuffer chunk = read(channel, info.offsets[c], info.lengths[c]);
+            Inflater inflater = new Inflater();
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                    new ByteArrayInputStream(chunk.array(), chunk.arrayOffset(), info.lengths[c]), inflater, 8192))) {
+                group.readColumn(column, in);
+            } finally {
+                inflater.end();
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Read the given columns of every row group that may hold rows of the employee
+     * (any employee when null) within the inclusive day-of-month range; callers
+     * still filter the rows of each group
+     */
+    public void scan(Long userId, int fromDay, int toDay, Set<ArchiveColumn> columns,
+                     Consumer<ArchiveRowGroup> visitor) throws IOException {
+        for (int g = 0; g < rowGroups.size(); g++) {
+            if (mayContain(g, userId, fromDay, toDay)) {
+                visitor.accept(readRowGroup(g, columns));
+            }
+        }
+    }
+
+    /**
+     * Take another reference to the file, to be dropped with {@link #close()}. Fails
+     * once the last reference is gone and the file closed.
+     */
+    public boolean retain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Drop a reference; the file closes with the last one
+     */
+    @Override
+    public void close() throws IOException {
+        if (references.decrementAndGet() == 0) {
+            channel.close();
+        }
+    }
+
+    private static ArchiveFile readFooter(Path path, FileChannel channel, DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Archive file " + path + " has unsupported version " + version);
+        }
+
+        YearMonth month = YearMonth.of(in.readShort(), in.readByte());
+        long rowCount = in.readLong();
+
+        AttendanceStatus[] statuses = new AttendanceStatus[in.readUnsignedByte()];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = AttendanceStatus.valueOf(in.readUTF());
+        }
+
+        int groupCount = in.readInt();
+        List<RowGroupInfo> rowGroups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            RowGroupInfo info = new RowGroupInfo(in.readInt(), in.readLong(), in.readLong(),
+                in.readUnsignedByte(), in.readUnsignedByte());
+            int columns = in.readUnsignedByte();
+            if (columns != COLUMN_COUNT) {
+                throw new IOException("Archive file " + path + " has " + columns + " columns, expected " + COLUMN_COUNT);
+            }
+            for (int c = 0; c < columns; c++) {
+                info.offsets[c] = in.readLong();
+                info.lengths[c] = in.readInt();
+            }
+            rowGroups.add(info);
+        }
+
+        return new ArchiveFile(path, channel, month, rowCount, statuses, Collections.unmodifiableList(rowGroups));
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Archive file ends before position " + (position + length));
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Write a zigzag-encoded variable-length long; small magnitudes of either sign take one byte
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed variable-length value");
+    }
+
+    /**
+     * Footer entry of one row group
+     */
+    static final class RowGroupInfo {
+        final int rows;
+        final long minUserId;
+        final long maxUserId;
+        final int minDay;
+        final int maxDay;
+        final long[] offsets = new long[COLUMN_COUNT];
+        final int[] lengths = new int[COLUMN_COUNT];
+
+        RowGroupInfo(int rows, long minUserId, long maxUserId, int minDay, int maxDay) {
+            this.rows = rows;
+            this.minUserId = minUserId;
+            this.maxUserId = maxUserId;
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+        }
+    }
+}
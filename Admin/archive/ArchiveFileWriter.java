@@ -0,0 +1,176 @@
+package com.company.admin.archive;
+
+import com.company.attendance.model.AttendanceStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Archive File Writer
+ * Writes one month of attendance rows, sorted by employee and date, in the
+ * {@link ArchiveFile} format. Rows are buffered into blocks of whole employees of
+ * about the row group size; each block is written as one row group per day, and
+ * each group's columns are deflated separately. The footer and trailer are written
+ * and the file forced to disk by {@link #finish()}. A file without its trailer is
+ * never opened, so a writer that fails midway leaves nothing readable behind.
+ */
+class ArchiveFileWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final YearMonth month;
+    private final int rowsPerBlock;
+    private final ArchiveRowGroup block;
+    private final ArchiveRowGroup group;
+    private final List<ArchiveFile.RowGroupInfo> rowGroups = new ArrayList<>();
+
+    private long position;
+    private long rowCount;
+    private long lastUserId;
+
+    ArchiveFileWriter(Path path, YearMonth month, int rowsPerGroup) throws IOException {
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.month = month;
+        this.rowsPerBlock = Math.max(1, rowsPerGroup);
+
+        // Room for the days of the employee that starts just below the block size
+        this.block = new ArchiveRowGroup(month, rowsPerBlock + 31);
+        this.group = new ArchiveRowGroup(month, block.capacity());
+        write(ByteBuffer.wrap(ArchiveFile.MAGIC));
+    }
+
+    /**
+     * Append one row of {@code streamArchiveColumnsByDateRange}
+     */
+    void append(Object[] row) throws IOException {
+        long userId = (Long) row[1];
+        if (block.isFull() || (block.size() >= rowsPerBlock && userId != lastUserId)) {
+            writeBlock();
+        }
+        block.add(row);
+        lastUserId = userId;
+        rowCount++;
+    }
+
+    /**
+     * Write the last row group, the footer and the trailer, and force the file to
+     * disk; returns the number of rows written
+     */
+    long finish() throws IOException {
+        if (block.size() > 0) {
+            writeBlock();
+        }
+
+        byte[] footer = footer();
+        CRC32 crc = new CRC32();
+        crc.update(footer);
+
+        long footerOffset = position;
+        write(ByteBuffer.wrap(footer));
+
+        ByteBuffer trailer = ByteBuffer.allocate(ArchiveFile.TRAILER_BYTES);
+        trailer.putLong(footerOffset).putInt(footer.length).putLong(crc.getValue()).put(ArchiveFile.MAGIC).flip();
+        write(trailer);
+
+        channel.force(true);
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Write the buffered block as one row group per day, rows in employee order
+     */
+    private void writeBlock() throws IOException {
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            for (int i = 0; i < block.size(); i++) {
+                if (block.getDay(i) == day) {
+                    group.add(block, i);
+                }
+            }
+            if (group.size() > 0) {
+                writeRowGroup();
+            }
+        }
+        block.clear();
+    }
+
+    private void writeRowGroup() throws IOException {
+        ArchiveFile.RowGroupInfo info = new ArchiveFile.RowGroupInfo(group.size(),
+            group.getMinUserId(), group.getMaxUserId(), group.getMinDay(), group.getMaxDay());
+
+        for (ArchiveColumn column : ArchiveColumn.values()) {
+            byte[] chunk = compress(column);
+            info.offsets[column.ordinal()] = position;
+            info.lengths[column.ordinal()] = chunk.length;
+            write(ByteBuffer.wrap(chunk));
+        }
+
+        rowGroups.add(info);
+        group.clear();
+    }
+
+    private byte[] compress(ArchiveColumn column) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater, 8192))) {
+            group.writeColumn(column, out);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] footer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(ArchiveFile.VERSION);
+            out.writeShort(month.getYear());
+            out.writeByte(month.getMonthValue());
+            out.writeLong(rowCount);
+
+            // Status codes are ordinals at write time, resolved by name when read
+            AttendanceStatus[] statuses = AttendanceStatus.values();
+            out.writeByte(statuses.length);
+            for (AttendanceStatus status : statuses) {
+                out.writeUTF(status.name());
+            }
+
+            out.writeInt(rowGroups.size());
+            for (ArchiveFile.RowGroupInfo info : rowGroups) {
+                out.writeInt(info.rows);
+                out.writeLong(info.minUserId);
+                out.writeLong(info.maxUserId);
+                out.writeByte(info.minDay);
+                out.writeByte(info.maxDay);
+                out.writeByte(info.offsets.length);
+                for (int c = 0; c < info.offsets.length; c++) {
+                    out.writeLong(info.offsets[c]);
+                    out.writeInt(info.lengths[c]);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.company.admin.archive;
+
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import com.company.attendance.model.embedded.Location;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Archive Row Group
+ * Decoded columns of one row group of an archived month. Only the columns that
+ * were read are available; reading any other column fails.
+ */
+public final class ArchiveRowGroup {
+
+    /** Scale of stored coordinates, matching the attendance location columns */
+    static final int COORDINATE_SCALE = 8;
+
+    private static final long NO_TIME = -1;
+    private static final long NO_COORDINATE = Long.MIN_VALUE;
+    private static final byte NO_STATUS = -1;
+
+    private final YearMonth month;
+    private final AttendanceStatus[] statuses;
+    private int size;
+
+    private long[] ids;
+    private long[] userIds;
+    private byte[] days;
+    private byte[] statusCodes;
+    private long[] checkInTimes;
+    private long[] checkOutTimes;
+    private double[] totalHours;
+    private long[] checkInLatitudes;
+    private long[] checkInLongitudes;
+    private long[] checkOutLatitudes;
+    private long[] checkOutLongitudes;
+    private String[] remarks;
+
+    /**
+     * Group being read, with the status dictionary of its file
+     */
+    ArchiveRowGroup(YearMonth month, int size, AttendanceStatus[] statuses) {
+        this.month = month;
+        this.size = size;
+        this.statuses = statuses;
+    }
+
+    /**
+     * Empty group being written, holding up to the given number of rows
+     */
+    ArchiveRowGroup(YearMonth month, int capacity) {
+        this(month, 0, AttendanceStatus.values());
+        ids = new long[capacity];
+        userIds = new long[capacity];
+        days = new byte[capacity];
+        statusCodes = new byte[capacity];
+        checkInTimes = new long[capacity];
+        checkOutTimes = new long[capacity];
+        totalHours = new double[capacity];
+        checkInLatitudes = new long[capacity];
+        checkInLongitudes = new long[capacity];
+        checkOutLatitudes = new long[capacity];
+        checkOutLongitudes = new long[capacity];
+        remarks = new String[capacity];
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    public long getUserId(int row) {
+        return userIds[row];
+    }
+
+    public int getDay(int row) {
+        return days[row];
+    }
+
+    public LocalDate getDate(int row) {
+        return month.atDay(days[row]);
+    }
+
+    public AttendanceStatus getStatus(int row) {
+        return statusCodes[row] != NO_STATUS ? statuses[statusCodes[row]] : null;
+    }
+
+    public LocalTime getCheckInTime(int row) {
+        return timeOf(checkInTimes[row]);
+    }
+
+    public LocalTime getCheckOutTime(int row) {
+        return timeOf(checkOutTimes[row]);
+    }
+
+    /**
+     * Total hours, NaN when the record has none
+     */
+    public double getHours(int row) {
+        return totalHours[row];
+    }
+
+    public Double getTotalHours(int row) {
+        return Double.isNaN(totalHours[row]) ? null : totalHours[row];
+    }
+
+    public Location getCheckInLocation(int row) {
+        return locationOf(checkInLatitudes[row], checkInLongitudes[row]);
+    }
+
+    public Location getCheckOutLocation(int row) {
+        return locationOf(checkOutLatitudes[row], checkOutLongitudes[row]);
+    }
+
+    public String getRemarks(int row) {
+        return remarks[row];
+    }
+
+    /**
+     * Whether a row belongs to the employee (any employee when null) and lies
+     * within the inclusive day-of-month range
+     */
+    public boolean matches(int row, Long userId, int fromDay, int toDay) {
+        return days[row] >= fromDay && days[row] <= toDay && (userId == null || userIds[row] == userId);
+    }
+
+    /**
+     * A detached attendance record of a row; needs every column
+     */
+    public Attendance toAttendance(int row) {
+        Attendance attendance = Attendance.builder()
+            .id(ids[row])
+            .userId(userIds[row])
+            .date(getDate(row))
+            .build();
+        attendance.setAttendanceStatus(getStatus(row));
+        attendance.setCheckInTime(getCheckInTime(row));
+        attendance.setCheckOutTime(getCheckOutTime(row));
+        attendance.setTotalHours(getTotalHours(row));
+        attendance.setCheckInLocation(getCheckInLocation(row));
+        attendance.setCheckOutLocation(getCheckOutLocation(row));
+        attendance.setRemarks(remarks[row]);
+        return attendance;
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    /**
+     * Append a copy of a row of another group being written
+     */
+    void add(ArchiveRowGroup from, int row) {
+        int i = size++;
+        ids[i] = from.ids[row];
+        userIds[i] = from.userIds[row];
+        days[i] = from.days[row];
+        statusCodes[i] = from.statusCodes[row];
+        checkInTimes[i] = from.checkInTimes[row];
+        checkOutTimes[i] = from.checkOutTimes[row];
+        totalHours[i] = from.totalHours[row];
+        checkInLatitudes[i] = from.checkInLatitudes[row];
+        checkInLongitudes[i] = from.checkInLongitudes[row];
+        checkOutLatitudes[i] = from.checkOutLatitudes[row];
+        checkOutLongitudes[i] = from.checkOutLongitudes[row];
+        remarks[i] = from.remarks[row];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Append one row of the archive column query: id, userId, date, status,
+     * check-in and check-out time, total hours, check-in latitude and longitude,
+     * check-out latitude and longitude, remarks
+     */
+    void add(Object[] row) {
+        int i = size++;
+        ids[i] = (Long) row[0];
+        userIds[i] = (Long) row[1];
+        days[i] = (byte) ((LocalDate) row[2]).getDayOfMonth();
+        statusCodes[i] = row[3] != null ? (byte) ((AttendanceStatus) row[3]).ordinal() : NO_STATUS;
+        checkInTimes[i] = row[4] != null ? ((LocalTime) row[4]).toNanoOfDay() : NO_TIME;
+        checkOutTimes[i] = row[5] != null ? ((LocalTime) row[5]).toNanoOfDay() : NO_TIME;
+        totalHours[i] = row[6] != null ? (Double) row[6] : Double.NaN;
+        checkInLatitudes[i] = coordinateOf((BigDecimal) row[7]);
+        checkInLongitudes[i] = coordinateOf((BigDecimal) row[8]);
+        checkOutLatitudes[i] = coordinateOf((BigDecimal) row[9]);
+        checkOutLongitudes[i] = coordinateOf((BigDecimal) row[10]);
+        remarks[i] = (String) row[11];
+    }
+
+    void writeColumn(ArchiveColumn column, DataOutputStream out) throws IOException {
+        switch (column) {
+            case ID -> writeDeltas(out, ids);
+            case USER_ID -> writeDeltas(out, userIds);
+            case DAY -> out.write(days, 0, size);
+            case STATUS -> out.write(statusCodes, 0, size);
+            case CHECK_IN_TIME -> writeVarLongs(out, checkInTimes);
+            case CHECK_OUT_TIME -> writeVarLongs(out, checkOutTimes);
+            case TOTAL_HOURS -> {
+                for (int i = 0; i < size; i++) {
+                    out.writeDouble(totalHours[i]);
+                }
+            }
+            case CHECK_IN_LATITUDE -> writeLongs(out, checkInLatitudes);
+            case CHECK_IN_LONGITUDE -> writeLongs(out, checkInLongitudes);
+            case CHECK_OUT_LATITUDE -> writeLongs(out, checkOutLatitudes);
+            case CHECK_OUT_LONGITUDE -> writeLongs(out, checkOutLongitudes);
+            case REMARKS -> writeRemarks(out);
+        }
+    }
+
+    void readColumn(ArchiveColumn column, DataInputStream in) throws IOException {
+        switch (column) {
+            case ID -> ids = readDeltas(in);
+            case USER_ID -> userIds = readDeltas(in);
+            case DAY -> {
+                days = new byte[size];
+                in.readFully(days);
+            }
+            case STATUS -> {
+                statusCodes = new byte[size];
+                in.readFully(statusCodes);
+            }
+            case CHECK_IN_TIME -> checkInTimes = readVarLongs(in);
+            case CHECK_OUT_TIME -> checkOutTimes = readVarLongs(in);
+            case TOTAL_HOURS -> {
+                totalHours = new double[size];
+                for (int i = 0; i < size; i++) {
+                    totalHours[i] = in.readDouble();
+                }
+            }
+            case CHECK_IN_LATITUDE -> checkInLatitudes = readLongs(in);
+            case CHECK_IN_LONGITUDE -> checkInLongitudes = readLongs(in);
+            case CHECK_OUT_LATITUDE -> checkOutLatitudes = readLongs(in);
+            case CHECK_OUT_LONGITUDE -> checkOutLongitudes = readLongs(in);
+            case REMARKS -> remarks = readRemarks(in);
+        }
+    }
+
+    long getMinUserId() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, userIds[i]);
+        }
+        return min;
+    }
+
+    long getMaxUserId() {
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, userIds[i]);
+        }
+        return max;
+    }
+
+    int getMinDay() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, days[i]);
+        }
+        return min;
+    }
+
+    int getMaxDay() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, days[i]);
+        }
+        return max;
+    }
+
+    private void writeDeltas(DataOutputStream out, long[] values) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            ArchiveFile.writeVarLong(out, values[i] - previous);
+            previous = values[i];
+        }
+    }
+
+    private long[] readDeltas(DataInputStream in) throws IOException {
+        long[] values = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += ArchiveFile.readVarLong(in);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private void writeVarLongs(DataOutputStream out, long[] values) throws IOException {
+        for (int i = 0; i < size; i++) {
+            ArchiveFile.writeVarLong(out, values[i]);
+        }
+    }
+
+    private long[] readVarLongs(DataInputStream in) throws IOException {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ArchiveFile.readVarLong(in);
+        }
+        return values;
+    }
+
+    private void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (int i = 0; i < size; i++) {
+            out.writeLong(values[i]);
+        }
+    }
+
+    private long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    /**
+     * The group's distinct remarks, then each row's index into them (-1 for none)
+     */
+    private void writeRemarks(DataOutputStream out) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = remarks[i] != null ? dictionary.computeIfAbsent(remarks[i], r -> dictionary.size()) : -1;
+        }
+
+        ArchiveFile.writeVarLong(out, dictionary.size());
+        for (String remark : dictionary.keySet()) {
+            byte[] bytes = remark.getBytes(StandardCharsets.UTF_8);
+            ArchiveFile.writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+        for (int index : indexes) {
+            ArchiveFile.writeVarLong(out, index);
+        }
+    }
+
+    private String[] readRemarks(DataInputStream in) throws IOException {
+        String[] dictionary = new String[(int) ArchiveFile.readVarLong(in)];
+        for (int d = 0; d < dictionary.length; d++) {
+            byte[] bytes = new byte[(int) ArchiveFile.readVarLong(in)];
+            in.readFully(bytes);
+            dictionary[d] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            int index = (int) ArchiveFile.readVarLong(in);
+            values[i] = index >= 0 ? dictionary[index] : null;
+        }
+        return values;
+    }
+
+    private static long coordinateOf(BigDecimal value) {
+        return value != null
+            ? value.setScale(COORDINATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+            : NO_COORDINATE;
+    }
+
+    private static Location locationOf(long latitude, long longitude) {
+        if (latitude == NO_COORDINATE || longitude == NO_COORDINATE) {
+            return null;
+        }
+        return Location.builder()
+            .latitude(BigDecimal.valueOf(latitude, COORDINATE_SCALE))
+            .longitude(BigDecimal.valueOf(longitude, COORDINATE_SCALE))
+            .build();
+    }
+
+    private static LocalTime timeOf(long nanoOfDay) {
+        return nanoOfDay != NO_TIME ? LocalTime.ofNanoOfDay(nanoOfDay) : null;
+    }
+}
@@ -0,0 +1,351 @@
+package com.company.admin.archive;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.model.ArchivedMonth;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.repository.AttendanceArchiveRepository;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Attendance Archive
+ * Read access to closed months that were moved out of the attendance table into
+ * archive files. The set of archived months is reloaded from the database at
+ * startup, after local archiving and periodically, so months archived by another
+ * node are picked up before their rows are purged. Files are opened on first use
+ * and kept open; every read holds a reference to its file, so a file replaced by a
+ * refresh closes once the reads still scanning it are done. The archive directory
+ * must be configured, and shared by every node, whenever archiving is enabled or
+ * any month is archived.
+ */
+@Component
+@Slf4j
+public class AttendanceArchive {
+
+    public static final Set<ArchiveColumn> ALL_COLUMNS = EnumSet.allOf(ArchiveColumn.class);
+
+    private static final Set<ArchiveColumn> ROLLUP_COLUMNS =
+        EnumSet.of(ArchiveColumn.USER_ID, ArchiveColumn.STATUS, ArchiveColumn.TOTAL_HOURS);
+
+    private final AttendanceArchiveRepository archiveRepository;
+    private final AdminAttendanceProperties.Archive config;
+
+    private final Map<YearMonth, ArchiveFile> files = new ConcurrentHashMap<>();
+    private volatile Map<YearMonth, ArchivedMonth> readable = Map.of();
+
+    public AttendanceArchive(AttendanceArchiveRepository archiveRepository, AdminAttendanceProperties properties) {
+        this.archiveRepository = archiveRepository;
+        this.config = properties.getArchive();
+        if (config.isEnabled() && config.getDir() == null) {
+            throw new IllegalStateException(
+                "admin.attendance.archive.dir must be set to a directory shared by every node when archiving is enabled");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.attendance.archive.refresh-interval-ms:60000}",
+               initialDelayString = "${admin.attendance.archive.refresh-interval-ms:60000}")
+    public void refresh() {
+        Map<YearMonth, ArchivedMonth> months = new TreeMap<>();
+        for (ArchivedMonth month : archiveRepository.findAll()) {
+            if (month.isReadable()) {
+                months.put(month.getMonth(), month);
+            }
+        }
+        if (config.getDir() == null && !months.isEmpty()) {
+            throw new IllegalStateException("admin.attendance.archive.dir must be set: " + months.size()
+                + " months are archived and can only be read from their files");
+        }
+        Map<YearMonth, ArchivedMonth> previous = readable;
+        readable = months;
+
+        // A month written again has a new file under the same name; reads still holding the old one finish first
+        files.entrySet().removeIf(entry -> {
+            ArchivedMonth before = previous.get(entry.getKey());
+            ArchivedMonth after = months.get(entry.getKey());
+            if (before != null && after != null && Objects.equals(before.getArchivedAt(), after.getArchivedAt())) {
+                return false;
+            }
+            closeQuietly(entry.getValue());
+            return true;
+        });
+        log.debug("Attendance archive holds {} months", months.size());
+    }
+
+    /**
+     * Whether reads of a month are served from its archive file
+     */
+    public boolean isArchived(YearMonth month) {
+        return readable.containsKey(month);
+    }
+
+    /**
+     * Whether any day of the inclusive range lies in an archived month
+     */
+    public boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        for (YearMonth month : readable.keySet()) {
+            if (!month.atEndOfMonth().isBefore(startDate) && !month.atDay(1).isAfter(endDate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Oldest month kept in the attendance table; older months may be archived
+     */
+    public YearMonth getOldestHotMonth() {
+        return YearMonth.now().minusMonths(Math.max(1, config.getHotMonths()) - 1);
+    }
+
+    /**
+     * Refuse writes to a month that is archived or being archived. Only months old
+     * enough to be archived are looked up in the database.
+     */
+    public void checkWritable(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        if (isArchived(month) || (month.isBefore(getOldestHotMonth()) && archiveRepository.exists(month))) {
+            throw new IllegalArgumentException("Attendance of " + month + " is archived and can no longer be changed");
+        }
+    }
+
+    /**
+     * Visit the given columns of every row group of an archived month that may hold
+     * rows of the employee (any employee when null) within the inclusive day range
+     */
+    public void scan(YearMonth month, Long userId, int fromDay, int toDay, Set<ArchiveColumn> columns,
+                     Consumer<ArchiveRowGroup> visitor) {
+        try (ArchiveFile file = acquire(month)) {
+            file.scan(userId, fromDay, toDay, columns, visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived attendance of " + month, e);
+        }
+    }
+
+    /**
+     * Employees with records in an archived month, reading only the employee column
+     */
+    public Roaring64Bitmap employees(YearMonth month) {
+        Roaring64Bitmap employees = new Roaring64Bitmap();
+        scan(month, null, 1, month.lengthOfMonth(), EnumSet.of(ArchiveColumn.USER_ID), group -> {
+            for (int i = 0; i < group.size(); i++) {
+                employees.addLong(group.getUserId(i));
+            }
+        });
+        return employees;
+    }
+
+    /**
+     * The given columns of the row groups of an archived month that may hold rows of
+     * the employee (any employee when null) within the inclusive day range, decoded
+     * one group at a time as the stream is consumed. Callers still filter the rows of
+     * each group, and must close the stream.
+     */
+    public Stream<ArchiveRowGroup> rowGroups(YearMonth month, Long userId, int fromDay, int toDay,
+                                             Set<ArchiveColumn> columns) {
+        ArchiveFile file = acquire(month);
+        return IntStream.range(0, file.getRowGroupCount())
+            .filter(g -> file.mayContain(g, userId, fromDay, toDay))
+            .mapToObj(g -> readRowGroup(file, g, columns))
+            .onClose(() -> closeQuietly(file));
+    }
+
+    /**
+     * Archived records of the employee (every employee when null) within an inclusive
+     * date range, month by month in file order: by date for one employee, by employee
+     * for one day
+     */
+    public List<Attendance> read(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<Attendance> attendances = new ArrayList<>();
+        for (YearMonth month : readable.keySet()) {
+            if (month.atEndOfMonth().isBefore(startDate) || month.atDay(1).isAfter(endDate)) {
+                continue;
+            }
+            int fromDay = startDate.isAfter(month.atDay(1)) ? startDate.getDayOfMonth() : 1;
+            int toDay = endDate.isBefore(month.atEndOfMonth()) ? endDate.getDayOfMonth() : month.lengthOfMonth();
+
+            scan(month, userId, fromDay, toDay, ALL_COLUMNS, group -> {
+                for (int i = 0; i < group.size(); i++) {
+                    if (group.matches(i, userId, fromDay, toDay)) {
+                        attendances.add(group.toAttendance(i));
+                    }
+                }
+            });
+        }
+        return attendances;
+    }
+
+    /**
+     * Every record of an archived month in file order, decoded one row group at a
+     * time; the stream must be closed
+     */
+    public Stream<Attendance> stream(YearMonth month) {
+        return rowGroups(month, null, 1, month.lengthOfMonth(), ALL_COLUMNS)
+            .flatMap(group -> IntStream.range(0, group.size()).mapToObj(group::toAttendance));
+    }
+
+    /**
+     * Month totals of an archived month, reading only the employee, status and
+     * hours columns
+     */
+    public MonthlyRollup summarize(YearMonth month) {
+        try (ArchiveFile file = acquire(month)) {
+            return summarize(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived attendance of " + month, e);
+        }
+    }
+
+    /**
+     * Month totals of an archive file, such as one just written and not yet in use
+     */
+    public static MonthlyRollup summarize(ArchiveFile file) {
+        YearMonth month = file.getMonth();
+        Map<AttendanceStatus, long[]> records = new EnumMap<>(AttendanceStatus.class);
+        Map<AttendanceStatus, double[]> hours = new EnumMap<>(AttendanceStatus.class);
+        Roaring64Bitmap employees = new Roaring64Bitmap();
+
+        for (int g = 0; g < file.getRowGroupCount(); g++) {
+            ArchiveRowGroup group = readRowGroup(file, g, ROLLUP_COLUMNS);
+            for (int i = 0; i < group.size(); i++) {
+                employees.addLong(group.getUserId(i));
+                AttendanceStatus status = group.getStatus(i);
+                if (status == null) {
+                    continue;
+                }
+                records.computeIfAbsent(status, s -> new long[1])[0]++;
+                double h = group.getHours(i);
+                hours.computeIfAbsent(status, s -> new double[1])[0] += Double.isNaN(h) ? 0 : h;
+            }
+        }
+
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        records.forEach((status, count) -> totals.put(status,
+            new MonthlyRollup.StatusTotals(count[0], hours.get(status)[0])));
+
+        return new MonthlyRollup(month, employees.getLongCardinality(), totals);
+    }
+
+    /**
+     * Write a month's rows, sorted by employee and date, to a new archive file and
+     * move it into place once complete and on disk. Returns the opened file.
+     */
+    public ArchiveFile write(YearMonth month, String fileName, Iterator<Object[]> rows) throws IOException {
+        Path dir = config.getDir();
+        Files.createDirectories(dir);
+        Path target = dir.resolve(fileName);
+        Path partial = dir.resolve(fileName + ".partial");
+
+        try (ArchiveFileWriter writer = new ArchiveFileWriter(partial, month, config.getRowsPerGroup())) {
+            while (rows.hasNext()) {
+                writer.append(rows.next());
+            }
+            writer.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(dir);
+        return ArchiveFile.open(target);
+    }
+
+    /**
+     * File name of a month's archive
+     */
+    public static String fileName(YearMonth month) {
+        return "attendance-" + month + ".arc";
+    }
+
+    /**
+     * Archived months and their file sizes and row counts
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        readable.forEach((month, archived) -> statistics.put(month.toString(),
+            Map.of("rows", archived.getRowCount(), "bytes", archived.getFileBytes(), "open", files.containsKey(month))));
+        return statistics;
+    }
+
+    /**
+     * The open file of an archived month with a reference taken for the caller, who
+     * closes it when done
+     */
+    private ArchiveFile acquire(YearMonth month) {
+        while (true) {
+            ArchivedMonth archived = readable.get(month);
+            if (archived == null) {
+                throw new IllegalStateException("Attendance of " + month + " is not archived");
+            }
+            ArchiveFile file = files.computeIfAbsent(month, m -> {
+                try {
+                    return ArchiveFile.open(config.getDir().resolve(archived.getFileName()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to open archived attendance of " + month, e);
+                }
+            });
+            // Closed by a refresh in between; open the current file
+            if (file.retain()) {
+                return file;
+            }
+            files.remove(month, file);
+        }
+    }
+
+    private static ArchiveRowGroup readRowGroup(ArchiveFile file, int rowGroup, Set<ArchiveColumn> columns) {
+        try {
+            return file.readRowGroup(rowGroup, columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived attendance of " + file.getMonth(), e);
+        }
+    }
+
+    /**
+     * Make the rename durable; not every platform can open a directory, which is ignored
+     */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not force archive directory {}", dir, e);
+        }
+    }
+
+    private static void closeQuietly(ArchiveFile file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.warn("Failed to close archive file {}", file.getPath(), e);
+        }
+    }
+}
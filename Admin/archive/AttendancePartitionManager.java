@@ -0,0 +1,122 @@
+package com.company.admin.archive;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Attendance Partition Manager
+ * Maintains the monthly range partitions of the attendance table on PostgreSQL,
+ * once the table has been converted with
+ * db/partitioning/attendance_monthly_partitions_postgresql.sql. Partitions of the
+ * coming months are created ahead of their first rows, and a purged month's
+ * partition is dropped instead of deleting its rows. Admin queries bound every
+ * scan by a date range, so the planner only visits the partitions of the months
+ * they cover. On an unpartitioned table or another database it does nothing.
+ */
+@Component
+@Slf4j
+public class AttendancePartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AdminAttendanceProperties.Partitioning config;
+
+    private volatile Boolean partitioned;
+
+    public AttendancePartitionManager(JdbcTemplate jdbcTemplate, AdminAttendanceProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = properties.getPartitioning();
+    }
+
+    /**
+     * Whether partitioning is enabled and the attendance table is partitioned
+     */
+    public boolean isPartitioned() {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        Boolean known = partitioned;
+        if (known == null) {
+            known = detect();
+            partitioned = known;
+        }
+        return known;
+    }
+
+    /**
+     * Create the partitions of the current month and the months ahead
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${admin.attendance.partitioning.cron:0 15 0 * * *}")
+    public void createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= config.getMonthsAhead(); i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    /**
+     * Create a month's partition unless it exists
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF attendance " +
+            "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Detach and drop a month's partition; false when the month has no partition of
+     * its own and its rows have to be deleted instead
+     */
+    public boolean dropPartition(YearMonth month) {
+        if (!isPartitioned()) {
+            return false;
+        }
+
+        String name = partitionName(month);
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_inherits i " +
+            "JOIN pg_class child ON child.oid = i.inhrelid JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "WHERE parent.relname = 'attendance' AND child.relname = ?",
+            Integer.class, name);
+        if (count == null || count == 0) {
+            return false;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE attendance DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+        log.info("Dropped attendance partition {}", name);
+        return true;
+    }
+
+    /**
+     * Name of a month's partition, as created by the conversion script
+     */
+    static String partitionName(YearMonth month) {
+        return String.format("attendance_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private boolean detect() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+                "WHERE c.relname = 'attendance' AND pg_table_is_visible(c.oid)",
+                Integer.class);
+            boolean result = count != null && count > 0;
+            log.info("Attendance table is {}partitioned", result ? "" : "not ");
+            return result;
+        } catch (DataAccessException e) {
+            log.info("Attendance partitioning unavailable on this database: {}", e.getMessage());
+            return false;
+        }
+    }
+}
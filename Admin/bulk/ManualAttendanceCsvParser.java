@@ -0,0 +1,139 @@
+package com.company.admin.bulk;
+
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Manual Attendance CSV Parser
+ * Parses an uploaded override file with a header row naming the columns
+ * userId, date, status and optionally checkInTime, checkOutTime, remarks.
+ * Rows that cannot be parsed are kept as {@link ParsedRow#getError()} so they
+ * are reported per row instead of failing the upload.
+ */
+public final class ManualAttendanceCsvParser {
+
+    private ManualAttendanceCsvParser() {
+    }
+
+    public static List<ParsedRow> parse(InputStream in, int maxRows) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] header = splitLine(stripBom(headerLine));
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[] {"userid", "date", "status"}) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        List<ParsedRow> rows = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (rows.size() >= maxRows) {
+                throw new IllegalArgumentException("CSV file exceeds the limit of " + maxRows + " rows");
+            }
+            rows.add(parseRow(splitLine(line), columns));
+        }
+        return rows;
+    }
+
+    private static ParsedRow parseRow(String[] fields, Map<String, Integer> columns) {
+        try {
+            String userId = field(fields, columns, "userid");
+            String date = field(fields, columns, "date");
+            String status = field(fields, columns, "status");
+            String checkIn = field(fields, columns, "checkintime");
+            String checkOut = field(fields, columns, "checkouttime");
+
+            return new ParsedRow(ManualAttendanceRequest.builder()
+                .userId(userId != null ? Long.valueOf(userId) : null)
+                .date(date != null ? LocalDate.parse(date) : null)
+                .status(status != null ? AttendanceStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null)
+                .checkInTime(checkIn != null ? LocalTime.parse(checkIn) : null)
+                .checkOutTime(checkOut != null ? LocalTime.parse(checkOut) : null)
+                .remarks(field(fields, columns, "remarks"))
+                .build(), null);
+        } catch (RuntimeException e) {
+            return new ParsedRow(null, "Unparseable row: " + e.getMessage());
+        }
+    }
+
+    private static String field(String[] fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields
+     */
+    private static String[] splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * A parsed request, or the reason the row could not be parsed
+     */
+    @Value
+    public static class ParsedRow {
+        ManualAttendanceRequest request;
+        String error;
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.ExportJobResponse;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.export.job.ExportJobStatus;
+import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AttendanceExportJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Admin Request Coalescer
+ * Front for the month summary and synchronous exports. Identical summary requests
+ * that arrive while one is being computed, or shortly after, share its result
+ * instead of each running the query; every caller gets its own deep copy of the
+ * shared summary. Synchronous exports go through the export job for the same
+ * report over the same data, so identical exports anywhere in the cluster run the
+ * query once and all stream its spool file. Waiting callers hold no transaction.
+ */
+@Component
+@Slf4j
+public class AdminRequestCoalescer {
+
+    private static final long EXPORT_POLL_INTERVAL_MS = 250;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final AdminAttendanceService adminAttendanceService;
+    private final AttendanceExportJobService exportJobService;
+    private final AdminAttendanceProperties.Coalescing config;
+    private final SingleFlight<YearMonth, Map<String, Object>> summaries;
+    private final SingleFlight<String, Optional<ExportJob>> exports;
+
+    public AdminRequestCoalescer(AdminAttendanceService adminAttendanceService,
+                                 AttendanceExportJobService exportJobService,
+                                 AdminAttendanceProperties properties) {
+        this.adminAttendanceService = adminAttendanceService;
+        this.exportJobService = exportJobService;
+        this.config = properties.getCoalescing();
+        this.summaries = new SingleFlight<>(config.getSummaryReuseWindow(), 1_000, config.getWaitTimeout());
+        // One poller per job on this node; the other callers wait on it
+        this.exports = new SingleFlight<>(config.getSummaryReuseWindow(), 1_000, config.getExportWaitTimeout());
+    }
+
+    public Map<String, Object> getAttendanceSummary(int year, int month) {
+        if (!config.isEnabled()) {
+            return adminAttendanceService.getAttendanceSummary(year, month);
+        }
+        return copyOf(summaries.execute(YearMonth.of(year, month),
+            () -> adminAttendanceService.getAttendanceSummary(year, month)));
+    }
+
+    /**
+     * Write the month's report to out, from the shared export job's spool file when
+     * the job completes in time and straight from the database otherwise
+     */
+    public void exportAttendanceReport(int year, int month, String format, OutputStream out) throws IOException {
+        if (!config.isEnabled()) {
+            adminAttendanceService.exportAttendanceReport(year, month, format, out);
+            return;
+        }
+
+        Optional<ExportJob> completed;
+        try {
+            ExportJobResponse job = exportJobService.submit(year, month, format);
+            completed = exports.execute(job.getJobId(), () -> awaitCompleted(job.getJobId()));
+        } catch (TaskRejectedException e) {
+            completed = Optional.empty();
+        }
+
+        if (completed.isPresent()) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(completed.get().getFile()), EXPORT_BUFFER_SIZE)) {
+                in.transferTo(out);
+                return;
+            } catch (NoSuchFileException e) {
+                // Purged since the job completed
+            }
+        }
+
+        log.info("No shared export of {}/{} in {} format available, exporting directly", year, month, format);
+        adminAttendanceService.exportAttendanceReport(year, month, format, out);
+    }
+
+    /**
+     * Forget a month's shared summary, e.g. after it was rebuilt
+     */
+    public void invalidateSummary(int year, int month) {
+        summaries.invalidate(YearMonth.of(year, month));
+    }
+
+    /**
+     * The single-flight groups by endpoint
+     */
+    public Map<String, SingleFlight<?, ?>> getFlights() {
+        Map<String, SingleFlight<?, ?>> flights = new LinkedHashMap<>();
+        flights.put("summary", summaries);
+        flights.put("export", exports);
+        return flights;
+    }
+
+    /**
+     * Executed versus coalesced calls per endpoint
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        getFlights().forEach((name, flight) -> statistics.put(name, flight.getStatistics()));
+        return statistics;
+    }
+
+    /**
+     * Wait for an export job, which may run on any node, to finish. Empty when it
+     * failed or is still running at the export wait timeout.
+     */
+    private Optional<ExportJob> awaitCompleted(String jobId) {
+        long deadline = System.nanoTime() + config.getExportWaitTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<ExportJobStatus> status = exportJobService.getJob(jobId).map(ExportJobResponse::getStatus);
+            if (status.isEmpty() || status.get() == ExportJobStatus.FAILED) {
+                return Optional.empty();
+            }
+            if (status.get() == ExportJobStatus.COMPLETED) {
+                return exportJobService.getCompletedJob(jobId);
+            }
+            try {
+                Thread.sleep(EXPORT_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Copy of a shared summary down to its nested maps and lists, so a caller that
+     * changes its copy does not change anyone else's
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copyOf(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size() * 2);
+            map.forEach((key, nested) -> copy.put(key, copyOf(nested)));
+            return (T) copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(nested -> copy.add(copyOf(nested)));
+            return (T) copy;
+        }
+        return value;
+    }
+}
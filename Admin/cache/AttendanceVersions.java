@@ -0,0 +1,186 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.repository.AttendanceVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attendance Versions
+ * Entity tags for conditional GETs on attendance reads. Each employee-month has a
+ * counter in attendance_version and each day has striped counters in
+ * attendance_day_version, incremented inside every attendance write, so all nodes
+ * derive the same tag from committed state. Day, month and range tags are sums of
+ * their days' counters; a write only updates its employee's stripe of each day.
+ * Tags also carry the employee directory cache period, so directory changes in
+ * enriched responses reach clients within two cache lifetimes, and a node-local
+ * counter of buffered manual marks that only this node overlays on its reads.
+ */
+@Component
+public class AttendanceVersions {
+
+    private static final int MAXIMUM_SCOPES = 100_000;
+
+    private static final Comparator<EmployeeMonthKey> EMPLOYEE_MONTH_ORDER =
+        Comparator.comparing(EmployeeMonthKey::getMonth).thenComparing(EmployeeMonthKey::getEmployeeId);
+
+    private final AttendanceVersionRepository versionRepository;
+    private final TransactionTemplate savepoint;
+    private final long directoryPeriodMillis;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong bufferedSequence = new AtomicLong();
+    private final Counters<EmployeeMonthKey> bufferedEmployeeMonths = new Counters<>();
+    private final Counters<YearMonth> bufferedMonths = new Counters<>();
+
+    public AttendanceVersions(AttendanceVersionRepository versionRepository,
+                              PlatformTransactionManager transactionManager,
+                              AdminAttendanceProperties properties) {
+        this.versionRepository = versionRepository;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.directoryPeriodMillis = Math.max(1, properties.getDirectory().getCacheTtl().toMillis());
+    }
+
+    /**
+     * Runs inside the writing transaction, so versions commit with the rows
+     */
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        Map<LocalDate, Set<Integer>> dayStripes = new TreeMap<>();
+        Set<EmployeeMonthKey> employeeMonths = new TreeSet<>(EMPLOYEE_MONTH_ORDER);
+
+        for (AttendanceChange change : event.getChanges()) {
+            int stripe = AttendanceVersionRepository.dayStripe(change.getUserId());
+            if (change.hasPrevious()) {
+                dayStripes.computeIfAbsent(change.getPreviousDate(), date -> new TreeSet<>()).add(stripe);
+                employeeMonths.add(new EmployeeMonthKey(change.getUserId(), change.getPreviousMonth()));
+            }
+            if (change.hasCurrent()) {
+                dayStripes.computeIfAbsent(change.getDate(), date -> new TreeSet<>()).add(stripe);
+                employeeMonths.add(new EmployeeMonthKey(change.getUserId(), change.getMonth()));
+            }
+        }
+
+        // Sorted, so concurrent writers lock the counters in the same order
+        dayStripes.forEach((date, stripes) -> stripes.forEach(stripe -> incrementDay(date, stripe)));
+        for (EmployeeMonthKey key : employeeMonths) {
+            increment(key.getMonth(), key.getEmployeeId());
+        }
+    }
+
+    /**
+     * Bump the scopes of a write accepted but not committed yet, such as a buffered
+     * manual mark that this node's reads already overlay
+     */
+    public void onBufferedWrite(Long userId, LocalDate date) {
+        long version = bufferedSequence.incrementAndGet();
+        YearMonth month = YearMonth.from(date);
+        bufferedEmployeeMonths.bump(new EmployeeMonthKey(userId, month), version);
+        bufferedMonths.bump(month, version);
+    }
+
+    public String employeeMonthVersion(Long employeeId, YearMonth month) {
+        return employeeRangeVersion(employeeId, month, month);
+    }
+
+    public String employeeRangeVersion(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return employeeRangeVersion(employeeId, YearMonth.from(startDate), YearMonth.from(endDate));
+    }
+
+    public String dayVersion(LocalDate date) {
+        // Day sums started at 0 where month sums carried on, so keep the two apart
+        return "d" + tag(versionRepository.sumDays(date, date), bufferedMonths.get(YearMonth.from(date)));
+    }
+
+    public String monthVersion(YearMonth month) {
+        return monthRangeVersion(month, month);
+    }
+
+    public String monthRangeVersion(YearMonth from, YearMonth to) {
+        long buffered = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            buffered = Math.max(buffered, bufferedMonths.get(month));
+        }
+        return tag(versionRepository.sumDays(from.atDay(1), to.atEndOfMonth()), buffered);
+    }
+
+    private String employeeRangeVersion(Long employeeId, YearMonth from, YearMonth to) {
+        long buffered = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            buffered = Math.max(buffered, bufferedEmployeeMonths.get(new EmployeeMonthKey(employeeId, month)));
+        }
+        return tag(versionRepository.sum(employeeId, from, to), buffered);
+    }
+
+    private void increment(YearMonth month, long userId) {
+        if (versionRepository.increment(month, userId)) {
+            return;
+        }
+        try {
+            // In a savepoint, so a lost race does not abort the writing transaction
+            savepoint.executeWithoutResult(status -> versionRepository.create(month, userId));
+        } catch (DuplicateKeyException e) {
+            versionRepository.increment(month, userId);
+        }
+    }
+
+    private void incrementDay(LocalDate date, int stripe) {
+        if (versionRepository.incrementDay(date, stripe)) {
+            return;
+        }
+        try {
+            savepoint.executeWithoutResult(status -> versionRepository.createDay(date, stripe));
+        } catch (DuplicateKeyException e) {
+            versionRepository.incrementDay(date, stripe);
+        }
+    }
+
+    private String tag(long version, long buffered) {
+        String tag = version + "-" + System.currentTimeMillis() / directoryPeriodMillis;
+        // Only this node overlays its buffered marks, so their tags must not match another node's
+        return buffered > 0 ? tag + "-" + epoch + "." + buffered : tag;
+    }
+
+    /**
+     * Bounded counters of buffered writes of one kind of scope
+     */
+    private static final class Counters<K> {
+
+        private final AtomicLong evictedFloor = new AtomicLong();
+        private final Cache<K, Long> versions = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SCOPES)
+            .<K, Long>evictionListener((key, version, cause) -> {
+                if (version != null) {
+                    evictedFloor.accumulateAndGet(version, Math::max);
+                }
+            })
+            .build();
+
+        void bump(K key, long version) {
+            versions.asMap().merge(key, version, Math::max);
+        }
+
+        long get(K key) {
+            Long version = versions.getIfPresent(key);
+            return version != null ? version : evictedFloor.get();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.AdminMonthlyAttendanceResponse;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.repository.AttendanceVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Employee Month Cache
+ * Bounded read-through caches for per-employee monthly views. Entries for closed
+ * months, which can no longer be edited, live much longer than entries for the
+ * open month. Committed writes invalidate exactly the employee-months they touch
+ * on this node; writes on other nodes to open months are caught by comparing an
+ * entry with its employee-month counter in the attendance_version table, at most
+ * once per check interval. Closed months are served without a database round trip
+ * until they expire. Callers get copies, so they cannot change what other callers
+ * are served.
+ */
+@Component
+@Slf4j
+public class EmployeeMonthCache {
+
+    private final AdminAttendanceProperties.EmployeeMonthCache config;
+    private final AttendanceVersionRepository versionRepository;
+    private final Cache<EmployeeMonthKey, Versioned<AdminMonthlyAttendanceResponse>> monthlyAttendance;
+    private final Cache<EmployeeMonthKey, Versioned<Map<String, Object>>> locationAnalytics;
+
+    public EmployeeMonthCache(AdminAttendanceProperties properties, AttendanceVersionRepository versionRepository) {
+        this.config = properties.getEmployeeMonthCache();
+        this.versionRepository = versionRepository;
+        this.monthlyAttendance = newCache();
+        this.locationAnalytics = newCache();
+    }
+
+    public AdminMonthlyAttendanceResponse getMonthlyAttendance(
+            EmployeeMonthKey key, Function<EmployeeMonthKey, AdminMonthlyAttendanceResponse> loader) {
+        return copyOf(get(monthlyAttendance, key, loader.andThen(EmployeeMonthCache::copyOf)));
+    }
+
+    public Map<String, Object> getLocationAnalytics(
+            EmployeeMonthKey key, Function<EmployeeMonthKey, Map<String, Object>> loader) {
+        // Stored unmodifiable; nested values are immutable maps
+        return get(locationAnalytics, key, loader.andThen(m -> Collections.unmodifiableMap(new LinkedHashMap<>(m))));
+    }
+
+    /**
+     * A month is closed once its grace period for corrections has passed
+     */
+    public boolean isClosed(YearMonth month) {
+        return month.atEndOfMonth().plusDays(config.getClosedMonthGraceDays()).isBefore(LocalDate.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        for (AttendanceChange change : event.getChanges()) {
+            if (change.hasPrevious()) {
+                invalidate(new EmployeeMonthKey(change.getUserId(), change.getPreviousMonth()));
+            }
+            if (change.hasCurrent()) {
+                invalidate(new EmployeeMonthKey(change.getUserId(), change.getMonth()));
+            }
+        }
+    }
+
+    /**
+     * Serve an open month's entry only while its employee-month counter is unchanged,
+     * checked at most once per interval. The counter is read before loading, so a
+     * write committed during the load makes the next check reload.
+     */
+    private <V> V get(Cache<EmployeeMonthKey, Versioned<V>> cache, EmployeeMonthKey key,
+                      Function<EmployeeMonthKey, V> loader) {
+        boolean closed = isClosed(key.getMonth());
+        long now = System.nanoTime();
+
+        Versioned<V> cached = cache.getIfPresent(key);
+        if (cached != null && (closed || now - cached.verifiedAt < config.getVersionCheckInterval().toNanos())) {
+            return cached.value;
+        }
+
+        long version = closed ? 0 : versionRepository.sum(key.getEmployeeId(), key.getMonth(), key.getMonth());
+        if (cached != null && cached.version == version) {
+            cached.verifiedAt = now;
+            return cached.value;
+        }
+
+        V value = loader.apply(key);
+        cache.put(key, new Versioned<>(version, value, now));
+        return value;
+    }
+
+    public void invalidate(EmployeeMonthKey key) {
+        monthlyAttendance.invalidate(key);
+        locationAnalytics.invalidate(key);
+    }
+
+    /**
+     * The caches by name
+     */
+    public Map<String, Cache<?, ?>> getCaches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("employeeMonthlyAttendance", monthlyAttendance);
+        caches.put("employeeLocationAnalytics", locationAnalytics);
+        return caches;
+    }
+
+    /**
+     * Hit, miss and eviction counts per cache
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        getCaches().forEach((name, cache) -> statistics.put(name, statisticsOf(cache)));
+        return statistics;
+    }
+
+    /**
+     * Size, hit, miss and eviction counts of a Caffeine cache
+     */
+    public static Map<String, Object> statisticsOf(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", cache.estimatedSize());
+        map.put("hitCount", stats.hitCount());
+        map.put("missCount", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictionCount", stats.evictionCount());
+        map.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return map;
+    }
+
+    private static AdminMonthlyAttendanceResponse copyOf(AdminMonthlyAttendanceResponse response) {
+        return new AdminMonthlyAttendanceResponse(
+            response.getMonthly(),
+            response.getEmployeeName(),
+            response.getDepartment(),
+            response.getArchivedMonth(),
+            response.getRecords() != null ? List.copyOf(response.getRecords()) : null);
+    }
+
+    private static final class Versioned<V> {
+        private final long version;
+        private final V value;
+        private volatile long verifiedAt;
+
+        private Versioned(long version, V value, long verifiedAt) {
+            this.version = version;
+            this.value = value;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+
+    private <V> Cache<EmployeeMonthKey, V> newCache() {
+        return Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfter(new Expiry<EmployeeMonthKey, V>() {
+                @Override
+                public long expireAfterCreate(EmployeeMonthKey key, V value, long currentTime) {
+                    Duration ttl = isClosed(key.getMonth()) ? config.getClosedMonthTtl() : config.getOpenMonthTtl();
+                    return ttl.toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(EmployeeMonthKey key, V value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(EmployeeMonthKey key, V value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+    }
+}
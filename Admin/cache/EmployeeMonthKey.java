@@ -0,0 +1,15 @@
+package com.company.admin.cache;
+
+import lombok.Value;
+
+import java.time.YearMonth;
+
+/**
+ * Cache key for one employee's attendance in one month
+ */
+@Value
+public class EmployeeMonthKey {
+
+    Long employeeId;
+    YearMonth month;
+}
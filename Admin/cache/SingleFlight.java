@@ -0,0 +1,110 @@
+package com.company.admin.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single Flight
+ * Runs one computation per key at a time. Callers arriving while it runs wait for
+ * and share its result, and the result keeps being shared for a short reuse window
+ * after it completes. The first caller computes on its own thread; failures are
+ * handed to every waiting caller and are not reused. A caller that has waited
+ * longer than the wait timeout stops waiting and computes the result itself.
+ */
+public class SingleFlight<K, V> {
+
+    private final AsyncCache<K, V> flights;
+    private final Duration waitTimeout;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(Duration reuseWindow, long maximumSize, Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        // An in-flight future does not expire; the window starts when it completes
+        this.flights = Caffeine.newBuilder()
+            .expireAfterWrite(reuseWindow)
+            .maximumSize(maximumSize)
+            .buildAsync();
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.asMap().putIfAbsent(key, flight);
+        if (existing != null) {
+            try {
+                V result = join(existing);
+                coalesced.increment();
+                return result;
+            } catch (TimeoutException e) {
+                executed.increment();
+                return computation.get();
+            }
+        }
+
+        executed.increment();
+        try {
+            V result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flights.asMap().remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        flights.synchronous().invalidate(key);
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Calls that ran the computation versus calls that shared another call's result
+     */
+    public Map<String, Object> getStatistics() {
+        long executedCount = executed.sum();
+        long coalescedCount = coalesced.sum();
+        long total = executedCount + coalescedCount;
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("executedCount", executedCount);
+        map.put("coalescedCount", coalescedCount);
+        map.put("coalescedRate", total > 0 ? (double) coalescedCount / total : 0.0);
+        map.put("size", flights.synchronous().estimatedSize());
+        return map;
+    }
+
+    private V join(CompletableFuture<V> flight) throws TimeoutException {
+        try {
+            return flight.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared result", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.admin.columnar;
+
+import com.company.admin.location.GeoMath;
+
+/**
+ * Valid check-in coordinates of the rows matched by a {@link MonthQuery}
+ */
+public class CheckInPoints {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int size;
+
+    public CheckInPoints(double[] latitudes, double[] longitudes, int size) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getLatitude(int point) {
+        return latitudes[point];
+    }
+
+    public double getLongitude(int point) {
+        return longitudes[point];
+    }
+
+    public double getAverageLatitude() {
+        return average(latitudes);
+    }
+
+    public double getAverageLongitude() {
+        return average(longitudes);
+    }
+
+    /**
+     * Largest distance in meters from the given point to any check-in
+     */
+    public double getMaxDistanceFrom(double latitude, double longitude) {
+        return GeoMath.maxDistanceFrom(latitude, longitude, latitudes, longitudes, 0, size);
+    }
+
+    private double average(double[] values) {
+        if (size == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum / size;
+    }
+}
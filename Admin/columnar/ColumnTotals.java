@@ -0,0 +1,21 @@
+package com.company.admin.columnar;
+
+import lombok.Value;
+
+/**
+ * Count and hours of the rows matched by a {@link MonthQuery}
+ */
+@Value
+public class ColumnTotals {
+
+    long count;
+    double hoursSum;
+    long hoursCount;
+
+    /**
+     * Average hours over the rows that have hours recorded
+     */
+    public double getAverageHours() {
+        return hoursCount > 0 ? hoursSum / hoursCount : 0;
+    }
+}
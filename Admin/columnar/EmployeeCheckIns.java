@@ -0,0 +1,49 @@
+package com.company.admin.columnar;
+
+/**
+ * Valid check-in coordinates of the rows matched by a {@link MonthQuery}, grouped
+ * by employee. Employee g owns points offsets[g] (inclusive) to offsets[g + 1]
+ * (exclusive) of the latitude and longitude arrays.
+ */
+public class EmployeeCheckIns {
+
+    private final long[] userIds;
+    private final int[] offsets;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    EmployeeCheckIns(long[] userIds, int[] offsets, double[] latitudes, double[] longitudes) {
+        this.userIds = userIds;
+        this.offsets = offsets;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    public int getEmployeeCount() {
+        return userIds.length;
+    }
+
+    public int getPointCount() {
+        return latitudes.length;
+    }
+
+    public long getUserId(int employee) {
+        return userIds[employee];
+    }
+
+    public int getStart(int employee) {
+        return offsets[employee];
+    }
+
+    public int getEnd(int employee) {
+        return offsets[employee + 1];
+    }
+
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+}
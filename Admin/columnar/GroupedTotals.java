@@ -0,0 +1,43 @@
+package com.company.admin.columnar;
+
+/**
+ * Per-group count and hours produced by a {@link MonthQuery} grouping, held in
+ * parallel primitive arrays. Keys are employee ids, days of month or status
+ * ordinals depending on the grouping.
+ */
+public class GroupedTotals {
+
+    private final long[] keys;
+    private final long[] counts;
+    private final double[] hoursSums;
+    private final long[] hoursCounts;
+    private final int size;
+
+    GroupedTotals(long[] keys, long[] counts, double[] hoursSums, long[] hoursCounts, int size) {
+        this.keys = keys;
+        this.counts = counts;
+        this.hoursSums = hoursSums;
+        this.hoursCounts = hoursCounts;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getKey(int group) {
+        return keys[group];
+    }
+
+    public long getCount(int group) {
+        return counts[group];
+    }
+
+    public double getHoursSum(int group) {
+        return hoursSums[group];
+    }
+
+    public double getAverageHours(int group) {
+        return hoursCounts[group] > 0 ? hoursSums[group] / hoursCounts[group] : 0;
+    }
+}
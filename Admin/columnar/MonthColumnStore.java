@@ -0,0 +1,302 @@
+package com.company.admin.columnar;
+
+import com.company.admin.archive.ArchiveColumn;
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AttendanceVersionRepository;
+import com.company.attendance.model.AttendanceStatus;
+import com.company.attendance.model.embedded.Location;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Month Column Store
+ * Holds columnar snapshots of recently queried months. A snapshot is built on
+ * first access by one thread while others wait for it, then patched in place by
+ * every committed attendance write on this node. Writes that commit while a month
+ * is still loading are applied to the partial snapshot and take precedence over the
+ * rows the load reads afterwards. Each snapshot counts the writes it has applied on
+ * top of the month's version counter read before its load; when the counter in the
+ * attendance_version table has moved further, another node wrote the month and the
+ * snapshot is reloaded. Snapshots past their maximum age are reloaded regardless.
+ * Archived months are loaded from their archive file, reading only the columns a
+ * snapshot holds.
+ */
+@Component
+@Slf4j
+public class MonthColumnStore {
+
+    private static final Set<ArchiveColumn> SNAPSHOT_COLUMNS = EnumSet.of(
+        ArchiveColumn.ID, ArchiveColumn.USER_ID, ArchiveColumn.DAY, ArchiveColumn.STATUS, ArchiveColumn.TOTAL_HOURS,
+        ArchiveColumn.CHECK_IN_LATITUDE, ArchiveColumn.CHECK_IN_LONGITUDE);
+
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceVersionRepository versionRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final AdminMetrics adminMetrics;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AdminAttendanceProperties.Columnar config;
+
+    private final Map<YearMonth, MonthColumns> snapshots = new ConcurrentHashMap<>();
+
+    public MonthColumnStore(AdminAttendanceRepository adminAttendanceRepository,
+                            AttendanceVersionRepository versionRepository,
+                            AttendanceArchive attendanceArchive,
+                            AdminMetrics adminMetrics,
+                            PlatformTransactionManager transactionManager,
+                            AdminAttendanceProperties properties) {
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.versionRepository = versionRepository;
+        this.attendanceArchive = attendanceArchive;
+        this.adminMetrics = adminMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.config = properties.getColumnar();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Snapshot of a month, loading it on first access and reloading it once stale
+     */
+    public MonthColumns snapshot(YearMonth month) {
+        while (true) {
+            MonthColumns existing = snapshots.get(month);
+            if (existing == null) {
+                MonthColumns created = new MonthColumns(month);
+                existing = snapshots.putIfAbsent(month, created);
+                if (existing == null) {
+                    load(created);
+                    evictLeastRecentlyUsed(month);
+                    return created;
+                }
+            }
+
+            existing.awaitLoaded();
+            if (isFresh(existing)) {
+                return existing;
+            }
+            snapshots.remove(month, existing);
+        }
+    }
+
+    /**
+     * Snapshot of a month if it is already resident and current, without loading or waiting
+     */
+    public Optional<MonthColumns> getIfLoaded(YearMonth month) {
+        MonthColumns existing = snapshots.get(month);
+        if (existing == null || !existing.isLoaded()) {
+            return Optional.empty();
+        }
+        if (!isFresh(existing)) {
+            snapshots.remove(month, existing);
+            return Optional.empty();
+        }
+        return Optional.of(existing);
+    }
+
+    /**
+     * Drop a month so the next access reloads it from the database
+     */
+    public void invalidate(YearMonth month) {
+        snapshots.remove(month);
+    }
+
+    public int getResidentMonthCount() {
+        return snapshots.size();
+    }
+
+    /**
+     * Resident months and their row counts
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        snapshots.forEach((month, columns) -> {
+            if (columns.isLoaded()) {
+                statistics.put(month.toString(), columns.getRowCount());
+            }
+        });
+        return statistics;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        // The transaction bumped each month's version counter once
+        Set<YearMonth> written = new HashSet<>();
+
+        for (AttendanceChange change : event.getChanges()) {
+            if (change.hasPrevious()) {
+                written.add(change.getPreviousMonth());
+            }
+            if (change.hasCurrent()) {
+                written.add(change.getMonth());
+            }
+
+            YearMonth previousMonth = change.getPreviousMonth();
+            YearMonth month = change.getMonth();
+
+            if (previousMonth != null && !previousMonth.equals(month)) {
+                MonthColumns previous = snapshots.get(previousMonth);
+                if (previous != null) {
+                    previous.remove(change.getAttendanceId());
+                }
+            }
+
+            if (month != null) {
+                MonthColumns current = snapshots.get(month);
+                if (current != null) {
+                    // Changes without the written entity, such as bulk check-outs, leave the location as is
+                    Location location = change.getAttendance() != null ? change.getAttendance().getCheckInLocation() : null;
+                    current.upsert(change.getAttendanceId(), change.getUserId(), change.getDate().getDayOfMonth(),
+                        change.getStatus(), hoursOf(change.getHours()),
+                        latitudeOf(location), longitudeOf(location), change.getAttendance() == null);
+                }
+            }
+        }
+
+        for (YearMonth month : written) {
+            MonthColumns columns = snapshots.get(month);
+            if (columns != null) {
+                columns.applied();
+            }
+        }
+    }
+
+    /**
+     * Whether a snapshot still reflects every committed write of its month. Versions
+     * are compared at most once per check interval.
+     */
+    private boolean isFresh(MonthColumns columns) {
+        long now = System.nanoTime();
+        if (now - columns.getLoadedAt() > config.getMaxAge().toNanos()) {
+            log.debug("Columnar snapshot of {} reached its maximum age", columns.getMonth());
+            return false;
+        }
+        if (now - columns.getVerifiedAt() < config.getVersionCheckInterval().toNanos()) {
+            return true;
+        }
+
+        long version = monthVersion(columns.getMonth());
+        if (version != columns.getVersion()) {
+            log.debug("Columnar snapshot of {} is at version {} of {}", columns.getMonth(), columns.getVersion(), version);
+            return false;
+        }
+        columns.setVerifiedAt(now);
+        return true;
+    }
+
+    private long monthVersion(YearMonth month) {
+        return versionRepository.sumDays(month.atDay(1), month.atEndOfMonth());
+    }
+
+    private void load(MonthColumns columns) {
+        YearMonth month = columns.getMonth();
+        long started = System.nanoTime();
+
+        try {
+            // Read first: a write committed after it is either applied or makes the check reload
+            columns.setVersion(monthVersion(month));
+            if (attendanceArchive.isArchived(month)) {
+                loadArchived(columns);
+            } else {
+                loadStored(columns);
+            }
+        } catch (RuntimeException e) {
+            snapshots.remove(month, columns);
+            columns.markFailed(e);
+            throw e;
+        }
+
+        columns.markLoaded();
+        adminMetrics.recordRowsScanned("columnar.load", columns.getRowCount());
+        log.info("Loaded columnar snapshot of {}: {} rows in {} ms",
+            month, columns.getRowCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void loadStored(MonthColumns columns) {
+        YearMonth month = columns.getMonth();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = adminAttendanceRepository.streamColumnsByDateRange(
+                    month.atDay(1), month.atEndOfMonth())) {
+                rows.forEach(row -> {
+                    Location location = toLocation((BigDecimal) row[5], (BigDecimal) row[6]);
+                    columns.load((Long) row[0], (Long) row[1], ((LocalDate) row[2]).getDayOfMonth(),
+                        (AttendanceStatus) row[3], hoursOf((Double) row[4]),
+                        latitudeOf(location), longitudeOf(location));
+                });
+            }
+        });
+    }
+
+    private void loadArchived(MonthColumns columns) {
+        YearMonth month = columns.getMonth();
+        attendanceArchive.scan(month, null, 1, month.lengthOfMonth(), SNAPSHOT_COLUMNS, group -> {
+            for (int i = 0; i < group.size(); i++) {
+                Location location = group.getCheckInLocation(i);
+                columns.load(group.getId(i), group.getUserId(i), group.getDay(i), group.getStatus(i),
+                    group.getHours(i), latitudeOf(location), longitudeOf(location));
+            }
+        });
+    }
+
+    private void evictLeastRecentlyUsed(YearMonth keep) {
+        while (snapshots.size() > config.getMaxMonths()) {
+            YearMonth oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (MonthColumns columns : snapshots.values()) {
+                if (!columns.getMonth().equals(keep) && columns.isLoaded() && columns.getLastAccess() < oldestAccess) {
+                    oldest = columns.getMonth();
+                    oldestAccess = columns.getLastAccess();
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            snapshots.remove(oldest);
+            log.debug("Dropped columnar snapshot of {}", oldest);
+        }
+    }
+
+    private static Location toLocation(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return Location.builder()
+            .latitude(latitude)
+            .longitude(longitude)
+            .build();
+    }
+
+    private static double latitudeOf(Location location) {
+        return location != null && location.isValid() ? location.getLatitude().doubleValue() : Double.NaN;
+    }
+
+    private static double longitudeOf(Location location) {
+        return location != null && location.isValid() ? location.getLongitude().doubleValue() : Double.NaN;
+    }
+
+    private static double hoursOf(Double hours) {
+        return hours != null ? hours : Double.NaN;
+    }
+}
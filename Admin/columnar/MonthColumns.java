@@ -0,0 +1,302 @@
+package com.company.admin.columnar;
+
+import com.company.admin.model.MonthlyRollup;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.Getter;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Columnar snapshot of one month of attendance. Each attribute is a primitive
+ * array indexed by row, so aggregates are sequential scans without entities or
+ * boxing. Missing hours and locations are NaN; deleted rows stay in place as
+ * tombstones and are compacted away once they make up a quarter of the rows.
+ */
+public class MonthColumns {
+
+    static final byte TOMBSTONE = -1;
+    static final byte NO_STATUS = -2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MIN_COMPACTION_ROWS = 1024;
+
+    @Getter
+    private final YearMonth month;
+
+    private final StampedLock lock = new StampedLock();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile RuntimeException loadFailure;
+    private volatile long lastAccess = System.nanoTime();
+    private volatile long loadedAt = System.nanoTime();
+    private volatile long verifiedAt = System.nanoTime();
+
+    // Month version counter the snapshot reflects: read before the load, then one per applied commit
+    private final AtomicLong version = new AtomicLong();
+
+    // Columns; guarded by lock
+    int size;
+    int liveRows;
+    long[] ids;
+    long[] userIds;
+    byte[] days;
+    byte[] statuses;
+    double[] hours;
+    double[] latitudes;
+    double[] longitudes;
+    private LongIntHashMap rowsById;
+
+    MonthColumns(YearMonth month) {
+        this.month = month;
+        this.ids = new long[INITIAL_CAPACITY];
+        this.userIds = new long[INITIAL_CAPACITY];
+        this.days = new byte[INITIAL_CAPACITY];
+        this.statuses = new byte[INITIAL_CAPACITY];
+        this.hours = new double[INITIAL_CAPACITY];
+        this.latitudes = new double[INITIAL_CAPACITY];
+        this.longitudes = new double[INITIAL_CAPACITY];
+        this.rowsById = new LongIntHashMap(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Start a query over the snapshot
+     */
+    public MonthQuery query() {
+        lastAccess = System.nanoTime();
+        return new MonthQuery(this);
+    }
+
+    /**
+     * Month totals per status and distinct employees, in the shape of the stored rollup
+     */
+    public MonthlyRollup toRollup() {
+        GroupedTotals byStatus = query().groupByStatus();
+
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        for (int group = 0; group < byStatus.size(); group++) {
+            totals.put(statuses[(int) byStatus.getKey(group)],
+                new MonthlyRollup.StatusTotals(byStatus.getCount(group), byStatus.getHoursSum(group)));
+        }
+
+        return new MonthlyRollup(month, query().countDistinctEmployees(), totals);
+    }
+
+    /**
+     * Number of rows excluding deleted ones
+     */
+    public int getRowCount() {
+        long stamp = lock.readLock();
+        try {
+            return liveRows;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Add a row read by the initial load, unless a committed write already put a
+     * newer version of it (or its deletion) into the snapshot
+     */
+    void load(long id, long userId, int day, AttendanceStatus status, double totalHours,
+              double latitude, double longitude) {
+        long stamp = lock.writeLock();
+        try {
+            if (rowsById.get(id) < 0) {
+                append(id, userId, day, code(status), totalHours, latitude, longitude);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Insert or overwrite a row from a committed write. With keepLocation, an
+     * existing row keeps its check-in location.
+     */
+    void upsert(long id, long userId, int day, AttendanceStatus status, double totalHours,
+                double latitude, double longitude, boolean keepLocation) {
+        long stamp = lock.writeLock();
+        try {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                append(id, userId, day, code(status), totalHours, latitude, longitude);
+                return;
+            }
+
+            if (statuses[row] == TOMBSTONE) {
+                liveRows++;
+            }
+            userIds[row] = userId;
+            days[row] = (byte) day;
+            statuses[row] = code(status);
+            hours[row] = totalHours;
+            if (!keepLocation) {
+                latitudes[row] = latitude;
+                longitudes[row] = longitude;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Mark a row deleted. A row not loaded yet is recorded as a tombstone so the
+     * initial load does not bring it back.
+     */
+    void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                append(id, 0, 0, TOMBSTONE, Double.NaN, Double.NaN, Double.NaN);
+            } else if (statuses[row] != TOMBSTONE) {
+                statuses[row] = TOMBSTONE;
+                liveRows--;
+            }
+
+            // Tombstones of rows the initial load has not reached yet must stay until it is done
+            if (isLoaded() && size >= MIN_COMPACTION_ROWS && size - liveRows > size / 4) {
+                compact();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    long readLock() {
+        return lock.readLock();
+    }
+
+    void unlockRead(long stamp) {
+        lock.unlockRead(stamp);
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    long getVerifiedAt() {
+        return verifiedAt;
+    }
+
+    void setVerifiedAt(long verifiedAt) {
+        this.verifiedAt = verifiedAt;
+    }
+
+    long getVersion() {
+        return version.get();
+    }
+
+    void setVersion(long version) {
+        this.version.set(version);
+    }
+
+    /**
+     * Count a committed write applied to the snapshot
+     */
+    void applied() {
+        version.incrementAndGet();
+    }
+
+    void markLoaded() {
+        loadedAt = System.nanoTime();
+        verifiedAt = loadedAt;
+        loaded.countDown();
+    }
+
+    void markFailed(RuntimeException failure) {
+        loadFailure = failure;
+        loaded.countDown();
+    }
+
+    boolean isLoaded() {
+        return loaded.getCount() == 0 && loadFailure == null;
+    }
+
+    /**
+     * Wait for the initial load started by another thread
+     */
+    void awaitLoaded() {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + month + " snapshot", e);
+        }
+        if (loadFailure != null) {
+            throw loadFailure;
+        }
+        lastAccess = System.nanoTime();
+    }
+
+    private void append(long id, long userId, int day, byte status, double totalHours,
+                        double latitude, double longitude) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        ids[size] = id;
+        userIds[size] = userId;
+        days[size] = (byte) day;
+        statuses[size] = status;
+        hours[size] = totalHours;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        rowsById.putIfAbsent(id, size);
+
+        size++;
+        if (status != TOMBSTONE) {
+            liveRows++;
+        }
+    }
+
+    /**
+     * Drop tombstoned rows, keeping the order of the others
+     */
+    private void compact() {
+        LongIntHashMap compacted = new LongIntHashMap(Math.max(INITIAL_CAPACITY, liveRows));
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] == TOMBSTONE) {
+                continue;
+            }
+            ids[kept] = ids[row];
+            userIds[kept] = userIds[row];
+            days[kept] = days[row];
+            statuses[kept] = statuses[row];
+            hours[kept] = hours[row];
+            latitudes[kept] = latitudes[row];
+            longitudes[kept] = longitudes[row];
+            compacted.putIfAbsent(ids[kept], kept);
+            kept++;
+        }
+        size = kept;
+        rowsById = compacted;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        days = Arrays.copyOf(days, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+    }
+
+    static byte code(AttendanceStatus status) {
+        return status != null ? (byte) status.ordinal() : NO_STATUS;
+    }
+}
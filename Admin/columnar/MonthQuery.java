@@ -0,0 +1,322 @@
+package com.company.admin.columnar;
+
+import com.company.attendance.model.AttendanceStatus;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Filter and aggregate over a {@link MonthColumns} snapshot. Filters narrow the
+ * rows by status, day of month or employee; each terminal operation is a single
+ * scan of the snapshot's primitive columns under its read lock.
+ */
+public class MonthQuery {
+
+    private static final int ALL_STATUSES = -1;
+
+    private final MonthColumns columns;
+
+    private int statusMask = ALL_STATUSES;
+    private int fromDay = 1;
+    private int toDay = 31;
+    private boolean byEmployee;
+    private long employeeId;
+
+    MonthQuery(MonthColumns columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Keep only rows with one of the given statuses
+     */
+    public MonthQuery status(AttendanceStatus... statuses) {
+        int mask = 0;
+        for (AttendanceStatus status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        statusMask = mask;
+        return this;
+    }
+
+    /**
+     * Keep only rows within an inclusive range of days of the month
+     */
+    public MonthQuery days(int fromDay, int toDay) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        return this;
+    }
+
+    /**
+     * Keep only rows within an inclusive date range, clamped to the snapshot's month
+     */
+    public MonthQuery between(LocalDate startDate, LocalDate endDate) {
+        LocalDate first = columns.getMonth().atDay(1);
+        LocalDate last = columns.getMonth().atEndOfMonth();
+        if (endDate.isBefore(first) || startDate.isAfter(last)) {
+            return days(1, 0);
+        }
+        return days(startDate.isBefore(first) ? 1 : startDate.getDayOfMonth(),
+                    endDate.isAfter(last) ? last.getDayOfMonth() : endDate.getDayOfMonth());
+    }
+
+    /**
+     * Keep only rows of one employee
+     */
+    public MonthQuery employee(long userId) {
+        this.byEmployee = true;
+        this.employeeId = userId;
+        return this;
+    }
+
+    public long count() {
+        return totals().getCount();
+    }
+
+    public ColumnTotals totals() {
+        long stamp = columns.readLock();
+        try {
+            long count = 0;
+            double hoursSum = 0;
+            long hoursCount = 0;
+
+            double[] hours = columns.hours;
+            for (int i = 0, n = columns.size; i < n; i++) {
+                if (matches(i)) {
+                    count++;
+                    double h = hours[i];
+                    if (h == h) {
+                        hoursSum += h;
+                        hoursCount++;
+                    }
+                }
+            }
+            return new ColumnTotals(count, hoursSum, hoursCount);
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Totals per status; keys are {@link AttendanceStatus} ordinals
+     */
+    public GroupedTotals groupByStatus() {
+        return groupBySmallKey(columns.statuses, AttendanceStatus.values().length);
+    }
+
+    /**
+     * Totals per day of month; keys are days 1 to 31
+     */
+    public GroupedTotals groupByDay() {
+        return groupBySmallKey(columns.days, 32);
+    }
+
+    /**
+     * Totals per employee; keys are user ids in order of first appearance
+     */
+    public GroupedTotals groupByEmployee() {
+        long stamp = columns.readLock();
+        try {
+            LongIntHashMap groups = new LongIntHashMap(1024);
+            long[] keys = new long[1024];
+            long[] counts = new long[1024];
+            double[] hoursSums = new double[1024];
+            long[] hoursCounts = new long[1024];
+            int size = 0;
+
+            long[] userIds = columns.userIds;
+            double[] hours = columns.hours;
+            for (int i = 0, n = columns.size; i < n; i++) {
+                if (!matches(i)) {
+                    continue;
+                }
+
+                int group = groups.putIfAbsent(userIds[i], size);
+                if (group < 0) {
+                    if (size == keys.length) {
+                        int capacity = size * 2;
+                        keys = Arrays.copyOf(keys, capacity);
+                        counts = Arrays.copyOf(counts, capacity);
+                        hoursSums = Arrays.copyOf(hoursSums, capacity);
+                        hoursCounts = Arrays.copyOf(hoursCounts, capacity);
+                    }
+                    group = size++;
+                    keys[group] = userIds[i];
+                }
+
+                counts[group]++;
+                double h = hours[i];
+                if (h == h) {
+                    hoursSums[group] += h;
+                    hoursCounts[group]++;
+                }
+            }
+            return new GroupedTotals(keys, counts, hoursSums, hoursCounts, size);
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    public long countDistinctEmployees() {
+        return groupByEmployee().size();
+    }
+
+    /**
+     * Employees of the matching rows
+     */
+    public Roaring64Bitmap employees() {
+        long stamp = columns.readLock();
+        try {
+            Roaring64Bitmap employees = new Roaring64Bitmap();
+            long[] userIds = columns.userIds;
+            for (int i = 0, n = columns.size; i < n; i++) {
+                if (matches(i)) {
+                    employees.addLong(userIds[i]);
+                }
+            }
+            return employees;
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Valid check-in coordinates of the matching rows
+     */
+    public CheckInPoints checkInPoints() {
+        long stamp = columns.readLock();
+        try {
+            double[] latitudes = new double[16];
+            double[] longitudes = new double[16];
+            int size = 0;
+
+            double[] lat = columns.latitudes;
+            double[] lon = columns.longitudes;
+            for (int i = 0, n = columns.size; i < n; i++) {
+                if (matches(i) && lat[i] == lat[i]) {
+                    if (size == latitudes.length) {
+                        latitudes = Arrays.copyOf(latitudes, size * 2);
+                        longitudes = Arrays.copyOf(longitudes, size * 2);
+                    }
+                    latitudes[size] = lat[i];
+                    longitudes[size] = lon[i];
+                    size++;
+                }
+            }
+            return new CheckInPoints(latitudes, longitudes, size);
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Valid check-in coordinates of the matching rows, grouped by employee in
+     * contiguous ranges. Two scans: one to size each employee's range, one to fill it.
+     */
+    public EmployeeCheckIns checkInsByEmployee() {
+        long stamp = columns.readLock();
+        try {
+            long[] userIds = columns.userIds;
+            double[] lat = columns.latitudes;
+            double[] lon = columns.longitudes;
+            int n = columns.size;
+
+            LongIntHashMap groups = new LongIntHashMap(1024);
+            long[] keys = new long[1024];
+            int[] counts = new int[1024];
+            int employees = 0;
+            int points = 0;
+
+            for (int i = 0; i < n; i++) {
+                if (!matches(i) || lat[i] != lat[i]) {
+                    continue;
+                }
+                int group = groups.putIfAbsent(userIds[i], employees);
+                if (group < 0) {
+                    if (employees == keys.length) {
+                        keys = Arrays.copyOf(keys, employees * 2);
+                        counts = Arrays.copyOf(counts, employees * 2);
+                    }
+                    group = employees++;
+                    keys[group] = userIds[i];
+                }
+                counts[group]++;
+                points++;
+            }
+
+            int[] offsets = new int[employees + 1];
+            for (int g = 0; g < employees; g++) {
+                offsets[g + 1] = offsets[g] + counts[g];
+            }
+
+            int[] next = Arrays.copyOf(offsets, employees);
+            double[] latitudes = new double[points];
+            double[] longitudes = new double[points];
+            for (int i = 0; i < n; i++) {
+                if (matches(i) && lat[i] == lat[i]) {
+                    int slot = next[groups.get(userIds[i])]++;
+                    latitudes[slot] = lat[i];
+                    longitudes[slot] = lon[i];
+                }
+            }
+
+            return new EmployeeCheckIns(Arrays.copyOf(keys, employees), offsets, latitudes, longitudes);
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    private GroupedTotals groupBySmallKey(byte[] column, int keyCount) {
+        long stamp = columns.readLock();
+        try {
+            long[] counts = new long[keyCount];
+            double[] hoursSums = new double[keyCount];
+            long[] hoursCounts = new long[keyCount];
+
+            double[] hours = columns.hours;
+            for (int i = 0, n = columns.size; i < n; i++) {
+                int key = column[i];
+                if (key >= 0 && matches(i)) {
+                    counts[key]++;
+                    double h = hours[i];
+                    if (h == h) {
+                        hoursSums[key] += h;
+                        hoursCounts[key]++;
+                    }
+                }
+            }
+
+            // Compact to the keys that have rows
+            long[] keys = new long[keyCount];
+            int size = 0;
+            for (int key = 0; key < keyCount; key++) {
+                if (counts[key] > 0) {
+                    keys[size] = key;
+                    counts[size] = counts[key];
+                    hoursSums[size] = hoursSums[key];
+                    hoursCounts[size] = hoursCounts[key];
+                    size++;
+                }
+            }
+            return new GroupedTotals(keys, counts, hoursSums, hoursCounts, size);
+        } finally {
+            columns.unlockRead(stamp);
+        }
+    }
+
+    private boolean matches(int row) {
+        byte status = columns.statuses[row];
+        if (status == MonthColumns.TOMBSTONE) {
+            return false;
+        }
+        if (statusMask != ALL_STATUSES && (status < 0 || (statusMask & (1 << status)) == 0)) {
+            return false;
+        }
+        int day = columns.days[row];
+        if (day < fromDay || day > toDay) {
+            return false;
+        }
+        return !byEmployee || columns.userIds[row] == employeeId;
+    }
+}
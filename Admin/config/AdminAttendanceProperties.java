@@ -0,0 +1,484 @@
+package com.company.admin.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Admin Attendance Properties
+ * Tunables for admin attendance reporting, bound from admin.attendance.*
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "admin.attendance")
+public class AdminAttendanceProperties {
+
+    private ExportJobs exportJobs = new ExportJobs();
+
+    private Roster roster = new Roster();
+
+    private Directory directory = new Directory();
+
+    private EmployeeMonthCache employeeMonthCache = new EmployeeMonthCache();
+
+    private BulkManualMark bulkManualMark = new BulkManualMark();
+
+    private AutoCheckout autoCheckout = new AutoCheckout();
+
+    private Paging paging = new Paging();
+
+    private Columnar columnar = new Columnar();
+
+    private LocationScan locationScan = new LocationScan();
+
+    private Geofences geofences = new Geofences();
+
+    private RangeSummary rangeSummary = new RangeSummary();
+
+    private Dashboard dashboard = new Dashboard();
+
+    private Coalescing coalescing = new Coalescing();
+
+    private Metrics metrics = new Metrics();
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Archive archive = new Archive();
+
+    private Partitioning partitioning = new Partitioning();
+
+    /**
+     * Asynchronous export jobs
+     */
+    @Data
+    public static class ExportJobs {
+
+        /**
+         * Directory holding finished, gzip-compressed export files, on storage shared
+         * by every node of a cluster. Required; startup fails without it, since jobs are
+         * reused and downloaded through any node.
+         */
+        private Path spoolDir;
+
+        /**
+         * Number of exports that may run at the same time
+         */
+        private int workerThreads = 2;
+
+        /**
+         * Number of submitted exports that may wait for a worker
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * How long a finished export stays downloadable before its file is removed
+         */
+        private Duration resultTtl = Duration.ofHours(1);
+
+        /**
+         * How long a queued or running job may go without being renewed by its node
+         * before it counts as lost; several renew intervals
+         */
+        private Duration abandonAfter = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Active employee roster used for absence reporting
+     */
+    @Data
+    public static class Roster {
+
+        /**
+         * Days of attendance history that count an employee as active when no
+         * employee directory roster source is configured
+         */
+        private int activeWindowDays = 30;
+    }
+
+    /**
+     * Employee directory lookups used to enrich admin responses
+     */
+    @Data
+    public static class Directory {
+
+        /**
+         * Maximum number of employees held in the lookup cache
+         */
+        private long cacheMaximumSize = 100_000;
+
+        /**
+         * How long a cached employee entry is trusted
+         */
+        private Duration cacheTtl = Duration.ofMinutes(15);
+    }
+
+    /**
+     * Read-through cache of per-employee monthly views
+     */
+    @Data
+    public static class EmployeeMonthCache {
+
+        /**
+         * Maximum number of employee-months held per view
+         */
+        private long maximumSize = 20_000;
+
+        /**
+         * Lifetime of entries for months that can still be edited
+         */
+        private Duration openMonthTtl = Duration.ofMinutes(2);
+
+        /**
+         * Lifetime of entries for closed months. Closed months are not compared with
+         * their version counters, so a correction written on another node shows here
+         * once the entry expires.
+         */
+        private Duration closedMonthTtl = Duration.ofHours(24);
+
+        /**
+         * How often an open month's entry is compared with its employee-month version
+         * counter, which catches writes committed on other nodes
+         */
+        private Duration versionCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Days after month end during which the month can still be corrected
+         */
+        private int closedMonthGraceDays = 5;
+    }
+
+    /**
+     * Bulk manual attendance overrides
+     */
+    @Data
+    public static class BulkManualMark {
+
+        /**
+         * Rows written per transaction and JDBC batch
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Largest number of rows accepted in one request
+         */
+        private int maxRows = 50_000;
+    }
+
+    /**
+     * Auto check-out of employees who forgot to check out
+     */
+    @Data
+    public static class AutoCheckout {
+
+        /**
+         * Check-out time recorded for employees who did not check out; those who
+         * checked in later are checked out at their check-in time
+         */
+        private LocalTime checkoutTime = LocalTime.of(18, 0);
+
+        /**
+         * Records checked out per transaction
+         */
+        private int chunkSize = 500;
+
+        /**
+         * How long the run lock survives without renewal before another node may
+         * take over; renewed after every chunk
+         */
+        private Duration lockTtl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Keyset pagination of attendance list endpoints
+     */
+    @Data
+    public static class Paging {
+
+        /**
+         * Page size when the client does not ask for one
+         */
+        private int defaultLimit = 100;
+
+        /**
+         * Largest page size a client may ask for
+         */
+        private int maxLimit = 1000;
+    }
+
+    /**
+     * In-memory columnar month snapshots used for month-level aggregates
+     */
+    @Data
+    public static class Columnar {
+
+        /**
+         * Serve month aggregates from snapshots instead of database queries
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of month snapshots kept in memory; least recently used months are dropped
+         */
+        private int maxMonths = 3;
+
+        /**
+         * How often a snapshot is compared with its month's version counter, which
+         * catches writes committed on other nodes
+         */
+        private Duration versionCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Age after which a snapshot is reloaded regardless of its version
+         */
+        private Duration maxAge = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Organization-wide check-in location anomaly scan
+     */
+    @Data
+    public static class LocationScan {
+
+        /**
+         * Worker threads of the scan's fork/join pool
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Percentile distance from an employee's check-in centroid above which the
+         * employee is flagged
+         */
+        private double spreadThresholdMeters = 1000;
+
+        /**
+         * Percentile of check-in distances compared against the threshold
+         */
+        private int percentile = 95;
+
+        /**
+         * Employees with fewer check-ins with a location are not assessed
+         */
+        private int minCheckIns = 3;
+    }
+
+    /**
+     * Office geofence index used for compliance reporting
+     */
+    @Data
+    public static class Geofences {
+
+        /**
+         * Side of a grid cell in degrees; about 5.5 km of latitude by default.
+         * Each fence is registered in every cell its circle overlaps.
+         */
+        private double cellDegrees = 0.05;
+    }
+
+    /**
+     * Multi-month attendance summaries
+     */
+    @Data
+    public static class RangeSummary {
+
+        /**
+         * Number of months computed at the same time across all requests
+         */
+        private int workerThreads = 4;
+
+        /**
+         * Longest range accepted by one request, in months
+         */
+        private int maxMonths = 60;
+    }
+
+    /**
+     * Composite admin dashboard
+     */
+    @Data
+    public static class Dashboard {
+
+        /**
+         * Largest number of sections running at once across all dashboard requests;
+         * further sections fail at once instead of waiting for a slot. Each running
+         * section holds a database connection, so keep this well below the pool size.
+         */
+        private int maxConcurrentSections = 6;
+
+        /**
+         * How long shutdown waits for running sections after interrupting them
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Longest wait for the monthly summary section
+         */
+        private Duration summaryTimeout = Duration.ofSeconds(3);
+
+        /**
+         * Longest wait for the checked-in-now section
+         */
+        private Duration checkedInTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Longest wait for the absent-today section
+         */
+        private Duration absentTimeout = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Sharing of identical concurrent summary and export requests
+     */
+    @Data
+    public static class Coalescing {
+
+        private boolean enabled = true;
+
+        /**
+         * How long a finished month summary is reused by identical requests
+         */
+        private Duration summaryReuseWindow = Duration.ofSeconds(5);
+
+        /**
+         * Longest wait for an identical request's result before computing it anyway
+         */
+        private Duration waitTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Longest wait of a synchronous export for the shared export job before it
+         * streams the report on its own
+         */
+        private Duration exportWaitTimeout = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Service call metrics and slow-call logging
+     */
+    @Data
+    public static class Metrics {
+
+        /**
+         * Service calls taking longer than this are logged with their arguments
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Longest rendering of a single argument in the slow-call log
+         */
+        private int maxArgumentLength = 200;
+    }
+
+    /**
+     * Buffering of manual marks in front of the database
+     */
+    @Data
+    public static class WriteBehind {
+
+        /**
+         * Accept single manual marks into the buffer and write them in batches
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the append log of marks not yet written; required when
+         * enabled. Acknowledged marks live only here until flushed, so it must be on
+         * persistent storage that survives a restart of this node, not a temp dir.
+         */
+        private Path logDir;
+
+        /**
+         * Employee-days buffered at most; further marks wait for a flush
+         */
+        private int capacity = 50_000;
+
+        /**
+         * Buffered employee-days that trigger a flush before the interval is up
+         */
+        private int flushSize = 1_000;
+
+        /**
+         * Longest time a mark stays buffered while the database is healthy
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * How long a mark waits for room in a full buffer before it is rejected
+         */
+        private Duration enqueueTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Delay before the first retry of a failed flush; doubles on every further failure
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Longest delay between retries of a failing flush. Failed marks are retried
+         * until written and hold their room in the buffer meanwhile.
+         */
+        private Duration maxRetryBackoff = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Archival of closed months to compressed columnar files
+     */
+    @Data
+    public static class Archive {
+
+        /**
+         * Archive closed months on the archive schedule and on request, and purge
+         * archived months from the attendance table; reads of months already archived
+         * are served from their files either way
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the archive files, on storage shared by every node of a
+         * cluster. Required when archiving is enabled or any month is archived; startup
+         * fails without it, since archived months are only readable from their files.
+         */
+        private Path dir;
+
+        /**
+         * Months kept in the attendance table, counting the current one
+         */
+        private int hotMonths = 13;
+
+        /**
+         * Rows per row group; each group carries its own employee and day ranges
+         */
+        private int rowsPerGroup = 65_536;
+
+        /**
+         * How long an archived month's rows stay in the attendance table after reads
+         * switched to its file; longer than the refresh interval, so every node reads
+         * the file before the rows are gone
+         */
+        private Duration purgeDelay = Duration.ofMinutes(15);
+
+        /**
+         * How long the archive lock survives without renewal; renewed after every month
+         */
+        private Duration lockTtl = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Monthly partitions of the attendance table
+     */
+    @Data
+    public static class Partitioning {
+
+        /**
+         * Create partitions ahead of time when the attendance table is partitioned,
+         * and drop a purged month's partition instead of deleting its rows
+         */
+        private boolean enabled = false;
+
+        /**
+         * Months after the current one that get a partition ahead of time
+         */
+        private int monthsAhead = 3;
+    }
+}
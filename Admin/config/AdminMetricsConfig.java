@@ -0,0 +1,66 @@
+package com.company.admin.config;
+
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.metrics.AdminServicePointcut;
+import com.company.admin.metrics.ServiceCallMetricsInterceptor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Admin Metrics Configuration
+ * Wraps every admin service in {@link ServiceCallMetricsInterceptor}, outside its
+ * transaction so commit time is included, and publishes latency histograms with
+ * percentiles for the admin meters and the admin HTTP endpoints. Meters are
+ * exported through the actuator (e.g. /actuator/prometheus when the Prometheus
+ * registry is present).
+ */
+@Configuration
+public class AdminMetricsConfig {
+
+    private static final String ADMIN_URI_PREFIX = "/api/v1/admin";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor adminServiceMetricsAdvisor(ObjectProvider<AdminMetrics> metrics,
+                                                     ObjectProvider<AdminAttendanceProperties> properties) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new AdminServicePointcut(),
+            new ServiceCallMetricsInterceptor(metrics, properties));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public MeterFilter adminLatencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!isAdminMeter(id)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .percentiles(PERCENTILES)
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    private static boolean isAdminMeter(Meter.Id id) {
+        if (id.getName().startsWith(AdminMetrics.PREFIX)) {
+            return true;
+        }
+        String uri = id.getTag("uri");
+        return id.getName().equals("http.server.requests") && uri != null && uri.startsWith(ADMIN_URI_PREFIX);
+    }
+}
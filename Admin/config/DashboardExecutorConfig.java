@@ -0,0 +1,39 @@
+package com.company.admin.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Dashboard Executor Configuration
+ * Executor that runs each dashboard section on its own thread. Sections run on
+ * virtual threads when the application enables them with
+ * {@code spring.threads.virtual.enabled}, which also moves request handling onto
+ * virtual threads; otherwise on platform threads. The dashboard service bounds
+ * the sections in flight itself, and the executor interrupts and waits for
+ * running sections when the context closes.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardExecutorConfig {
+
+    public static final String DASHBOARD_EXECUTOR = "adminDashboardExecutor";
+
+    private final AdminAttendanceProperties properties;
+
+    @Bean(name = DASHBOARD_EXECUTOR)
+    public SimpleAsyncTaskExecutor adminDashboardExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        AdminAttendanceProperties.Dashboard config = properties.getDashboard();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("admin-dashboard-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskTerminationTimeout(config.getShutdownTimeout().toMillis());
+        log.info("Running dashboard sections on {} threads", virtualThreads ? "virtual" : "platform");
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.admin.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Export Job Configuration
+ * Bounded executor for asynchronous attendance exports. Submissions beyond the
+ * queue capacity are rejected instead of piling up.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class ExportJobConfig {
+
+    public static final String EXPORT_EXECUTOR = "attendanceExportExecutor";
+
+    private final AdminAttendanceProperties properties;
+
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor attendanceExportExecutor() {
+        AdminAttendanceProperties.ExportJobs config = properties.getExportJobs();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getWorkerThreads());
+        executor.setMaxPoolSize(config.getWorkerThreads());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setThreadNamePrefix("attendance-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.admin.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Summary Executor Configuration
+ * Bounded executor for the per-month parts of range summaries. When it is
+ * saturated the requesting thread computes the month itself, which throttles
+ * callers instead of failing them.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SummaryExecutorConfig {
+
+    public static final String SUMMARY_EXECUTOR = "attendanceSummaryExecutor";
+
+    private final AdminAttendanceProperties properties;
+
+    @Bean(name = SUMMARY_EXECUTOR)
+    public ThreadPoolTaskExecutor attendanceSummaryExecutor() {
+        AdminAttendanceProperties.RangeSummary config = properties.getRangeSummary();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getWorkerThreads());
+        executor.setMaxPoolSize(config.getWorkerThreads());
+        executor.setQueueCapacity(config.getMaxMonths());
+        executor.setThreadNamePrefix("attendance-summary-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
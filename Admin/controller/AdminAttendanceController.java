@@ -1,8 +1,26 @@
 package com.company.admin.controller;
 
+import com.company.admin.cache.AdminRequestCoalescer;
+import com.company.admin.cache.AttendanceVersions;
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.AdminAttendanceResponse;
+import com.company.admin.dto.response.AdminDashboardResponse;
+import com.company.admin.dto.response.AdminMonthlyAttendanceResponse;
+import com.company.admin.dto.response.ArchivedMonthResponse;
+import com.company.admin.dto.response.AttendanceRangeSummaryResponse;
+import com.company.admin.dto.response.AutoCheckoutRunResponse;
+import com.company.admin.dto.response.BulkManualMarkResponse;
+import com.company.admin.dto.response.CursorPageResponse;
+import com.company.admin.dto.response.LocationAnomalyReport;
+import com.company.admin.export.ExportFormat;
 import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AdminDashboardService;
+import com.company.admin.service.AttendanceArchiveService;
+import com.company.admin.service.AttendanceRangeSummaryService;
+import com.company.admin.service.AutoCheckoutService;
+import com.company.admin.service.BulkManualMarkService;
+import com.company.admin.writebehind.AttendanceWriteBuffer;
 import com.company.attendance.dto.response.AttendanceResponse;
-import com.company.attendance.dto.response.MonthlyAttendanceResponse;
 import com.company.common.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,14 +28,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Admin Attendance Controller
@@ -33,6 +61,15 @@ import java.util.Map;
 public class AdminAttendanceController {
 
     private final AdminAttendanceService adminAttendanceService;
+    private final AdminRequestCoalescer adminRequestCoalescer;
+    private final AttendanceVersions attendanceVersions;
+    private final BulkManualMarkService bulkManualMarkService;
+    private final AutoCheckoutService autoCheckoutService;
+    private final AttendanceRangeSummaryService attendanceRangeSummaryService;
+    private final AdminDashboardService adminDashboardService;
+    private final AttendanceWriteBuffer attendanceWriteBuffer;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final PresenceBroadcaster presenceBroadcaster;
 
     /**
      * Get employee location history
@@ -41,14 +78,19 @@ public class AdminAttendanceController {
     @GetMapping("/employee/{employeeId}")
     @Operation(summary = "Get employee attendance history", 
                description = "Get attendance records with location for a specific employee")
-    public ResponseEntity<ApiResponse<MonthlyAttendanceResponse>> getEmployeeAttendance(
+    public ResponseEntity<ApiResponse<AdminMonthlyAttendanceResponse>> getEmployeeAttendance(
             @PathVariable Long employeeId,
             @RequestParam int month,
-            @RequestParam int year) {
+            @RequestParam int year,
+            WebRequest request) {
         
-        log.info("Admin fetching attendance for employee: {} - {}/{}", employeeId, year, month);
+        log.debug("Admin fetching attendance for employee: {} - {}/{}", employeeId, year, month);
         
-        MonthlyAttendanceResponse response = adminAttendanceService.getEmployeeMonthlyAttendance(
+        if (notModified(request, attendanceVersions.employeeMonthVersion(employeeId, YearMonth.of(year, month)))) {
+            return null;
+        }
+        
+        AdminMonthlyAttendanceResponse response = adminAttendanceService.getEmployeeMonthlyAttendance(
             employeeId, year, month
         );
         
@@ -67,20 +109,85 @@ public class AdminAttendanceController {
     @GetMapping("/employee/{employeeId}/range")
     @Operation(summary = "Get employee attendance by date range", 
                description = "Get attendance records for an employee within a date range")
-    public ResponseEntity<ApiResponse<List<AttendanceResponse>>> getEmployeeAttendanceByRange(
+    public ResponseEntity<ApiResponse<List<AdminAttendanceResponse>>> getEmployeeAttendanceByRange(
             @PathVariable Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        
+        log.debug("Admin fetching attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
         
-        log.info("Admin fetching attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
+        if (notModified(request, attendanceVersions.employeeRangeVersion(employeeId, startDate, endDate))) {
+            return null;
+        }
         
-        List<AttendanceResponse> response = adminAttendanceService.getEmployeeAttendanceByDateRange(
+        List<AdminAttendanceResponse> response = adminAttendanceService.getEmployeeAttendanceByDateRange(
             employeeId, startDate, endDate
         );
         
         return ResponseEntity.ok(ApiResponse.success("Employee attendance retrieved successfully", response));
     }
 
+    /**
+     * Stream employee attendance for date range as newline-delimited JSON
+     * GET /api/v1/admin/attendance/employee/{employeeId}/range?startDate=2026-02-01&endDate=2026-02-28
+     * (Accept: application/x-ndjson)
+     */
+    @GetMapping(value = "/employee/{employeeId}/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream employee attendance by date range", 
+               description = "Stream attendance records for an employee within a date range, one JSON object per line")
+    public ResponseEntity<StreamingResponseBody> streamEmployeeAttendanceByRange(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        
+        log.debug("Admin streaming attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
+        
+        if (notModified(request, attendanceVersions.employeeRangeVersion(employeeId, startDate, endDate) + "-ndjson")) {
+            return null;
+        }
+        
+        StreamingResponseBody body = out ->
+            adminAttendanceService.streamEmployeeAttendanceByDateRange(employeeId, startDate, endDate, out);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Get one page of employee attendance for date range
+     * GET /api/v1/admin/attendance/employee/{employeeId}/range/page?startDate=2026-02-01&endDate=2026-02-28&limit=100&cursor=...
+     */
+    @GetMapping("/employee/{employeeId}/range/page")
+    @Operation(summary = "Get employee attendance by date range, paginated", 
+               description = "Get a page of attendance records for an employee within a date range; " +
+                             "pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AdminAttendanceResponse>>> getEmployeeAttendancePage(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        
+        log.debug("Admin fetching attendance page for employee: {} from {} to {}", employeeId, startDate, endDate);
+        
+        if (notModified(request, attendanceVersions.employeeRangeVersion(employeeId, startDate, endDate))) {
+            return null;
+        }
+        
+        try {
+            CursorPageResponse<AdminAttendanceResponse> response = adminAttendanceService.getEmployeeAttendancePage(
+                employeeId, startDate, endDate, cursor, limit
+            );
+            return ResponseEntity.ok(ApiResponse.success("Employee attendance retrieved successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * Get attendance for specific employee on specific date
      * GET /api/v1/admin/attendance/employee/{employeeId}/date/{date}
@@ -88,13 +195,18 @@ public class AdminAttendanceController {
     @GetMapping("/employee/{employeeId}/date/{date}")
     @Operation(summary = "Get employee attendance by date", 
                description = "Get attendance record for an employee on a specific date")
-    public ResponseEntity<ApiResponse<AttendanceResponse>> getEmployeeAttendanceByDate(
+    public ResponseEntity<ApiResponse<AdminAttendanceResponse>> getEmployeeAttendanceByDate(
             @PathVariable Long employeeId,
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
         
-        log.info("Admin fetching attendance for employee: {} on date: {}", employeeId, date);
+        log.debug("Admin fetching attendance for employee: {} on date: {}", employeeId, date);
         
-        AttendanceResponse response = adminAttendanceService.getEmployeeAttendanceByDate(employeeId, date);
+        if (notModified(request, attendanceVersions.employeeMonthVersion(employeeId, YearMonth.from(date)))) {
+            return null;
+        }
+        
+        AdminAttendanceResponse response = adminAttendanceService.getEmployeeAttendanceByDate(employeeId, date);
         
         if (response == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -111,16 +223,75 @@ public class AdminAttendanceController {
     @GetMapping("/date/{date}")
     @Operation(summary = "Get all attendance by date", 
                description = "Get attendance records for all employees on a specific date")
-    public ResponseEntity<ApiResponse<List<AttendanceResponse>>> getAllAttendanceByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    public ResponseEntity<ApiResponse<List<AdminAttendanceResponse>>> getAllAttendanceByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
         
-        log.info("Admin fetching all attendance for date: {}", date);
+        log.debug("Admin fetching all attendance for date: {}", date);
         
-        List<AttendanceResponse> response = adminAttendanceService.getAllAttendanceByDate(date);
+        if (notModified(request, attendanceVersions.dayVersion(date))) {
+            return null;
+        }
+        
+        List<AdminAttendanceResponse> response = adminAttendanceService.getAllAttendanceByDate(date);
         
         return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", response));
     }
 
+    /**
+     * Stream all employees attendance for a specific date as newline-delimited JSON
+     * GET /api/v1/admin/attendance/date/{date} (Accept: application/x-ndjson)
+     */
+    @GetMapping(value = "/date/{date}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all attendance by date", 
+               description = "Stream attendance records for all employees on a specific date, one JSON object per line")
+    public ResponseEntity<StreamingResponseBody> streamAllAttendanceByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        
+        log.debug("Admin streaming all attendance for date: {}", date);
+        
+        if (notModified(request, attendanceVersions.dayVersion(date) + "-ndjson")) {
+            return null;
+        }
+        
+        StreamingResponseBody body = out -> adminAttendanceService.streamAllAttendanceByDate(date, out);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Get one page of all employees attendance for a specific date
+     * GET /api/v1/admin/attendance/date/{date}/page?limit=100&cursor=...
+     */
+    @GetMapping("/date/{date}/page")
+    @Operation(summary = "Get all attendance by date, paginated", 
+               description = "Get a page of attendance records for all employees on a specific date; " +
+                             "pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AdminAttendanceResponse>>> getAttendancePageByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        
+        log.debug("Admin fetching attendance page for date: {}", date);
+        
+        if (notModified(request, attendanceVersions.dayVersion(date))) {
+            return null;
+        }
+        
+        try {
+            CursorPageResponse<AdminAttendanceResponse> response = adminAttendanceService.getAttendancePageByDate(
+                date, cursor, limit
+            );
+            return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * Get attendance summary for all employees
      * GET /api/v1/admin/attendance/summary?month=2&year=2026
@@ -130,15 +301,88 @@ public class AdminAttendanceController {
                description = "Get attendance summary for all employees for a specific month")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAttendanceSummary(
             @RequestParam int month,
-            @RequestParam int year) {
+            @RequestParam int year,
+            WebRequest request) {
         
-        log.info("Admin fetching attendance summary for {}/{}", year, month);
+        log.debug("Admin fetching attendance summary for {}/{}", year, month);
+        
+        if (notModified(request, attendanceVersions.monthVersion(YearMonth.of(year, month)))) {
+            return null;
+        }
         
-        Map<String, Object> summary = adminAttendanceService.getAttendanceSummary(year, month);
+        Map<String, Object> summary = adminRequestCoalescer.getAttendanceSummary(year, month);
         
         return ResponseEntity.ok(ApiResponse.success("Attendance summary retrieved successfully", summary));
     }
 
+    /**
+     * Get attendance summary for a range of months
+     * GET /api/v1/admin/attendance/summary/range?from=2025-01&to=2025-12
+     */
+    @GetMapping("/summary/range")
+    @Operation(summary = "Get attendance summary for a range of months", 
+               description = "Get per-month attendance summaries and overall totals for an inclusive range of months")
+    public ResponseEntity<ApiResponse<AttendanceRangeSummaryResponse>> getAttendanceRangeSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            WebRequest request) {
+        
+        log.debug("Admin fetching attendance summary for {} to {}", from, to);
+        
+        if (notModified(request, attendanceVersions.monthRangeVersion(from, to))) {
+            return null;
+        }
+        
+        try {
+            AttendanceRangeSummaryResponse response = attendanceRangeSummaryService.getRangeSummary(from, to);
+            return ResponseEntity.ok(ApiResponse.success("Attendance summary retrieved successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Rebuild attendance summary for a month (backfill or repair)
+     * POST /api/v1/admin/attendance/summary/rebuild?month=2&year=2026
+     */
+    @PostMapping("/summary/rebuild")
+    @Operation(summary = "Rebuild attendance summary", 
+               description = "Recompute the pre-aggregated attendance summary of a month from raw records")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildAttendanceSummary(
+            @RequestParam int month,
+            @RequestParam int year) {
+        
+        log.info("Admin rebuilding attendance summary for {}/{}", year, month);
+        
+        Map<String, Object> summary = adminAttendanceService.rebuildAttendanceSummary(year, month);
+        adminRequestCoalescer.invalidateSummary(year, month);
+        
+        return ResponseEntity.ok(ApiResponse.success("Attendance summary rebuilt successfully", summary));
+    }
+
+    /**
+     * Get the admin dashboard: monthly summary, checked-in now and absent today in one call
+     * GET /api/v1/admin/attendance/dashboard?month=2&year=2026
+     */
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get admin dashboard", 
+               description = "Load the attendance summary, currently checked-in and absent employees concurrently; " +
+                             "sections that fail or time out are null and listed in errors")
+    public ResponseEntity<ApiResponse<AdminDashboardResponse>> getDashboard(
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year) {
+        
+        LocalDate today = LocalDate.now();
+        int targetMonth = month != null ? month : today.getMonthValue();
+        int targetYear = year != null ? year : today.getYear();
+        
+        log.debug("Admin fetching dashboard for {}/{}", targetYear, targetMonth);
+        
+        AdminDashboardResponse response = adminDashboardService.getDashboard(targetYear, targetMonth);
+        
+        return ResponseEntity.ok(ApiResponse.success("Dashboard retrieved successfully", response));
+    }
+
     /**
      * Get employees who haven't checked in today
      * GET /api/v1/admin/attendance/absent-today
@@ -148,7 +392,7 @@ public class AdminAttendanceController {
                description = "Get list of employees who haven't checked in today")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAbsentEmployeesToday() {
         
-        log.info("Admin fetching absent employees for today");
+        log.debug("Admin fetching absent employees for today");
         
         List<Map<String, Object>> absentees = adminAttendanceService.getAbsentEmployeesToday();
         
@@ -162,15 +406,30 @@ public class AdminAttendanceController {
     @GetMapping("/checked-in-now")
     @Operation(summary = "Get currently checked-in employees", 
                description = "Get list of employees who are currently checked in but not checked out")
-    public ResponseEntity<ApiResponse<List<AttendanceResponse>>> getCurrentlyCheckedInEmployees() {
+    public ResponseEntity<ApiResponse<List<AdminAttendanceResponse>>> getCurrentlyCheckedInEmployees() {
         
-        log.info("Admin fetching currently checked-in employees");
+        log.debug("Admin fetching currently checked-in employees");
         
-        List<AttendanceResponse> checkedIn = adminAttendanceService.getCurrentlyCheckedInEmployees();
+        List<AdminAttendanceResponse> checkedIn = adminAttendanceService.getCurrentlyCheckedInEmployees();
         
         return ResponseEntity.ok(ApiResponse.success("Currently checked-in employees retrieved successfully", checkedIn));
     }
 
+    /**
+     * Stream changes to currently checked-in employees
+     * GET /api/v1/admin/attendance/checked-in-now/stream
+     * Sends a "snapshot" event on subscribe, then a "presence" event per check-in or check-out.
+     */
+    @GetMapping(value = "/checked-in-now/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream currently checked-in employees", 
+               description = "Server-Sent Events stream of check-in and check-out changes")
+    public SseEmitter streamCurrentlyCheckedInEmployees() {
+        
+        log.info("Admin subscribing to checked-in employee updates");
+        
+        return presenceBroadcaster.subscribe(adminAttendanceService::getCurrentlyCheckedInEmployees);
+    }
+
     /**
      * Get location analytics for an employee
      * GET /api/v1/admin/attendance/employee/{employeeId}/location-analytics?month=2&year=2026
@@ -181,9 +440,14 @@ public class AdminAttendanceController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> getEmployeeLocationAnalytics(
             @PathVariable Long employeeId,
             @RequestParam int month,
-            @RequestParam int year) {
+            @RequestParam int year,
+            WebRequest request) {
         
-        log.info("Admin fetching location analytics for employee: {} - {}/{}", employeeId, year, month);
+        log.debug("Admin fetching location analytics for employee: {} - {}/{}", employeeId, year, month);
+        
+        if (notModified(request, attendanceVersions.employeeMonthVersion(employeeId, YearMonth.of(year, month)))) {
+            return null;
+        }
         
         Map<String, Object> analytics = adminAttendanceService.getEmployeeLocationAnalytics(
             employeeId, year, month
@@ -192,9 +456,60 @@ public class AdminAttendanceController {
         return ResponseEntity.ok(ApiResponse.success("Location analytics retrieved successfully", analytics));
     }
 
+    /**
+     * Scan all employees for unusual check-in location spread
+     * GET /api/v1/admin/attendance/location-anomalies?month=2&year=2026&thresholdMeters=1000
+     */
+    @GetMapping("/location-anomalies")
+    @Operation(summary = "Get location anomalies", 
+               description = "Flag employees whose check-in locations spread wider than a threshold in a month")
+    public ResponseEntity<ApiResponse<LocationAnomalyReport>> getLocationAnomalies(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(required = false) Double thresholdMeters) {
+        
+        log.info("Admin scanning location anomalies for {}/{}", year, month);
+        
+        LocationAnomalyReport report = adminAttendanceService.getLocationAnomalies(year, month, thresholdMeters);
+        
+        return ResponseEntity.ok(ApiResponse.success("Location anomalies retrieved successfully", report));
+    }
+
+    /**
+     * Get the result of the latest nightly location anomaly scan
+     * GET /api/v1/admin/attendance/location-anomalies/latest
+     */
+    @GetMapping("/location-anomalies/latest")
+    @Operation(summary = "Get latest nightly location anomalies", 
+               description = "Get the result of the most recent nightly location anomaly scan")
+    public ResponseEntity<ApiResponse<LocationAnomalyReport>> getLatestLocationAnomalies() {
+        
+        return adminAttendanceService.getLatestLocationAnomalies()
+            .map(report -> ResponseEntity.ok(ApiResponse.success("Location anomalies retrieved successfully", report)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("No nightly location anomaly scan has completed yet")));
+    }
+
+    /**
+     * Get admin read cache statistics
+     * GET /api/v1/admin/attendance/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get cache statistics", 
+               description = "Hit, miss and eviction statistics of the admin attendance caches")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStatistics() {
+        
+        Map<String, Object> statistics = adminAttendanceService.getCacheStatistics();
+        statistics.put("requestCoalescing", adminRequestCoalescer.getStatistics());
+        statistics.put("writeBehind", attendanceWriteBuffer.getStatistics());
+        
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", statistics));
+    }
+
     /**
      * Manually mark attendance for an employee (admin override)
      * POST /api/v1/admin/attendance/manual-mark
+     * With write-behind enabled the mark is buffered and answered with 202 Accepted
      */
     @PostMapping("/manual-mark")
     @Operation(summary = "Manual attendance marking", 
@@ -204,56 +519,211 @@ public class AdminAttendanceController {
         
         log.info("Admin manually marking attendance");
         
-        AttendanceResponse response = adminAttendanceService.manualMarkAttendance(request);
+        try {
+            if (attendanceWriteBuffer.isEnabled()) {
+                AttendanceResponse response = attendanceWriteBuffer.manualMark(request);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Attendance mark accepted", response));
+            }
+            
+            AttendanceResponse response = adminAttendanceService.manualMarkAttendance(request);
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Attendance marked successfully", response));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error("Too many attendance writes in progress, please retry later"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Manually mark attendance for many employees in one request
+     * POST /api/v1/admin/attendance/manual-mark/bulk
+     */
+    @PostMapping(value = "/manual-mark/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk manual attendance marking", 
+               description = "Apply many admin overrides at once and get the outcome of every row")
+    public ResponseEntity<ApiResponse<BulkManualMarkResponse>> bulkManualMarkAttendance(
+            @RequestBody List<ManualAttendanceRequest> requests) {
+        
+        log.info("Admin bulk marking attendance: {} rows", requests.size());
         
-        return ResponseEntity.status(HttpStatus.CREATED)
-            .body(ApiResponse.success("Attendance marked successfully", response));
+        if (!attendanceWriteBuffer.drain()) {
+            return bufferedMarksPending();
+        }
+        
+        try {
+            BulkManualMarkResponse response = bulkManualMarkService.apply(requests);
+            return ResponseEntity.ok(ApiResponse.success("Bulk attendance marking completed", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Manually mark attendance from an uploaded CSV file
+     * POST /api/v1/admin/attendance/manual-mark/bulk (multipart, field "file")
+     * Columns: userId, date, status and optionally checkInTime, checkOutTime, remarks
+     */
+    @PostMapping(value = "/manual-mark/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk manual attendance marking from CSV", 
+               description = "Apply admin overrides from an uploaded CSV file and get the outcome of every row")
+    public ResponseEntity<ApiResponse<BulkManualMarkResponse>> bulkManualMarkAttendanceCsv(
+            @RequestParam("file") MultipartFile file) throws IOException {
+        
+        log.info("Admin bulk marking attendance from file: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        
+        if (!attendanceWriteBuffer.drain()) {
+            return bufferedMarksPending();
+        }
+        
+        try (InputStream in = file.getInputStream()) {
+            BulkManualMarkResponse response = bulkManualMarkService.applyCsv(in);
+            return ResponseEntity.ok(ApiResponse.success("Bulk attendance marking completed", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     /**
      * Run auto check-out for all employees
      * POST /api/v1/admin/attendance/auto-checkout
+     * Only one run proceeds at a time across the cluster; an interrupted run for
+     * the same date resumes from its checkpoint.
      */
     @PostMapping("/auto-checkout")
     @Operation(summary = "Auto check-out", 
                description = "Automatically check out employees who forgot to check out")
-    public ResponseEntity<ApiResponse<Map<String, Integer>>> runAutoCheckout(
+    public ResponseEntity<ApiResponse<AutoCheckoutRunResponse>> runAutoCheckout(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         
         LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
         log.info("Admin running auto check-out for date: {}", targetDate);
         
-        int count = adminAttendanceService.runAutoCheckout(targetDate);
+        return autoCheckoutService.run(targetDate)
+            .map(run -> run.isTakenOver()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Auto check-out was taken over by another node, check its status for progress", run))
+                : ResponseEntity.ok(ApiResponse.success("Auto check-out completed", run)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Auto check-out is already running, check its status for progress")));
+    }
+
+    /**
+     * Get auto check-out progress
+     * GET /api/v1/admin/attendance/auto-checkout/status?date=2026-02-15
+     */
+    @GetMapping("/auto-checkout/status")
+    @Operation(summary = "Auto check-out status", 
+               description = "Get progress and throughput of the auto check-out run for a date")
+    public ResponseEntity<ApiResponse<AutoCheckoutRunResponse>> getAutoCheckoutStatus(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         
-        Map<String, Integer> result = Map.of(
-            "recordsUpdated", count,
-            "date", targetDate.getDayOfMonth()
-        );
+        LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
         
-        return ResponseEntity.ok(ApiResponse.success("Auto check-out completed", result));
+        return autoCheckoutService.getRun(targetDate)
+            .map(run -> ResponseEntity.ok(ApiResponse.success("Auto check-out status retrieved successfully", run)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("No auto check-out run found for " + targetDate)));
+    }
+
+    /**
+     * Archive a closed month
+     * POST /api/v1/admin/attendance/archive?month=2&year=2025
+     * Reads of the month switch to its archive file at once; its rows leave the
+     * attendance table on a later scheduled run.
+     */
+    @PostMapping("/archive")
+    @Operation(summary = "Archive month", 
+               description = "Move a closed month older than the hot months into a compressed columnar archive file")
+    public ResponseEntity<ApiResponse<ArchivedMonthResponse>> archiveMonth(
+            @RequestParam int month,
+            @RequestParam int year) {
+        
+        log.info("Admin archiving attendance of {}/{}", year, month);
+        
+        try {
+            return attendanceArchiveService.archive(YearMonth.of(year, month))
+                .map(archived -> ResponseEntity.ok(ApiResponse.success("Attendance month archived", archived)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Archiving is already running, check the archived months for progress")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get archived months
+     * GET /api/v1/admin/attendance/archive
+     */
+    @GetMapping("/archive")
+    @Operation(summary = "Archived months", 
+               description = "List the months moved to archive files with their state, row counts and file sizes")
+    public ResponseEntity<ApiResponse<List<ArchivedMonthResponse>>> getArchivedMonths() {
+        
+        return ResponseEntity.ok(ApiResponse.success("Archived months retrieved successfully",
+            attendanceArchiveService.getArchivedMonths()));
     }
 
     /**
      * Export attendance report
      * GET /api/v1/admin/attendance/export?month=2&year=2026&format=csv
+     * Identical exports share one export job and stream its spool file; the report
+     * is streamed from the database when no shared job finishes in time.
      */
     @GetMapping("/export")
     @Operation(summary = "Export attendance report", 
-               description = "Export attendance report in CSV or Excel format")
-    public ResponseEntity<byte[]> exportAttendanceReport(
+               description = "Export attendance report in CSV, Excel (xlsx) or, where the server supports it, Arrow IPC stream (arrow) format")
+    public ResponseEntity<?> exportAttendanceReport(
             @RequestParam int month,
             @RequestParam int year,
-            @RequestParam(defaultValue = "csv") String format) {
+            @RequestParam(defaultValue = "csv") String format,
+            WebRequest request) {
         
         log.info("Admin exporting attendance report for {}/{} in {} format", year, month, format);
         
-        byte[] report = adminAttendanceService.exportAttendanceReport(year, month, format);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+        
+        if (notModified(request, attendanceVersions.monthVersion(YearMonth.of(year, month)) + "-" + exportFormat.getExtension())) {
+            return null;
+        }
         
-        String filename = String.format("attendance_%d_%02d.%s", year, month, format);
+        String filename = String.format("attendance_%d_%02d.%s", year, month, exportFormat.getExtension());
+        
+        StreamingResponseBody body = out -> adminRequestCoalescer.exportAttendanceReport(year, month, format, out);
         
         return ResponseEntity.ok()
             .header("Content-Disposition", "attachment; filename=" + filename)
-            .header("Content-Type", format.equals("csv") ? "text/csv" : "application/vnd.ms-excel")
-            .body(report);
+            .header("Content-Type", exportFormat.getContentType())
+            .body(body);
+    }
+
+    /**
+     * Answer a conditional GET whose entity tag still matches the attendance version
+     * of the requested scope. Sets the ETag header either way; when this returns true
+     * the response is already a 304 and nothing should be loaded.
+     */
+    private static boolean notModified(WebRequest request, String version) {
+        return request.checkNotModified("W/\"" + version + "\"");
+    }
+
+    /**
+     * Bulk marks write over buffered single marks only once those are written, so a
+     * database the buffer cannot reach turns them away the same way
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> bufferedMarksPending() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error("Buffered attendance marks are still being written, please retry later"));
     }
 }
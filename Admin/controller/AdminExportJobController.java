@@ -0,0 +1,159 @@
+package com.company.admin.controller;
+
+import com.company.admin.dto.response.ExportJobResponse;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.service.AttendanceExportJobService;
+import com.company.common.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Admin Export Job Controller
+ * REST API endpoints for asynchronous attendance exports
+ */
+@RestController
+@RequestMapping("/api/v1/admin/attendance/export/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin - Attendance Export Jobs", description = "Admin APIs for asynchronous attendance exports")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportJobController {
+
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+
+    private final AttendanceExportJobService exportJobService;
+
+    /**
+     * Submit an export job
+     * POST /api/v1/admin/attendance/export/jobs?month=2&year=2026&format=csv
+     */
+    @PostMapping
+    @Operation(summary = "Submit export job",
+               description = "Start an attendance export in the background and return its job id")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> submitExportJob(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        log.info("Admin submitting export job for {}/{} in {} format", year, month, format);
+
+        try {
+            ExportJobResponse job = exportJobService.submit(year, month, format);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Export job submitted", job));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Too many exports in progress, please retry later"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get export job status and progress
+     * GET /api/v1/admin/attendance/export/jobs/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get export job",
+               description = "Get status and progress in rows of an export job")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> getExportJob(@PathVariable String jobId) {
+
+        return exportJobService.getJob(jobId)
+            .map(job -> ResponseEntity.ok(ApiResponse.success("Export job retrieved successfully", job)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Export job not found or expired")));
+    }
+
+    /**
+     * Download the gzip-compressed result of a completed export job
+     * GET /api/v1/admin/attendance/export/jobs/{jobId}/download
+     * Supports single byte ranges so interrupted downloads can resume.
+     */
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "Download export job result",
+               description = "Download the gzip-compressed report of a completed export job")
+    public ResponseEntity<StreamingResponseBody> downloadExportJob(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader) {
+
+        Optional<ExportJob> completed = exportJobService.getCompletedJob(jobId);
+        if (completed.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        ExportJob job = completed.get();
+        long fileSize = job.getFileSize();
+        long start = 0;
+        long end = fileSize - 1;
+        HttpStatus status = HttpStatus.OK;
+
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    throw new IllegalArgumentException("Only a single range is supported");
+                }
+                start = ranges.get(0).getRangeStart(fileSize);
+                end = ranges.get(0).getRangeEnd(fileSize);
+                status = HttpStatus.PARTIAL_CONTENT;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                    .build();
+            }
+        }
+
+        long position = start;
+        long length = end - start + 1;
+        Path file = job.getFile();
+
+        StreamingResponseBody body = out -> transfer(file, position, length, Channels.newChannel(out));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getDownloadFilename())
+            .header(HttpHeaders.CONTENT_TYPE, GZIP_CONTENT_TYPE)
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .header(HttpHeaders.ETAG, "\"" + job.getId() + "\"")
+            .contentLength(length);
+
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+        }
+
+        return response.body(body);
+    }
+
+    private static void transfer(Path file, long position, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long sent = 0;
+            while (sent < length) {
+                long n = channel.transferTo(position + sent, length - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.company.admin.controller;
+
+import com.company.admin.dto.request.GeofenceRequest;
+import com.company.admin.model.Geofence;
+import com.company.admin.service.GeofenceService;
+import com.company.common.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Admin Geofence Controller
+ * REST API endpoints for office geofences and check-in compliance
+ */
+@RestController
+@RequestMapping("/api/v1/admin/geofences")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin - Geofences", description = "Admin APIs for office geofences and location compliance")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminGeofenceController {
+
+    private final GeofenceService geofenceService;
+
+    /**
+     * List office geofences
+     * GET /api/v1/admin/geofences
+     */
+    @GetMapping
+    @Operation(summary = "List geofences", 
+               description = "Get all registered office geofences")
+    public ResponseEntity<ApiResponse<List<Geofence>>> getGeofences() {
+        
+        return ResponseEntity.ok(ApiResponse.success("Geofences retrieved successfully", geofenceService.getGeofences()));
+    }
+
+    /**
+     * Register an office geofence
+     * POST /api/v1/admin/geofences
+     */
+    @PostMapping
+    @Operation(summary = "Add geofence", 
+               description = "Register an office site as a centre and radius in meters")
+    public ResponseEntity<ApiResponse<Geofence>> addGeofence(@RequestBody GeofenceRequest request) {
+        
+        log.info("Admin registering geofence: {}", request.getName());
+        
+        try {
+            Geofence geofence = geofenceService.addGeofence(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Geofence registered successfully", geofence));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove an office geofence
+     * DELETE /api/v1/admin/geofences/{id}
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Remove geofence", 
+               description = "Remove a registered office geofence")
+    public ResponseEntity<ApiResponse<Void>> removeGeofence(@PathVariable long id) {
+        
+        log.info("Admin removing geofence: {}", id);
+        
+        if (!geofenceService.removeGeofence(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Geofence not found"));
+        }
+        
+        return ResponseEntity.ok(ApiResponse.success("Geofence removed successfully"));
+    }
+
+    /**
+     * Stream monthly geofence compliance per employee and day as newline-delimited JSON
+     * GET /api/v1/admin/geofences/compliance?month=2&year=2026&employeeId=42
+     */
+    @GetMapping(value = "/compliance", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Geofence compliance report", 
+               description = "Whether each check-in and check-out of a month fell inside an office site, " +
+                             "one employee-day per line")
+    public ResponseEntity<StreamingResponseBody> getComplianceReport(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(required = false) Long employeeId) {
+        
+        log.info("Admin streaming geofence compliance for {}/{}", year, month);
+        
+        StreamingResponseBody body = out -> geofenceService.writeComplianceReport(year, month, employeeId, out);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.admin.controller;
+
+import com.company.admin.presence.PresenceDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Presence Broadcaster
+ * Fans the presence deltas published by the presence index out to Server-Sent
+ * Events subscribers. A single dispatcher thread puts snapshots and deltas in the
+ * same order into a bounded queue per subscriber, and each subscriber's queue is
+ * sent on a sender thread of its own, so a slow client only delays itself. A
+ * subscriber whose queue fills up, or whose send stays blocked past the send
+ * timeout, is dropped and reconnects for a fresh snapshot.
+ */
+@Component
+@Slf4j
+public class PresenceBroadcaster {
+
+    static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    static final long SEND_TIMEOUT_MS = 30 * 1000L;
+    static final int SUBSCRIBER_QUEUE_CAPACITY = 1024;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "presence-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "presence-sse-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Register a subscriber and send it the initial snapshot
+     */
+    public SseEmitter subscribe(Supplier<?> snapshot) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Take the snapshot on the dispatcher so it is queued ahead of the deltas after it
+        dispatcher.execute(() -> {
+            subscribers.add(subscriber);
+            subscriber.offer(SseEmitter.event().name("snapshot").data(snapshot.get()));
+        });
+
+        return emitter;
+    }
+
+    @EventListener
+    public void broadcast(PresenceDelta delta) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().name("presence").data(delta));
+            }
+        });
+    }
+
+    /**
+     * Keep idle connections open through proxies and drop dead or stuck subscribers
+     */
+    @Scheduled(fixedDelayString = "${admin.attendance.presence.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            long now = System.nanoTime();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.isStuck(now)) {
+                    subscriber.drop(new IOException("Presence send blocked for over " + SEND_TIMEOUT_MS + " ms"));
+                } else {
+                    subscriber.offer(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * One SSE connection with the events queued for it
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_CAPACITY);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+
+        /**
+         * When the send in progress started, or 0 between sends
+         */
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                drop(new IOException("Presence subscriber fell " + SUBSCRIBER_QUEUE_CAPACITY + " events behind"));
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        boolean isStuck(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MS);
+        }
+
+        void drop(Exception cause) {
+            if (!dropped.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            queue.clear();
+            log.debug("Dropped presence subscriber: {}", cause.getMessage());
+            // Completing waits for a send in progress, so it never runs on the dispatcher
+            senders.execute(() -> emitter.completeWithError(cause));
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped.get() && (event = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        drop(e);
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+                sending.set(false);
+                // An event queued after the last poll saw the flag still set and left it to this loop
+            } while (!dropped.get() && !queue.isEmpty() && sending.compareAndSet(false, true));
+        }
+    }
+}
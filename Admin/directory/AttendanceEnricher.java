@@ -0,0 +1,43 @@
+package com.company.admin.directory;
+
+import com.company.admin.dto.response.AdminAttendanceResponse;
+import com.company.attendance.dto.response.AttendanceResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attendance Enricher
+ * Attaches employee name and department to attendance responses, resolving the
+ * distinct userIds of a whole result at once instead of one lookup per row
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceEnricher {
+
+    private final EmployeeDirectory employeeDirectory;
+
+    public List<AdminAttendanceResponse> enrich(List<AttendanceResponse> responses) {
+        Set<Long> userIds = new HashSet<>();
+        for (AttendanceResponse response : responses) {
+            userIds.add(response.getUserId());
+        }
+
+        Map<Long, EmployeeInfo> employees = employeeDirectory.resolve(userIds);
+
+        List<AdminAttendanceResponse> enriched = new ArrayList<>(responses.size());
+        for (AttendanceResponse response : responses) {
+            enriched.add(AdminAttendanceResponse.of(response, employees.get(response.getUserId())));
+        }
+        return enriched;
+    }
+
+    public AdminAttendanceResponse enrich(AttendanceResponse response) {
+        return AdminAttendanceResponse.of(response, employeeDirectory.resolve(response.getUserId()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.admin.directory;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Employee Directory
+ * Size-bounded, TTL-evicting cache in front of {@link EmployeeDirectoryClient}.
+ * All ids missing from the cache are resolved with one batched directory call.
+ * Until the User service offers a batched employee lookup and an integration
+ * provides its own client bean, an empty placeholder client is used and employee
+ * name and department stay empty in admin responses and exports.
+ */
+@Component
+@Slf4j
+public class EmployeeDirectory {
+
+    private final EmployeeDirectoryClient directoryClient;
+    private final Cache<Long, EmployeeInfo> cache;
+
+    public EmployeeDirectory(ObjectProvider<EmployeeDirectoryClient> directoryClient,
+                             AdminAttendanceProperties properties) {
+        this.directoryClient = directoryClient.getIfAvailable(() -> {
+            log.warn("No employee directory configured; admin attendance responses will not include employee details");
+            return userIds -> Map.of();
+        });
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getDirectory().getCacheMaximumSize())
+            .expireAfterWrite(properties.getDirectory().getCacheTtl())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Resolve the given ids; every id is present in the result
+     */
+    public Map<Long, EmployeeInfo> resolve(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(userIds, this::load);
+    }
+
+    public EmployeeInfo resolve(Long userId) {
+        return resolve(Set.of(userId)).get(userId);
+    }
+
+    /**
+     * Cache statistics for monitoring
+     */
+    public Cache<Long, EmployeeInfo> getCache() {
+        return cache;
+    }
+
+    private Map<Long, EmployeeInfo> load(Set<? extends Long> missing) {
+        Map<Long, EmployeeInfo> found = directoryClient.findByIds(Set.copyOf(missing));
+
+        Map<Long, EmployeeInfo> loaded = new HashMap<>(missing.size() * 2);
+        for (Long userId : missing) {
+            loaded.put(userId, found.getOrDefault(userId, EmployeeInfo.unknown(userId)));
+        }
+        return loaded;
+    }
+}
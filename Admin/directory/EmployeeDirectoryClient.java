@@ -0,0 +1,18 @@
+package com.company.admin.directory;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Batched lookup against the employee directory.
+ * Implement this as a bean to plug in the User service. No implementation ships
+ * yet: the User service has no batched lookup, and the placeholder that
+ * EmployeeDirectory falls back to resolves nobody, so responses carry no employee details.
+ */
+public interface EmployeeDirectoryClient {
+
+    /**
+     * Resolve many employees in a single round trip. Unknown ids are omitted.
+     */
+    Map<Long, EmployeeInfo> findByIds(Collection<Long> userIds);
+}
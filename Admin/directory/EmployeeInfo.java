@@ -0,0 +1,23 @@
+package com.company.admin.directory;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Employee directory details attached to admin attendance responses
+ */
+@Value
+@Builder
+public class EmployeeInfo {
+
+    Long userId;
+    String name;
+    String department;
+
+    /**
+     * Placeholder for ids the directory does not know, so they are cached too
+     */
+    public static EmployeeInfo unknown(Long userId) {
+        return EmployeeInfo.builder().userId(userId).build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.admin.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Office geofence to register
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeofenceRequest {
+
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusMeters;
+}
@@ -0,0 +1,60 @@
+package com.company.admin.dto.request;
+
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * One admin attendance override
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ManualAttendanceRequest {
+
+    public static final String DEFAULT_REMARKS = "Manually marked by admin";
+
+    private Long userId;
+    private LocalDate date;
+    private AttendanceStatus status;
+    private LocalTime checkInTime;
+    private LocalTime checkOutTime;
+    private String remarks;
+
+    /**
+     * Override from the loosely typed body of the single manual-mark endpoint
+     */
+    public static ManualAttendanceRequest fromMap(Map<String, Object> request) {
+        return ManualAttendanceRequest.builder()
+            .userId(Long.valueOf(request.get("userId").toString()))
+            .date(LocalDate.parse(request.get("date").toString()))
+            .status(AttendanceStatus.valueOf(request.get("status").toString()))
+            .remarks(request.getOrDefault("remarks", DEFAULT_REMARKS).toString())
+            .checkInTime(request.get("checkInTime") != null ? LocalTime.parse(request.get("checkInTime").toString()) : null)
+            .checkOutTime(request.get("checkOutTime") != null ? LocalTime.parse(request.get("checkOutTime").toString()) : null)
+            .build();
+    }
+
+    /**
+     * Apply the override to a record: status and remarks always, times only when given
+     */
+    public void applyTo(Attendance attendance) {
+        attendance.setAttendanceStatus(status);
+        attendance.setRemarks(remarks != null ? remarks : DEFAULT_REMARKS);
+        if (checkInTime != null) {
+            attendance.setCheckInTime(checkInTime);
+        }
+        if (checkOutTime != null) {
+            attendance.setCheckOutTime(checkOutTime);
+        }
+        attendance.calculateTotalHours();
+    }
+}
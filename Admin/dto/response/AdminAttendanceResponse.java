@@ -0,0 +1,32 @@
+package com.company.admin.dto.response;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendance record with employee directory details for admin views.
+ * Serializes as the attendance fields plus employeeName and department.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminAttendanceResponse {
+
+    @JsonUnwrapped
+    private AttendanceResponse attendance;
+
+    private String employeeName;
+    private String department;
+
+    public static AdminAttendanceResponse of(AttendanceResponse attendance, EmployeeInfo employee) {
+        return new AdminAttendanceResponse(
+            attendance,
+            employee != null ? employee.getName() : null,
+            employee != null ? employee.getDepartment() : null
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin dashboard sections loaded in one request. A section that failed or did
+ * not finish within its timeout is null and its reason is listed in errors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminDashboardResponse {
+
+    private Map<String, Object> summary;
+    private List<AdminAttendanceResponse> checkedInNow;
+    private List<Map<String, Object>> absentToday;
+    private Map<String, String> errors;
+    private boolean complete;
+    private long durationMs;
+}
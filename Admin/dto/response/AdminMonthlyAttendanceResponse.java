@@ -0,0 +1,58 @@
+package com.company.admin.dto.response;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.company.attendance.dto.response.MonthlyAttendanceResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Monthly attendance of one employee with employee directory details. Archived
+ * months carry their records instead of the attendance module's monthly view.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminMonthlyAttendanceResponse {
+
+    @JsonUnwrapped
+    private MonthlyAttendanceResponse monthly;
+
+    private String employeeName;
+    private String department;
+
+    /** Set for archived months only */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private YearMonth archivedMonth;
+
+    /** Set for archived months only */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AttendanceResponse> records;
+
+    public static AdminMonthlyAttendanceResponse of(MonthlyAttendanceResponse monthly, EmployeeInfo employee) {
+        return new AdminMonthlyAttendanceResponse(
+            monthly,
+            employee != null ? employee.getName() : null,
+            employee != null ? employee.getDepartment() : null,
+            null,
+            null
+        );
+    }
+
+    public static AdminMonthlyAttendanceResponse archived(YearMonth month, List<AttendanceResponse> records,
+                                                          EmployeeInfo employee) {
+        return new AdminMonthlyAttendanceResponse(
+            null,
+            employee != null ? employee.getName() : null,
+            employee != null ? employee.getDepartment() : null,
+            month,
+            records
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.admin.dto.response;
+
+import com.company.admin.model.ArchivedMonthStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Archived attendance month returned to admin clients
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArchivedMonthResponse {
+
+    private YearMonth month;
+    private ArchivedMonthStatus status;
+    private long records;
+    private long fileBytes;
+    private Instant startedAt;
+    private Instant archivedAt;
+    private Instant purgedAt;
+}
@@ -0,0 +1,28 @@
+package com.company.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attendance summary over a range of months. Each month has the same fields as
+ * the single-month summary plus the source it was served from; totals add up the
+ * months, except totalEmployees which counts distinct employees over the range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRangeSummaryResponse {
+
+    private YearMonth from;
+    private YearMonth to;
+    private List<Map<String, Object>> months;
+    private Map<String, Object> totals;
+    private long durationMs;
+}
@@ -0,0 +1,38 @@
+package com.company.admin.dto.response;
+
+import com.company.admin.model.AutoCheckoutRunStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Auto check-out run progress returned to admin clients
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AutoCheckoutRunResponse {
+
+    private LocalDate date;
+    private AutoCheckoutRunStatus status;
+    private long recordsUpdated;
+    private long totalRecords;
+    private double percentComplete;
+    private double rowsPerSecond;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String error;
+
+    /**
+     * This node lost the run's lease mid-run and another node carries it on
+     */
+    private boolean takenOver;
+}
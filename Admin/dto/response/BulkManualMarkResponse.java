@@ -0,0 +1,49 @@
+package com.company.admin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk manual attendance request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkManualMarkResponse {
+
+    public enum RowStatus {
+        CREATED,
+        UPDATED,
+        REJECTED,
+        FAILED
+    }
+
+    private int totalRows;
+    private int created;
+    private int updated;
+    private int rejected;
+    private int failed;
+    private long durationMs;
+    private List<RowResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+        private int row;
+        private Long userId;
+        private LocalDate date;
+        private RowStatus status;
+        private Long attendanceId;
+        private String message;
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.admin.dto.response;
+
+import com.company.admin.export.job.ExportJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Export job status returned to admin clients
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobResponse {
+
+    private String jobId;
+    private ExportJobStatus status;
+    private int year;
+    private int month;
+    private String format;
+    private long rowsWritten;
+    private Long fileSize;
+    private Instant createdAt;
+    private Instant completedAt;
+    private Instant expiresAt;
+    private String error;
+    private String downloadUrl;
+}
@@ -0,0 +1,38 @@
+package com.company.admin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Geofence compliance of one employee on one day. A day is compliant when the
+ * check-in location is inside an office site and the check-out location, if
+ * recorded, is too.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeofenceComplianceRow {
+
+    public enum PointStatus {
+        INSIDE,
+        OUTSIDE,
+        MISSING
+    }
+
+    private Long userId;
+    private LocalDate date;
+    private PointStatus checkIn;
+    private Long checkInSiteId;
+    private String checkInSiteName;
+    private PointStatus checkOut;
+    private Long checkOutSiteId;
+    private String checkOutSiteName;
+    private boolean compliant;
+}
@@ -0,0 +1,47 @@
+package com.company.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Organization-wide check-in spread analysis for one month. Lists the employees
+ * whose percentile distance from their own check-in centroid exceeds the threshold,
+ * widest spread first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationAnomalyReport {
+
+    private int year;
+    private int month;
+    private int employeesScanned;
+    private long checkInsScanned;
+    private double thresholdMeters;
+    private int percentile;
+    private long durationMs;
+    private Instant generatedAt;
+    private List<Anomaly> anomalies;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Anomaly {
+
+        private Long userId;
+        private String employeeName;
+        private String department;
+        private int checkIns;
+        private double centroidLatitude;
+        private double centroidLongitude;
+        private double maxDistanceMeters;
+        private double percentileDistanceMeters;
+    }
+}
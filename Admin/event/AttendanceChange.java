@@ -0,0 +1,67 @@
+package com.company.admin.event;
+
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+/**
+ * Before and after state of a single attendance row written in a transaction.
+ * previous* fields are null for inserts, current fields are null for deletes.
+ */
+@Value
+@Builder
+public class AttendanceChange {
+
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type;
+    Long attendanceId;
+    Long userId;
+
+    LocalDate previousDate;
+    AttendanceStatus previousStatus;
+    Double previousHours;
+
+    LocalDate date;
+    AttendanceStatus status;
+    Double hours;
+    LocalTime checkInTime;
+    LocalTime checkOutTime;
+
+    /**
+     * The written entity as flushed; null for deletes. Treat as read-only.
+     */
+    Attendance attendance;
+
+    public boolean hasPrevious() {
+        return type != Type.INSERTED && previousDate != null;
+    }
+
+    public boolean hasCurrent() {
+        return type != Type.DELETED && date != null;
+    }
+
+    /**
+     * Whether the row, as written, is checked in and not yet checked out
+     */
+    public boolean isCheckedIn() {
+        return hasCurrent() && checkInTime != null && checkOutTime == null;
+    }
+
+    public YearMonth getPreviousMonth() {
+        return hasPrevious() ? YearMonth.from(previousDate) : null;
+    }
+
+    public YearMonth getMonth() {
+        return hasCurrent() ? YearMonth.from(date) : null;
+    }
+}
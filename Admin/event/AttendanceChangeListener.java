@@ -0,0 +1,156 @@
+package com.company.admin.event;
+
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attendance Change Listener
+ * Captures every insert, update and delete of {@link Attendance} flushed through
+ * Hibernate, whichever service wrote it, and publishes them as one
+ * {@link AttendanceChangedEvent} per transaction just before it commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceChangeListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<EventSource, List<AttendanceChange>> pendingChanges = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            record(event.getSession(), AttendanceChange.builder()
+                .type(AttendanceChange.Type.INSERTED)
+                .attendanceId(attendance.getId())
+                .userId(attendance.getUserId())
+                .date(attendance.getDate())
+                .status(attendance.getAttendanceStatus())
+                .hours(attendance.getTotalHours())
+                .checkInTime(attendance.getCheckInTime())
+                .checkOutTime(attendance.getCheckOutTime())
+                .attendance(attendance)
+                .build());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            Object[] oldState = event.getOldState();
+            if (oldState == null) {
+                log.warn("Attendance {} updated without a previous state; derived data may drift", attendance.getId());
+            }
+
+            record(event.getSession(), AttendanceChange.builder()
+                .type(AttendanceChange.Type.UPDATED)
+                .attendanceId(attendance.getId())
+                .userId(attendance.getUserId())
+                .previousDate((LocalDate) valueOf(event.getPersister(), oldState, "date"))
+                .previousStatus((AttendanceStatus) valueOf(event.getPersister(), oldState, "attendanceStatus"))
+                .previousHours((Double) valueOf(event.getPersister(), oldState, "totalHours"))
+                .date(attendance.getDate())
+                .status(attendance.getAttendanceStatus())
+                .hours(attendance.getTotalHours())
+                .checkInTime(attendance.getCheckInTime())
+                .checkOutTime(attendance.getCheckOutTime())
+                .attendance(attendance)
+                .build());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Attendance attendance) {
+            Object[] deletedState = event.getDeletedState();
+
+            record(event.getSession(), AttendanceChange.builder()
+                .type(AttendanceChange.Type.DELETED)
+                .attendanceId(attendance.getId())
+                .userId(attendance.getUserId())
+                .previousDate((LocalDate) valueOf(event.getPersister(), deletedState, "date"))
+                .previousStatus((AttendanceStatus) valueOf(event.getPersister(), deletedState, "attendanceStatus"))
+                .previousHours((Double) valueOf(event.getPersister(), deletedState, "totalHours"))
+                .build());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, AttendanceChange change) {
+        List<AttendanceChange> changes = pendingChanges.get(session);
+
+        // First attendance write in this transaction: hook its completion
+        if (changes == null) {
+            changes = new ArrayList<>();
+            pendingChanges.put(session, changes);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> publish(session));
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) ->
+                pendingChanges.remove(session));
+        }
+
+        changes.add(change);
+    }
+
+    private void publish(EventSource session) {
+        List<AttendanceChange> changes = pendingChanges.remove(session);
+        if (changes != null && !changes.isEmpty()) {
+            eventPublisher.publishEvent(new AttendanceChangedEvent(List.copyOf(changes)));
+        }
+    }
+
+    private static Object valueOf(EntityPersister persister, Object[] state, String property) {
+        if (state == null) {
+            return null;
+        }
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.admin.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Attendance rows written by one transaction, published just before it commits.
+ * Synchronous listeners run inside the writing transaction; after-commit
+ * listeners should use {@code @TransactionalEventListener}.
+ */
+@Value
+public class AttendanceChangedEvent {
+
+    List<AttendanceChange> changes;
+}
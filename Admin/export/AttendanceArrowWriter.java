@@ -0,0 +1,239 @@
+package com.company.admin.export;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import com.company.attendance.model.embedded.Location;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Attendance Arrow Writer
+ * Writes attendance rows as an Arrow IPC stream of typed columns: the date as days
+ * since the epoch, the employee id as int64, the status dictionary-encoded, times as
+ * time32 milliseconds, hours and each coordinate as float64. Rows are collected into
+ * record batches of {@link #BATCH_ROWS} and each full batch is written out, so memory
+ * use does not depend on the number of rows. Arrow's memory module needs
+ * {@code --add-opens=java.base/java.nio=ALL-UNNAMED} on Java 17 and later.
+ */
+public class AttendanceArrowWriter implements AttendanceReportWriter {
+
+    static final int BATCH_ROWS = 16 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long STATUS_DICTIONARY_ID = 0;
+
+    private static final ArrowType FLOAT8 = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+    private static final ArrowType TIME32 = new ArrowType.Time(TimeUnit.MILLISECOND, 32);
+
+    private final OutputStream out;
+    private final BufferAllocator allocator;
+    private final VarCharVector statusDictionary;
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+
+    private final DateDayVector date;
+    private final BigIntVector employeeId;
+    private final VarCharVector employeeName;
+    private final VarCharVector department;
+    private final TinyIntVector status;
+    private final TimeMilliVector checkIn;
+    private final TimeMilliVector checkOut;
+    private final Float8Vector totalHours;
+    private final Float8Vector checkInLatitude;
+    private final Float8Vector checkInLongitude;
+    private final Float8Vector checkOutLatitude;
+    private final Float8Vector checkOutLongitude;
+
+    private int batchRows;
+    private long rowCount;
+
+    public AttendanceArrowWriter(OutputStream out) {
+        // The writer closes its channel, which must not close the caller's stream
+        this.out = new BufferedOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, BUFFER_SIZE);
+        this.allocator = new RootAllocator();
+
+        DictionaryEncoding statusEncoding =
+            new DictionaryEncoding(STATUS_DICTIONARY_ID, false, new ArrowType.Int(8, true));
+        this.statusDictionary = new VarCharVector("status", allocator);
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        statusDictionary.allocateNew(statuses.length);
+        for (AttendanceStatus s : statuses) {
+            statusDictionary.setSafe(s.ordinal(), s.name().getBytes(StandardCharsets.UTF_8));
+        }
+        statusDictionary.setValueCount(statuses.length);
+        DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+        dictionaries.put(new Dictionary(statusDictionary, statusEncoding));
+
+        Schema schema = new Schema(List.of(
+            field("date", new ArrowType.Date(DateUnit.DAY)),
+            field("employeeId", new ArrowType.Int(64, true)),
+            field("employeeName", ArrowType.Utf8.INSTANCE),
+            field("department", ArrowType.Utf8.INSTANCE),
+            new Field("status", new FieldType(true, new ArrowType.Int(8, true), statusEncoding), null),
+            field("checkIn", TIME32),
+            field("checkOut", TIME32),
+            field("totalHours", FLOAT8),
+            field("checkInLatitude", FLOAT8),
+            field("checkInLongitude", FLOAT8),
+            field("checkOutLatitude", FLOAT8),
+            field("checkOutLongitude", FLOAT8)));
+        this.root = VectorSchemaRoot.create(schema, allocator);
+        this.writer = new ArrowStreamWriter(root, dictionaries, Channels.newChannel(this.out));
+
+        this.date = (DateDayVector) root.getVector("date");
+        this.employeeId = (BigIntVector) root.getVector("employeeId");
+        this.employeeName = (VarCharVector) root.getVector("employeeName");
+        this.department = (VarCharVector) root.getVector("department");
+        this.status = (TinyIntVector) root.getVector("status");
+        this.checkIn = (TimeMilliVector) root.getVector("checkIn");
+        this.checkOut = (TimeMilliVector) root.getVector("checkOut");
+        this.totalHours = (Float8Vector) root.getVector("totalHours");
+        this.checkInLatitude = (Float8Vector) root.getVector("checkInLatitude");
+        this.checkInLongitude = (Float8Vector) root.getVector("checkInLongitude");
+        this.checkOutLatitude = (Float8Vector) root.getVector("checkOutLatitude");
+        this.checkOutLongitude = (Float8Vector) root.getVector("checkOutLongitude");
+    }
+
+    /**
+     * Write the schema and the status dictionary
+     */
+    @Override
+    public void writeHeader() throws IOException {
+        writer.start();
+    }
+
+    @Override
+    public void writeRow(Attendance a, EmployeeInfo employee) throws IOException {
+        if (batchRows == 0) {
+            root.allocateNew();
+        }
+        int i = batchRows++;
+
+        date.setSafe(i, (int) a.getDate().toEpochDay());
+        employeeId.setSafe(i, a.getUserId());
+        setString(employeeName, i, employee != null ? employee.getName() : null);
+        setString(department, i, employee != null ? employee.getDepartment() : null);
+        if (a.getAttendanceStatus() != null) {
+            status.setSafe(i, a.getAttendanceStatus().ordinal());
+        } else {
+            status.setNull(i);
+        }
+        setTime(checkIn, i, a.getCheckInTime());
+        setTime(checkOut, i, a.getCheckOutTime());
+        if (a.getTotalHours() != null) {
+            totalHours.setSafe(i, a.getTotalHours());
+        } else {
+            totalHours.setNull(i);
+        }
+        setLocation(checkInLatitude, checkInLongitude, i, a.getCheckInLocation());
+        setLocation(checkOutLatitude, checkOutLongitude, i, a.getCheckOutLocation());
+
+        rowCount++;
+        if (batchRows == BATCH_ROWS) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (batchRows > 0) {
+            writeBatch();
+        }
+        writer.end();
+        out.flush();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Release the column buffers; the underlying stream is left open
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            root.close();
+            statusDictionary.close();
+            allocator.close();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(batchRows);
+        writer.writeBatch();
+        batchRows = 0;
+    }
+
+    private static Field field(String name, ArrowType type) {
+        return new Field(name, FieldType.nullable(type), null);
+    }
+
+    private static void setString(VarCharVector vector, int i, String value) {
+        if (value != null) {
+            vector.setSafe(i, value.getBytes(StandardCharsets.UTF_8));
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private static void setTime(TimeMilliVector vector, int i, LocalTime time) {
+        if (time != null) {
+            vector.setSafe(i, (int) (time.toNanoOfDay() / 1_000_000));
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private static void setLocation(Float8Vector latitude, Float8Vector longitude, int i, Location location) {
+        if (location != null && location.isValid()) {
+            latitude.setSafe(i, location.getLatitude().doubleValue());
+            longitude.setSafe(i, location.getLongitude().doubleValue());
+        } else {
+            latitude.setNull(i);
+            longitude.setNull(i);
+        }
+    }
+}
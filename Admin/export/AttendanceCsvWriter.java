@@ -0,0 +1,102 @@
+package com.company.admin.export;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Attendance CSV Writer
+ * Writes attendance rows as UTF-8 CSV straight into an output stream through a
+ * fixed-size buffer, so memory use does not depend on the number of rows.
+ */
+public class AttendanceCsvWriter implements AttendanceReportWriter {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String HEADER =
+        "Date,Employee ID,Status,Check In,Check Out,Total Hours," +
+        "Check In Location,Check Out Location,Employee Name,Department\n";
+
+    private final Writer writer;
+    private long rowCount;
+
+    public AttendanceCsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void writeRow(Attendance a, EmployeeInfo employee) throws IOException {
+        writer.write(String.valueOf(a.getDate()));
+        writer.write(',');
+        writer.write(String.valueOf(a.getUserId()));
+        writer.write(',');
+        writer.write(String.valueOf(a.getAttendanceStatus()));
+        writer.write(',');
+        writeNullable(a.getCheckInTime());
+        writer.write(',');
+        writeNullable(a.getCheckOutTime());
+        writer.write(',');
+        writeNullable(a.getTotalHours());
+        writer.write(',');
+        writeText(a.getCheckInLocation() != null ? a.getCheckInLocation().getCoordinates() : null);
+        writer.write(',');
+        writeText(a.getCheckOutLocation() != null ? a.getCheckOutLocation().getCoordinates() : null);
+        writer.write(',');
+        writeText(employee != null ? employee.getName() : null);
+        writer.write(',');
+        writeText(employee != null ? employee.getDepartment() : null);
+        writer.write('\n');
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flush buffered characters without closing the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Write free text, quoting it when it contains separators or quotes
+     */
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNullable(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.admin.export;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Attendance Report Writer
+ * Row-at-a-time writer for an attendance export format. Implementations keep
+ * a bounded amount of state so a report can be streamed regardless of size.
+ */
+public interface AttendanceReportWriter extends Closeable {
+
+    /**
+     * Write the column header
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * Write a single data row; employee may be null when unknown
+     */
+    void writeRow(Attendance attendance, EmployeeInfo employee) throws IOException;
+
+    /**
+     * Complete the report and flush it to the underlying stream
+     */
+    void finish() throws IOException;
+
+    /**
+     * Number of data rows written so far
+     */
+    long getRowCount();
+
+    /**
+     * Release resources held by the writer. The underlying stream is left open.
+     */
+    @Override
+    void close() throws IOException;
+}
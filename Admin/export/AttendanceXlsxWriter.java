@@ -0,0 +1,144 @@
+package com.company.admin.export;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalTime;
+
+/**
+ * Attendance XLSX Writer
+ * Streams attendance rows into an XLSX workbook through a windowed sheet writer.
+ * Only the last {@link #ROW_WINDOW} rows are held in memory; older rows are flushed
+ * to a compressed temporary file. A new sheet is started when the current one
+ * reaches the Excel row limit.
+ */
+public class AttendanceXlsxWriter implements AttendanceReportWriter {
+
+    static final int ROW_WINDOW = 100;
+
+    static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final String SHEET_NAME = "Attendance";
+
+    private static final String[] HEADER = {
+        "Date", "Employee ID", "Status", "Check In", "Check Out", "Total Hours",
+        "Check In Location", "Check Out Location", "Employee Name", "Department"
+    };
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle hoursStyle;
+
+    private SXSSFSheet sheet;
+    private int sheetCount;
+    private int nextRow;
+    private long rowCount;
+
+    public AttendanceXlsxWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+        this.hoursStyle = workbook.createCellStyle();
+        this.hoursStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("0.00"));
+    }
+
+    @Override
+    public void writeHeader() {
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(Attendance a, EmployeeInfo employee) {
+        if (sheet == null || nextRow >= MAX_ROWS_PER_SHEET) {
+            startSheet();
+        }
+
+        Row row = sheet.createRow(nextRow++);
+
+        row.createCell(0).setCellValue(a.getDate());
+        row.getCell(0).setCellStyle(dateStyle);
+        row.createCell(1).setCellValue(a.getUserId());
+        row.createCell(2).setCellValue(String.valueOf(a.getAttendanceStatus()));
+        setTime(row, 3, a.getCheckInTime());
+        setTime(row, 4, a.getCheckOutTime());
+        if (a.getTotalHours() != null) {
+            row.createCell(5).setCellValue(a.getTotalHours());
+            row.getCell(5).setCellStyle(hoursStyle);
+        }
+        if (a.getCheckInLocation() != null) {
+            row.createCell(6).setCellValue(a.getCheckInLocation().getCoordinates());
+        }
+        if (a.getCheckOutLocation() != null) {
+            row.createCell(7).setCellValue(a.getCheckOutLocation().getCoordinates());
+        }
+        if (employee != null && employee.getName() != null) {
+            row.createCell(8).setCellValue(employee.getName());
+        }
+        if (employee != null && employee.getDepartment() != null) {
+            row.createCell(9).setCellValue(employee.getDepartment());
+        }
+
+        rowCount++;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (sheet == null) {
+            startSheet();
+        }
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Delete the temporary sheet files backing the workbook
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void startSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? SHEET_NAME : SHEET_NAME + " (" + sheetCount + ")");
+        nextRow = 0;
+
+        Row header = sheet.createRow(nextRow++);
+        for (int i = 0; i < HEADER.length; i++) {
+            header.createCell(i).setCellValue(HEADER[i]);
+            header.getCell(i).setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private void setTime(Row row, int column, LocalTime time) {
+        if (time != null) {
+            row.createCell(column).setCellValue(time.toString());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.admin.export;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Supported attendance export formats
+ */
+@Slf4j
+public enum ExportFormat {
+
+    CSV("csv", "text/csv; charset=UTF-8") {
+        @Override
+        public AttendanceReportWriter createWriter(OutputStream out) {
+            return new AttendanceCsvWriter(out);
+        }
+    },
+
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") {
+        @Override
+        public AttendanceReportWriter createWriter(OutputStream out) {
+            return new AttendanceXlsxWriter(out);
+        }
+    },
+
+    /**
+     * Needs org.apache.arrow:arrow-vector and an allocator such as arrow-memory-netty
+     * on the classpath, and {@code --add-opens=java.base/java.nio=ALL-UNNAMED} on Java
+     * 17 and later; without them the format is refused
+     */
+    ARROW("arrows", "application/vnd.apache.arrow.stream") {
+        @Override
+        public AttendanceReportWriter createWriter(OutputStream out) {
+            return new AttendanceArrowWriter(out);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return ArrowMemory.AVAILABLE;
+        }
+    };
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Create a writer for this format on top of the given stream
+     */
+    public abstract AttendanceReportWriter createWriter(OutputStream out);
+
+    /**
+     * Whether this server can write the format
+     */
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Resolve the format request parameter; "excel" and "xls" are accepted as XLSX,
+     * "arrow" and "arrows" select the Arrow IPC stream
+     *
+     * @throws IllegalArgumentException if the format is unknown or not available on this server
+     */
+    public static ExportFormat fromParameter(String format) {
+        ExportFormat exportFormat = resolve(format);
+        if (!exportFormat.isAvailable()) {
+            throw new IllegalArgumentException("Export format " + format.trim() + " is not available on this server");
+        }
+        return exportFormat;
+    }
+
+    static ExportFormat resolve(String format) {
+        if (format == null) {
+            return CSV;
+        }
+        switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return CSV;
+            case "xlsx":
+            case "xls":
+            case "excel":
+                return XLSX;
+            case "arrow":
+            case "arrows":
+                return ARROW;
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Whether Arrow can allocate memory in this JVM, probed once on first use with a
+     * small buffer. Arrow is called reflectively, so a missing module is caught here too.
+     */
+    private static final class ArrowMemory {
+
+        static final boolean AVAILABLE = probe();
+
+        private static boolean probe() {
+            try {
+                // Direct memory access is set up when MemoryUtil initializes; that is what needs add-opens
+                Class.forName("org.apache.arrow.memory.util.MemoryUtil");
+                Object allocator = Class.forName("org.apache.arrow.memory.RootAllocator").getConstructor().newInstance();
+                try (AutoCloseable closeable = (AutoCloseable) allocator) {
+                    Object buffer = allocator.getClass().getMethod("buffer", long.class).invoke(allocator, 64L);
+                    ((AutoCloseable) buffer).close();
+                }
+                return true;
+            } catch (Exception | LinkageError e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Arrow export is disabled: Arrow memory cannot be initialized ({}). It needs arrow-vector and "
+                    + "arrow-memory-netty on the classpath and --add-opens=java.base/java.nio=ALL-UNNAMED", cause.toString());
+                return false;
+            }
+        }
+    }
+}
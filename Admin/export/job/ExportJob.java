@@ -0,0 +1,54 @@
+package com.company.admin.export.job;
+
+import com.company.admin.export.ExportFormat;
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Asynchronous export job as stored in the attendance_export_job table
+ */
+@Value
+@Builder(toBuilder = true)
+public class ExportJob {
+
+    String id;
+    YearMonth yearMonth;
+    ExportFormat format;
+
+    /**
+     * Attendance version of the month when the job was submitted
+     */
+    String dataVersion;
+
+    ExportJobStatus status;
+    String owner;
+    long rowsWritten;
+    String fileName;
+    long fileSize;
+    String error;
+    Instant createdAt;
+    Instant updatedAt;
+    Instant completedAt;
+
+    /**
+     * The result file in this node's spool directory; only set on completed jobs
+     * returned for download
+     */
+    Path file;
+
+    /**
+     * File name offered to the client on download
+     */
+    public String getDownloadFilename() {
+        return String.format("attendance_%d_%02d.%s.gz",
+            yearMonth.getYear(), yearMonth.getMonthValue(), format.getExtension());
+    }
+
+    public boolean isFinished() {
+        return status == ExportJobStatus.COMPLETED || status == ExportJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.admin.export.job;
+
+/**
+ * Lifecycle of an asynchronous export job
+ */
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
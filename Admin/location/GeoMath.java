@@ -0,0 +1,77 @@
+package com.company.admin.location;
+
+/**
+ * Distance kernels over primitive coordinate arrays. Loops are branch-free over
+ * contiguous ranges so the JIT can unroll them and keep values in registers.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Haversine distance in meters from (originLat, originLon) to each point in
+     * [from, to), written to out[0 .. to - from)
+     */
+    public static void distancesFrom(double originLat, double originLon,
+                                     double[] latitudes, double[] longitudes, int from, int to,
+                                     double[] out) {
+        double lat0 = Math.toRadians(originLat);
+        double lon0 = Math.toRadians(originLon);
+        double cosLat0 = Math.cos(lat0);
+
+        for (int i = from; i < to; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double sinDLat = Math.sin((lat - lat0) * 0.5);
+            double sinDLon = Math.sin((Math.toRadians(longitudes[i]) - lon0) * 0.5);
+            double a = sinDLat * sinDLat + cosLat0 * Math.cos(lat) * sinDLon * sinDLon;
+            out[i - from] = 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, a)));
+        }
+    }
+
+    /**
+     * Largest haversine distance in meters from (originLat, originLon) to any point
+     * in [from, to); 0 for an empty range
+     */
+    public static double maxDistanceFrom(double originLat, double originLon,
+                                         double[] latitudes, double[] longitudes, int from, int to) {
+        double lat0 = Math.toRadians(originLat);
+        double lon0 = Math.toRadians(originLon);
+        double cosLat0 = Math.cos(lat0);
+
+        // asin and sqrt are monotonic, so only the largest haversine term is converted
+        double maxA = 0;
+        for (int i = from; i < to; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double sinDLat = Math.sin((lat - lat0) * 0.5);
+            double sinDLon = Math.sin((Math.toRadians(longitudes[i]) - lon0) * 0.5);
+            maxA = Math.max(maxA, sinDLat * sinDLat + cosLat0 * Math.cos(lat) * sinDLon * sinDLon);
+        }
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, maxA)));
+    }
+
+    /**
+     * Haversine distance in meters between two points
+     */
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDLat = Math.sin((phi2 - phi1) * 0.5);
+        double sinDLon = Math.sin(Math.toRadians(lon2 - lon1) * 0.5);
+        double a = sinDLat * sinDLat + Math.cos(phi1) * Math.cos(phi2) * sinDLon * sinDLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * Arithmetic mean of values[from, to)
+     */
+    public static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.admin.location;
+
+import com.company.admin.columnar.LongIntHashMap;
+import com.company.admin.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable uniform latitude/longitude grid over office geofences. Each fence is
+ * listed in every cell its circle's bounding box overlaps, so a point is tested
+ * only against the fences of its own cell.
+ */
+public final class GeofenceGrid {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final double cellDegrees;
+    private final List<Geofence> geofences;
+    private final LongIntHashMap cellIndex;
+    private final int[][] cellFences;
+
+    private GeofenceGrid(double cellDegrees, List<Geofence> geofences, LongIntHashMap cellIndex, int[][] cellFences) {
+        this.cellDegrees = cellDegrees;
+        this.geofences = geofences;
+        this.cellIndex = cellIndex;
+        this.cellFences = cellFences;
+    }
+
+    public static GeofenceGrid build(List<Geofence> geofences, double cellDegrees) {
+        Map<Long, List<Integer>> cells = new HashMap<>();
+
+        for (int f = 0; f < geofences.size(); f++) {
+            Geofence fence = geofences.get(f);
+            double dLat = fence.getRadiusMeters() / METERS_PER_DEGREE;
+            double dLon = fence.getRadiusMeters()
+                / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(fence.getLatitude())), 1e-6));
+
+            int minRow = cell(fence.getLatitude() - dLat, cellDegrees);
+            int maxRow = cell(fence.getLatitude() + dLat, cellDegrees);
+            int minCol = cell(fence.getLongitude() - dLon, cellDegrees);
+            int maxCol = cell(fence.getLongitude() + dLon, cellDegrees);
+
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    cells.computeIfAbsent(key(row, col), k -> new ArrayList<>()).add(f);
+                }
+            }
+        }
+
+        LongIntHashMap cellIndex = new LongIntHashMap(Math.max(16, cells.size()));
+        int[][] cellFences = new int[cells.size()][];
+        int next = 0;
+        for (Map.Entry<Long, List<Integer>> entry : cells.entrySet()) {
+            cellFences[next] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            cellIndex.putIfAbsent(entry.getKey(), next++);
+        }
+
+        return new GeofenceGrid(cellDegrees, List.copyOf(geofences), cellIndex, cellFences);
+    }
+
+    /**
+     * Nearest geofence containing the point, or null if the point is outside all of them
+     */
+    public Geofence locate(double latitude, double longitude) {
+        int cell = cellIndex.get(key(cell(latitude, cellDegrees), cell(longitude, cellDegrees)));
+        if (cell < 0) {
+            return null;
+        }
+
+        Geofence nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int f : cellFences[cell]) {
+            Geofence fence = geofences.get(f);
+            double distance = GeoMath.distance(latitude, longitude, fence.getLatitude(), fence.getLongitude());
+            if (distance <= fence.getRadiusMeters() && distance < nearestDistance) {
+                nearest = fence;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    public List<Geofence> getGeofences() {
+        return geofences;
+    }
+
+    private static int cell(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.admin.location;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.model.Geofence;
+import com.company.admin.repository.GeofenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Geofence Registry
+ * Holds the office geofences as an in-memory grid index. The index is rebuilt
+ * from the database at startup, after local changes and periodically so that
+ * changes made on other nodes are picked up.
+ */
+@Component
+@Slf4j
+public class GeofenceRegistry {
+
+    private final GeofenceRepository geofenceRepository;
+    private final AdminAttendanceProperties.Geofences config;
+
+    private volatile GeofenceGrid grid;
+
+    public GeofenceRegistry(GeofenceRepository geofenceRepository, AdminAttendanceProperties properties) {
+        this.geofenceRepository = geofenceRepository;
+        this.config = properties.getGeofences();
+        this.grid = GeofenceGrid.build(List.of(), config.getCellDegrees());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.attendance.geofences.refresh-interval-ms:300000}",
+               initialDelayString = "${admin.attendance.geofences.refresh-interval-ms:300000}")
+    public void refresh() {
+        List<Geofence> geofences = geofenceRepository.findAll();
+        grid = GeofenceGrid.build(geofences, config.getCellDegrees());
+        log.debug("Geofence index rebuilt with {} sites", geofences.size());
+    }
+
+    public GeofenceGrid getGrid() {
+        return grid;
+    }
+}
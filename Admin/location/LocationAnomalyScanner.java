@@ -0,0 +1,214 @@
+package com.company.admin.location;
+
+import com.company.admin.columnar.EmployeeCheckIns;
+import com.company.admin.columnar.MonthColumnStore;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.directory.EmployeeDirectory;
+import com.company.admin.directory.EmployeeInfo;
+import com.company.admin.dto.response.LocationAnomalyReport;
+import com.company.admin.metrics.AdminMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Location Anomaly Scanner
+ * Computes every employee's check-in centroid, maximum and percentile distance for
+ * a month and flags those whose spread exceeds a threshold. Check-ins come from the
+ * columnar month snapshot already grouped by employee; employees are split across
+ * a dedicated fork/join pool and each one is a short primitive-array kernel.
+ */
+@Component
+@Slf4j
+public class LocationAnomalyScanner {
+
+    private static final int EMPLOYEES_PER_TASK = 512;
+
+    private final MonthColumnStore monthColumnStore;
+    private final EmployeeDirectory employeeDirectory;
+    private final AdminMetrics adminMetrics;
+    private final AdminAttendanceProperties.LocationScan config;
+    private final ForkJoinPool pool;
+
+    private volatile LocationAnomalyReport latestReport;
+
+    public LocationAnomalyScanner(MonthColumnStore monthColumnStore,
+                                  EmployeeDirectory employeeDirectory,
+                                  AdminMetrics adminMetrics,
+                                  AdminAttendanceProperties properties) {
+        this.monthColumnStore = monthColumnStore;
+        this.employeeDirectory = employeeDirectory;
+        this.adminMetrics = adminMetrics;
+        this.config = properties.getLocationScan();
+        this.pool = new ForkJoinPool(config.getParallelism());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Scan all employees' check-ins of a month
+     */
+    public LocationAnomalyReport scan(YearMonth month, double thresholdMeters) {
+        long started = System.nanoTime();
+
+        EmployeeCheckIns checkIns = monthColumnStore.snapshot(month).query().checkInsByEmployee();
+        Spread spread = new Spread(checkIns.getEmployeeCount());
+        pool.invoke(new SpreadTask(checkIns, spread, config.getPercentile(), 0, checkIns.getEmployeeCount()));
+
+        List<Integer> flagged = new ArrayList<>();
+        for (int e = 0; e < checkIns.getEmployeeCount(); e++) {
+            int count = checkIns.getEnd(e) - checkIns.getStart(e);
+            if (count >= config.getMinCheckIns() && spread.percentileDistance[e] > thresholdMeters) {
+                flagged.add(e);
+            }
+        }
+        flagged.sort(Comparator.comparingDouble((Integer e) -> spread.percentileDistance[e]).reversed());
+
+        List<Long> flaggedIds = new ArrayList<>(flagged.size());
+        for (int e : flagged) {
+            flaggedIds.add(checkIns.getUserId(e));
+        }
+        Map<Long, EmployeeInfo> employees = employeeDirectory.resolve(flaggedIds);
+
+        List<LocationAnomalyReport.Anomaly> anomalies = new ArrayList<>(flagged.size());
+        for (int e : flagged) {
+            EmployeeInfo employee = employees.get(checkIns.getUserId(e));
+            anomalies.add(LocationAnomalyReport.Anomaly.builder()
+                .userId(checkIns.getUserId(e))
+                .employeeName(employee != null ? employee.getName() : null)
+                .department(employee != null ? employee.getDepartment() : null)
+                .checkIns(checkIns.getEnd(e) - checkIns.getStart(e))
+                .centroidLatitude(spread.centroidLatitude[e])
+                .centroidLongitude(spread.centroidLongitude[e])
+                .maxDistanceMeters(spread.maxDistance[e])
+                .percentileDistanceMeters(spread.percentileDistance[e])
+                .build());
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        adminMetrics.recordRowsScanned("location.scan", checkIns.getPointCount());
+        log.info("Location anomaly scan of {}: {} employees, {} check-ins, {} flagged in {} ms",
+            month, checkIns.getEmployeeCount(), checkIns.getPointCount(), anomalies.size(), durationMs);
+
+        return LocationAnomalyReport.builder()
+            .year(month.getYear())
+            .month(month.getMonthValue())
+            .employeesScanned(checkIns.getEmployeeCount())
+            .checkInsScanned(checkIns.getPointCount())
+            .thresholdMeters(thresholdMeters)
+            .percentile(config.getPercentile())
+            .durationMs(durationMs)
+            .generatedAt(Instant.now())
+            .anomalies(anomalies)
+            .build();
+    }
+
+    /**
+     * Nightly scan of the month to date
+     */
+    @Scheduled(cron = "${admin.attendance.location-scan.cron:0 30 1 * * *}")
+    public void scanNightly() {
+        latestReport = scan(YearMonth.from(LocalDate.now().minusDays(1)), config.getSpreadThresholdMeters());
+    }
+
+    /**
+     * Result of the most recent nightly scan on this node
+     */
+    public Optional<LocationAnomalyReport> getLatestReport() {
+        return Optional.ofNullable(latestReport);
+    }
+
+    public double getDefaultThresholdMeters() {
+        return config.getSpreadThresholdMeters();
+    }
+
+    /**
+     * Per-employee results, indexed like the employees of {@link EmployeeCheckIns}
+     */
+    private static final class Spread {
+
+        final double[] centroidLatitude;
+        final double[] centroidLongitude;
+        final double[] maxDistance;
+        final double[] percentileDistance;
+
+        Spread(int employees) {
+            centroidLatitude = new double[employees];
+            centroidLongitude = new double[employees];
+            maxDistance = new double[employees];
+            percentileDistance = new double[employees];
+        }
+    }
+
+    private static final class SpreadTask extends RecursiveAction {
+
+        private final EmployeeCheckIns checkIns;
+        private final Spread spread;
+        private final int percentile;
+        private final int from;
+        private final int to;
+
+        SpreadTask(EmployeeCheckIns checkIns, Spread spread, int percentile, int from, int to) {
+            this.checkIns = checkIns;
+            this.spread = spread;
+            this.percentile = percentile;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > EMPLOYEES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SpreadTask(checkIns, spread, percentile, from, mid),
+                          new SpreadTask(checkIns, spread, percentile, mid, to));
+                return;
+            }
+
+            double[] latitudes = checkIns.getLatitudes();
+            double[] longitudes = checkIns.getLongitudes();
+            double[] distances = new double[32];
+
+            for (int e = from; e < to; e++) {
+                int start = checkIns.getStart(e);
+                int end = checkIns.getEnd(e);
+                int count = end - start;
+                if (count == 0) {
+                    continue;
+                }
+                if (distances.length < count) {
+                    distances = new double[count];
+                }
+
+                double centroidLat = GeoMath.mean(latitudes, start, end);
+                double centroidLon = GeoMath.mean(longitudes, start, end);
+                GeoMath.distancesFrom(centroidLat, centroidLon, latitudes, longitudes, start, end, distances);
+
+                // Nearest-rank percentile; the sorted tail also gives the maximum
+                Arrays.sort(distances, 0, count);
+                int rank = (int) Math.ceil(percentile / 100.0 * count);
+
+                spread.centroidLatitude[e] = centroidLat;
+                spread.centroidLongitude[e] = centroidLon;
+                spread.maxDistance[e] = distances[count - 1];
+                spread.percentileDistance[e] = distances[Math.max(0, rank - 1)];
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.admin.metrics;
+
+import com.company.admin.cache.AdminRequestCoalescer;
+import com.company.admin.cache.EmployeeMonthCache;
+import com.company.admin.cache.SingleFlight;
+import com.company.admin.columnar.MonthColumnStore;
+import com.company.admin.directory.EmployeeDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin Cache Metrics
+ * Publishes the admin read caches' hit and miss counts, the executed and
+ * coalesced counts of the request coalescer and the number of resident columnar
+ * months. Hit ratios are derived from the counters by the monitoring system.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminCacheMetrics implements MeterBinder {
+
+    private final EmployeeMonthCache employeeMonthCache;
+    private final EmployeeDirectory employeeDirectory;
+    private final AdminRequestCoalescer adminRequestCoalescer;
+    private final MonthColumnStore monthColumnStore;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        employeeMonthCache.getCaches().forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+        CaffeineCacheMetrics.monitor(registry, employeeDirectory.getCache(), "employeeDirectory");
+
+        adminRequestCoalescer.getFlights().forEach((name, flight) -> {
+            FunctionCounter.builder(AdminMetrics.PREFIX + ".coalescing.calls", flight, SingleFlight::getExecutedCount)
+                .tag("endpoint", name)
+                .tag("result", "executed")
+                .register(registry);
+            FunctionCounter.builder(AdminMetrics.PREFIX + ".coalescing.calls", flight, SingleFlight::getCoalescedCount)
+                .tag("endpoint", name)
+                .tag("result", "coalesced")
+                .register(registry);
+        });
+
+        Gauge.builder(AdminMetrics.PREFIX + ".columnar.months", monthColumnStore, MonthColumnStore::getResidentMonthCount)
+            .description("Months held as columnar snapshots")
+            .register(registry);
+    }
+}
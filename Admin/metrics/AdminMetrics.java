@@ -0,0 +1,112 @@
+package com.company.admin.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin Metrics
+ * Meters of the admin attendance module that are recorded where the work happens:
+ * rows scanned by bulk reads, export volume and throughput, and the progress of
+ * the current auto check-out run. Call latency is recorded separately for every
+ * admin service method by {@link ServiceCallMetricsInterceptor}.
+ */
+@Component
+public class AdminMetrics {
+
+    public static final String PREFIX = "admin.attendance";
+
+    private final MeterRegistry registry;
+
+    private final AtomicLong autoCheckoutPending = new AtomicLong();
+    private final AtomicLong autoCheckoutUpdated = new AtomicLong();
+    private final Counter autoCheckoutRecords;
+
+    public AdminMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        Gauge.builder(PREFIX + ".autocheckout.pending", autoCheckoutPending, AtomicLong::get)
+            .description("Records to check out in the current or last auto check-out run")
+            .register(registry);
+        Gauge.builder(PREFIX + ".autocheckout.updated", autoCheckoutUpdated, AtomicLong::get)
+            .description("Records checked out so far in the current or last auto check-out run")
+            .register(registry);
+        Gauge.builder(PREFIX + ".autocheckout.progress", this, AdminMetrics::autoCheckoutProgress)
+            .description("Fraction of the current or last auto check-out run completed")
+            .register(registry);
+        this.autoCheckoutRecords = Counter.builder(PREFIX + ".autocheckout.records")
+            .description("Records checked out by auto check-out runs")
+            .register(registry);
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Rows read from the database or a snapshot by one bulk operation
+     */
+    public void recordRowsScanned(String operation, long rows) {
+        DistributionSummary.builder(PREFIX + ".rows.scanned")
+            .tag("operation", operation)
+            .baseUnit("rows")
+            .register(registry)
+            .record(rows);
+    }
+
+    /**
+     * Rows returned to the caller by one service call
+     */
+    public void recordRowsReturned(String operation, long rows) {
+        DistributionSummary.builder(PREFIX + ".rows.returned")
+            .tag("operation", operation)
+            .baseUnit("rows")
+            .register(registry)
+            .record(rows);
+    }
+
+    /**
+     * One finished export: volume, duration and rows per second
+     */
+    public void recordExport(String format, long rows, long bytes, long durationNanos) {
+        Counter.builder(PREFIX + ".export.rows")
+            .tag("format", format)
+            .register(registry)
+            .increment(rows);
+        Counter.builder(PREFIX + ".export.bytes")
+            .tag("format", format)
+            .baseUnit("bytes")
+            .register(registry)
+            .increment(bytes);
+        Timer.builder(PREFIX + ".export.duration")
+            .tag("format", format)
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(PREFIX + ".export.throughput")
+            .tag("format", format)
+            .baseUnit("rows.per.second")
+            .register(registry)
+            .record(rows * 1_000_000_000.0 / Math.max(1, durationNanos));
+    }
+
+    public void autoCheckoutStarted(long pending) {
+        autoCheckoutPending.set(pending);
+        autoCheckoutUpdated.set(0);
+    }
+
+    public void autoCheckoutChunk(long updated) {
+        autoCheckoutUpdated.addAndGet(updated);
+        autoCheckoutRecords.increment(updated);
+    }
+
+    private double autoCheckoutProgress() {
+        long pending = autoCheckoutPending.get();
+        return pending > 0 ? Math.min(1.0, (double) autoCheckoutUpdated.get() / pending) : 1.0;
+    }
+}
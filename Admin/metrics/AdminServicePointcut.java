@@ -0,0 +1,29 @@
+package com.company.admin.metrics;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Matches the public methods that implement an admin service interface
+ */
+public class AdminServicePointcut extends StaticMethodMatcherPointcut {
+
+    static final String SERVICE_PACKAGE = "com.company.admin.service";
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        if (!Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (type.getPackageName().equals(SERVICE_PACKAGE)
+                    && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
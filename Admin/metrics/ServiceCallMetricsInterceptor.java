@@ -0,0 +1,153 @@
+package com.company.admin.metrics;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.CursorPageResponse;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Call Metrics Interceptor
+ * Times every public method of the admin services, counts the rows it returned,
+ * and logs calls slower than the configured threshold together with their
+ * arguments. Methods that write to an OutputStream and return a long report the
+ * number of rows they wrote.
+ */
+@Slf4j
+public class ServiceCallMetricsInterceptor implements MethodInterceptor {
+
+    // Advisors are created before ordinary beans, so collaborators are resolved on first use
+    private final ObjectProvider<AdminMetrics> metricsProvider;
+    private final ObjectProvider<AdminAttendanceProperties> propertiesProvider;
+    private final Map<Method, CallSite> callSites = new ConcurrentHashMap<>();
+
+    public ServiceCallMetricsInterceptor(ObjectProvider<AdminMetrics> metricsProvider,
+                                         ObjectProvider<AdminAttendanceProperties> propertiesProvider) {
+        this.metricsProvider = metricsProvider;
+        this.propertiesProvider = propertiesProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long started = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            CallSite site = callSites.computeIfAbsent(invocation.getMethod(),
+                method -> CallSite.of(method, AopUtils.getTargetClass(invocation.getThis())));
+            record(site, elapsed, result, failure);
+
+            AdminAttendanceProperties.Metrics config = propertiesProvider.getObject().getMetrics();
+            if (elapsed > config.getSlowCallThreshold().toNanos()) {
+                log.warn("Slow admin call {}.{} took {} ms{} with arguments ({})",
+                    site.service, site.method, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    failure != null ? " and failed" : "", describe(invocation.getArguments(), config.getMaxArgumentLength()));
+            }
+        }
+    }
+
+    private void record(CallSite site, long elapsed, Object result, Throwable failure) {
+        AdminMetrics metrics = metricsProvider.getIfAvailable();
+        if (metrics == null) {
+            return;
+        }
+
+        Timer.builder(AdminMetrics.PREFIX + ".service.calls")
+            .tag("service", site.service)
+            .tag("method", site.method)
+            .tag("outcome", failure == null ? "SUCCESS" : "ERROR")
+            .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+            .register(metrics.getRegistry())
+            .record(elapsed, TimeUnit.NANOSECONDS);
+
+        long rows = rowsOf(site, result);
+        if (rows >= 0) {
+            metrics.recordRowsReturned(site.service + "." + site.method, rows);
+        }
+    }
+
+    private static long rowsOf(CallSite site, Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof CursorPageResponse<?> page) {
+            return page.getItems().size();
+        }
+        if (site.streaming && result instanceof Long written) {
+            return written;
+        }
+        return -1;
+    }
+
+    private static String describe(Object[] arguments, int maxLength) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Object argument : arguments) {
+            joiner.add(describe(argument, maxLength));
+        }
+        return joiner.toString();
+    }
+
+    private static String describe(Object argument, int maxLength) {
+        if (argument instanceof OutputStream || argument instanceof InputStream) {
+            return argument.getClass().getSimpleName();
+        }
+        if (argument instanceof Collection<?> collection) {
+            return "[" + collection.size() + " items]";
+        }
+        String text = String.valueOf(argument);
+        return text.length() > maxLength ? text.substring(0, maxLength) + "..." : text;
+    }
+
+    /**
+     * Tags of one intercepted method, resolved once
+     */
+    private static final class CallSite {
+
+        final String service;
+        final String method;
+        final boolean streaming;
+
+        private CallSite(String service, String method, boolean streaming) {
+            this.service = service;
+            this.method = method;
+            this.streaming = streaming;
+        }
+
+        static CallSite of(Method method, Class<?> targetClass) {
+            String service = targetClass.getSimpleName();
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                if (type.getPackageName().equals(AdminServicePointcut.SERVICE_PACKAGE)
+                        && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                    service = type.getSimpleName();
+                    break;
+                }
+            }
+
+            boolean streaming = method.getReturnType() == long.class
+                && Arrays.stream(method.getParameterTypes()).anyMatch(OutputStream.class::isAssignableFrom);
+            return new CallSite(service, method.getName(), streaming);
+        }
+    }
+}
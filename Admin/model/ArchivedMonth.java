@@ -0,0 +1,31 @@
+package com.company.admin.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Persisted state of one attendance month moved to the archive
+ */
+@Value
+@Builder
+public class ArchivedMonth {
+
+    YearMonth month;
+    ArchivedMonthStatus status;
+    String fileName;
+    long rowCount;
+    long fileBytes;
+    Instant startedAt;
+    Instant archivedAt;
+    Instant purgedAt;
+
+    /**
+     * Whether reads of the month are served from its archive file
+     */
+    public boolean isReadable() {
+        return status == ArchivedMonthStatus.ARCHIVED || status == ArchivedMonthStatus.PURGED;
+    }
+}
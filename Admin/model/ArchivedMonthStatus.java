@@ -0,0 +1,13 @@
+package com.company.admin.model;
+
+/**
+ * Lifecycle of an archived attendance month
+ */
+public enum ArchivedMonthStatus {
+    /** Archive file being written; the month no longer accepts writes */
+    ARCHIVING,
+    /** Archive file written and verified; reads use it, attendance rows still present */
+    ARCHIVED,
+    /** Attendance rows deleted; the archive file is the only copy */
+    PURGED
+}
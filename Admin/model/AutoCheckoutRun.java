@@ -0,0 +1,46 @@
+package com.company.admin.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Persisted progress of the auto check-out run for one attendance date
+ */
+@Value
+@Builder
+public class AutoCheckoutRun {
+
+    LocalDate date;
+    AutoCheckoutRunStatus status;
+    String owner;
+    long lastAttendanceId;
+    long rowsUpdated;
+    long totalRows;
+    Instant startedAt;
+    Instant updatedAt;
+    Instant finishedAt;
+    String error;
+
+    /**
+     * Share of the run's records checked out so far, from 0 to 100
+     */
+    public double getPercentComplete() {
+        if (totalRows <= 0) {
+            return status == AutoCheckoutRunStatus.COMPLETED ? 100 : 0;
+        }
+        return Math.min(100, rowsUpdated * 100.0 / totalRows);
+    }
+
+    /**
+     * Average throughput since the run started
+     */
+    public double getRowsPerSecond() {
+        Instant end = finishedAt != null ? finishedAt : updatedAt;
+        long millis = Duration.between(startedAt, end).toMillis();
+        return millis > 0 ? rowsUpdated * 1000.0 / millis : 0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.admin.model;
+
+/**
+ * Lifecycle of an auto check-out run
+ */
+public enum AutoCheckoutRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.company.admin.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Office site: the circle of radiusMeters around a centre within which check-ins
+ * and check-outs are compliant
+ */
+@Value
+@Builder(toBuilder = true)
+public class Geofence {
+
+    Long id;
+    String name;
+    double latitude;
+    double longitude;
+    double radiusMeters;
+}
@@ -0,0 +1,63 @@
+package com.company.admin.model;
+
+import com.company.attendance.model.AttendanceStatus;
+import lombok.Value;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated attendance totals for one month
+ */
+@Value
+public class MonthlyRollup {
+
+    YearMonth month;
+    long employeeCount;
+    Map<AttendanceStatus, StatusTotals> statusTotals;
+
+    /**
+     * Record count and hours for one attendance status
+     */
+    @Value
+    public static class StatusTotals {
+        long records;
+        double totalHours;
+    }
+
+    public long getTotalRecords() {
+        return statusTotals.values().stream().mapToLong(StatusTotals::getRecords).sum();
+    }
+
+    public double getTotalHours() {
+        return statusTotals.values().stream().mapToDouble(StatusTotals::getTotalHours).sum();
+    }
+
+    public long getRecords(AttendanceStatus status) {
+        StatusTotals totals = statusTotals.get(status);
+        return totals != null ? totals.getRecords() : 0;
+    }
+
+    /**
+     * The month as returned by the admin attendance summary endpoint
+     */
+    public Map<String, Object> toSummary() {
+        long totalRecords = getTotalRecords();
+        double totalHours = getTotalHours();
+        double avgHours = totalRecords > 0 ? totalHours / totalRecords : 0;
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalRecords", totalRecords);
+        summary.put("totalEmployees", employeeCount);
+        summary.put("presentCount", getRecords(AttendanceStatus.PRESENT));
+        summary.put("absentCount", getRecords(AttendanceStatus.ABSENT));
+        summary.put("leaveCount", getRecords(AttendanceStatus.LEAVE));
+        summary.put("totalWorkingHours", totalHours);
+        summary.put("averageWorkingHours", avgHours);
+        summary.put("month", month.getMonthValue());
+        summary.put("year", month.getYear());
+
+        return summary;
+    }
+}
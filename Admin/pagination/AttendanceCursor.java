@@ -0,0 +1,55 @@
+package com.company.admin.pagination;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in attendance ordered by (date, id). Clients receive it as an
+ * opaque token and pass it back unchanged to fetch the next page.
+ */
+@Value
+public class AttendanceCursor {
+
+    LocalDate date;
+    long id;
+
+    /**
+     * Position before the first record of a date
+     */
+    public static AttendanceCursor startOf(LocalDate date) {
+        return new AttendanceCursor(date, 0);
+    }
+
+    /**
+     * Whether a record at the given position comes after this cursor
+     */
+    public boolean precedes(LocalDate recordDate, long recordId) {
+        int byDate = recordDate.compareTo(date);
+        return byDate > 0 || (byDate == 0 && recordId > id);
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static AttendanceCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new AttendanceCursor(LocalDate.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
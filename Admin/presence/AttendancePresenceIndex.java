@@ -0,0 +1,271 @@
+package com.company.admin.presence;
+
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.company.attendance.mapper.AttendanceMapper;
+import com.company.attendance.repository.AttendanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attendance Presence Index
+ * In-memory set of employees checked in and not yet checked out today, keyed by
+ * userId, plus a bitmap of everyone who checked in today at all. Kept current from
+ * this node's committed attendance writes and reloaded from the database at
+ * startup, at day rollover and on the reconcile interval, which bounds how late
+ * writes made on other nodes show up. Changes committed while a reload reads the
+ * database are replayed onto its result. Presence changes are published as
+ * {@link PresenceDelta} events.
+ */
+@Component
+@Slf4j
+public class AttendancePresenceIndex {
+
+    private final AttendanceRepository attendanceRepository;
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceMapper attendanceMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<Long, AttendanceResponse> checkedIn = new ConcurrentHashMap<>();
+    private Roaring64Bitmap checkedInToday = new Roaring64Bitmap();
+    private volatile LocalDate day = LocalDate.now();
+
+    /**
+     * Changes applied while a reload reads the database; null when no reload is running
+     */
+    private List<PresenceChange> replay;
+
+    public AttendancePresenceIndex(AttendanceRepository attendanceRepository,
+                                   AdminAttendanceRepository adminAttendanceRepository,
+                                   AttendanceMapper attendanceMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.attendanceRepository = attendanceRepository;
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.attendanceMapper = attendanceMapper;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load today's pending check-outs
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        int size = reload();
+        log.info("Presence index warmed with {} checked-in employees for {}", size, day);
+    }
+
+    /**
+     * Catch up with writes made on other nodes
+     */
+    @Scheduled(fixedDelayString = "${admin.attendance.presence.reconcile-interval-ms:30000}",
+               initialDelayString = "${admin.attendance.presence.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        reload();
+    }
+
+    /**
+     * Start a new day: nobody is checked in until they check in again
+     */
+    @Scheduled(cron = "${admin.attendance.presence.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        if (!day.equals(LocalDate.now())) {
+            reload();
+        }
+    }
+
+    /**
+     * Runs inside the writing transaction, so entities are mapped while still
+     * attached; the index changes once the transaction commits
+     */
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        LocalDate today = day;
+        List<PresenceChange> changes = new ArrayList<>();
+
+        for (AttendanceChange change : event.getChanges()) {
+            boolean checkedInNow = change.isCheckedIn() && today.equals(change.getDate());
+            changes.add(new PresenceChange(
+                change.getUserId(),
+                change.getDate(),
+                change.getPreviousDate(),
+                change.getCheckInTime() != null,
+                checkedInNow ? attendanceMapper.toResponse(change.getAttendance()) : null));
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(changes);
+            }
+        });
+    }
+
+    /**
+     * Employees currently checked in, ordered by userId
+     */
+    public List<AttendanceResponse> getCheckedIn() {
+        List<AttendanceResponse> snapshot = new ArrayList<>(checkedIn.values());
+        snapshot.sort(Comparator.comparing(AttendanceResponse::getUserId));
+        return snapshot;
+    }
+
+    /**
+     * Active employees from the given roster who have not checked in today.
+     * Computed as a bitmap difference; the roster is not modified.
+     */
+    public synchronized Roaring64Bitmap notCheckedInToday(Roaring64Bitmap roster) {
+        Roaring64Bitmap absent = roster.clone();
+        absent.andNot(checkedInToday);
+        return absent;
+    }
+
+    public boolean isCheckedIn(Long userId) {
+        return checkedIn.containsKey(userId);
+    }
+
+    public int size() {
+        return checkedIn.size();
+    }
+
+    /**
+     * Replace the index with today's state from the database, publishing the differences
+     */
+    private int reload() {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        List<AttendanceResponse> pending;
+        List<Long> attended;
+        try {
+            pending = readOnlyTransaction.execute(status -> attendanceRepository.findPendingCheckouts(today).stream()
+                .map(attendanceMapper::toResponse)
+                .toList());
+            attended = adminAttendanceRepository.findCheckedInUserIds(today);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Map<Long, AttendanceResponse> nextCheckedIn = new ConcurrentHashMap<>();
+            for (AttendanceResponse response : pending) {
+                nextCheckedIn.put(response.getUserId(), response);
+            }
+            Roaring64Bitmap nextCheckedInToday = new Roaring64Bitmap();
+            for (Long userId : attended) {
+                nextCheckedInToday.addLong(userId);
+            }
+
+            // Writes committed while the database was read may be missing from what was read
+            for (PresenceChange change : replay) {
+                change.applyTo(nextCheckedIn, nextCheckedInToday, today);
+            }
+            replay = null;
+
+            if (today.equals(day)) {
+                checkedIn.forEach((userId, response) -> {
+                    if (!nextCheckedIn.containsKey(userId)) {
+                        eventPublisher.publishEvent(PresenceDelta.checkedOut(userId));
+                    }
+                });
+                nextCheckedIn.forEach((userId, response) -> {
+                    if (!checkedIn.containsKey(userId)) {
+                        eventPublisher.publishEvent(PresenceDelta.checkedIn(userId, response));
+                    }
+                });
+            } else {
+                eventPublisher.publishEvent(PresenceDelta.reset());
+            }
+
+            checkedIn = nextCheckedIn;
+            checkedInToday = nextCheckedInToday;
+            day = today;
+            return nextCheckedIn.size();
+        }
+    }
+
+    /**
+     * Apply committed changes; deltas are published under the lock so subscribers
+     * see them in the order they were applied
+     */
+    private synchronized void apply(List<PresenceChange> changes) {
+        LocalDate today = day;
+        for (PresenceChange change : changes) {
+            PresenceDelta delta = change.applyTo(checkedIn, checkedInToday, today);
+            if (delta != null) {
+                eventPublisher.publishEvent(delta);
+            }
+            if (replay != null) {
+                replay.add(change);
+            }
+        }
+    }
+
+    /**
+     * What one attendance write means for presence, captured inside its transaction
+     */
+    private static final class PresenceChange {
+        private final Long userId;
+        private final LocalDate date;
+        private final LocalDate previousDate;
+        private final boolean hasCheckIn;
+        private final AttendanceResponse checkedIn;
+
+        private PresenceChange(Long userId, LocalDate date, LocalDate previousDate, boolean hasCheckIn,
+                               AttendanceResponse checkedIn) {
+            this.userId = userId;
+            this.date = date;
+            this.previousDate = previousDate;
+            this.hasCheckIn = hasCheckIn;
+            this.checkedIn = checkedIn;
+        }
+
+        /**
+         * Returns the resulting presence delta, or null when presence did not change
+         */
+        private PresenceDelta applyTo(Map<Long, AttendanceResponse> index, Roaring64Bitmap attended, LocalDate today) {
+            if (today.equals(date) && hasCheckIn) {
+                attended.addLong(userId);
+            }
+
+            if (checkedIn != null && today.equals(date)) {
+                index.put(userId, checkedIn);
+                return PresenceDelta.checkedIn(userId, checkedIn);
+            }
+            if ((today.equals(date) || today.equals(previousDate)) && index.remove(userId) != null) {
+                return PresenceDelta.checkedOut(userId);
+            }
+            return null;
+        }
+    }
+}
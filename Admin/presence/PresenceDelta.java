@@ -0,0 +1,38 @@
+package com.company.admin.presence;
+
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Change to the set of currently checked-in employees, pushed to subscribers
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PresenceDelta {
+
+    public enum Type {
+        CHECKED_IN,
+        CHECKED_OUT,
+        RESET
+    }
+
+    Type type;
+    Long userId;
+    AttendanceResponse attendance;
+    Instant timestamp;
+
+    public static PresenceDelta checkedIn(Long userId, AttendanceResponse attendance) {
+        return new PresenceDelta(Type.CHECKED_IN, userId, attendance, Instant.now());
+    }
+
+    public static PresenceDelta checkedOut(Long userId) {
+        return new PresenceDelta(Type.CHECKED_OUT, userId, null, Instant.now());
+    }
+
+    public static PresenceDelta reset() {
+        return new PresenceDelta(Type.RESET, null, null, Instant.now());
+    }
+}
@@ -0,0 +1,260 @@
+package com.company.admin.repository;
+
+import com.company.attendance.model.Attendance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Admin Attendance Repository
+ * Date-bounded queries used by admin reporting. All queries are range scans on the
+ * composite (date, user_id) index, so their cost follows the size of the result
+ * rather than the size of the attendance table.
+ */
+@Repository
+public interface AdminAttendanceRepository extends JpaRepository<Attendance, Long> {
+
+    /**
+     * All attendance records for a single day
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date ORDER BY a.userId")
+    List<Attendance> findAllByDate(@Param("date") LocalDate date);
+
+    /**
+     * Records of the given employees on the given days. Returns every combination
+     * present, so callers match exact (userId, date) pairs themselves.
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.userId IN :userIds AND a.date IN :dates")
+    List<Attendance> findAllByUserIdsAndDates(@Param("userIds") Collection<Long> userIds,
+                                              @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Ids of employees who checked in on a given day
+     */
+    @Query("SELECT a.userId FROM Attendance a WHERE a.date = :date AND a.checkInTime IS NOT NULL")
+    List<Long> findCheckedInUserIds(@Param("date") LocalDate date);
+
+    /**
+     * All attendance records within an inclusive date range, newest first
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.date DESC, a.userId")
+    List<Attendance> findAllByDateRange(@Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Forward-only cursor over an inclusive date range, newest first.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.date DESC, a.userId")
+    Stream<Attendance> streamAllByDateRange(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Page of an employee's records within an inclusive date range, in (date, id)
+     * order after the given position
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.userId = :userId AND a.date BETWEEN :startDate AND :endDate " +
+           "AND (a.date > :afterDate OR (a.date = :afterDate AND a.id > :afterId)) " +
+           "ORDER BY a.date, a.id")
+    List<Attendance> findEmployeePageAfter(@Param("userId") Long userId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           @Param("afterDate") LocalDate afterDate,
+                                           @Param("afterId") long afterId,
+                                           Pageable page);
+
+    /**
+     * Page of all records of a single day, in id order after the given id
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date AND a.id > :afterId ORDER BY a.id")
+    List<Attendance> findPageByDateAfter(@Param("date") LocalDate date,
+                                         @Param("afterId") long afterId,
+                                         Pageable page);
+
+    /**
+     * Forward-only cursor over an employee's records within an inclusive date range,
+     * in (date, id) order. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Attendance a WHERE a.userId = :userId AND a.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.date, a.id")
+    Stream<Attendance> streamEmployeeByDateRange(@Param("userId") Long userId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * Forward-only cursor over all records of a single day.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date ORDER BY a.userId")
+    Stream<Attendance> streamAllByDate(@Param("date") LocalDate date);
+
+    /**
+     * Forward-only cursor over the scalar columns of the columnar month snapshot:
+     * id, userId, date, attendanceStatus, totalHours, check-in latitude and longitude.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a.id, a.userId, a.date, a.attendanceStatus, a.totalHours, " +
+           "a.checkInLocation.latitude, a.checkInLocation.longitude " +
+           "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.id")
+    Stream<Object[]> streamColumnsByDateRange(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * Forward-only cursor over every column kept in a month archive: id, userId, date,
+     * attendanceStatus, checkInTime, checkOutTime, totalHours, check-in latitude and
+     * longitude, check-out latitude and longitude, remarks; in (userId, date, id) order.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a.id, a.userId, a.date, a.attendanceStatus, a.checkInTime, a.checkOutTime, a.totalHours, " +
+           "a.checkInLocation.latitude, a.checkInLocation.longitude, " +
+           "a.checkOutLocation.latitude, a.checkOutLocation.longitude, a.remarks " +
+           "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.userId, a.date, a.id")
+    Stream<Object[]> streamArchiveColumnsByDateRange(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Forward-only cursor over check-in and check-out coordinates of checked-in records
+     * within an inclusive date range: userId, date, check-in latitude and longitude,
+     * check-out latitude and longitude. Optionally restricted to one employee.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a.userId, a.date, a.checkInLocation.latitude, a.checkInLocation.longitude, " +
+           "a.checkOutLocation.latitude, a.checkOutLocation.longitude " +
+           "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate AND a.checkInTime IS NOT NULL " +
+           "AND (:userId IS NULL OR a.userId = :userId) ORDER BY a.userId, a.date")
+    Stream<Object[]> streamLocationsByDateRange(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate,
+                                                @Param("userId") Long userId);
+
+    /**
+     * Per-status record count and hours total within an inclusive date range
+     */
+    @Query("SELECT a.attendanceStatus AS status, COUNT(a) AS records, SUM(a.totalHours) AS totalHours " +
+           "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.attendanceStatus")
+    List<AttendanceStatusTotals> summarizeByStatus(@Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * Number of distinct employees with a record within an inclusive date range
+     */
+    @Query("SELECT COUNT(DISTINCT a.userId) FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate")
+    long countDistinctEmployees(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * Employees with records in a date range
+     */
+    @Query("SELECT DISTINCT a.userId FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate")
+    List<Long> findDistinctEmployeeIds(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    /**
+     * Date of the oldest stored record, null when there is none
+     */
+    @Query("SELECT MIN(a.date) FROM Attendance a")
+    LocalDate findEarliestDate();
+
+    /**
+     * Number of records within an inclusive date range
+     */
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate")
+    long countByDateRange(@Param("startDate") LocalDate startDate,
+                          @Param("endDate") LocalDate endDate);
+
+    /**
+     * Next chunk of records on a day still waiting for check-out, in id order after
+     * the given id, locked until the end of the transaction. Scalar columns only:
+     * id, userId, attendanceStatus, checkInTime, totalHours.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id, a.userId, a.attendanceStatus, a.checkInTime, a.totalHours " +
+           "FROM Attendance a WHERE a.date = :date AND a.id > :afterId " +
+           "AND a.checkInTime IS NOT NULL AND a.checkOutTime IS NULL " +
+           "ORDER BY a.id")
+    List<Object[]> lockPendingCheckouts(@Param("date") LocalDate date,
+                                        @Param("afterId") long afterId,
+                                        Pageable chunk);
+
+    /**
+     * Number of records on a day still waiting for check-out after the given id
+     */
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.date = :date AND a.id > :afterId " +
+           "AND a.checkInTime IS NOT NULL AND a.checkOutTime IS NULL")
+    long countPendingCheckouts(@Param("date") LocalDate date,
+                               @Param("afterId") long afterId);
+
+    /**
+     * Check out the given records and compute their total hours in one statement,
+     * with the attendance module's formula of whole minutes over 60. Records checked
+     * in after the check-out time are checked out on arrival with zero hours.
+     * Bypasses the persistence context, so callers publish the resulting changes.
+     */
+    @Modifying
+    @Query("UPDATE Attendance a SET " +
+           "a.checkOutTime = CASE WHEN a.checkInTime > :checkOutTime THEN a.checkInTime ELSE :checkOutTime END, " +
+           "a.totalHours = CASE WHEN a.checkInTime > :checkOutTime THEN 0.0 " +
+           "ELSE floor((:checkOutSeconds - (extract(hour from a.checkInTime) * 3600 " +
+           "+ extract(minute from a.checkInTime) * 60 + extract(second from a.checkInTime))) / 60) / 60.0 END " +
+           "WHERE a.id IN :ids AND a.checkOutTime IS NULL")
+    int completeCheckouts(@Param("ids") Collection<Long> ids,
+                          @Param("checkOutTime") LocalTime checkOutTime,
+                          @Param("checkOutSeconds") double checkOutSeconds);
+
+    /**
+     * Delete every record of a day in one statement. Bypasses the persistence context
+     * and publishes no changes, so it is only used for days kept in the archive.
+     */
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.date = :date")
+    int deleteAllByDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,108 @@
+package com.company.admin.repository;
+
+import com.company.admin.model.ArchivedMonth;
+import com.company.admin.model.ArchivedMonthStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Attendance Archive Repository
+ * JDBC access to the attendance_archive_month table
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceArchiveRepository {
+
+    private static final RowMapper<ArchivedMonth> ROW_MAPPER = (rs, rowNum) -> ArchivedMonth.builder()
+        .month(YearMonth.of(rs.getInt("archive_year"), rs.getInt("archive_month")))
+        .status(ArchivedMonthStatus.valueOf(rs.getString("status")))
+        .fileName(rs.getString("file_name"))
+        .rowCount(rs.getLong("row_count"))
+        .fileBytes(rs.getLong("file_bytes"))
+        .startedAt(rs.getTimestamp("started_at").toInstant())
+        .archivedAt(rs.getTimestamp("archived_at") != null ? rs.getTimestamp("archived_at").toInstant() : null)
+        .purgedAt(rs.getTimestamp("purged_at") != null ? rs.getTimestamp("purged_at").toInstant() : null)
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Every month that has been or is being archived, oldest first
+     */
+    public List<ArchivedMonth> findAll() {
+        return jdbcTemplate.query(
+            "SELECT * FROM attendance_archive_month ORDER BY archive_year, archive_month", ROW_MAPPER);
+    }
+
+    public Optional<ArchivedMonth> find(YearMonth month) {
+        return jdbcTemplate.query(
+            "SELECT * FROM attendance_archive_month WHERE archive_year = ? AND archive_month = ?",
+            ROW_MAPPER, month.getYear(), month.getMonthValue())
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Whether a month is archived or being archived, and so refuses writes
+     */
+    public boolean exists(YearMonth month) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM attendance_archive_month WHERE archive_year = ? AND archive_month = ?",
+            Integer.class, month.getYear(), month.getMonthValue());
+        return count != null && count > 0;
+    }
+
+    /**
+     * Claim a month for archiving; false if it already has an archive row
+     */
+    public boolean start(YearMonth month, String fileName) {
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO attendance_archive_month (archive_year, archive_month, status, file_name, started_at) " +
+                "VALUES (?, ?, ?, ?, ?)",
+                month.getYear(), month.getMonthValue(), ArchivedMonthStatus.ARCHIVING.name(), fileName,
+                Timestamp.from(Instant.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Record a written and verified archive file; reads switch to it from now on
+     */
+    public void markArchived(YearMonth month, long rowCount, long fileBytes) {
+        jdbcTemplate.update(
+            "UPDATE attendance_archive_month SET status = ?, row_count = ?, file_bytes = ?, archived_at = ? " +
+            "WHERE archive_year = ? AND archive_month = ?",
+            ArchivedMonthStatus.ARCHIVED.name(), rowCount, fileBytes, Timestamp.from(Instant.now()),
+            month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Record that the month's attendance rows have been deleted
+     */
+    public void markPurged(YearMonth month) {
+        jdbcTemplate.update(
+            "UPDATE attendance_archive_month SET status = ?, purged_at = ? WHERE archive_year = ? AND archive_month = ?",
+            ArchivedMonthStatus.PURGED.name(), Timestamp.from(Instant.now()), month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Give up on archiving a month, so it accepts writes again
+     */
+    public void abandon(YearMonth month) {
+        jdbcTemplate.update(
+            "DELETE FROM attendance_archive_month WHERE archive_year = ? AND archive_month = ? AND status = ?",
+            month.getYear(), month.getMonthValue(), ArchivedMonthStatus.ARCHIVING.name());
+    }
+}
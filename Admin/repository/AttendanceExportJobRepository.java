@@ -0,0 +1,142 @@
+package com.company.admin.repository;
+
+import com.company.admin.export.ExportFormat;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.export.job.ExportJobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Attendance Export Job Repository
+ * JDBC access to the attendance_export_job table
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceExportJobRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<ExportJob> ROW_MAPPER = (rs, rowNum) -> ExportJob.builder()
+        .id(rs.getString("job_id"))
+        .yearMonth(YearMonth.of(rs.getInt("report_year"), rs.getInt("report_month")))
+        .format(ExportFormat.valueOf(rs.getString("format")))
+        .dataVersion(rs.getString("data_version"))
+        .status(ExportJobStatus.valueOf(rs.getString("status")))
+        .owner(rs.getString("owner"))
+        .rowsWritten(rs.getLong("rows_written"))
+        .fileName(rs.getString("file_name"))
+        .fileSize(rs.getLong("file_size"))
+        .error(rs.getString("error"))
+        .createdAt(rs.getTimestamp("created_at").toInstant())
+        .updatedAt(rs.getTimestamp("updated_at").toInstant())
+        .completedAt(rs.getTimestamp("completed_at") != null ? rs.getTimestamp("completed_at").toInstant() : null)
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<ExportJob> find(String jobId) {
+        return jdbcTemplate.query("SELECT * FROM attendance_export_job WHERE job_id = ?", ROW_MAPPER, jobId)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Newest job for a report over the given data that has not failed, ignoring
+     * queued or running jobs not renewed since the cutoff
+     */
+    public Optional<ExportJob> findReusable(YearMonth month, ExportFormat format, String dataVersion,
+                                            Instant liveCutoff) {
+        return jdbcTemplate.query(
+            "SELECT * FROM attendance_export_job " +
+            "WHERE report_year = ? AND report_month = ? AND format = ? AND data_version = ? " +
+            "AND (status = ? OR (status IN (?, ?) AND updated_at >= ?)) ORDER BY created_at DESC",
+            ROW_MAPPER,
+            month.getYear(), month.getMonthValue(), format.name(), dataVersion,
+            ExportJobStatus.COMPLETED.name(), ExportJobStatus.QUEUED.name(), ExportJobStatus.RUNNING.name(),
+            Timestamp.from(liveCutoff))
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Finished jobs completed before the cutoff
+     */
+    public List<ExportJob> findFinishedBefore(Instant cutoff) {
+        return jdbcTemplate.query(
+            "SELECT * FROM attendance_export_job WHERE status IN (?, ?) AND completed_at < ?",
+            ROW_MAPPER, ExportJobStatus.COMPLETED.name(), ExportJobStatus.FAILED.name(), Timestamp.from(cutoff));
+    }
+
+    public void insert(ExportJob job) {
+        jdbcTemplate.update(
+            "INSERT INTO attendance_export_job (job_id, report_year, report_month, format, data_version, status, " +
+            "owner, rows_written, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)",
+            job.getId(), job.getYearMonth().getYear(), job.getYearMonth().getMonthValue(), job.getFormat().name(),
+            job.getDataVersion(), job.getStatus().name(), job.getOwner(),
+            Timestamp.from(job.getCreatedAt()), Timestamp.from(job.getCreatedAt()));
+    }
+
+    public void markRunning(String jobId) {
+        jdbcTemplate.update("UPDATE attendance_export_job SET status = ?, updated_at = ? WHERE job_id = ?",
+            ExportJobStatus.RUNNING.name(), Timestamp.from(Instant.now()), jobId);
+    }
+
+    /**
+     * Renew a live job and record its progress
+     */
+    public void renew(String jobId, long rowsWritten) {
+        jdbcTemplate.update(
+            "UPDATE attendance_export_job SET rows_written = ?, updated_at = ? WHERE job_id = ? AND status IN (?, ?)",
+            rowsWritten, Timestamp.from(Instant.now()), jobId,
+            ExportJobStatus.QUEUED.name(), ExportJobStatus.RUNNING.name());
+    }
+
+    public void markCompleted(String jobId, long rowsWritten, String fileName, long fileSize) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(
+            "UPDATE attendance_export_job SET status = ?, rows_written = ?, file_name = ?, file_size = ?, " +
+            "updated_at = ?, completed_at = ? WHERE job_id = ?",
+            ExportJobStatus.COMPLETED.name(), rowsWritten, fileName, fileSize, now, now, jobId);
+    }
+
+    public void markFailed(String jobId, String error) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.update(
+            "UPDATE attendance_export_job SET status = ?, error = ?, updated_at = ?, completed_at = ? WHERE job_id = ?",
+            ExportJobStatus.FAILED.name(), truncated, now, now, jobId);
+    }
+
+    /**
+     * Fail queued or running jobs not renewed since the cutoff; their node is gone
+     */
+    public int failAbandoned(Instant cutoff, String error) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(
+            "UPDATE attendance_export_job SET status = ?, error = ?, updated_at = ?, completed_at = ? " +
+            "WHERE status IN (?, ?) AND updated_at < ?",
+            ExportJobStatus.FAILED.name(), error, now, now,
+            ExportJobStatus.QUEUED.name(), ExportJobStatus.RUNNING.name(), Timestamp.from(cutoff));
+    }
+
+    public void delete(Collection<String> jobIds) {
+        for (String jobId : jobIds) {
+            jdbcTemplate.update("DELETE FROM attendance_export_job WHERE job_id = ?", jobId);
+        }
+    }
+
+    public boolean exists(String jobId) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM attendance_export_job WHERE job_id = ?", Integer.class, jobId);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,316 @@
+package com.company.admin.repository;
+
+import com.company.admin.model.MonthlyRollup;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Attendance Rollup Repository
+ * JDBC access to the monthly attendance rollup tables. A month's totals are split
+ * into {@link #STRIPES} stripes by employee id, each with a row of its own in
+ * attendance_monthly_rollup_stripe. Writers lock the stripes of the employees they
+ * change and rebuilds lock every stripe, so writers of a stripe queue behind each
+ * other and behind a rebuild in progress instead of racing on the first insert of
+ * a key, while writers of other stripes do not wait. Increments use
+ * update-then-insert so they work on any SQL dialect.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceRollupRepository {
+
+    /**
+     * Number of stripes per month; changing it needs every month rebuilt
+     */
+    public static final int STRIPES = 32;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stripe holding an employee's totals
+     */
+    public static int stripe(long userId) {
+        return Math.floorMod(userId, STRIPES);
+    }
+
+    /**
+     * Read the rollup of a month, if the month has been materialized
+     */
+    public Optional<MonthlyRollup> findMonth(YearMonth month) {
+        if (!isMaterialized(month)) {
+            return Optional.empty();
+        }
+
+        Long employeeCount = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(employee_count), 0) FROM attendance_monthly_rollup_stripe " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            Long.class, month.getYear(), month.getMonthValue());
+
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        jdbcTemplate.query(
+            "SELECT status, SUM(record_count) AS record_count, SUM(total_hours) AS total_hours " +
+            "FROM attendance_monthly_rollup WHERE rollup_year = ? AND rollup_month = ? GROUP BY status",
+            rs -> {
+                totals.put(AttendanceStatus.valueOf(rs.getString("status")),
+                    new MonthlyRollup.StatusTotals(rs.getLong("record_count"), rs.getDouble("total_hours")));
+            },
+            month.getYear(), month.getMonthValue());
+
+        return Optional.of(new MonthlyRollup(month, employeeCount != null ? employeeCount : 0, totals));
+    }
+
+    /**
+     * Employees with records in a materialized month, from its per-employee rows
+     */
+    public Roaring64Bitmap findEmployees(YearMonth month) {
+        Roaring64Bitmap employees = new Roaring64Bitmap();
+        jdbcTemplate.query(
+            "SELECT user_id FROM attendance_monthly_rollup_employee WHERE rollup_year = ? AND rollup_month = ?",
+            rs -> {
+                employees.addLong(rs.getLong("user_id"));
+            },
+            month.getYear(), month.getMonthValue());
+        return employees;
+    }
+
+    /**
+     * Whether a month has been built and is maintained incrementally
+     */
+    public boolean isMaterialized(YearMonth month) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM attendance_monthly_rollup_state " +
+            "WHERE rollup_year = ? AND rollup_month = ? AND building = FALSE",
+            Integer.class, month.getYear(), month.getMonthValue());
+        return count != null && count > 0;
+    }
+
+    /**
+     * Lock one stripe of a month until the end of the transaction. Returns whether the
+     * month has a state row, built or being built, and so takes incremental changes.
+     */
+    public boolean lockStripe(YearMonth month, int stripe) {
+        return jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_stripe SET employee_count = employee_count " +
+            "WHERE rollup_year = ? AND rollup_month = ? AND stripe = ?",
+            month.getYear(), month.getMonthValue(), stripe) > 0;
+    }
+
+    /**
+     * Lock a month's state row and then each of its stripes, in stripe order, until
+     * the end of the transaction. Returns whether the month has a state row.
+     */
+    public boolean lockMonth(YearMonth month) {
+        boolean exists = jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_state SET rebuilt_at = rebuilt_at " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            month.getYear(), month.getMonthValue()) > 0;
+
+        if (exists) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                if (!lockStripe(month, stripe)) {
+                    // Writers never create stripes, so holding the state row makes this safe
+                    insertStripe(month, stripe);
+                }
+            }
+        }
+        return exists;
+    }
+
+    /**
+     * Create the state row and stripes of a month that has never been built, marked
+     * as being built. Throws DuplicateKeyException when another transaction created
+     * it first.
+     */
+    public void createMonth(YearMonth month) {
+        jdbcTemplate.update(
+            "INSERT INTO attendance_monthly_rollup_state (rollup_year, rollup_month, rebuilt_at, building) " +
+            "VALUES (?, ?, ?, TRUE)",
+            month.getYear(), month.getMonthValue(), Timestamp.from(Instant.now()));
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            insertStripe(month, stripe);
+        }
+    }
+
+    /**
+     * Forget a month's totals so reads aggregate it again until it is rebuilt
+     */
+    public void deleteMonth(YearMonth month) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup_employee WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup_stripe WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup_state WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+    }
+
+    /**
+     * Add to the record count and hours of one status in one stripe of a month
+     */
+    public void addStatusTotals(YearMonth month, int stripe, AttendanceStatus status, long records, double hours) {
+        if (updateStatusTotals(month, stripe, status, records, hours)) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO attendance_monthly_rollup (rollup_year, rollup_month, stripe, status, record_count, total_hours) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                month.getYear(), month.getMonthValue(), stripe, status.name(), records, hours);
+        } catch (DuplicateKeyException e) {
+            // A writer that did not lock the stripe inserted the key first
+            updateStatusTotals(month, stripe, status, records, hours);
+        }
+    }
+
+    /**
+     * Add to the number of records an employee has in a month, keeping the distinct
+     * employee count of its stripe in step when the employee appears or disappears
+     */
+    public void addEmployeeRecords(YearMonth month, long userId, long records) {
+        int updated = jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_employee SET record_count = record_count + ? " +
+            "WHERE rollup_year = ? AND rollup_month = ? AND user_id = ?",
+            records, month.getYear(), month.getMonthValue(), userId);
+
+        if (updated == 0) {
+            if (records > 0) {
+                try {
+                    jdbcTemplate.update(
+                        "INSERT INTO attendance_monthly_rollup_employee (rollup_year, rollup_month, user_id, record_count) " +
+                        "VALUES (?, ?, ?, ?)",
+                        month.getYear(), month.getMonthValue(), userId, records);
+                    addEmployeeCount(month, userId, 1);
+                } catch (DuplicateKeyException e) {
+                    // A writer that did not lock the month inserted the employee first
+                    addEmployeeRecords(month, userId, records);
+                }
+            }
+            return;
+        }
+
+        if (records < 0) {
+            int removed = jdbcTemplate.update(
+                "DELETE FROM attendance_monthly_rollup_employee " +
+                "WHERE rollup_year = ? AND rollup_month = ? AND user_id = ? AND record_count <= 0",
+                month.getYear(), month.getMonthValue(), userId);
+            if (removed > 0) {
+                addEmployeeCount(month, userId, -removed);
+            }
+        }
+    }
+
+    /**
+     * Recompute a month from the attendance table and mark it as built. The month's
+     * state row must exist; it and the stripes stay in place and locked, so writers
+     * of the month wait for the rebuild and then apply their changes on top of it.
+     */
+    public void rebuild(YearMonth month) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        if (!lockMonth(month)) {
+            throw new IllegalStateException("Rollup state of " + month + " does not exist");
+        }
+        deleteTotals(month);
+
+        // The stripe count is inlined so the grouped expression is identical to the selected one
+        jdbcTemplate.update(
+            "INSERT INTO attendance_monthly_rollup (rollup_year, rollup_month, stripe, status, record_count, total_hours) " +
+            "SELECT ?, ?, MOD(user_id, " + STRIPES + "), attendance_status, COUNT(*), COALESCE(SUM(total_hours), 0) " +
+            "FROM attendance WHERE date BETWEEN ? AND ? GROUP BY MOD(user_id, " + STRIPES + "), attendance_status",
+            year, monthValue, startDate, endDate);
+
+        jdbcTemplate.update(
+            "INSERT INTO attendance_monthly_rollup_employee (rollup_year, rollup_month, user_id, record_count) " +
+            "SELECT ?, ?, user_id, COUNT(*) FROM attendance WHERE date BETWEEN ? AND ? GROUP BY user_id",
+            year, monthValue, startDate, endDate);
+
+        jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_stripe SET employee_count = " +
+            "(SELECT COUNT(*) FROM attendance_monthly_rollup_employee e " +
+            "WHERE e.rollup_year = ? AND e.rollup_month = ? " +
+            "AND MOD(e.user_id, " + STRIPES + ") = attendance_monthly_rollup_stripe.stripe) " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue, year, monthValue);
+
+        jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_state SET rebuilt_at = ?, building = FALSE " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            Timestamp.from(Instant.now()), year, monthValue);
+    }
+
+    /**
+     * Replace a month with totals computed elsewhere, without per-employee rows,
+     * held in the first stripe. Only for months that no longer change, such as
+     * archived ones. The month's state row must exist.
+     */
+    public void replace(MonthlyRollup rollup) {
+        YearMonth month = rollup.getMonth();
+        if (!lockMonth(month)) {
+            throw new IllegalStateException("Rollup state of " + month + " does not exist");
+        }
+        deleteTotals(month);
+
+        rollup.getStatusTotals().forEach((status, totals) -> jdbcTemplate.update(
+            "INSERT INTO attendance_monthly_rollup (rollup_year, rollup_month, stripe, status, record_count, total_hours) " +
+            "VALUES (?, ?, 0, ?, ?, ?)",
+            month.getYear(), month.getMonthValue(), status.name(), totals.getRecords(), totals.getTotalHours()));
+
+        jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_stripe SET employee_count = CASE WHEN stripe = 0 THEN ? ELSE 0 END " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            rollup.getEmployeeCount(), month.getYear(), month.getMonthValue());
+
+        jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_state SET rebuilt_at = ?, building = FALSE " +
+            "WHERE rollup_year = ? AND rollup_month = ?",
+            Timestamp.from(Instant.now()), month.getYear(), month.getMonthValue());
+    }
+
+    private boolean updateStatusTotals(YearMonth month, int stripe, AttendanceStatus status, long records, double hours) {
+        return jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup SET record_count = record_count + ?, total_hours = total_hours + ? " +
+            "WHERE rollup_year = ? AND rollup_month = ? AND stripe = ? AND status = ?",
+            records, hours, month.getYear(), month.getMonthValue(), stripe, status.name()) > 0;
+    }
+
+    private void insertStripe(YearMonth month, int stripe) {
+        jdbcTemplate.update(
+            "INSERT INTO attendance_monthly_rollup_stripe (rollup_year, rollup_month, stripe, employee_count) " +
+            "VALUES (?, ?, ?, 0)",
+            month.getYear(), month.getMonthValue(), stripe);
+    }
+
+    private void deleteTotals(YearMonth month) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+        jdbcTemplate.update("DELETE FROM attendance_monthly_rollup_employee WHERE rollup_year = ? AND rollup_month = ?",
+            year, monthValue);
+    }
+
+    private void addEmployeeCount(YearMonth month, long userId, long delta) {
+        jdbcTemplate.update(
+            "UPDATE attendance_monthly_rollup_stripe SET employee_count = employee_count + ? " +
+            "WHERE rollup_year = ? AND rollup_month = ? AND stripe = ?",
+            delta, month.getYear(), month.getMonthValue(), stripe(userId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.admin.repository;
+
+import com.company.attendance.model.AttendanceStatus;
+
+/**
+ * Aggregate projection of attendance records grouped by status
+ */
+public interface AttendanceStatusTotals {
+
+    AttendanceStatus getStatus();
+
+    long getRecords();
+
+    Double getTotalHours();
+}
@@ -0,0 +1,98 @@
+package com.company.admin.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Attendance Version Repository
+ * JDBC access to the version counters: attendance_version counts the writes of
+ * each employee-month, attendance_day_version the writes of each day, split into
+ * {@link #DAY_STRIPES} stripes by employee id so that no row is updated by every
+ * writer of a day.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceVersionRepository {
+
+    public static final int DAY_STRIPES = 32;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Increment a counter; returns false when it does not exist yet
+     */
+    public boolean increment(YearMonth month, long userId) {
+        return jdbcTemplate.update(
+            "UPDATE attendance_version SET version = version + 1 " +
+            "WHERE version_year = ? AND version_month = ? AND user_id = ?",
+            month.getYear(), month.getMonthValue(), userId) > 0;
+    }
+
+    /**
+     * Create a counter at 1. Throws DuplicateKeyException when another
+     * transaction created it first.
+     */
+    public void create(YearMonth month, long userId) {
+        jdbcTemplate.update(
+            "INSERT INTO attendance_version (version_year, version_month, user_id, version) VALUES (?, ?, ?, 1)",
+            month.getYear(), month.getMonthValue(), userId);
+    }
+
+    /**
+     * Sum of one user's counters over a range of months; 0 for months never written.
+     * Counters only grow, so the sum changes whenever any month in the range does.
+     */
+    public long sum(long userId, YearMonth from, YearMonth to) {
+        List<Long> sum = jdbcTemplate.queryForList(
+            "SELECT COALESCE(SUM(version), 0) FROM attendance_version " +
+            "WHERE user_id = ? AND version_year BETWEEN ? AND ? " +
+            "AND version_year * 12 + version_month BETWEEN ? AND ?",
+            Long.class, userId, from.getYear(), to.getYear(), monthIndex(from), monthIndex(to));
+        return sum.isEmpty() || sum.get(0) == null ? 0 : sum.get(0);
+    }
+
+    /**
+     * Stripe of a day's counter that an employee's writes increment
+     */
+    public static int dayStripe(long userId) {
+        return (int) Math.floorMod(userId, (long) DAY_STRIPES);
+    }
+
+    /**
+     * Increment a day's stripe counter; returns false when it does not exist yet
+     */
+    public boolean incrementDay(LocalDate date, int stripe) {
+        return jdbcTemplate.update(
+            "UPDATE attendance_day_version SET version = version + 1 WHERE version_date = ? AND stripe = ?",
+            date, stripe) > 0;
+    }
+
+    /**
+     * Create a day's stripe counter at 1. Throws DuplicateKeyException when another
+     * transaction created it first.
+     */
+    public void createDay(LocalDate date, int stripe) {
+        jdbcTemplate.update(
+            "INSERT INTO attendance_day_version (version_date, stripe, version) VALUES (?, ?, 1)",
+            date, stripe);
+    }
+
+    /**
+     * Sum of the day counters over an inclusive date range; 0 for days never written
+     */
+    public long sumDays(LocalDate from, LocalDate to) {
+        List<Long> sum = jdbcTemplate.queryForList(
+            "SELECT COALESCE(SUM(version), 0) FROM attendance_day_version WHERE version_date BETWEEN ? AND ?",
+            Long.class, from, to);
+        return sum.isEmpty() || sum.get(0) == null ? 0 : sum.get(0);
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
+    }
+}
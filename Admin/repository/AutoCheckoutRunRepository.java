@@ -0,0 +1,106 @@
+package com.company.admin.repository;
+
+import com.company.admin.model.AutoCheckoutRun;
+import com.company.admin.model.AutoCheckoutRunStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Auto Check-out Run Repository
+ * JDBC access to the auto_checkout_run progress table
+ */
+@Repository
+@RequiredArgsConstructor
+public class AutoCheckoutRunRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<AutoCheckoutRun> ROW_MAPPER = (rs, rowNum) -> AutoCheckoutRun.builder()
+        .date(rs.getDate("run_date").toLocalDate())
+        .status(AutoCheckoutRunStatus.valueOf(rs.getString("status")))
+        .owner(rs.getString("owner"))
+        .lastAttendanceId(rs.getLong("last_attendance_id"))
+        .rowsUpdated(rs.getLong("rows_updated"))
+        .totalRows(rs.getLong("total_rows"))
+        .startedAt(rs.getTimestamp("started_at").toInstant())
+        .updatedAt(rs.getTimestamp("updated_at").toInstant())
+        .finishedAt(rs.getTimestamp("finished_at") != null ? rs.getTimestamp("finished_at").toInstant() : null)
+        .error(rs.getString("error"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Progress of the run for an attendance date, if one was ever started
+     */
+    public Optional<AutoCheckoutRun> find(LocalDate date) {
+        return jdbcTemplate.query("SELECT * FROM auto_checkout_run WHERE run_date = ?", ROW_MAPPER, Date.valueOf(date))
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Attendance dates whose runs are in the given state
+     */
+    public List<LocalDate> findDatesByStatus(AutoCheckoutRunStatus status) {
+        return jdbcTemplate.queryForList(
+            "SELECT run_date FROM auto_checkout_run WHERE status = ? ORDER BY run_date",
+            Date.class, status.name())
+            .stream()
+            .map(Date::toLocalDate)
+            .toList();
+    }
+
+    /**
+     * Start a fresh run for a date, discarding any previous progress
+     */
+    public void start(LocalDate date, String owner, long totalRows) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("DELETE FROM auto_checkout_run WHERE run_date = ?", Date.valueOf(date));
+        jdbcTemplate.update(
+            "INSERT INTO auto_checkout_run (run_date, status, owner, last_attendance_id, rows_updated, total_rows, " +
+            "started_at, updated_at) VALUES (?, ?, ?, 0, 0, ?, ?, ?)",
+            Date.valueOf(date), AutoCheckoutRunStatus.RUNNING.name(), owner, totalRows, now, now);
+    }
+
+    /**
+     * Resume an interrupted run from its checkpoint under a new owner
+     */
+    public void resume(LocalDate date, String owner, long remainingRows) {
+        jdbcTemplate.update(
+            "UPDATE auto_checkout_run SET status = ?, owner = ?, total_rows = rows_updated + ?, " +
+            "updated_at = ?, finished_at = NULL, error = NULL WHERE run_date = ?",
+            AutoCheckoutRunStatus.RUNNING.name(), owner, remainingRows, Timestamp.from(Instant.now()),
+            Date.valueOf(date));
+    }
+
+    /**
+     * Advance the checkpoint past a committed chunk
+     */
+    public void recordChunk(LocalDate date, long lastAttendanceId, long rowsUpdated) {
+        jdbcTemplate.update(
+            "UPDATE auto_checkout_run SET last_attendance_id = ?, rows_updated = rows_updated + ?, updated_at = ? " +
+            "WHERE run_date = ?",
+            lastAttendanceId, rowsUpdated, Timestamp.from(Instant.now()), Date.valueOf(date));
+    }
+
+    /**
+     * Record the end of a run
+     */
+    public void finish(LocalDate date, AutoCheckoutRunStatus status, String error) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.update(
+            "UPDATE auto_checkout_run SET status = ?, updated_at = ?, finished_at = ?, error = ? WHERE run_date = ?",
+            status.name(), now, now, truncated, Date.valueOf(date));
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.admin.repository;
+
+import com.company.admin.model.Geofence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Geofence Repository
+ * JDBC access to the office_geofence table
+ */
+@Repository
+@RequiredArgsConstructor
+public class GeofenceRepository {
+
+    private static final RowMapper<Geofence> ROW_MAPPER = (rs, rowNum) -> Geofence.builder()
+        .id(rs.getLong("id"))
+        .name(rs.getString("name"))
+        .latitude(rs.getDouble("latitude"))
+        .longitude(rs.getDouble("longitude"))
+        .radiusMeters(rs.getDouble("radius_meters"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Geofence> findAll() {
+        return jdbcTemplate.query(
+            "SELECT id, name, latitude, longitude, radius_meters FROM office_geofence ORDER BY id", ROW_MAPPER);
+    }
+
+    /**
+     * Insert a geofence and return it with its generated id
+     */
+    public Geofence insert(Geofence geofence) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO office_geofence (name, latitude, longitude, radius_meters, created_at) VALUES (?, ?, ?, ?, ?)",
+                new String[] {"id"});
+            ps.setString(1, geofence.getName());
+            ps.setDouble(2, geofence.getLatitude());
+            ps.setDouble(3, geofence.getLongitude());
+            ps.setDouble(4, geofence.getRadiusMeters());
+            ps.setTimestamp(5, Timestamp.from(Instant.now()));
+            return ps;
+        }, keyHolder);
+
+        return geofence.toBuilder().id(keyHolder.getKey().longValue()).build();
+    }
+
+    public boolean delete(long id) {
+        return jdbcTemplate.update("DELETE FROM office_geofence WHERE id = ?", id) > 0;
+    }
+}
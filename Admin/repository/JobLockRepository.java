@@ -0,0 +1,64 @@
+package com.company.admin.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Job Lock Repository
+ * Lease-based locks in the admin_job_lock table that keep cluster-wide admin jobs
+ * on a single node. A lock is held until released or until its holder stops
+ * renewing it for longer than its time to live.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Take the lock unless another owner holds an unexpired lease on it
+     */
+    public boolean tryAcquire(String lockName, String owner, Duration ttl) {
+        Instant now = Instant.now();
+
+        // Take over a lease whose holder stopped renewing it
+        int takenOver = jdbcTemplate.update(
+            "UPDATE admin_job_lock SET owner = ?, locked_at = ?, expires_at = ? " +
+            "WHERE lock_name = ? AND expires_at < ?",
+            owner, Timestamp.from(now), Timestamp.from(now.plus(ttl)), lockName, Timestamp.from(now));
+        if (takenOver > 0) {
+            return true;
+        }
+
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO admin_job_lock (lock_name, owner, locked_at, expires_at) VALUES (?, ?, ?, ?)",
+                lockName, owner, Timestamp.from(now), Timestamp.from(now.plus(ttl)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Extend the lease; false if the lock is no longer held by this owner
+     */
+    public boolean renew(String lockName, String owner, Duration ttl) {
+        return jdbcTemplate.update(
+            "UPDATE admin_job_lock SET expires_at = ? WHERE lock_name = ? AND owner = ?",
+            Timestamp.from(Instant.now().plus(ttl)), lockName, owner) > 0;
+    }
+
+    /**
+     * Release the lock if it is still held by this owner
+     */
+    public void release(String lockName, String owner) {
+        jdbcTemplate.update("DELETE FROM admin_job_lock WHERE lock_name = ? AND owner = ?", lockName, owner);
+    }
+}
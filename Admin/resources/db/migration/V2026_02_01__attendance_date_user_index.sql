@@ -0,0 +1,4 @@
+-- Composite index backing the date-bounded admin attendance queries
+-- (AdminAttendanceRepository). Leading on date keeps day and month scans
+-- proportional to the matching rows; user_id makes the per-day lookups covering.
+CREATE INDEX idx_attendance_date_user ON attendance (date, user_id);
@@ -0,0 +1,29 @@
+-- Monthly attendance rollup maintained incrementally by AttendanceRollupServiceImpl.
+-- A month is only read from the rollup once it has a row in
+-- attendance_monthly_rollup_state, written when the month is (re)built.
+
+CREATE TABLE attendance_monthly_rollup (
+    rollup_year   INT              NOT NULL,
+    rollup_month  INT              NOT NULL,
+    status        VARCHAR(32)      NOT NULL,
+    record_count  BIGINT           NOT NULL DEFAULT 0,
+    total_hours   DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_year, rollup_month, status)
+);
+
+-- Distinct employees per month, reference counted by attendance rows
+CREATE TABLE attendance_monthly_rollup_employee (
+    rollup_year   INT    NOT NULL,
+    rollup_month  INT    NOT NULL,
+    user_id       BIGINT NOT NULL,
+    record_count  BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_year, rollup_month, user_id)
+);
+
+CREATE TABLE attendance_monthly_rollup_state (
+    rollup_year     INT       NOT NULL,
+    rollup_month    INT       NOT NULL,
+    employee_count  BIGINT    NOT NULL DEFAULT 0,
+    rebuilt_at      TIMESTAMP NOT NULL,
+    PRIMARY KEY (rollup_year, rollup_month)
+);
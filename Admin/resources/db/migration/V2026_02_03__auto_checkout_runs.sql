@@ -0,0 +1,25 @@
+-- Cluster-wide locks for admin jobs that must run on a single node at a time.
+-- A holder renews expires_at while it works; an expired lock may be taken over.
+CREATE TABLE admin_job_lock (
+    lock_name   VARCHAR(64)  NOT NULL,
+    owner       VARCHAR(255) NOT NULL,
+    locked_at   TIMESTAMP    NOT NULL,
+    expires_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (lock_name)
+);
+
+-- Progress of auto check-out runs, one row per attendance date. The checkpoint
+-- is committed with every chunk so an interrupted run resumes after it.
+CREATE TABLE auto_checkout_run (
+    run_date            DATE         NOT NULL,
+    status              VARCHAR(16)  NOT NULL,
+    owner               VARCHAR(255),
+    last_attendance_id  BIGINT       NOT NULL DEFAULT 0,
+    rows_updated        BIGINT       NOT NULL DEFAULT 0,
+    total_rows          BIGINT       NOT NULL DEFAULT 0,
+    started_at          TIMESTAMP    NOT NULL,
+    updated_at          TIMESTAMP    NOT NULL,
+    finished_at         TIMESTAMP,
+    error               VARCHAR(1000),
+    PRIMARY KEY (run_date)
+);
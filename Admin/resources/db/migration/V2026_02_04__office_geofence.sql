@@ -0,0 +1,10 @@
+-- Office sites an employee may check in and out at, each a circle around a centre
+CREATE TABLE office_geofence (
+    id             BIGINT           GENERATED BY DEFAULT AS IDENTITY,
+    name           VARCHAR(255)     NOT NULL,
+    latitude       DOUBLE PRECISION NOT NULL,
+    longitude      DOUBLE PRECISION NOT NULL,
+    radius_meters  DOUBLE PRECISION NOT NULL,
+    created_at     TIMESTAMP        NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,15 @@
+-- Closed months moved out of the attendance table into archive files. Writes to a
+-- month are refused once it has a row here; reads switch to the file when it is
+-- ARCHIVED, and its attendance rows are deleted when it becomes PURGED.
+CREATE TABLE attendance_archive_month (
+    archive_year   INT          NOT NULL,
+    archive_month  INT          NOT NULL,
+    status         VARCHAR(16)  NOT NULL,
+    file_name      VARCHAR(255) NOT NULL,
+    row_count      BIGINT       NOT NULL DEFAULT 0,
+    file_bytes     BIGINT       NOT NULL DEFAULT 0,
+    started_at     TIMESTAMP    NOT NULL,
+    archived_at    TIMESTAMP,
+    purged_at      TIMESTAMP,
+    PRIMARY KEY (archive_year, archive_month)
+);
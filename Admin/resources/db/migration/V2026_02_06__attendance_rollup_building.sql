@@ -0,0 +1,5 @@
+-- A month built for the first time gets its state row in a transaction of its own
+-- before the build, so writers of the month lock it and queue behind the build
+-- instead of skipping the month. Reads ignore the month until the build commits.
+
+ALTER TABLE attendance_monthly_rollup_state ADD COLUMN building BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,12 @@
+-- Modification counters used as entity tags by admin attendance reads. Bumped
+-- inside every attendance write, so every node answers conditional GETs from the
+-- same committed state. user_id 0 holds the whole month's counter. Rows are never
+-- deleted, so a counter never goes back to a value a client may still hold.
+
+CREATE TABLE attendance_version (
+    version_year   INT    NOT NULL,
+    version_month  INT    NOT NULL,
+    user_id        BIGINT NOT NULL,
+    version        BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (version_year, version_month, user_id)
+);
@@ -0,0 +1,25 @@
+-- Asynchronous attendance export jobs, shared by every node so any node can report
+-- a job's progress. The node running a job renews updated_at while the job is
+-- queued or running; a live job that stops being renewed was lost with its node.
+-- data_version is the month's attendance version when the job was submitted, so
+-- only jobs over unchanged data are reused.
+CREATE TABLE attendance_export_job (
+    job_id        VARCHAR(36)   NOT NULL,
+    report_year   INT           NOT NULL,
+    report_month  INT           NOT NULL,
+    format        VARCHAR(16)   NOT NULL,
+    data_version  VARCHAR(255)  NOT NULL,
+    status        VARCHAR(16)   NOT NULL,
+    owner         VARCHAR(255)  NOT NULL,
+    rows_written  BIGINT        NOT NULL DEFAULT 0,
+    file_name     VARCHAR(255),
+    file_size     BIGINT,
+    error         VARCHAR(1000),
+    created_at    TIMESTAMP     NOT NULL,
+    updated_at    TIMESTAMP     NOT NULL,
+    completed_at  TIMESTAMP,
+    PRIMARY KEY (job_id)
+);
+
+CREATE INDEX idx_attendance_export_job_report
+    ON attendance_export_job (report_year, report_month, format, data_version);
@@ -0,0 +1,31 @@
+-- Rollup totals are split into stripes by user_id, so concurrent writers of a month
+-- lock the stripes of the employees they change instead of the month's state row.
+-- The rollup is derived data: months built before this migration are dropped and
+-- aggregated on read until they are rebuilt; the current and next month are
+-- rebuilt at startup.
+
+DELETE FROM attendance_monthly_rollup_employee;
+DELETE FROM attendance_monthly_rollup_state;
+
+DROP TABLE attendance_monthly_rollup;
+
+CREATE TABLE attendance_monthly_rollup (
+    rollup_year   INT              NOT NULL,
+    rollup_month  INT              NOT NULL,
+    stripe        INT              NOT NULL,
+    status        VARCHAR(32)      NOT NULL,
+    record_count  BIGINT           NOT NULL DEFAULT 0,
+    total_hours   DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_year, rollup_month, stripe, status)
+);
+
+-- One row per stripe of a built month, locked by the stripe's writers and by rebuilds
+CREATE TABLE attendance_monthly_rollup_stripe (
+    rollup_year     INT    NOT NULL,
+    rollup_month    INT    NOT NULL,
+    stripe          INT    NOT NULL,
+    employee_count  BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_year, rollup_month, stripe)
+);
+
+ALTER TABLE attendance_monthly_rollup_state DROP COLUMN employee_count;
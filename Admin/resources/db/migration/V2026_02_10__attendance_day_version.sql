@@ -0,0 +1,21 @@
+-- Day counters replace the whole-month counter (user_id 0 in attendance_version),
+-- which every attendance write of a month used to update. Each day is split into
+-- stripes by user_id, so concurrent writers of a day update different rows. Month
+-- and range tags are sums of their days' counters. Each month's old counter is
+-- carried over to its first day, so month and range sums keep growing past values
+-- clients may still hold.
+
+CREATE TABLE attendance_day_version (
+    version_date  DATE   NOT NULL,
+    stripe        INT    NOT NULL,
+    version       BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (version_date, stripe)
+);
+
+INSERT INTO attendance_day_version (version_date, stripe, version)
+SELECT CAST(CONCAT(CAST(version_year AS VARCHAR(4)), '-', LPAD(CAST(version_month AS VARCHAR(2)), 2, '0'), '-01') AS DATE),
+       0, version
+FROM attendance_version
+WHERE user_id = 0;
+
+DELETE FROM attendance_version WHERE user_id = 0;
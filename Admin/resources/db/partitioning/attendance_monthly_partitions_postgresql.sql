@@ -0,0 +1,172 @@
+-- One-time conversion of the attendance table to monthly range partitions on
+-- PostgreSQL 12 or later. Not a Flyway migration: run it by hand in a maintenance
+-- window with the application stopped, then set
+-- admin.attendance.partitioning.enabled=true so that AttendancePartitionManager
+-- creates the coming months' partitions and drops the partitions of purged months.
+--
+-- The primary key becomes (id, date), since unique keys of a partitioned table
+-- must contain the partition column; ids stay unique as they still come from one
+-- sequence. Partitions are named attendance_yYYYYmMM. Rows outside every month
+-- partition land in attendance_default, which should stay empty.
+--
+-- Other indexes, unique constraints and foreign keys of attendance are recreated
+-- on the partitioned table under their own names. The script stops before
+-- changing anything when the table has something a partitioned table cannot
+-- keep: foreign keys referencing attendance (its primary key changes), unique
+-- keys without the date column, exclusion constraints, or triggers. Grants are
+-- not copied; re-grant them afterwards if the application user is not the owner.
+
+BEGIN;
+
+DO $$
+DECLARE
+    problems TEXT;
+BEGIN
+    SELECT string_agg(format('%I on %s', conname, conrelid::regclass), ', ') INTO problems
+    FROM pg_constraint
+    WHERE contype = 'f' AND confrelid = 'attendance'::regclass;
+    IF problems IS NOT NULL THEN
+        RAISE EXCEPTION 'Foreign keys reference attendance: %. Drop them first; the primary key becomes (id, date)', problems;
+    END IF;
+
+    SELECT string_agg(i.indexrelid::regclass::text, ', ') INTO problems
+    FROM pg_index i
+    WHERE i.indrelid = 'attendance'::regclass AND i.indisunique AND NOT i.indisprimary
+      AND NOT EXISTS (SELECT 1 FROM pg_attribute a
+                      WHERE a.attrelid = i.indrelid AND a.attname = 'date' AND a.attnum = ANY (i.indkey));
+    IF problems IS NOT NULL THEN
+        RAISE EXCEPTION 'Unique indexes without the date column cannot be kept on a partitioned attendance table: %', problems;
+    END IF;
+
+    SELECT string_agg(format('%I', conname), ', ') INTO problems
+    FROM pg_constraint
+    WHERE contype = 'x' AND conrelid = 'attendance'::regclass;
+    IF problems IS NOT NULL THEN
+        RAISE EXCEPTION 'Exclusion constraints cannot be kept on a partitioned attendance table: %', problems;
+    END IF;
+
+    SELECT string_agg(format('%I', tgname), ', ') INTO problems
+    FROM pg_trigger
+    WHERE tgrelid = 'attendance'::regclass AND NOT tgisinternal;
+    IF problems IS NOT NULL THEN
+        RAISE EXCEPTION 'Triggers on attendance are not carried over: %. Drop them first and recreate them afterwards', problems;
+    END IF;
+END $$;
+
+-- Indexes and constraints to recreate once the rows are copied; LIKE only copies
+-- defaults, NOT NULL and check constraints
+CREATE TEMPORARY TABLE attendance_partitioning_ddl (
+    seq        SERIAL,
+    statement  TEXT NOT NULL
+) ON COMMIT DROP;
+
+INSERT INTO attendance_partitioning_ddl (statement)
+SELECT CASE
+           WHEN c.oid IS NOT NULL
+               THEN format('ALTER TABLE attendance ADD CONSTRAINT %I %s', c.conname, pg_get_constraintdef(c.oid))
+           ELSE format('CREATE %sINDEX %I ON attendance%s',
+                       CASE WHEN i.indisunique THEN 'UNIQUE ' ELSE '' END,
+                       ic.relname, substring(pg_get_indexdef(i.indexrelid) FROM ' USING .*$'))
+       END
+FROM pg_index i
+JOIN pg_class ic ON ic.oid = i.indexrelid
+LEFT JOIN pg_constraint c ON c.conindid = i.indexrelid AND c.conrelid = i.indrelid
+WHERE i.indrelid = 'attendance'::regclass AND NOT i.indisprimary AND ic.relname <> 'idx_attendance_date_user'
+ORDER BY ic.relname;
+
+INSERT INTO attendance_partitioning_ddl (statement)
+SELECT format('ALTER TABLE attendance ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))
+FROM pg_constraint
+WHERE contype = 'f' AND conrelid = 'attendance'::regclass
+ORDER BY conname;
+
+ALTER TABLE attendance RENAME TO attendance_unpartitioned;
+ALTER INDEX idx_attendance_date_user RENAME TO idx_attendance_unpartitioned_date_user;
+
+-- Free the index names for the partitioned table; the old table is dropped below
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN SELECT conname FROM pg_constraint
+             WHERE conrelid = 'attendance_unpartitioned'::regclass AND contype = 'u'
+    LOOP
+        EXECUTE format('ALTER TABLE attendance_unpartitioned DROP CONSTRAINT %I', r.conname);
+    END LOOP;
+
+    FOR r IN SELECT i.indexrelid::regclass AS index_name FROM pg_index i
+             WHERE i.indrelid = 'attendance_unpartitioned'::regclass AND NOT i.indisprimary
+               AND i.indexrelid <> 'idx_attendance_unpartitioned_date_user'::regclass
+    LOOP
+        EXECUTE format('DROP INDEX %s', r.index_name);
+    END LOOP;
+END $$;
+
+CREATE TABLE attendance (
+    LIKE attendance_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE
+) PARTITION BY RANGE (date);
+
+ALTER TABLE attendance ADD PRIMARY KEY (id, date);
+CREATE INDEX idx_attendance_date_user ON attendance (date, user_id);
+
+-- One partition per month, from the first stored month to three months ahead
+DO $$
+DECLARE
+    first_month DATE;
+    m DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(date), CURRENT_DATE))::date INTO first_month
+    FROM attendance_unpartitioned;
+
+    FOR m IN SELECT generate_series(first_month, date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                                    INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF attendance FOR VALUES FROM (%L) TO (%L)',
+            to_char(m, '"attendance_y"YYYY"m"MM'), m, (m + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+CREATE TABLE attendance_default PARTITION OF attendance DEFAULT;
+
+INSERT INTO attendance SELECT * FROM attendance_unpartitioned;
+
+DO $$
+DECLARE
+    ddl RECORD;
+BEGIN
+    FOR ddl IN SELECT statement FROM attendance_partitioning_ddl ORDER BY seq
+    LOOP
+        RAISE NOTICE 'Recreating on attendance: %', ddl.statement;
+        EXECUTE ddl.statement;
+    END LOOP;
+END $$;
+
+-- Keep generating ids after the copied ones. A serial column's sequence moves to
+-- the new table; an identity column is replaced by a sequence default, as identity
+-- columns of partitioned tables need PostgreSQL 17.
+DO $$
+DECLARE
+    identity_column BOOLEAN;
+    id_sequence TEXT := pg_get_serial_sequence('attendance_unpartitioned', 'id');
+BEGIN
+    SELECT attidentity <> '' INTO identity_column FROM pg_attribute
+    WHERE attrelid = 'attendance_unpartitioned'::regclass AND attname = 'id';
+
+    IF identity_column THEN
+        CREATE SEQUENCE attendance_partitioned_id_seq OWNED BY attendance.id;
+        ALTER TABLE attendance ALTER COLUMN id SET DEFAULT nextval('attendance_partitioned_id_seq');
+        id_sequence := 'attendance_partitioned_id_seq';
+    ELSIF id_sequence IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY attendance.id', id_sequence);
+    END IF;
+
+    IF id_sequence IS NOT NULL THEN
+        PERFORM setval(id_sequence, COALESCE((SELECT MAX(id) FROM attendance), 0) + 1, false);
+    END IF;
+END $$;
+
+DROP TABLE attendance_unpartitioned;
+
+COMMIT;
+
+ANALYZE attendance;
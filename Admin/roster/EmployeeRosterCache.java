@@ -0,0 +1,55 @@
+package com.company.admin.roster;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Employee Roster Cache
+ * Locally cached, compressed bitmap of active employee ids. Refreshed on a
+ * schedule and whenever an {@link EmployeeRosterChangedEvent} is published.
+ * The published bitmap is never mutated, so readers need no locking. Falls back
+ * to a roster derived from recent attendance when no employee directory
+ * integration provides an {@link EmployeeRosterSource}.
+ */
+@Component
+@Slf4j
+public class EmployeeRosterCache {
+
+    private final EmployeeRosterSource rosterSource;
+
+    private volatile Roaring64Bitmap activeEmployees = new Roaring64Bitmap();
+
+    public EmployeeRosterCache(ObjectProvider<EmployeeRosterSource> rosterSource, JdbcTemplate jdbcTemplate,
+                               AdminAttendanceProperties properties) {
+        this.rosterSource = rosterSource.getIfAvailable(
+            () -> new RecentAttendanceRosterSource(jdbcTemplate, properties));
+    }
+
+    @EventListener({ApplicationReadyEvent.class, EmployeeRosterChangedEvent.class})
+    @Scheduled(fixedDelayString = "${admin.attendance.roster.refresh-interval-ms:300000}",
+               initialDelayString = "${admin.attendance.roster.refresh-interval-ms:300000}")
+    public void refresh() {
+        long[] ids = rosterSource.fetchActiveEmployeeIds();
+
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        bitmap.add(ids);
+        bitmap.runOptimize();
+
+        activeEmployees = bitmap;
+        log.info("Employee roster refreshed: {} active employees", bitmap.getLongCardinality());
+    }
+
+    /**
+     * Active employees, as an immutable bitmap; callers must not modify it
+     */
+    public Roaring64Bitmap getActiveEmployees() {
+        return activeEmployees;
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.admin.roster;
+
+/**
+ * Published when employees are hired, deactivated or otherwise change roster
+ * membership, so the cached roster is refreshed ahead of its schedule
+ */
+public class EmployeeRosterChangedEvent {
+}
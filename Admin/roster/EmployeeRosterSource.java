@@ -0,0 +1,14 @@
+package com.company.admin.roster;
+
+/**
+ * Source of the active employee roster.
+ * Implement this as a bean to plug in the employee directory; without one,
+ * {@link RecentAttendanceRosterSource} is used.
+ */
+public interface EmployeeRosterSource {
+
+    /**
+     * Ids of all currently active employees, in any order
+     */
+    long[] fetchActiveEmployeeIds();
+}
@@ -0,0 +1,31 @@
+package com.company.admin.roster;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Local stand-in roster: employees with any attendance record within the
+ * configured window are considered active. Used by {@link EmployeeRosterCache}
+ * when no {@link EmployeeRosterSource} bean is present.
+ */
+@RequiredArgsConstructor
+public class RecentAttendanceRosterSource implements EmployeeRosterSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AdminAttendanceProperties properties;
+
+    @Override
+    public long[] fetchActiveEmployeeIds() {
+        LocalDate since = LocalDate.now().minusDays(properties.getRoster().getActiveWindowDays());
+
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM attendance WHERE date >= ?", Long.class, Date.valueOf(since))
+            .stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+    }
+}
@@ -1,11 +1,17 @@
 package com.company.admin.service;
 
+import com.company.admin.dto.response.AdminAttendanceResponse;
+import com.company.admin.dto.response.AdminMonthlyAttendanceResponse;
+import com.company.admin.dto.response.CursorPageResponse;
+import com.company.admin.dto.response.LocationAnomalyReport;
 import com.company.attendance.dto.response.AttendanceResponse;
-import com.company.attendance.dto.response.MonthlyAttendanceResponse;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Admin Attendance Service Interface
@@ -16,28 +22,58 @@ public interface AdminAttendanceService {
     /**
      * Get employee monthly attendance with location history
      */
-    MonthlyAttendanceResponse getEmployeeMonthlyAttendance(Long employeeId, int year, int month);
+    AdminMonthlyAttendanceResponse getEmployeeMonthlyAttendance(Long employeeId, int year, int month);
 
     /**
      * Get employee attendance for date range
      */
-    List<AttendanceResponse> getEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate);
+    List<AdminAttendanceResponse> getEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Get one page of employee attendance for date range, ordered by date
+     * cursor is the nextCursor of the previous page, or null for the first page
+     */
+    CursorPageResponse<AdminAttendanceResponse> getEmployeeAttendancePage(Long employeeId, LocalDate startDate,
+                                                                          LocalDate endDate, String cursor, Integer limit);
+
+    /**
+     * Stream employee attendance for date range as newline-delimited JSON
+     * Returns the number of records written
+     */
+    long streamEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out);
 
     /**
      * Get employee attendance for specific date
      */
-    AttendanceResponse getEmployeeAttendanceByDate(Long employeeId, LocalDate date);
+    AdminAttendanceResponse getEmployeeAttendanceByDate(Long employeeId, LocalDate date);
 
     /**
      * Get all employees attendance for a specific date
      */
-    List<AttendanceResponse> getAllAttendanceByDate(LocalDate date);
+    List<AdminAttendanceResponse> getAllAttendanceByDate(LocalDate date);
+
+    /**
+     * Get one page of all employees attendance for a specific date
+     * cursor is the nextCursor of the previous page, or null for the first page
+     */
+    CursorPageResponse<AdminAttendanceResponse> getAttendancePageByDate(LocalDate date, String cursor, Integer limit);
+
+    /**
+     * Stream all employees attendance for a specific date as newline-delimited JSON
+     * Returns the number of records written
+     */
+    long streamAllAttendanceByDate(LocalDate date, OutputStream out);
 
     /**
      * Get attendance summary for all employees
      */
     Map<String, Object> getAttendanceSummary(int year, int month);
 
+    /**
+     * Rebuild the pre-aggregated summary of a month from raw attendance
+     */
+    Map<String, Object> rebuildAttendanceSummary(int year, int month);
+
     /**
      * Get employees who haven't checked in today
      */
@@ -46,13 +82,29 @@ public interface AdminAttendanceService {
     /**
      * Get employees currently checked in
      */
-    List<AttendanceResponse> getCurrentlyCheckedInEmployees();
+    List<AdminAttendanceResponse> getCurrentlyCheckedInEmployees();
 
     /**
      * Get location analytics for an employee
      */
     Map<String, Object> getEmployeeLocationAnalytics(Long employeeId, int year, int month);
 
+    /**
+     * Scan all employees' check-in locations for a month and flag wide spreads
+     * thresholdMeters defaults to the configured threshold when null
+     */
+    LocationAnomalyReport getLocationAnomalies(int year, int month, Double thresholdMeters);
+
+    /**
+     * Result of the most recent nightly location anomaly scan
+     */
+    Optional<LocationAnomalyReport> getLatestLocationAnomalies();
+
+    /**
+     * Hit, miss and eviction statistics of the admin read caches
+     */
+    Map<String, Object> getCacheStatistics();
+
     /**
      * Manually mark attendance (admin override)
      */
@@ -67,4 +119,15 @@ public interface AdminAttendanceService {
      * Export attendance report
      */
     byte[] exportAttendanceReport(int year, int month, String format);
+
+    /**
+     * Stream attendance report into the given output stream
+     * Returns the number of data rows written
+     */
+    long exportAttendanceReport(int year, int month, String format, OutputStream out);
+
+    /**
+     * Stream attendance report, reporting the running row count as it goes
+     */
+    long exportAttendanceReport(int year, int month, String format, OutputStream out, LongConsumer progress);
 }
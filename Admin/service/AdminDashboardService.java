@@ -0,0 +1,15 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.response.AdminDashboardResponse;
+
+/**
+ * Admin Dashboard Service Interface
+ * Loads the sections of the admin dashboard together
+ */
+public interface AdminDashboardService {
+
+    /**
+     * Summary of the given month with today's checked-in and absent employees
+     */
+    AdminDashboardResponse getDashboard(int year, int month);
+}
@@ -0,0 +1,34 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.response.ArchivedMonthResponse;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Attendance Archive Service Interface
+ * Moves closed months out of the attendance table into archive files, one run at
+ * a time across the cluster
+ */
+public interface AttendanceArchiveService {
+
+    /**
+     * Archive a month older than the hot months; its rows are purged by a later
+     * scheduled run. Empty when another run currently holds the lock.
+     *
+     * @throws IllegalStateException if archiving is disabled
+     */
+    Optional<ArchivedMonthResponse> archive(YearMonth month);
+
+    /**
+     * Archived months, oldest first
+     */
+    List<ArchivedMonthResponse> getArchivedMonths();
+
+    /**
+     * Archive every month older than the hot months when archiving is enabled, and
+     * purge the rows of archived months whose purge delay is up
+     */
+    void runScheduled();
+}
@@ -0,0 +1,34 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.response.ExportJobResponse;
+import com.company.admin.export.job.ExportJob;
+
+import java.util.Optional;
+
+/**
+ * Attendance Export Job Service Interface
+ * Runs attendance exports in the background; jobs are shared by all nodes
+ */
+public interface AttendanceExportJobService {
+
+    /**
+     * Submit an export job, or return the live or finished job for the same report
+     * over unchanged data
+     */
+    ExportJobResponse submit(int year, int month, String format);
+
+    /**
+     * Get status and progress of an export job
+     */
+    Optional<ExportJobResponse> getJob(String jobId);
+
+    /**
+     * Get a completed export job whose file can be downloaded
+     */
+    Optional<ExportJob> getCompletedJob(String jobId);
+
+    /**
+     * Remove jobs and spool files older than the configured TTL
+     */
+    int purgeExpiredJobs();
+}
@@ -0,0 +1,17 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.response.AttendanceRangeSummaryResponse;
+
+import java.time.YearMonth;
+
+/**
+ * Attendance Range Summary Service Interface
+ * Summaries over several months, such as a quarter or a year
+ */
+public interface AttendanceRangeSummaryService {
+
+    /**
+     * Per-month summaries and overall totals for an inclusive range of months
+     */
+    AttendanceRangeSummaryResponse getRangeSummary(YearMonth from, YearMonth to);
+}
@@ -0,0 +1,34 @@
+package com.company.admin.service;
+
+import com.company.admin.model.MonthlyRollup;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Attendance Rollup Service Interface
+ * Maintains per-month, per-status attendance totals alongside attendance writes
+ */
+public interface AttendanceRollupService {
+
+    /**
+     * Get the rollup of a month, if the month has been materialized
+     */
+    Optional<MonthlyRollup> getMonthlyRollup(YearMonth month);
+
+    /**
+     * Employees with records in a month, so distinct counts can be merged across months
+     */
+    Roaring64Bitmap getEmployees(YearMonth month);
+
+    /**
+     * Aggregate a month directly from attendance rows without materializing it
+     */
+    MonthlyRollup aggregate(YearMonth month);
+
+    /**
+     * Recompute a month from raw attendance rows (backfill or repair)
+     */
+    MonthlyRollup rebuild(YearMonth month);
+}
@@ -0,0 +1,31 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.response.AutoCheckoutRunResponse;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Auto Check-out Service Interface
+ * Checks out employees who forgot to, one run per attendance date at a time
+ * across the cluster
+ */
+public interface AutoCheckoutService {
+
+    /**
+     * Run auto check-out for a date, resuming an interrupted run from its checkpoint.
+     * Empty when another run currently holds the lock; marked taken over when the
+     * lock was lost mid-run and another node continues it.
+     */
+    Optional<AutoCheckoutRunResponse> run(LocalDate date);
+
+    /**
+     * Progress of the run for a date, if one was ever started
+     */
+    Optional<AutoCheckoutRunResponse> getRun(LocalDate date);
+
+    /**
+     * Resume runs left unfinished by a node that stopped mid-run
+     */
+    void resumeInterruptedRuns();
+}
@@ -0,0 +1,25 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.BulkManualMarkResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk Manual Mark Service Interface
+ * Applies many admin attendance overrides in batched, per-chunk transactions
+ */
+public interface BulkManualMarkService {
+
+    /**
+     * Apply typed overrides and report the outcome of every row
+     */
+    BulkManualMarkResponse apply(List<ManualAttendanceRequest> requests);
+
+    /**
+     * Apply overrides from an uploaded CSV file and report the outcome of every row
+     */
+    BulkManualMarkResponse applyCsv(InputStream csv) throws IOException;
+}
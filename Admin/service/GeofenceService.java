@@ -0,0 +1,35 @@
+package com.company.admin.service;
+
+import com.company.admin.dto.request.GeofenceRequest;
+import com.company.admin.model.Geofence;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Geofence Service Interface
+ * Office geofence registry and check-in compliance reporting
+ */
+public interface GeofenceService {
+
+    /**
+     * All registered office geofences
+     */
+    List<Geofence> getGeofences();
+
+    /**
+     * Register an office geofence
+     */
+    Geofence addGeofence(GeofenceRequest request);
+
+    /**
+     * Remove an office geofence; false if it does not exist
+     */
+    boolean removeGeofence(long id);
+
+    /**
+     * Stream per-employee, per-day geofence compliance for a month as newline-delimited JSON
+     * Returns the number of rows written
+     */
+    long writeComplianceReport(int year, int month, Long employeeId, OutputStream out);
+}
@@ -1,25 +1,65 @@
 package com.company.admin.service.impl;
 
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.cache.EmployeeMonthCache;
+import com.company.admin.columnar.CheckInPoints;
+import com.company.admin.columnar.MonthColumnStore;
+import com.company.admin.columnar.MonthQuery;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.cache.EmployeeMonthKey;
+import com.company.admin.directory.AttendanceEnricher;
+import com.company.admin.directory.EmployeeDirectory;
+import com.company.admin.directory.EmployeeInfo;
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.AdminAttendanceResponse;
+import com.company.admin.dto.response.AdminMonthlyAttendanceResponse;
+import com.company.admin.dto.response.AutoCheckoutRunResponse;
+import com.company.admin.dto.response.CursorPageResponse;
+import com.company.admin.dto.response.LocationAnomalyReport;
+import com.company.admin.export.AttendanceReportWriter;
+import com.company.admin.export.CountingOutputStream;
+import com.company.admin.export.ExportFormat;
+import com.company.admin.location.LocationAnomalyScanner;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.pagination.AttendanceCursor;
+import com.company.admin.presence.AttendancePresenceIndex;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.roster.EmployeeRosterCache;
 import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AttendanceRollupService;
+import com.company.admin.service.AutoCheckoutService;
+import com.company.admin.writebehind.AttendanceWriteBuffer;
 import com.company.attendance.dto.response.AttendanceResponse;
 import com.company.attendance.dto.response.MonthlyAttendanceResponse;
 import com.company.attendance.mapper.AttendanceMapper;
 import com.company.attendance.model.Attendance;
-import com.company.attendance.model.AttendanceStatus;
 import com.company.attendance.model.embedded.Location;
 import com.company.attendance.repository.AttendanceRepository;
 import com.company.attendance.service.AttendanceService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Admin Attendance Service Implementation
@@ -31,159 +71,442 @@ import java.util.stream.Collectors;
 @Transactional
 public class AdminAttendanceServiceImpl implements AdminAttendanceService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final int NDJSON_CHUNK_SIZE = 100;
+
+    /** Keyset order of attendance pages, for rows read from archive files */
+    private static final Comparator<Attendance> KEYSET_ORDER =
+        Comparator.comparing(Attendance::getDate).thenComparing(Attendance::getId);
+
     private final AttendanceRepository attendanceRepository;
+    private final AdminAttendanceRepository adminAttendanceRepository;
     private final AttendanceMapper attendanceMapper;
     private final AttendanceService attendanceService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AutoCheckoutService autoCheckoutService;
+    private final MonthColumnStore monthColumnStore;
+    private final LocationAnomalyScanner locationAnomalyScanner;
+    private final AdminMetrics adminMetrics;
+    private final AdminAttendanceProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AttendancePresenceIndex attendancePresenceIndex;
+    private final EmployeeRosterCache employeeRosterCache;
+    private final EmployeeDirectory employeeDirectory;
+    private final AttendanceEnricher attendanceEnricher;
+    private final EmployeeMonthCache employeeMonthCache;
+    private final EntityManager entityManager;
+    private final AttendanceWriteBuffer attendanceWriteBuffer;
+    private final AttendanceArchive attendanceArchive;
 
     @Override
-    @Transactional(readOnly = true)
-    public MonthlyAttendanceResponse getEmployeeMonthlyAttendance(Long employeeId, int year, int month) {
-        log.info("Admin fetching monthly attendance for employee: {} - {}/{}", employeeId, year, month);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public AdminMonthlyAttendanceResponse getEmployeeMonthlyAttendance(Long employeeId, int year, int month) {
+        log.debug("Admin fetching monthly attendance for employee: {} - {}/{}", employeeId, year, month);
+        
+        return employeeMonthCache.getMonthlyAttendance(
+            new EmployeeMonthKey(employeeId, YearMonth.of(year, month)),
+            key -> loadEmployeeMonthlyAttendance(employeeId, year, month)
+        );
+    }
+
+    private AdminMonthlyAttendanceResponse loadEmployeeMonthlyAttendance(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        if (attendanceArchive.isArchived(yearMonth)) {
+            // Only the employee's row groups of the month's file are read
+            List<AttendanceResponse> records = attendanceArchive.read(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth())
+                .stream()
+                .map(attendanceMapper::toResponse)
+                .collect(Collectors.toList());
+            return AdminMonthlyAttendanceResponse.archived(yearMonth, records, employeeDirectory.resolve(employeeId));
+        }
         
         // Reuse the existing service method
         MonthlyAttendanceResponse response = attendanceService.getMonthlyAttendance(employeeId, year, month);
         
-        // TODO: Add employee info from User service
-        // For now, return the response as is
-        return response;
+        if (response == null) {
+            return null;
+        }
+        
+        return AdminMonthlyAttendanceResponse.of(response, employeeDirectory.resolve(employeeId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AttendanceResponse> getEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        log.info("Admin fetching attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
+    public List<AdminAttendanceResponse> getEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        log.debug("Admin fetching attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
         
-        return attendanceService.getAttendanceByDateRange(employeeId, startDate, endDate);
+        Map<LocalDate, ManualAttendanceRequest> pending = attendanceWriteBuffer.getPendingByEmployee(employeeId, startDate, endDate);
+        boolean archived = attendanceArchive.overlaps(startDate, endDate);
+        if (pending.isEmpty() && !archived) {
+            return attendanceEnricher.enrich(attendanceService.getAttendanceByDateRange(employeeId, startDate, endDate));
+        }
+        
+        // Archived days come from their files; buffered marks not written yet replace or add to the stored days
+        Map<LocalDate, Attendance> byDate = new TreeMap<>();
+        if (archived) {
+            attendanceArchive.read(employeeId, startDate, endDate).forEach(attendance -> byDate.put(attendance.getDate(), attendance));
+        }
+        try (Stream<Attendance> attendances = adminAttendanceRepository.streamEmployeeByDateRange(employeeId, startDate, endDate)) {
+            attendances.forEach(attendance -> byDate.put(attendance.getDate(), attendance));
+        }
+        pending.forEach((date, mark) -> byDate.put(date, overlay(byDate.get(date), mark)));
+        
+        return attendanceEnricher.enrich(byDate.values().stream()
+            .map(attendanceMapper::toResponse)
+            .collect(Collectors.toList()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public AttendanceResponse getEmployeeAttendanceByDate(Long employeeId, LocalDate date) {
-        log.info("Admin fetching attendance for employee: {} on date: {}", employeeId, date);
+    public CursorPageResponse<AdminAttendanceResponse> getEmployeeAttendancePage(Long employeeId, LocalDate startDate,
+                                                                                 LocalDate endDate, String cursor, Integer limit) {
+        log.debug("Admin fetching attendance page for employee: {} from {} to {}", employeeId, startDate, endDate);
+        
+        AttendanceCursor after = cursor != null ? AttendanceCursor.decode(cursor) : AttendanceCursor.startOf(startDate);
+        int pageSize = pageSize(limit);
+        
+        // One extra row tells whether another page follows
+        if (!attendanceArchive.overlaps(after.getDate(), endDate)) {
+            return toPage(adminAttendanceRepository.findEmployeePageAfter(
+                employeeId, startDate, endDate, after.getDate(), after.getId(), PageRequest.of(0, pageSize + 1)), pageSize);
+        }
         
-        return attendanceService.getAttendanceByDate(employeeId, date);
+        // Month by month, from the archive file or the table, until the page is full
+        List<Attendance> rows = new ArrayList<>(pageSize + 1);
+        LocalDate first = after.getDate().isAfter(startDate) ? after.getDate() : startDate;
+        for (YearMonth month = YearMonth.from(first);
+                rows.size() <= pageSize && !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            LocalDate from = month.atDay(1).isAfter(startDate) ? month.atDay(1) : startDate;
+            LocalDate to = month.atEndOfMonth().isBefore(endDate) ? month.atEndOfMonth() : endDate;
+            int remaining = pageSize + 1 - rows.size();
+            if (attendanceArchive.isArchived(month)) {
+                attendanceArchive.read(employeeId, from, to).stream()
+                    .filter(attendance -> after.precedes(attendance.getDate(), attendance.getId()))
+                    .sorted(KEYSET_ORDER)
+                    .limit(remaining)
+                    .forEach(rows::add);
+            } else {
+                rows.addAll(adminAttendanceRepository.findEmployeePageAfter(
+                    employeeId, from, to, after.getDate(), after.getId(), PageRequest.of(0, remaining)));
+            }
+        }
+        
+        return toPage(rows, pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AttendanceResponse> getAllAttendanceByDate(LocalDate date) {
-        log.info("Admin fetching all attendance for date: {}", date);
-        
-        List<Attendance> attendances = attendanceRepository.findAll().stream()
-            .filter(a -> a.getDate().equals(date))
-            .collect(Collectors.toList());
+    public long streamEmployeeAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        log.debug("Admin streaming attendance for employee: {} from {} to {}", employeeId, startDate, endDate);
         
-        return attendances.stream()
-            .map(attendanceMapper::toResponse)
-            .collect(Collectors.toList());
+        try (Stream<Attendance> attendances = attendanceArchive.overlaps(startDate, endDate)
+                 ? streamEmployeeByMonth(employeeId, startDate, endDate)
+                 : adminAttendanceRepository.streamEmployeeByDateRange(employeeId, startDate, endDate)) {
+            return writeNdjson(attendances, out);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getAttendanceSummary(int year, int month) {
-        log.info("Admin fetching attendance summary for {}/{}", year, month);
+    public AdminAttendanceResponse getEmployeeAttendanceByDate(Long employeeId, LocalDate date) {
+        log.debug("Admin fetching attendance for employee: {} on date: {}", employeeId, date);
+        
+        if (attendanceArchive.isArchived(YearMonth.from(date))) {
+            return attendanceArchive.read(employeeId, date, date).stream()
+                .findFirst()
+                .map(attendance -> attendanceEnricher.enrich(attendanceMapper.toResponse(attendance)))
+                .orElse(null);
+        }
         
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+        Optional<ManualAttendanceRequest> pending = attendanceWriteBuffer.getPending(employeeId, date);
+        if (pending.isPresent()) {
+            Attendance attendance = overlay(attendanceRepository.findByUserIdAndDate(employeeId, date).orElse(null), pending.get());
+            return attendanceEnricher.enrich(attendanceMapper.toResponse(attendance));
+        }
         
-        List<Attendance> allAttendances = attendanceRepository.findAll().stream()
-            .filter(a -> !a.getDate().isBefore(startDate) && !a.getDate().isAfter(endDate))
-            .collect(Collectors.toList());
+        AttendanceResponse response = attendanceService.getAttendanceByDate(employeeId, date);
         
-        // Calculate statistics
-        long totalRecords = allAttendances.size();
-        long presentCount = allAttendances.stream()
-            .filter(a -> a.getAttendanceStatus() == AttendanceStatus.PRESENT)
-            .count();
-        long absentCount = allAttendances.stream()
-            .filter(a -> a.getAttendanceStatus() == AttendanceStatus.ABSENT)
-            .count();
-        long leaveCount = allAttendances.stream()
-            .filter(a -> a.getAttendanceStatus() == AttendanceStatus.LEAVE)
-            .count();
-        
-        double totalHours = allAttendances.stream()
-            .filter(a -> a.getTotalHours() != null)
-            .mapToDouble(Attendance::getTotalHours)
-            .sum();
-        
-        double avgHours = totalRecords > 0 ? totalHours / totalRecords : 0;
-        
-        // Get unique employees
-        Set<Long> uniqueEmployees = allAttendances.stream()
-            .map(Attendance::getUserId)
-            .collect(Collectors.toSet());
-        
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalRecords", totalRecords);
-        summary.put("totalEmployees", uniqueEmployees.size());
-        summary.put("presentCount", presentCount);
-        summary.put("absentCount", absentCount);
-        summary.put("leaveCount", leaveCount);
-        summary.put("totalWorkingHours", totalHours);
-        summary.put("averageWorkingHours", avgHours);
-        summary.put("month", month);
-        summary.put("year", year);
-        
-        return summary;
+        return response != null ? attendanceEnricher.enrich(response) : null;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getAbsentEmployeesToday() {
-        log.info("Admin fetching absent employees for today");
+    public List<AdminAttendanceResponse> getAllAttendanceByDate(LocalDate date) {
+        log.debug("Admin fetching all attendance for date: {}", date);
+        
+        List<Attendance> attendances = attendanceArchive.isArchived(YearMonth.from(date))
+            ? attendanceArchive.read(null, date, date)
+            : adminAttendanceRepository.findAllByDate(date);
+        
+        Map<Long, ManualAttendanceRequest> pending = attendanceWriteBuffer.getPendingByDate(date);
+        if (!pending.isEmpty()) {
+            // Buffered marks not written yet replace or add to the stored records
+            List<Attendance> merged = new ArrayList<>(attendances.size() + pending.size());
+            for (Attendance attendance : attendances) {
+                ManualAttendanceRequest mark = pending.remove(attendance.getUserId());
+                merged.add(mark != null ? overlay(attendance, mark) : attendance);
+            }
+            pending.values().forEach(mark -> merged.add(overlay(null, mark)));
+            attendances = merged;
+        }
         
-        LocalDate today = LocalDate.now();
+        return attendanceEnricher.enrich(attendances.stream()
+            .map(attendanceMapper::toResponse)
+            .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AdminAttendanceResponse> getAttendancePageByDate(LocalDate date, String cursor, Integer limit) {
+        log.debug("Admin fetching attendance page for date: {}", date);
         
-        // TODO: Get all active employees from User service
-        // For now, return empty list
-        // This would require integration with User/Employee service
+        AttendanceCursor after = cursor != null ? AttendanceCursor.decode(cursor) : AttendanceCursor.startOf(date);
+        if (!after.getDate().equals(date)) {
+            throw new IllegalArgumentException("Cursor does not belong to date " + date);
+        }
+        int pageSize = pageSize(limit);
+        
+        List<Attendance> rows = attendanceArchive.isArchived(YearMonth.from(date))
+            ? attendanceArchive.read(null, date, date).stream()
+                .filter(attendance -> attendance.getId() > after.getId())
+                .sorted(KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .collect(Collectors.toList())
+            : adminAttendanceRepository.findPageByDateAfter(date, after.getId(), PageRequest.of(0, pageSize + 1));
         
-        return new ArrayList<>();
+        return toPage(rows, pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AttendanceResponse> getCurrentlyCheckedInEmployees() {
-        log.info("Admin fetching currently checked-in employees");
+    public long streamAllAttendanceByDate(LocalDate date, OutputStream out) {
+        log.debug("Admin streaming all attendance for date: {}", date);
         
-        List<Attendance> checkedIn = attendanceRepository.findPendingCheckouts(LocalDate.now());
+        try (Stream<Attendance> attendances = attendanceArchive.isArchived(YearMonth.from(date))
+                 ? attendanceArchive.read(null, date, date).stream()
+                 : adminAttendanceRepository.streamAllByDate(date)) {
+            return writeNdjson(attendances, out);
+        }
+    }
+
+    /**
+     * An employee's records in date order, month by month from the archive file or
+     * the table; each month's cursor is closed once it is consumed
+     */
+    private Stream<Attendance> streamEmployeeByMonth(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return Stream.iterate(YearMonth.from(startDate), month -> !month.isAfter(YearMonth.from(endDate)), month -> month.plusMonths(1))
+            .flatMap(month -> {
+                LocalDate from = month.atDay(1).isAfter(startDate) ? month.atDay(1) : startDate;
+                LocalDate to = month.atEndOfMonth().isBefore(endDate) ? month.atEndOfMonth() : endDate;
+                return attendanceArchive.isArchived(month)
+                    ? attendanceArchive.read(employeeId, from, to).stream()
+                    : adminAttendanceRepository.streamEmployeeByDateRange(employeeId, from, to);
+            });
+    }
+
+    private int pageSize(Integer limit) {
+        AdminAttendanceProperties.Paging paging = properties.getPaging();
+        if (limit == null) {
+            return paging.getDefaultLimit();
+        }
+        return Math.max(1, Math.min(limit, paging.getMaxLimit()));
+    }
+
+    /**
+     * A stored record with a buffered mark applied, detached so the change is never
+     * written back; a new record when nothing is stored yet
+     */
+    private Attendance overlay(Attendance stored, ManualAttendanceRequest mark) {
+        Attendance attendance = stored;
+        if (attendance != null) {
+            entityManager.detach(attendance);
+        } else {
+            attendance = Attendance.builder()
+                .userId(mark.getUserId())
+                .date(mark.getDate())
+                .build();
+        }
+        mark.applyTo(attendance);
+        return attendance;
+    }
+
+    private CursorPageResponse<AdminAttendanceResponse> toPage(List<Attendance> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Attendance> page = hasMore ? rows.subList(0, pageSize) : rows;
         
-        return checkedIn.stream()
+        List<AdminAttendanceResponse> items = attendanceEnricher.enrich(page.stream()
             .map(attendanceMapper::toResponse)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Attendance last = page.get(page.size() - 1);
+            nextCursor = new AttendanceCursor(last.getDate(), last.getId()).encode();
+        }
+        
+        return CursorPageResponse.<AdminAttendanceResponse>builder()
+            .items(items)
+            .size(items.size())
+            .hasMore(hasMore)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    /**
+     * Write records as newline-delimited JSON while they are read from the cursor.
+     * Records are enriched and flushed in small chunks so each chunk's employees are
+     * resolved in one lookup; memory stays bounded by the chunk, not the result.
+     */
+    private long writeNdjson(Stream<Attendance> attendances, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(AdminAttendanceResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("\n");
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            
+            long written = 0;
+            List<Attendance> chunk = new ArrayList<>(NDJSON_CHUNK_SIZE);
+            Iterator<Attendance> it = attendances.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                
+                if (chunk.size() == NDJSON_CHUNK_SIZE || !it.hasNext()) {
+                    List<AdminAttendanceResponse> responses = attendanceEnricher.enrich(chunk.stream()
+                        .map(attendanceMapper::toResponse)
+                        .collect(Collectors.toList()));
+                    for (AdminAttendanceResponse response : responses) {
+                        writer.writeValue(generator, response);
+                    }
+                    chunk.forEach(entityManager::detach);
+                    written += chunk.size();
+                    chunk.clear();
+                    generator.flush();
+                }
+            }
+            
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream attendance records", e);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Map<String, Object> getAttendanceSummary(int year, int month) {
+        log.debug("Admin fetching attendance summary for {}/{}", year, month);
+        
+        YearMonth yearMonth = YearMonth.of(year, month);
+        
+        // Materialized months, including the current one, are a lookup
+        Optional<MonthlyRollup> rollup = attendanceRollupService.getMonthlyRollup(yearMonth);
+        if (rollup.isPresent()) {
+            return rollup.get().toSummary();
+        }
+        
+        if (monthColumnStore.isEnabled()) {
+            return monthColumnStore.snapshot(yearMonth).toRollup().toSummary();
+        }
+        
+        // Others are aggregated over the month's index range
+        return attendanceRollupService.aggregate(yearMonth).toSummary();
+    }
+
+    @Override
+    public Map<String, Object> rebuildAttendanceSummary(int year, int month) {
+        log.info("Admin rebuilding attendance summary for {}/{}", year, month);
+        
+        YearMonth yearMonth = YearMonth.of(year, month);
+        monthColumnStore.invalidate(yearMonth);
+        
+        return attendanceRollupService.rebuild(yearMonth).toSummary();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> getAbsentEmployeesToday() {
+        log.debug("Admin fetching absent employees for today");
+        
+        // Active roster minus today's check-ins, both held in memory as bitmaps
+        Roaring64Bitmap absent = attendancePresenceIndex.notCheckedInToday(employeeRosterCache.getActiveEmployees());
+        
+        List<Long> userIds = new ArrayList<>((int) absent.getLongCardinality());
+        absent.forEach(userIds::add);
+        
+        Map<Long, EmployeeInfo> employees = employeeDirectory.resolve(userIds);
+        
+        List<Map<String, Object>> absentees = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            EmployeeInfo employee = employees.get(userId);
+            Map<String, Object> absentee = new HashMap<>();
+            absentee.put("userId", userId);
+            absentee.put("employeeName", employee != null ? employee.getName() : null);
+            absentee.put("department", employee != null ? employee.getDepartment() : null);
+            absentees.add(absentee);
+        }
+        
+        return absentees;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<AdminAttendanceResponse> getCurrentlyCheckedInEmployees() {
+        log.debug("Admin fetching currently checked-in employees");
+        
+        // Served from the live presence index; no database access
+        return attendanceEnricher.enrich(attendancePresenceIndex.getCheckedIn());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Map<String, Object> getEmployeeLocationAnalytics(Long employeeId, int year, int month) {
-        log.info("Admin fetching location analytics for employee: {} - {}/{}", employeeId, year, month);
+        log.debug("Admin fetching location analytics for employee: {} - {}/{}", employeeId, year, month);
+        
+        return employeeMonthCache.getLocationAnalytics(
+            new EmployeeMonthKey(employeeId, YearMonth.of(year, month)),
+            key -> computeEmployeeLocationAnalytics(employeeId, year, month)
+        );
+    }
+
+    private Map<String, Object> computeEmployeeLocationAnalytics(Long employeeId, int year, int month) {
+        if (monthColumnStore.isEnabled()) {
+            MonthQuery query = monthColumnStore.snapshot(YearMonth.of(year, month)).query().employee(employeeId);
+            return toLocationAnalytics(query.count(), query.checkInPoints());
+        }
         
-        List<Attendance> attendances = attendanceRepository.findByUserIdAndYearAndMonth(employeeId, year, month);
+        YearMonth yearMonth = YearMonth.of(year, month);
+        List<Attendance> attendances = attendanceArchive.isArchived(yearMonth)
+            ? attendanceArchive.read(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth())
+            : attendanceRepository.findByUserIdAndYearAndMonth(employeeId, year, month);
         
-        // Calculate location-based analytics
         List<Location> checkInLocations = attendances.stream()
             .map(Attendance::getCheckInLocation)
             .filter(Objects::nonNull)
             .filter(Location::isValid)
             .collect(Collectors.toList());
         
+        double[] latitudes = new double[checkInLocations.size()];
+        double[] longitudes = new double[checkInLocations.size()];
+        for (int i = 0; i < checkInLocations.size(); i++) {
+            latitudes[i] = checkInLocations.get(i).getLatitude().doubleValue();
+            longitudes[i] = checkInLocations.get(i).getLongitude().doubleValue();
+        }
+        
+        return toLocationAnalytics(attendances.size(), new CheckInPoints(latitudes, longitudes, latitudes.length));
+    }
+
+    private Map<String, Object> toLocationAnalytics(long totalRecords, CheckInPoints checkInPoints) {
         Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalRecords", attendances.size());
-        analytics.put("recordsWithLocation", checkInLocations.size());
+        analytics.put("totalRecords", totalRecords);
+        analytics.put("recordsWithLocation", checkInPoints.size());
         
-        if (!checkInLocations.isEmpty()) {
+        if (checkInPoints.size() > 0) {
             // Calculate average location
-            double avgLat = checkInLocations.stream()
-                .mapToDouble(l -> l.getLatitude().doubleValue())
-                .average()
-                .orElse(0.0);
-            
-            double avgLon = checkInLocations.stream()
-                .mapToDouble(l -> l.getLongitude().doubleValue())
-                .average()
-                .orElse(0.0);
+            double avgLat = checkInPoints.getAverageLatitude();
+            double avgLon = checkInPoints.getAverageLongitude();
             
             analytics.put("averageLocation", Map.of(
                 "latitude", avgLat,
@@ -191,53 +514,55 @@ public class AdminAttendanceServiceImpl implements AdminAttendanceService {
             ));
             
             // Calculate location variance (how much employee moves)
-            if (checkInLocations.size() > 1) {
-                Location avgLocation = Location.builder()
-                    .latitude(BigDecimal.valueOf(avgLat))
-                    .longitude(BigDecimal.valueOf(avgLon))
-                    .build();
-                
-                double maxDistance = checkInLocations.stream()
-                    .mapToDouble(l -> l.distanceFrom(avgLocation))
-                    .max()
-                    .orElse(0.0);
-                
-                analytics.put("maxDistanceFromAverage", maxDistance);
+            if (checkInPoints.size() > 1) {
+                analytics.put("maxDistanceFromAverage", checkInPoints.getMaxDistanceFrom(avgLat, avgLon));
             }
         }
         
         return analytics;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public LocationAnomalyReport getLocationAnomalies(int year, int month, Double thresholdMeters) {
+        log.info("Admin scanning location anomalies for {}/{}", year, month);
+        
+        double threshold = thresholdMeters != null ? thresholdMeters : locationAnomalyScanner.getDefaultThresholdMeters();
+        
+        return locationAnomalyScanner.scan(YearMonth.of(year, month), threshold);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocationAnomalyReport> getLatestLocationAnomalies() {
+        return locationAnomalyScanner.getLatestReport();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>(employeeMonthCache.getStatistics());
+        statistics.put("employeeDirectory", EmployeeMonthCache.statisticsOf(employeeDirectory.getCache()));
+        statistics.put("columnarSnapshots", monthColumnStore.getStatistics());
+        statistics.put("archivedMonths", attendanceArchive.getStatistics());
+        return statistics;
+    }
+
     @Override
     public AttendanceResponse manualMarkAttendance(Map<String, Object> request) {
         log.info("Admin manually marking attendance");
         
-        // Extract data from request
-        Long userId = Long.valueOf(request.get("userId").toString());
-        LocalDate date = LocalDate.parse(request.get("date").toString());
-        AttendanceStatus status = AttendanceStatus.valueOf(request.get("status").toString());
-        String remarks = request.getOrDefault("remarks", "Manually marked by admin").toString();
+        ManualAttendanceRequest mark = ManualAttendanceRequest.fromMap(request);
+        attendanceArchive.checkWritable(mark.getDate());
         
         // Create or update attendance
-        Attendance attendance = attendanceRepository.findByUserIdAndDate(userId, date)
+        Attendance attendance = attendanceRepository.findByUserIdAndDate(mark.getUserId(), mark.getDate())
             .orElse(Attendance.builder()
-                .userId(userId)
-                .date(date)
+                .userId(mark.getUserId())
+                .date(mark.getDate())
                 .build());
         
-        attendance.setAttendanceStatus(status);
-        attendance.setRemarks(remarks);
-        
-        // Set times if provided
-        if (request.containsKey("checkInTime")) {
-            attendance.setCheckInTime(LocalTime.parse(request.get("checkInTime").toString()));
-        }
-        if (request.containsKey("checkOutTime")) {
-            attendance.setCheckOutTime(LocalTime.parse(request.get("checkOutTime").toString()));
-        }
-        
-        attendance.calculateTotalHours();
+        mark.applyTo(attendance);
         
         Attendance saved = attendanceRepository.save(attendance);
         
@@ -245,54 +570,97 @@ public class AdminAttendanceServiceImpl implements AdminAttendanceService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int runAutoCheckout(LocalDate date) {
         log.info("Admin running auto check-out for date: {}", date);
         
-        return attendanceService.autoCheckOut(date);
+        // Runs in its own per-chunk transactions
+        Optional<AutoCheckoutRunResponse> run = autoCheckoutService.run(date);
+        if (run.isEmpty()) {
+            log.info("Auto check-out for {} is already running on another node", date);
+            return 0;
+        }
+        if (run.get().isTakenOver()) {
+            log.info("Auto check-out for {} was taken over by another node after {} records", date, run.get().getRecordsUpdated());
+        }
+        return (int) run.get().getRecordsUpdated();
     }
 
     @Override
     @Transactional(readOnly = true)
     public byte[] exportAttendanceReport(int year, int month, String format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportAttendanceReport(year, month, format, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAttendanceReport(int year, int month, String format, OutputStream out) {
+        return exportAttendanceReport(year, month, format, out, rows -> { });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAttendanceReport(int year, int month, String format, OutputStream out, LongConsumer progress) {
         log.info("Admin exporting attendance report for {}/{} in {} format", year, month, format);
         
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
         
-        List<Attendance> attendances = attendanceRepository.findAll().stream()
-            .filter(a -> !a.getDate().isBefore(startDate) && !a.getDate().isAfter(endDate))
-            .sorted(Comparator.comparing(Attendance::getDate).reversed())
-            .collect(Collectors.toList());
-        
-        // Generate CSV
-        if ("csv".equalsIgnoreCase(format)) {
-            return generateCSV(attendances);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        long started = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long rows;
+        
+        // Read through a database cursor and detach each row once written, so neither the
+        // result set nor the persistence context grows with the month. Archived months are
+        // decoded one row group at a time.
+        try (Stream<Attendance> attendances = attendanceArchive.isArchived(yearMonth)
+                 ? attendanceArchive.stream(yearMonth)
+                 : adminAttendanceRepository.streamAllByDateRange(startDate, endDate);
+             AttendanceReportWriter writer = exportFormat.createWriter(counted)) {
+            writer.writeHeader();
+            
+            // Rows are written in chunks so each chunk's employees are resolved in one lookup
+            List<Attendance> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Attendance> it = attendances.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !it.hasNext()) {
+                    writeChunk(writer, chunk);
+                    chunk.clear();
+                    progress.accept(writer.getRowCount());
+                }
+            }
+            
+            writer.finish();
+            progress.accept(writer.getRowCount());
+            rows = writer.getRowCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write attendance report", e);
         }
         
-        // TODO: Implement Excel export
-        return generateCSV(attendances);
+        adminMetrics.recordRowsScanned("export", rows);
+        adminMetrics.recordExport(exportFormat.getExtension(), rows, counted.getCount(), System.nanoTime() - started);
+        return rows;
     }
 
-    private byte[] generateCSV(List<Attendance> attendances) {
-        StringBuilder csv = new StringBuilder();
-        
-        // Header
-        csv.append("Date,Employee ID,Status,Check In,Check Out,Total Hours,Check In Location,Check Out Location\n");
-        
-        // Data rows
-        for (Attendance a : attendances) {
-            csv.append(a.getDate()).append(",");
-            csv.append(a.getUserId()).append(",");
-            csv.append(a.getAttendanceStatus()).append(",");
-            csv.append(a.getCheckInTime() != null ? a.getCheckInTime() : "").append(",");
-            csv.append(a.getCheckOutTime() != null ? a.getCheckOutTime() : "").append(",");
-            csv.append(a.getTotalHours() != null ? a.getTotalHours() : "").append(",");
-            csv.append(a.getCheckInLocation() != null ? a.getCheckInLocation().getCoordinates() : "").append(",");
-            csv.append(a.getCheckOutLocation() != null ? a.getCheckOutLocation().getCoordinates() : "");
-            csv.append("\n");
+    private void writeChunk(AttendanceReportWriter writer, List<Attendance> chunk) throws IOException {
+        Set<Long> userIds = new HashSet<>();
+        for (Attendance a : chunk) {
+            userIds.add(a.getUserId());
         }
         
-        return csv.toString().getBytes();
+        Map<Long, EmployeeInfo> employees = employeeDirectory.resolve(userIds);
+        
+        for (Attendance a : chunk) {
+            writer.writeRow(a, employees.get(a.getUserId()));
+            if (entityManager.contains(a)) {
+                entityManager.detach(a);
+            }
+        }
     }
 }
@@ -0,0 +1,205 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.cache.AdminRequestCoalescer;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.config.DashboardExecutorConfig;
+import com.company.admin.dto.response.AdminAttendanceResponse;
+import com.company.admin.dto.response.AdminDashboardResponse;
+import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AdminDashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Admin Dashboard Service Implementation
+ * Each section runs on its own thread, so the dashboard takes as long as its
+ * slowest section rather than the sum of all of them. Sections are scoped to the
+ * request: one that exceeds its timeout is cancelled and reported, the others are
+ * still returned. Interrupting a thread does not stop a running JDBC statement, so
+ * each section also runs in a read-only transaction whose timeout is the section's,
+ * which the database enforces on every query of the section. The summary is the
+ * exception: it mostly waits on the coalescer, so it runs without one and only its
+ * computing caller opens a transaction. A section that finds every slot taken fails
+ * at once rather than holding the request thread.
+ */
+@Service
+@Slf4j
+public class AdminDashboardServiceImpl implements AdminDashboardService {
+
+    static final String SECTION_SUMMARY = "summary";
+    static final String SECTION_CHECKED_IN = "checkedInNow";
+    static final String SECTION_ABSENT = "absentToday";
+
+    private final AdminAttendanceService adminAttendanceService;
+    private final AdminRequestCoalescer adminRequestCoalescer;
+    private final AsyncTaskExecutor dashboardExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final AdminAttendanceProperties.Dashboard config;
+    private final Semaphore sectionSlots;
+
+    public AdminDashboardServiceImpl(AdminAttendanceService adminAttendanceService,
+                                     AdminRequestCoalescer adminRequestCoalescer,
+                                     @Qualifier(DashboardExecutorConfig.DASHBOARD_EXECUTOR) AsyncTaskExecutor dashboardExecutor,
+                                     PlatformTransactionManager transactionManager,
+                                     AdminAttendanceProperties properties) {
+        this.adminAttendanceService = adminAttendanceService;
+        this.adminRequestCoalescer = adminRequestCoalescer;
+        this.dashboardExecutor = dashboardExecutor;
+        this.transactionManager = transactionManager;
+        this.config = properties.getDashboard();
+        this.sectionSlots = new Semaphore(config.getMaxConcurrentSections());
+    }
+
+    @Override
+    public AdminDashboardResponse getDashboard(int year, int month) {
+        log.info("Admin loading dashboard for {}/{}", year, month);
+        long started = System.nanoTime();
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Section<Map<String, Object>> summary = fork(SECTION_SUMMARY, config.getSummaryTimeout(), started, false,
+            () -> adminRequestCoalescer.getAttendanceSummary(year, month));
+        Section<List<AdminAttendanceResponse>> checkedIn = fork(SECTION_CHECKED_IN, config.getCheckedInTimeout(), started, true,
+            adminAttendanceService::getCurrentlyCheckedInEmployees);
+        Section<List<Map<String, Object>>> absent = fork(SECTION_ABSENT, config.getAbsentTimeout(), started, true,
+            adminAttendanceService::getAbsentEmployeesToday);
+
+        try {
+            AdminDashboardResponse response = AdminDashboardResponse.builder()
+                .summary(summary.join(errors))
+                .checkedInNow(checkedIn.join(errors))
+                .absentToday(absent.join(errors))
+                .errors(errors)
+                .complete(errors.isEmpty())
+                .build();
+            response.setDurationMs((System.nanoTime() - started) / 1_000_000);
+
+            if (!errors.isEmpty()) {
+                log.warn("Dashboard for {}/{} returned partially in {} ms: {}", year, month, response.getDurationMs(), errors);
+            }
+            return response;
+        } finally {
+            summary.cancel();
+            checkedIn.cancel();
+            absent.cancel();
+        }
+    }
+
+    private <T> Section<T> fork(String name, Duration timeout, long started, boolean transactional, Supplier<T> task) {
+        if (!sectionSlots.tryAcquire()) {
+            return Section.rejected(name);
+        }
+
+        Callable<T> body;
+        if (transactional) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            // Transaction timeouts are whole seconds; round up so the section's own deadline fires first
+            transaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+            body = () -> transaction.execute(status -> task.get());
+        } else {
+            body = task::get;
+        }
+
+        // The slot is freed when the section ends, or on cancellation if it never started
+        AtomicBoolean claimed = new AtomicBoolean();
+        Callable<T> bounded = () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return body.call();
+            } finally {
+                sectionSlots.release();
+            }
+        };
+        FutureTask<T> future = new FutureTask<>(bounded) {
+            @Override
+            protected void done() {
+                if (claimed.compareAndSet(false, true)) {
+                    sectionSlots.release();
+                }
+            }
+        };
+
+        try {
+            dashboardExecutor.execute(future);
+        } catch (TaskRejectedException e) {
+            future.cancel(false);
+            return Section.rejected(name);
+        }
+        return new Section<>(name, future, started + timeout.toNanos(), timeout);
+    }
+
+    /**
+     * One dashboard section running on its own thread
+     */
+    private static final class Section<T> {
+
+        private final String name;
+        private final Future<T> future;
+        private final long deadline;
+        private final Duration timeout;
+
+        Section(String name, Future<T> future, long deadline, Duration timeout) {
+            this.name = name;
+            this.future = future;
+            this.deadline = deadline;
+            this.timeout = timeout;
+        }
+
+        /**
+         * A section that was never started because no slot was free
+         */
+        static <T> Section<T> rejected(String name) {
+            return new Section<>(name, null, 0, Duration.ZERO);
+        }
+
+        /**
+         * Wait until the section's deadline; on failure record why and return null
+         */
+        T join(Map<String, String> errors) {
+            if (future == null) {
+                errors.put(name, "Too many dashboard sections running");
+                return null;
+            }
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(name, "Timed out after " + timeout.toMillis() + " ms");
+            } catch (ExecutionException e) {
+                log.error("Dashboard section {} failed", name, e.getCause());
+                errors.put(name, "Failed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.put(name, "Interrupted");
+            }
+            return null;
+        }
+
+        void cancel() {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
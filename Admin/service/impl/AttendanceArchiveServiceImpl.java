@@ -0,0 +1,333 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.archive.ArchiveFile;
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.archive.AttendancePartitionManager;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.ArchivedMonthResponse;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.model.ArchivedMonth;
+import com.company.admin.model.ArchivedMonthStatus;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AttendanceArchiveRepository;
+import com.company.admin.repository.AttendanceStatusTotals;
+import com.company.admin.repository.JobLockRepository;
+import com.company.admin.service.AttendanceArchiveService;
+import com.company.admin.service.AttendanceRollupService;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Attendance Archive Service Implementation
+ * Archives a month in two steps. The first claims the month, which refuses further
+ * writes to it, streams its rows into an archive file and checks the file against
+ * the table before reads switch to it. The second runs once every node has picked
+ * the switch up: it checks the file again, then drops the month's partition or
+ * deletes its rows day by day. The rows are deleted without change events, since
+ * the month reads the same from its file. A lease in the admin_job_lock table keeps
+ * one run going across the cluster; a month left half-archived by a node that died
+ * is archived again by the next run.
+ */
+@Service
+@Slf4j
+public class AttendanceArchiveServiceImpl implements AttendanceArchiveService {
+
+    private static final String LOCK_NAME = "attendance-archive";
+
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceArchiveRepository archiveRepository;
+    private final JobLockRepository jobLockRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final AttendancePartitionManager partitionManager;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AdminMetrics adminMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AdminAttendanceProperties.Archive config;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    public AttendanceArchiveServiceImpl(AdminAttendanceRepository adminAttendanceRepository,
+                                        AttendanceArchiveRepository archiveRepository,
+                                        JobLockRepository jobLockRepository,
+                                        AttendanceArchive attendanceArchive,
+                                        AttendancePartitionManager partitionManager,
+                                        AttendanceRollupService attendanceRollupService,
+                                        AdminMetrics adminMetrics,
+                                        PlatformTransactionManager transactionManager,
+                                        AdminAttendanceProperties properties) {
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.archiveRepository = archiveRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.attendanceArchive = attendanceArchive;
+        this.partitionManager = partitionManager;
+        this.attendanceRollupService = attendanceRollupService;
+        this.adminMetrics = adminMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.config = properties.getArchive();
+    }
+
+    @Override
+    public Optional<ArchivedMonthResponse> archive(YearMonth month) {
+        if (!config.isEnabled()) {
+            throw new IllegalStateException("Attendance archiving is disabled");
+        }
+
+        YearMonth oldestHotMonth = attendanceArchive.getOldestHotMonth();
+        if (!month.isBefore(oldestHotMonth)) {
+            throw new IllegalArgumentException("Only months before " + oldestHotMonth + " can be archived");
+        }
+
+        String owner = nodeId + "/" + UUID.randomUUID();
+        if (!jobLockRepository.tryAcquire(LOCK_NAME, owner, config.getLockTtl())) {
+            log.info("Archiving of {} not started: another run holds the lock", month);
+            return Optional.empty();
+        }
+
+        try {
+            ArchivedMonth archived = archiveRepository.find(month).orElse(null);
+            if (archived == null || archived.getStatus() == ArchivedMonthStatus.ARCHIVING) {
+                archiveMonth(month);
+            }
+        } finally {
+            jobLockRepository.release(LOCK_NAME, owner);
+        }
+
+        return archiveRepository.find(month).map(this::toResponse);
+    }
+
+    @Override
+    public List<ArchivedMonthResponse> getArchivedMonths() {
+        return archiveRepository.findAll().stream()
+            .map(this::toResponse)
+            .toList();
+    }
+
+    @Override
+    @Scheduled(cron = "${admin.attendance.archive.cron:0 30 2 * * *}")
+    public void runScheduled() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        String owner = nodeId + "/" + UUID.randomUUID();
+        if (!jobLockRepository.tryAcquire(LOCK_NAME, owner, config.getLockTtl())) {
+            log.info("Scheduled archiving not started: another run holds the lock");
+            return;
+        }
+
+        try {
+            // Purge first, so each run frees the table before it adds new files
+            Instant purgeBefore = Instant.now().minus(config.getPurgeDelay());
+            for (ArchivedMonth archived : archiveRepository.findAll()) {
+                if (archived.getStatus() == ArchivedMonthStatus.ARCHIVED && archived.getArchivedAt().isBefore(purgeBefore)) {
+                    purgeMonth(archived.getMonth(), owner);
+                } else if (archived.getStatus() == ArchivedMonthStatus.ARCHIVING) {
+                    log.info("Archiving of {} was interrupted, archiving it again", archived.getMonth());
+                    archiveMonth(archived.getMonth());
+                    renew(owner);
+                }
+            }
+
+            for (YearMonth month : monthsToArchive()) {
+                archiveMonth(month);
+                renew(owner);
+            }
+        } finally {
+            jobLockRepository.release(LOCK_NAME, owner);
+        }
+    }
+
+    /**
+     * Months before the hot months that still have rows and no archive
+     */
+    private List<YearMonth> monthsToArchive() {
+        LocalDate earliest = adminAttendanceRepository.findEarliestDate();
+        if (earliest == null) {
+            return List.of();
+        }
+
+        YearMonth oldestHotMonth = attendanceArchive.getOldestHotMonth();
+        return Stream.iterate(YearMonth.from(earliest), month -> month.isBefore(oldestHotMonth), month -> month.plusMonths(1))
+            .filter(month -> !archiveRepository.exists(month))
+            .filter(month -> adminAttendanceRepository.countByDateRange(month.atDay(1), month.atEndOfMonth()) > 0)
+            .toList();
+    }
+
+    /**
+     * Claim a month, write its archive file and switch its reads to the file
+     */
+    private void archiveMonth(YearMonth month) {
+        String fileName = AttendanceArchive.fileName(month);
+        if (!archiveRepository.exists(month) && !archiveRepository.start(month, fileName)) {
+            return;
+        }
+
+        log.info("Archiving attendance of {}", month);
+        long started = System.nanoTime();
+
+        try {
+            // Make sure summaries of the month stay a lookup once its rows are gone
+            attendanceRollupService.getMonthlyRollup(month)
+                .orElseGet(() -> attendanceRollupService.rebuild(month));
+
+            try (ArchiveFile file = writeFile(month, fileName)) {
+                verify(month, file);
+                archiveRepository.markArchived(month, file.getRowCount(), file.getSize());
+
+                adminMetrics.recordRowsScanned("archive", file.getRowCount());
+                log.info("Archived attendance of {}: {} rows, {} bytes in {} ms", month, file.getRowCount(),
+                    file.getSize(), (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (IOException e) {
+            archiveRepository.abandon(month);
+            throw new UncheckedIOException("Failed to archive attendance of " + month, e);
+        } catch (RuntimeException e) {
+            archiveRepository.abandon(month);
+            log.error("Archiving attendance of {} failed", month, e);
+            throw e;
+        }
+
+        attendanceArchive.refresh();
+    }
+
+    /**
+     * Remove an archived month's rows from the attendance table once its file has
+     * been checked against them again
+     */
+    private void purgeMonth(YearMonth month, String owner) {
+        String fileName = AttendanceArchive.fileName(month);
+        try (ArchiveFile file = ArchiveFile.open(config.getDir().resolve(fileName))) {
+            verify(month, file);
+        } catch (IllegalStateException e) {
+            // Only writes that were in flight when the month was claimed can get here
+            log.warn("Archive of {} no longer matches its rows, archiving it again: {}", month, e.getMessage());
+            rewriteMonth(month, fileName);
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive of " + month, e);
+        }
+
+        log.info("Purging archived attendance of {} from the attendance table", month);
+
+        if (partitionManager.dropPartition(month)) {
+            archiveRepository.markPurged(month);
+            return;
+        }
+
+        // One short transaction per day keeps locks and undo small
+        long deleted = 0;
+        for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+            LocalDate day = date;
+            Integer rows = transactionTemplate.execute(status -> adminAttendanceRepository.deleteAllByDate(day));
+            deleted += rows != null ? rows : 0;
+            renew(owner);
+        }
+
+        archiveRepository.markPurged(month);
+        log.info("Purged archived attendance of {}: {} rows deleted", month, deleted);
+    }
+
+    private void rewriteMonth(YearMonth month, String fileName) {
+        try (ArchiveFile file = writeFile(month, fileName)) {
+            verify(month, file);
+            archiveRepository.markArchived(month, file.getRowCount(), file.getSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive attendance of " + month, e);
+        }
+        attendanceArchive.refresh();
+    }
+
+    private ArchiveFile writeFile(YearMonth month, String fileName) {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<Object[]> rows = adminAttendanceRepository.streamArchiveColumnsByDateRange(
+                    month.atDay(1), month.atEndOfMonth())) {
+                return attendanceArchive.write(month, fileName, rows.iterator());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive of " + month, e);
+            }
+        });
+    }
+
+    /**
+     * Compare a file's record counts, hours and employees with the month's rows
+     */
+    private void verify(YearMonth month, ArchiveFile file) {
+        MonthlyRollup archived = AttendanceArchive.summarize(file);
+        MonthlyRollup stored = readOnlyTransaction.execute(status -> storedTotals(month));
+
+        long storedRecords = adminAttendanceRepository.countByDateRange(month.atDay(1), month.atEndOfMonth());
+        boolean matches = file.getRowCount() == storedRecords
+            && archived.getEmployeeCount() == stored.getEmployeeCount()
+            && archived.getStatusTotals().keySet().equals(stored.getStatusTotals().keySet());
+        for (AttendanceStatus status : archived.getStatusTotals().keySet()) {
+            MonthlyRollup.StatusTotals a = archived.getStatusTotals().get(status);
+            MonthlyRollup.StatusTotals s = stored.getStatusTotals().get(status);
+            matches &= s != null && a.getRecords() == s.getRecords()
+                && Math.abs(a.getTotalHours() - s.getTotalHours()) <= 1e-6 * Math.max(1, Math.abs(s.getTotalHours()));
+        }
+
+        if (!matches) {
+            throw new IllegalStateException("Archive of " + month + " holds " + file.getRowCount() +
+                " rows and " + archived.getStatusTotals() + ", the table holds " + storedRecords +
+                " rows and " + stored.getStatusTotals());
+        }
+    }
+
+    /**
+     * Totals of a month read from the attendance table itself, whether or not its
+     * reads already go to the archive
+     */
+    private MonthlyRollup storedTotals(YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        for (AttendanceStatusTotals t : adminAttendanceRepository.summarizeByStatus(startDate, endDate)) {
+            if (t.getStatus() != null) {
+                totals.put(t.getStatus(), new MonthlyRollup.StatusTotals(
+                    t.getRecords(), t.getTotalHours() != null ? t.getTotalHours() : 0));
+            }
+        }
+
+        return new MonthlyRollup(month, adminAttendanceRepository.countDistinctEmployees(startDate, endDate), totals);
+    }
+
+    private void renew(String owner) {
+        if (!jobLockRepository.renew(LOCK_NAME, owner, config.getLockTtl())) {
+            throw new IllegalStateException("Attendance archive lock was lost");
+        }
+    }
+
+    private ArchivedMonthResponse toResponse(ArchivedMonth archived) {
+        return ArchivedMonthResponse.builder()
+            .month(archived.getMonth())
+            .status(archived.getStatus())
+            .records(archived.getRowCount())
+            .fileBytes(archived.getFileBytes())
+            .startedAt(archived.getStartedAt())
+            .archivedAt(archived.getArchivedAt())
+            .purgedAt(archived.getPurgedAt())
+            .build();
+    }
+}
@@ -0,0 +1,256 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.cache.AttendanceVersions;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.config.ExportJobConfig;
+import com.company.admin.dto.response.ExportJobResponse;
+import com.company.admin.export.ExportFormat;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.export.job.ExportJobStatus;
+import com.company.admin.repository.AttendanceExportJobRepository;
+import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AttendanceExportJobService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Attendance Export Job Service Implementation
+ * Export jobs run on a bounded executor and write gzip-compressed results into a
+ * spool directory. Jobs are recorded in the attendance_export_job table, so any
+ * node can report them; the node running a job renews it while it is live. A
+ * job is reused for identical submissions while the month's attendance version
+ * is unchanged, so an open month is exported again once it has new writes. The
+ * spool directory is shared by every node, so any node can serve a reused job.
+ */
+@Service
+@Slf4j
+public class AttendanceExportJobServiceImpl implements AttendanceExportJobService {
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private final AdminAttendanceService adminAttendanceService;
+    private final AttendanceExportJobRepository jobRepository;
+    private final AttendanceVersions attendanceVersions;
+    private final TaskExecutor exportExecutor;
+    private final AdminAttendanceProperties.ExportJobs config;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * Rows written by the queued and running jobs of this node, by job id
+     */
+    private final Map<String, AtomicLong> liveJobs = new ConcurrentHashMap<>();
+
+    public AttendanceExportJobServiceImpl(AdminAttendanceService adminAttendanceService,
+                                          AttendanceExportJobRepository jobRepository,
+                                          AttendanceVersions attendanceVersions,
+                                          @Qualifier(ExportJobConfig.EXPORT_EXECUTOR) TaskExecutor exportExecutor,
+                                          AdminAttendanceProperties properties) {
+        this.adminAttendanceService = adminAttendanceService;
+        this.jobRepository = jobRepository;
+        this.attendanceVersions = attendanceVersions;
+        this.exportExecutor = exportExecutor;
+        this.config = properties.getExportJobs();
+        if (config.getSpoolDir() == null) {
+            throw new IllegalStateException(
+                "admin.attendance.export-jobs.spool-dir must be set to a directory shared by every node");
+        }
+    }
+
+    @PostConstruct
+    void initSpoolDirectory() throws IOException {
+        Files.createDirectories(config.getSpoolDir());
+
+        // Files without a job were left behind by a failed node; others may belong to
+        // jobs of other nodes sharing the directory
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(config.getSpoolDir())) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String jobId = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+                if (!jobRepository.exists(jobId)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ExportJobResponse submit(int year, int month, String format) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        String dataVersion = attendanceVersions.monthVersion(yearMonth);
+
+        ExportJob job;
+        synchronized (this) {
+            // Reuse a live or still-downloadable job over the same data
+            Optional<ExportJob> existing = jobRepository.findReusable(yearMonth, exportFormat, dataVersion, liveCutoff());
+            if (existing.isPresent()) {
+                return toResponse(existing.get());
+            }
+
+            job = ExportJob.builder()
+                .id(UUID.randomUUID().toString())
+                .yearMonth(yearMonth)
+                .format(exportFormat)
+                .dataVersion(dataVersion)
+                .status(ExportJobStatus.QUEUED)
+                .owner(nodeId)
+                .createdAt(Instant.now())
+                .build();
+            jobRepository.insert(job);
+        }
+
+        schedule(job);
+        return toResponse(job);
+    }
+
+    @Override
+    public Optional<ExportJobResponse> getJob(String jobId) {
+        return jobRepository.find(jobId).map(this::toResponse);
+    }
+
+    @Override
+    public Optional<ExportJob> getCompletedJob(String jobId) {
+        return jobRepository.find(jobId)
+            .filter(job -> job.getStatus() == ExportJobStatus.COMPLETED)
+            .map(job -> job.toBuilder().file(config.getSpoolDir().resolve(job.getFileName())).build())
+            .filter(job -> Files.isRegularFile(job.getFile()));
+    }
+
+    /**
+     * Renew this node's live jobs and publish their progress
+     */
+    @Scheduled(fixedDelayString = "${admin.attendance.export-jobs.renew-interval-ms:10000}")
+    public void renewLiveJobs() {
+        liveJobs.forEach((jobId, rows) -> jobRepository.renew(jobId, rows.get()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${admin.attendance.export-jobs.cleanup-interval-ms:300000}")
+    public int purgeExpiredJobs() {
+        int abandoned = jobRepository.failAbandoned(liveCutoff(), "Export was interrupted");
+        if (abandoned > 0) {
+            log.warn("Marked {} attendance export jobs of unresponsive nodes as failed", abandoned);
+        }
+
+        List<ExportJob> expired = jobRepository.findFinishedBefore(Instant.now().minus(config.getResultTtl()));
+        for (ExportJob job : expired) {
+            if (job.getFileName() != null) {
+                deleteQuietly(config.getSpoolDir().resolve(job.getFileName()));
+            }
+        }
+        jobRepository.delete(expired.stream().map(ExportJob::getId).toList());
+
+        if (!expired.isEmpty()) {
+            log.info("Purged {} expired attendance export jobs", expired.size());
+        }
+        return expired.size();
+    }
+
+    private void schedule(ExportJob job) {
+        liveJobs.put(job.getId(), new AtomicLong());
+        try {
+            exportExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            liveJobs.remove(job.getId());
+            jobRepository.delete(List.of(job.getId()));
+            throw e;
+        }
+    }
+
+    private void run(ExportJob job) {
+        AtomicLong rowsWritten = liveJobs.get(job.getId());
+        String fileName = job.getId() + "." + job.getFormat().getExtension() + ".gz";
+        Path partFile = config.getSpoolDir().resolve(job.getId() + ".part");
+        Path file = config.getSpoolDir().resolve(fileName);
+
+        log.info("Running attendance export job {} for {} in {} format", job.getId(), job.getYearMonth(), job.getFormat());
+
+        try {
+            jobRepository.markRunning(job.getId());
+            try (OutputStream out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partFile), SPOOL_BUFFER_SIZE), SPOOL_BUFFER_SIZE)) {
+                adminAttendanceService.exportAttendanceReport(
+                    job.getYearMonth().getYear(),
+                    job.getYearMonth().getMonthValue(),
+                    job.getFormat().getExtension(),
+                    out,
+                    rowsWritten::set
+                );
+            }
+
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+            long fileSize = Files.size(file);
+            jobRepository.markCompleted(job.getId(), rowsWritten.get(), fileName, fileSize);
+
+            log.info("Attendance export job {} completed: {} rows, {} bytes", job.getId(), rowsWritten.get(), fileSize);
+        } catch (IOException | RuntimeException e) {
+            log.error("Attendance export job {} failed", job.getId(), e);
+            deleteQuietly(partFile);
+            jobRepository.markFailed(job.getId(), e.getMessage());
+        } finally {
+            liveJobs.remove(job.getId());
+        }
+    }
+
+    private Instant liveCutoff() {
+        return Instant.now().minus(config.getAbandonAfter());
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        // Progress of a job running here is more recent than its last renewal
+        AtomicLong liveRows = liveJobs.get(job.getId());
+        ExportJobResponse.ExportJobResponseBuilder builder = ExportJobResponse.builder()
+            .jobId(job.getId())
+            .status(job.getStatus())
+            .year(job.getYearMonth().getYear())
+            .month(job.getYearMonth().getMonthValue())
+            .format(job.getFormat().getExtension())
+            .rowsWritten(liveRows != null ? liveRows.get() : job.getRowsWritten())
+            .createdAt(job.getCreatedAt())
+            .completedAt(job.getCompletedAt())
+            .error(job.getError());
+
+        if (job.getStatus() == ExportJobStatus.COMPLETED) {
+            builder.fileSize(job.getFileSize())
+                .expiresAt(job.getCompletedAt().plus(config.getResultTtl()))
+                .downloadUrl("/api/v1/admin/attendance/export/jobs/" + job.getId() + "/download");
+        }
+
+        return builder.build();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export spool file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.cache.EmployeeMonthCache;
+import com.company.admin.columnar.MonthColumnStore;
+import com.company.admin.columnar.MonthColumns;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.config.SummaryExecutorConfig;
+import com.company.admin.dto.response.AttendanceRangeSummaryResponse;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.service.AttendanceRangeSummaryService;
+import com.company.admin.service.AttendanceRollupService;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Attendance Range Summary Service Implementation
+ * Every month of the range is computed as its own task on the bounded summary
+ * executor and the results are merged once all have finished. A month is served
+ * from the cheapest source that is exact: a resident columnar snapshot, then the
+ * materialized rollup, then a freshly loaded snapshot for months still open to
+ * corrections, and only otherwise an aggregate query over the month. Distinct
+ * employees over the range are the union of each month's employee set, taken from
+ * the same source or, for rollups, from their per-employee rows or the archive.
+ */
+@Service
+@Slf4j
+public class AttendanceRangeSummaryServiceImpl implements AttendanceRangeSummaryService {
+
+    static final String SOURCE_SNAPSHOT = "snapshot";
+    static final String SOURCE_ROLLUP = "rollup";
+    static final String SOURCE_AGGREGATE = "aggregate";
+
+    private final AttendanceRollupService attendanceRollupService;
+    private final MonthColumnStore monthColumnStore;
+    private final EmployeeMonthCache employeeMonthCache;
+    private final TaskExecutor summaryExecutor;
+    private final AdminAttendanceProperties.RangeSummary config;
+
+    public AttendanceRangeSummaryServiceImpl(AttendanceRollupService attendanceRollupService,
+                                             MonthColumnStore monthColumnStore,
+                                             EmployeeMonthCache employeeMonthCache,
+                                             @Qualifier(SummaryExecutorConfig.SUMMARY_EXECUTOR) TaskExecutor summaryExecutor,
+                                             AdminAttendanceProperties properties) {
+        this.attendanceRollupService = attendanceRollupService;
+        this.monthColumnStore = monthColumnStore;
+        this.employeeMonthCache = employeeMonthCache;
+        this.summaryExecutor = summaryExecutor;
+        this.config = properties.getRangeSummary();
+    }
+
+    @Override
+    public AttendanceRangeSummaryResponse getRangeSummary(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long monthCount = ChronoUnit.MONTHS.between(from, to) + 1;
+        if (monthCount > config.getMaxMonths()) {
+            throw new IllegalArgumentException("Range must not exceed " + config.getMaxMonths() + " months");
+        }
+
+        log.info("Computing attendance summary for {} to {} ({} months)", from, to, monthCount);
+        long started = System.nanoTime();
+
+        List<CompletableFuture<MonthSummary>> pending = new ArrayList<>((int) monthCount);
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth target = month;
+            pending.add(CompletableFuture.supplyAsync(() -> summarize(target), summaryExecutor));
+        }
+
+        List<Map<String, Object>> months = new ArrayList<>(pending.size());
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> merged = new EnumMap<>(AttendanceStatus.class);
+        // Distinct employees cannot be added up across months, so their sets are merged
+        Roaring64Bitmap employees = new Roaring64Bitmap();
+        for (CompletableFuture<MonthSummary> future : pending) {
+            MonthSummary summary = join(future);
+            employees.or(summary.employees);
+
+            Map<String, Object> month = summary.rollup.toSummary();
+            month.put("source", summary.source);
+            months.add(month);
+
+            summary.rollup.getStatusTotals().forEach((status, totals) -> merged.merge(status, totals,
+                (a, b) -> new MonthlyRollup.StatusTotals(a.getRecords() + b.getRecords(), a.getTotalHours() + b.getTotalHours())));
+        }
+
+        Map<String, Object> totals = new MonthlyRollup(from, employees.getLongCardinality(), merged).toSummary();
+        totals.remove("month");
+        totals.remove("year");
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Attendance summary for {} to {} computed in {} ms", from, to, durationMs);
+
+        return AttendanceRangeSummaryResponse.builder()
+            .from(from)
+            .to(to)
+            .months(months)
+            .totals(totals)
+            .durationMs(durationMs)
+            .build();
+    }
+
+    private MonthSummary summarize(YearMonth month) {
+        if (monthColumnStore.isEnabled()) {
+            Optional<MonthSummary> resident = monthColumnStore.getIfLoaded(month)
+                .map(columns -> new MonthSummary(columns.toRollup(), columns.query().employees(), SOURCE_SNAPSHOT));
+            if (resident.isPresent()) {
+                return resident.get();
+            }
+        }
+
+        Optional<MonthlyRollup> rollup = attendanceRollupService.getMonthlyRollup(month);
+        if (rollup.isPresent()) {
+            return new MonthSummary(rollup.get(), attendanceRollupService.getEmployees(month), SOURCE_ROLLUP);
+        }
+
+        // Open months are likely to be asked again and are kept current by committed writes
+        if (monthColumnStore.isEnabled() && !employeeMonthCache.isClosed(month)) {
+            MonthColumns columns = monthColumnStore.snapshot(month);
+            return new MonthSummary(columns.toRollup(), columns.query().employees(), SOURCE_SNAPSHOT);
+        }
+
+        return new MonthSummary(attendanceRollupService.aggregate(month), attendanceRollupService.getEmployees(month),
+            SOURCE_AGGREGATE);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class MonthSummary {
+
+        final MonthlyRollup rollup;
+        final Roaring64Bitmap employees;
+        final String source;
+
+        MonthSummary(MonthlyRollup rollup, Roaring64Bitmap employees, String source) {
+            this.rollup = rollup;
+            this.employees = employees;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AttendanceRollupRepository;
+import com.company.admin.repository.AttendanceStatusTotals;
+import com.company.admin.service.AttendanceRollupService;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Attendance Rollup Service Implementation
+ * Applies attendance changes to the monthly rollup inside the writing transaction,
+ * so the rollup commits or rolls back together with the attendance rows.
+ * Only materialized months are maintained; other months are built on demand.
+ * Each month's changes run in a savepoint: when they fail, the attendance write
+ * still commits and the month is rebuilt afterwards. Writers only lock the
+ * rollup stripes of the employees they change, so writes of one month do not all
+ * queue on the same rows.
+ */
+@Service
+@Slf4j
+@Transactional
+public class AttendanceRollupServiceImpl implements AttendanceRollupService {
+
+    private final AttendanceRollupRepository rollupRepository;
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final TransactionTemplate savepoint;
+    private final TransactionTemplate newTransaction;
+
+    public AttendanceRollupServiceImpl(AttendanceRollupRepository rollupRepository,
+                                       AdminAttendanceRepository adminAttendanceRepository,
+                                       AttendanceArchive attendanceArchive,
+                                       PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.attendanceArchive = attendanceArchive;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MonthlyRollup> getMonthlyRollup(YearMonth month) {
+        return rollupRepository.findMonth(month);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Roaring64Bitmap getEmployees(YearMonth month) {
+        // Archived months keep no per-employee rollup rows and are gone from the attendance table
+        if (attendanceArchive.isArchived(month)) {
+            return attendanceArchive.employees(month);
+        }
+        if (rollupRepository.isMaterialized(month)) {
+            return rollupRepository.findEmployees(month);
+        }
+
+        Roaring64Bitmap employees = new Roaring64Bitmap();
+        adminAttendanceRepository.findDistinctEmployeeIds(month.atDay(1), month.atEndOfMonth())
+            .forEach(employees::addLong);
+        return employees;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MonthlyRollup aggregate(YearMonth month) {
+        if (attendanceArchive.isArchived(month)) {
+            return attendanceArchive.summarize(month);
+        }
+
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        for (AttendanceStatusTotals t : adminAttendanceRepository.summarizeByStatus(startDate, endDate)) {
+            totals.put(t.getStatus(), new MonthlyRollup.StatusTotals(
+                t.getRecords(), t.getTotalHours() != null ? t.getTotalHours() : 0));
+        }
+
+        long uniqueEmployees = adminAttendanceRepository.countDistinctEmployees(startDate, endDate);
+
+        return new MonthlyRollup(month, uniqueEmployees, totals);
+    }
+
+    @Override
+    public MonthlyRollup rebuild(YearMonth month) {
+        log.info("Rebuilding attendance rollup for {}", month);
+
+        // Writers only maintain months with stripes, so a first build commits them
+        // before reading the attendance table; writes from then on queue behind the build
+        if (!rollupRepository.lockMonth(month)) {
+            createMonth(month);
+        }
+
+        // Archived months are no longer in the attendance table and never change again
+        if (attendanceArchive.isArchived(month)) {
+            rollupRepository.replace(attendanceArchive.summarize(month));
+        } else {
+            rollupRepository.rebuild(month);
+        }
+        return rollupRepository.findMonth(month).orElseThrow();
+    }
+
+    /**
+     * Materialize the current and next month ahead of their first writes, so
+     * their summaries are read from the rollup from the first day
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${admin.attendance.rollup.materialize-cron:0 5 0 * * *}")
+    public void materializeUpcomingMonths() {
+        YearMonth current = YearMonth.now();
+        for (YearMonth month : new YearMonth[] { current, current.plusMonths(1) }) {
+            if (!rollupRepository.isMaterialized(month)) {
+                rebuild(month);
+            }
+        }
+    }
+
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        // Net the deltas first so a batch of writes costs one statement per touched key
+        Map<YearMonth, MonthDeltas> months = new TreeMap<>();
+
+        for (AttendanceChange change : event.getChanges()) {
+            if (change.hasPrevious() && change.getPreviousStatus() != null) {
+                months.computeIfAbsent(change.getPreviousMonth(), MonthDeltas::new)
+                    .add(change.getPreviousStatus(), change.getUserId(), -1,
+                        change.getPreviousHours() != null ? -change.getPreviousHours() : 0);
+            }
+            if (change.hasCurrent() && change.getStatus() != null) {
+                months.computeIfAbsent(change.getMonth(), MonthDeltas::new)
+                    .add(change.getStatus(), change.getUserId(), 1, change.getHours() != null ? change.getHours() : 0);
+            }
+        }
+
+        // Months, stripes and keys are applied in sorted order to keep lock acquisition consistent across writers
+        for (MonthDeltas deltas : months.values()) {
+            try {
+                savepoint.executeWithoutResult(status -> apply(deltas));
+            } catch (RuntimeException e) {
+                log.error("Failed to update attendance rollup for {}; rebuilding it after commit", deltas.month, e);
+                rebuildAfterCommit(deltas.month);
+            }
+        }
+    }
+
+    private void apply(MonthDeltas deltas) {
+        for (StripeDeltas stripe : deltas.stripes.values()) {
+            // Waits for a rebuild of the month in progress; skips months that are not materialized
+            if (!rollupRepository.lockStripe(deltas.month, stripe.stripe)) {
+                return;
+            }
+
+            stripe.statuses.values().stream()
+                .filter(d -> d.records != 0 || d.hours != 0)
+                .forEach(d -> rollupRepository.addStatusTotals(deltas.month, stripe.stripe, d.status, d.records, d.hours));
+            stripe.employees.values().stream()
+                .filter(d -> d.records != 0)
+                .forEach(d -> rollupRepository.addEmployeeRecords(deltas.month, d.userId, d.records));
+        }
+    }
+
+    private void createMonth(YearMonth month) {
+        try {
+            newTransaction.executeWithoutResult(status -> rollupRepository.createMonth(month));
+        } catch (DuplicateKeyException e) {
+            log.debug("Rollup state of {} was created by a concurrent rebuild", month);
+        }
+    }
+
+    private void rebuildAfterCommit(YearMonth month) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildQuietly(month);
+            return;
+        }
+
+        // The month misses this transaction's changes only once they are committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuildQuietly(month);
+            }
+        });
+    }
+
+    private void rebuildQuietly(YearMonth month) {
+        try {
+            newTransaction.executeWithoutResult(status -> rebuild(month));
+        } catch (RuntimeException e) {
+            // Reads aggregate the month until it is rebuilt again
+            log.error("Failed to rebuild attendance rollup for {}; dropping it", month, e);
+            try {
+                newTransaction.executeWithoutResult(status -> rollupRepository.deleteMonth(month));
+            } catch (RuntimeException deleteError) {
+                log.error("Failed to drop attendance rollup for {}", month, deleteError);
+            }
+        }
+    }
+
+    private static final class MonthDeltas {
+        private final YearMonth month;
+        private final Map<Integer, StripeDeltas> stripes = new TreeMap<>();
+
+        private MonthDeltas(YearMonth month) {
+            this.month = month;
+        }
+
+        private void add(AttendanceStatus status, Long userId, int records, double hours) {
+            stripes.computeIfAbsent(AttendanceRollupRepository.stripe(userId), StripeDeltas::new)
+                .add(status, userId, records, hours);
+        }
+    }
+
+    private static final class StripeDeltas {
+        private final int stripe;
+        private final Map<AttendanceStatus, StatusDelta> statuses = new EnumMap<>(AttendanceStatus.class);
+        private final Map<Long, EmployeeDelta> employees = new TreeMap<>();
+
+        private StripeDeltas(int stripe) {
+            this.stripe = stripe;
+        }
+
+        private void add(AttendanceStatus status, Long userId, int records, double hours) {
+            StatusDelta statusDelta = statuses.computeIfAbsent(status, StatusDelta::new);
+            statusDelta.records += records;
+            statusDelta.hours += hours;
+
+            EmployeeDelta employeeDelta = employees.computeIfAbsent(userId, EmployeeDelta::new);
+            employeeDelta.records += records;
+        }
+    }
+
+    private static final class StatusDelta {
+        private final AttendanceStatus status;
+        private long records;
+        private double hours;
+
+        private StatusDelta(AttendanceStatus status) {
+            this.status = status;
+        }
+    }
+
+    private static final class EmployeeDelta {
+        private final long userId;
+        private long records;
+
+        private EmployeeDelta(long userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.AutoCheckoutRunResponse;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.model.AutoCheckoutRun;
+import com.company.admin.model.AutoCheckoutRunStatus;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AutoCheckoutRunRepository;
+import com.company.admin.repository.JobLockRepository;
+import com.company.admin.service.AutoCheckoutService;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Auto Check-out Service Implementation
+ * Checks out pending records with one set-based UPDATE per chunk of ids, each chunk
+ * in its own short transaction that also commits the run's checkpoint. Total hours
+ * follow the attendance module's formula, and each chunk publishes its changes since
+ * the UPDATE bypasses the change listener. A lease in the admin_job_lock table keeps
+ * a single run going across the cluster; a run whose node dies keeps its checkpoint
+ * and is resumed by whichever node takes the lease once it expires.
+ */
+@Service
+@Slf4j
+public class AutoCheckoutServiceImpl implements AutoCheckoutService {
+
+    private static final String LOCK_NAME = "attendance-auto-checkout";
+
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AutoCheckoutRunRepository runRepository;
+    private final JobLockRepository jobLockRepository;
+    private final AdminMetrics adminMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final AdminAttendanceProperties.AutoCheckout config;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    public AutoCheckoutServiceImpl(AdminAttendanceRepository adminAttendanceRepository,
+                                   AutoCheckoutRunRepository runRepository,
+                                   JobLockRepository jobLockRepository,
+                                   AdminMetrics adminMetrics,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   AdminAttendanceProperties properties) {
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.runRepository = runRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.adminMetrics = adminMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getAutoCheckout();
+    }
+
+    @Override
+    public Optional<AutoCheckoutRunResponse> run(LocalDate date) {
+        String owner = nodeId + "/" + UUID.randomUUID();
+        if (!jobLockRepository.tryAcquire(LOCK_NAME, owner, config.getLockTtl())) {
+            log.info("Auto check-out for {} not started: another run holds the lock", date);
+            return Optional.empty();
+        }
+
+        boolean finished;
+        try {
+            finished = execute(date, owner);
+        } finally {
+            jobLockRepository.release(LOCK_NAME, owner);
+        }
+
+        return getRun(date).map(run -> {
+            run.setTakenOver(!finished);
+            return run;
+        });
+    }
+
+    @Override
+    public Optional<AutoCheckoutRunResponse> getRun(LocalDate date) {
+        return runRepository.find(date).map(this::toResponse);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${admin.attendance.auto-checkout.resume-interval-ms:60000}",
+               initialDelayString = "${admin.attendance.auto-checkout.resume-interval-ms:60000}")
+    public void resumeInterruptedRuns() {
+        // Every node polls; only the one that takes the lease resumes anything
+        String owner = nodeId + "/" + UUID.randomUUID();
+        if (!jobLockRepository.tryAcquire(LOCK_NAME, owner, config.getLockTtl())) {
+            return;
+        }
+
+        try {
+            for (LocalDate date : runRepository.findDatesByStatus(AutoCheckoutRunStatus.RUNNING)) {
+                log.info("Resuming unfinished auto check-out run for {}", date);
+                if (!execute(date, owner)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Recorded on the run; the next poll tries again
+            log.error("Failed to resume auto check-out runs", e);
+        } finally {
+            jobLockRepository.release(LOCK_NAME, owner);
+        }
+    }
+
+    /**
+     * Nightly auto check-out of the previous day; disabled unless a cron is configured
+     */
+    @Scheduled(cron = "${admin.attendance.auto-checkout.cron:-}")
+    public void runNightly() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        try {
+            run(date);
+        } catch (RuntimeException e) {
+            log.error("Nightly auto check-out for {} failed", date, e);
+        }
+    }
+
+    /**
+     * Run or resume the run for a date while holding the lease. Returns false when
+     * the lease was lost, leaving the run to the node that took it over.
+     */
+    private boolean execute(LocalDate date, String owner) {
+        LocalTime checkOutTime = config.getCheckoutTime();
+
+        // Anything short of a completed run continues after its checkpoint
+        Optional<AutoCheckoutRun> previous = runRepository.find(date)
+            .filter(run -> run.getStatus() != AutoCheckoutRunStatus.COMPLETED);
+        long afterId = previous.map(AutoCheckoutRun::getLastAttendanceId).orElse(0L);
+        long remaining = adminAttendanceRepository.countPendingCheckouts(date, afterId);
+
+        if (previous.isPresent()) {
+            runRepository.resume(date, owner, remaining);
+            log.info("Resuming auto check-out for {} after attendance id {}: {} records pending", date, afterId, remaining);
+        } else {
+            runRepository.start(date, owner, remaining);
+            log.info("Starting auto check-out for {}: {} records pending", date, remaining);
+        }
+
+        long started = System.nanoTime();
+        long updated = 0;
+        adminMetrics.autoCheckoutStarted(remaining);
+
+        try {
+            while (true) {
+                long from = afterId;
+                long[] chunk = transactionTemplate.execute(status -> checkOutChunk(date, checkOutTime, from));
+                if (chunk == null) {
+                    break;
+                }
+                afterId = chunk[0];
+                updated += chunk[1];
+                adminMetrics.autoCheckoutChunk(chunk[1]);
+
+                if (!jobLockRepository.renew(LOCK_NAME, owner, config.getLockTtl())) {
+                    // The run stays RUNNING with its checkpoint for the new lease holder
+                    log.warn("Auto check-out for {} lost its lock after attendance id {}; stopping", date, afterId);
+                    return false;
+                }
+
+                long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+                log.debug("Auto check-out for {}: {}/{} records, {} rows/s",
+                    date, updated, remaining, updated * 1000 / elapsedMs);
+            }
+        } catch (RuntimeException e) {
+            log.error("Auto check-out for {} failed after attendance id {}", date, afterId, e);
+            runRepository.finish(date, AutoCheckoutRunStatus.FAILED, e.getMessage());
+            throw e;
+        }
+
+        runRepository.finish(date, AutoCheckoutRunStatus.COMPLETED, null);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Auto check-out for {} completed: {} records in {} ms ({} rows/s)",
+            date, updated, elapsedMs, updated * 1000 / elapsedMs);
+        return true;
+    }
+
+    /**
+     * Check out the next chunk and advance the checkpoint in the same transaction.
+     * Returns the last id and the number of rows updated, or null when nothing is left.
+     */
+    private long[] checkOutChunk(LocalDate date, LocalTime checkOutTime, long afterId) {
+        List<Object[]> pending = adminAttendanceRepository.lockPendingCheckouts(
+            date, afterId, PageRequest.of(0, config.getChunkSize()));
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(pending.size());
+        for (Object[] row : pending) {
+            ids.add((Long) row[0]);
+        }
+
+        int updated = adminAttendanceRepository.completeCheckouts(ids, checkOutTime, checkOutTime.toSecondOfDay());
+        long lastId = ids.get(ids.size() - 1);
+        runRepository.recordChunk(date, lastId, updated);
+
+        // The bulk update bypasses the change listener, so report the locked rows directly
+        eventPublisher.publishEvent(new AttendanceChangedEvent(toChanges(date, pending, checkOutTime)));
+
+        return new long[] {lastId, updated};
+    }
+
+    /**
+     * Changes made by completeCheckouts to the locked rows, with the same check-out
+     * time and hours the UPDATE wrote
+     */
+    private static List<AttendanceChange> toChanges(LocalDate date, List<Object[]> checkedOut, LocalTime checkOutTime) {
+        List<AttendanceChange> changes = new ArrayList<>(checkedOut.size());
+        for (Object[] row : checkedOut) {
+            AttendanceStatus status = (AttendanceStatus) row[2];
+            LocalTime checkInTime = (LocalTime) row[3];
+            LocalTime checkedOutAt = checkInTime.isAfter(checkOutTime) ? checkInTime : checkOutTime;
+            changes.add(AttendanceChange.builder()
+                .type(AttendanceChange.Type.UPDATED)
+                .attendanceId((Long) row[0])
+                .userId((Long) row[1])
+                .previousDate(date)
+                .previousStatus(status)
+                .previousHours((Double) row[4])
+                .date(date)
+                .status(status)
+                .hours(Duration.between(checkInTime, checkedOutAt).toMinutes() / 60.0)
+                .checkInTime(checkInTime)
+                .checkOutTime(checkedOutAt)
+                .build());
+        }
+        return changes;
+    }
+
+    private AutoCheckoutRunResponse toResponse(AutoCheckoutRun run) {
+        return AutoCheckoutRunResponse.builder()
+            .date(run.getDate())
+            .status(run.getStatus())
+            .recordsUpdated(run.getRowsUpdated())
+            .totalRecords(run.getTotalRows())
+            .percentComplete(run.getPercentComplete())
+            .rowsPerSecond(run.getRowsPerSecond())
+            .startedAt(run.getStartedAt())
+            .updatedAt(run.getUpdatedAt())
+            .finishedAt(run.getFinishedAt())
+            .error(run.getError())
+            .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.bulk.ManualAttendanceCsvParser;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.BulkManualMarkResponse;
+import com.company.admin.dto.response.BulkManualMarkResponse.RowResult;
+import com.company.admin.dto.response.BulkManualMarkResponse.RowStatus;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.service.BulkManualMarkService;
+import com.company.attendance.model.Attendance;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk Manual Mark Service Implementation
+ * Validates every row up front, then writes valid rows in chunks: one query
+ * prefetches the chunk's existing records, and inserts and updates go out as
+ * JDBC batches in a short transaction per chunk. A failing chunk is reported
+ * row by row and does not affect the others.
+ */
+@Service
+@Slf4j
+public class BulkManualMarkServiceImpl implements BulkManualMarkService {
+
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final EntityManager entityManager;
+    private final AttendanceArchive attendanceArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final AdminAttendanceProperties.BulkManualMark config;
+
+    public BulkManualMarkServiceImpl(AdminAttendanceRepository adminAttendanceRepository,
+                                     EntityManager entityManager,
+                                     AttendanceArchive attendanceArchive,
+                                     PlatformTransactionManager transactionManager,
+                                     AdminAttendanceProperties properties) {
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.entityManager = entityManager;
+        this.attendanceArchive = attendanceArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getBulkManualMark();
+    }
+
+    @Override
+    public BulkManualMarkResponse apply(List<ManualAttendanceRequest> requests) {
+        if (requests.size() > config.getMaxRows()) {
+            throw new IllegalArgumentException("Request exceeds the limit of " + config.getMaxRows() + " rows");
+        }
+        return process(requests, new String[requests.size()]);
+    }
+
+    @Override
+    public BulkManualMarkResponse applyCsv(InputStream csv) throws IOException {
+        List<ManualAttendanceCsvParser.ParsedRow> rows = ManualAttendanceCsvParser.parse(csv, config.getMaxRows());
+
+        List<ManualAttendanceRequest> requests = new ArrayList<>(rows.size());
+        String[] parseErrors = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            requests.add(rows.get(i).getRequest());
+            parseErrors[i] = rows.get(i).getError();
+        }
+        return process(requests, parseErrors);
+    }
+
+    private BulkManualMarkResponse process(List<ManualAttendanceRequest> requests, String[] parseErrors) {
+        long started = System.nanoTime();
+
+        RowResult[] results = new RowResult[requests.size()];
+
+        // Validate everything before writing anything
+        List<Integer> valid = new ArrayList<>(requests.size());
+        Set<String> seen = new HashSet<>();
+        Map<YearMonth, String> archived = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ManualAttendanceRequest request = requests.get(i);
+            String error = parseErrors[i] != null ? parseErrors[i] : validate(request);
+            if (error == null) {
+                error = archived.computeIfAbsent(YearMonth.from(request.getDate()), this::archivedError);
+            }
+            if (error == null && !seen.add(key(request.getUserId(), request.getDate()))) {
+                error = "Duplicate of an earlier row for the same employee and date";
+            }
+
+            if (error != null) {
+                results[i] = result(i, request, RowStatus.REJECTED, null, error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += config.getChunkSize()) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + config.getChunkSize(), valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(requests, chunk, results));
+            } catch (RuntimeException e) {
+                log.error("Bulk manual mark chunk starting at row {} failed", chunk.get(0), e);
+                for (int i : chunk) {
+                    results[i] = result(i, requests.get(i), RowStatus.FAILED, null, e.getMessage());
+                }
+            }
+        }
+
+        BulkManualMarkResponse response = summarize(results, (System.nanoTime() - started) / 1_000_000);
+        log.info("Bulk manual mark finished: {} created, {} updated, {} rejected, {} failed in {} ms",
+            response.getCreated(), response.getUpdated(), response.getRejected(), response.getFailed(),
+            response.getDurationMs());
+        return response;
+    }
+
+    private void applyChunk(List<ManualAttendanceRequest> requests, List<Integer> chunk, RowResult[] results) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(config.getChunkSize());
+
+        // One query prefetches every existing record the chunk touches
+        Set<Long> userIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (int i : chunk) {
+            userIds.add(requests.get(i).getUserId());
+            dates.add(requests.get(i).getDate());
+        }
+
+        Map<String, Attendance> existing = new HashMap<>();
+        for (Attendance a : adminAttendanceRepository.findAllByUserIdsAndDates(userIds, dates)) {
+            existing.put(key(a.getUserId(), a.getDate()), a);
+        }
+
+        Attendance[] written = new Attendance[chunk.size()];
+        boolean[] created = new boolean[chunk.size()];
+
+        for (int c = 0; c < chunk.size(); c++) {
+            ManualAttendanceRequest request = requests.get(chunk.get(c));
+
+            Attendance attendance = existing.get(key(request.getUserId(), request.getDate()));
+            created[c] = attendance == null;
+            if (created[c]) {
+                attendance = Attendance.builder()
+                    .userId(request.getUserId())
+                    .date(request.getDate())
+                    .build();
+            }
+
+            request.applyTo(attendance);
+
+            if (created[c]) {
+                entityManager.persist(attendance);
+            }
+            written[c] = attendance;
+        }
+
+        entityManager.flush();
+
+        for (int c = 0; c < chunk.size(); c++) {
+            int row = chunk.get(c);
+            results[row] = result(row, requests.get(row),
+                created[c] ? RowStatus.CREATED : RowStatus.UPDATED, written[c].getId(), null);
+        }
+
+        // Keep the persistence context from growing across chunks
+        entityManager.clear();
+    }
+
+    /**
+     * Why a month refuses writes, or null when it accepts them
+     */
+    private String archivedError(YearMonth month) {
+        try {
+            attendanceArchive.checkWritable(month.atDay(1));
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String validate(ManualAttendanceRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        if (request.getUserId() == null) {
+            return "userId is required";
+        }
+        if (request.getDate() == null) {
+            return "date is required";
+        }
+        if (request.getStatus() == null) {
+            return "status is required";
+        }
+        if (request.getCheckOutTime() != null && request.getCheckInTime() != null
+                && request.getCheckOutTime().isBefore(request.getCheckInTime())) {
+            return "checkOutTime is before checkInTime";
+        }
+        return null;
+    }
+
+    private static BulkManualMarkResponse summarize(RowResult[] results, long durationMs) {
+        int[] counts = new int[RowStatus.values().length];
+        for (RowResult result : results) {
+            counts[result.getStatus().ordinal()]++;
+        }
+
+        return BulkManualMarkResponse.builder()
+            .totalRows(results.length)
+            .created(counts[RowStatus.CREATED.ordinal()])
+            .updated(counts[RowStatus.UPDATED.ordinal()])
+            .rejected(counts[RowStatus.REJECTED.ordinal()])
+            .failed(counts[RowStatus.FAILED.ordinal()])
+            .durationMs(durationMs)
+            .results(Arrays.asList(results))
+            .build();
+    }
+
+    private static RowResult result(int row, ManualAttendanceRequest request, RowStatus status,
+                                    Long attendanceId, String message) {
+        return RowResult.builder()
+            .row(row + 1)
+            .userId(request != null ? request.getUserId() : null)
+            .date(request != null ? request.getDate() : null)
+            .status(status)
+            .attendanceId(attendanceId)
+            .message(message)
+            .build();
+    }
+
+    private static String key(Long userId, LocalDate date) {
+        return userId + "|" + date;
+    }
+}
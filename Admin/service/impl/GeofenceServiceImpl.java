@@ -0,0 +1,214 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.archive.ArchiveColumn;
+import com.company.admin.archive.ArchiveRowGroup;
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.dto.request.GeofenceRequest;
+import com.company.admin.dto.response.GeofenceComplianceRow;
+import com.company.admin.dto.response.GeofenceComplianceRow.PointStatus;
+import com.company.admin.location.GeofenceGrid;
+import com.company.admin.location.GeofenceRegistry;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.model.Geofence;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.GeofenceRepository;
+import com.company.admin.service.GeofenceService;
+import com.company.attendance.model.embedded.Location;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Geofence Service Implementation
+ * Compliance is computed while the month's coordinates stream from the database,
+ * or from its archive file one row group at a time once the month is archived;
+ * each point is looked up in the grid index and tested only against the fences of
+ * its cell.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeofenceServiceImpl implements GeofenceService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final Set<ArchiveColumn> LOCATION_COLUMNS = EnumSet.of(ArchiveColumn.USER_ID, ArchiveColumn.DAY,
+        ArchiveColumn.CHECK_IN_TIME, ArchiveColumn.CHECK_IN_LATITUDE, ArchiveColumn.CHECK_IN_LONGITUDE,
+        ArchiveColumn.CHECK_OUT_LATITUDE, ArchiveColumn.CHECK_OUT_LONGITUDE);
+
+    private final GeofenceRepository geofenceRepository;
+    private final GeofenceRegistry geofenceRegistry;
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final AdminMetrics adminMetrics;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<Geofence> getGeofences() {
+        return geofenceRegistry.getGrid().getGeofences();
+    }
+
+    @Override
+    public Geofence addGeofence(GeofenceRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (request.getLatitude() == null || Math.abs(request.getLatitude()) > 90) {
+            throw new IllegalArgumentException("latitude must be between -90 and 90");
+        }
+        if (request.getLongitude() == null || Math.abs(request.getLongitude()) > 180) {
+            throw new IllegalArgumentException("longitude must be between -180 and 180");
+        }
+        if (request.getRadiusMeters() == null || request.getRadiusMeters() <= 0) {
+            throw new IllegalArgumentException("radiusMeters must be positive");
+        }
+
+        Geofence geofence = geofenceRepository.insert(Geofence.builder()
+            .name(request.getName())
+            .latitude(request.getLatitude())
+            .longitude(request.getLongitude())
+            .radiusMeters(request.getRadiusMeters())
+            .build());
+        geofenceRegistry.refresh();
+
+        log.info("Registered geofence {} ({}) with radius {} m", geofence.getId(), geofence.getName(), geofence.getRadiusMeters());
+        return geofence;
+    }
+
+    @Override
+    public boolean removeGeofence(long id) {
+        boolean removed = geofenceRepository.delete(id);
+        if (removed) {
+            geofenceRegistry.refresh();
+            log.info("Removed geofence {}", id);
+        }
+        return removed;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long writeComplianceReport(int year, int month, Long employeeId, OutputStream out) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        GeofenceGrid grid = geofenceRegistry.getGrid();
+
+        ObjectWriter writer = objectMapper.writerFor(GeofenceComplianceRow.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("\n");
+
+        try (Stream<Object[]> rows = attendanceArchive.isArchived(yearMonth)
+                 ? streamArchivedLocations(yearMonth, employeeId)
+                 : adminAttendanceRepository.streamLocationsByDateRange(yearMonth.atDay(1), yearMonth.atEndOfMonth(), employeeId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            long written = 0;
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, toComplianceRow(it.next(), grid));
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+            adminMetrics.recordRowsScanned("geofence.compliance", written);
+            log.info("Geofence compliance report for {} written: {} rows against {} sites",
+                yearMonth, written, grid.getGeofences().size());
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write geofence compliance report", e);
+        }
+    }
+
+    /**
+     * Rows shaped like {@code streamLocationsByDateRange} from an archived month's
+     * file, reading only the employee, day, check-in time and location columns
+     */
+    private Stream<Object[]> streamArchivedLocations(YearMonth month, Long employeeId) {
+        int lastDay = month.lengthOfMonth();
+        return attendanceArchive.rowGroups(month, employeeId, 1, lastDay, LOCATION_COLUMNS)
+            .flatMap(group -> IntStream.range(0, group.size())
+                .filter(i -> group.matches(i, employeeId, 1, lastDay) && group.getCheckInTime(i) != null)
+                .mapToObj(i -> toLocationRow(group, i)));
+    }
+
+    private static Object[] toLocationRow(ArchiveRowGroup group, int row) {
+        Location checkIn = group.getCheckInLocation(row);
+        Location checkOut = group.getCheckOutLocation(row);
+        return new Object[] {
+            group.getUserId(row),
+            group.getDate(row),
+            checkIn != null ? checkIn.getLatitude() : null,
+            checkIn != null ? checkIn.getLongitude() : null,
+            checkOut != null ? checkOut.getLatitude() : null,
+            checkOut != null ? checkOut.getLongitude() : null
+        };
+    }
+
+    private static GeofenceComplianceRow toComplianceRow(Object[] row, GeofenceGrid grid) {
+        Location checkInLocation = toLocation((BigDecimal) row[2], (BigDecimal) row[3]);
+        Location checkOutLocation = toLocation((BigDecimal) row[4], (BigDecimal) row[5]);
+        Geofence checkInSite = locate(grid, checkInLocation);
+        Geofence checkOutSite = locate(grid, checkOutLocation);
+
+        PointStatus checkIn = statusOf(checkInLocation, checkInSite);
+        PointStatus checkOut = statusOf(checkOutLocation, checkOutSite);
+
+        return GeofenceComplianceRow.builder()
+            .userId((Long) row[0])
+            .date((LocalDate) row[1])
+            .checkIn(checkIn)
+            .checkInSiteId(checkInSite != null ? checkInSite.getId() : null)
+            .checkInSiteName(checkInSite != null ? checkInSite.getName() : null)
+            .checkOut(checkOut)
+            .checkOutSiteId(checkOutSite != null ? checkOutSite.getId() : null)
+            .checkOutSiteName(checkOutSite != null ? checkOutSite.getName() : null)
+            .compliant(checkIn == PointStatus.INSIDE && checkOut != PointStatus.OUTSIDE)
+            .build();
+    }
+
+    private static Location toLocation(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        Location location = Location.builder()
+            .latitude(latitude)
+            .longitude(longitude)
+            .build();
+        return location.isValid() ? location : null;
+    }
+
+    private static Geofence locate(GeofenceGrid grid, Location location) {
+        if (location == null) {
+            return null;
+        }
+        return grid.locate(location.getLatitude().doubleValue(), location.getLongitude().doubleValue());
+    }
+
+    private static PointStatus statusOf(Location location, Geofence site) {
+        if (location == null) {
+            return PointStatus.MISSING;
+        }
+        return site != null ? PointStatus.INSIDE : PointStatus.OUTSIDE;
+    }
+}
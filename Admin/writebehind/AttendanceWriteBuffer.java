@@ -0,0 +1,791 @@
+package com.company.admin.writebehind;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.cache.AttendanceVersions;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.BulkManualMarkResponse;
+import com.company.admin.dto.response.BulkManualMarkResponse.RowStatus;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.service.BulkManualMarkService;
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.company.attendance.mapper.AttendanceMapper;
+import com.company.attendance.model.Attendance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attendance Write Buffer
+ * Optional write-behind for single manual marks. A mark is appended to the local
+ * {@link WriteBehindLog}, merged into the pending mark of its employee-day, and
+ * acknowledged once the log is on disk; marks of the same employee-day therefore
+ * apply in arrival order. A background flusher writes pending marks in batches
+ * through {@link BulkManualMarkService} when enough are buffered or the flush
+ * interval is up. A failed flush is retried with growing backoff until it succeeds,
+ * and its marks stay in the buffer and the log meanwhile; a full buffer makes
+ * callers wait for a flush and rejects them after the enqueue timeout, so a failing
+ * database pushes back on new marks instead of losing accepted ones.
+ * <p>
+ * Bulk marks {@link #drain} the buffer before they write. Any other write of an
+ * employee-day, such as a check-in through the attendance module, supersedes the
+ * pending mark accepted before it. Writes on this node discard the mark once they
+ * commit; writes on any node are caught at flush time, when a mark is discarded if
+ * its row no longer matches the fingerprint taken when the mark was accepted. A
+ * write racing a flush already under way for the same employee-day is ordered by
+ * the database alone.
+ * <p>
+ * The by-employee, by-date and single-record reads of this node overlay pending
+ * marks, so a mark is visible there as soon as it is accepted. Keyset pages, NDJSON
+ * streams, exports, summaries and every other node see it once it is flushed,
+ * normally within the flush interval.
+ */
+@Component
+@Slf4j
+public class AttendanceWriteBuffer {
+
+    /**
+     * Fingerprint of an employee-day without a record
+     */
+    static final long ABSENT = 0;
+
+    /**
+     * Fingerprint that could not be taken; such marks are written without the check
+     */
+    static final long UNKNOWN = -1;
+
+    private final BulkManualMarkService bulkManualMarkService;
+    private final AdminAttendanceRepository adminAttendanceRepository;
+    private final AttendanceArchive attendanceArchive;
+    private final AttendanceVersions attendanceVersions;
+    private final AttendanceMapper attendanceMapper;
+    private final AdminAttendanceProperties.WriteBehind config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // Pending marks by day and employee, and the sequence of the last accepted mark; guarded by lock
+    private final NavigableMap<LocalDate, Map<Long, PendingMark>> pending = new TreeMap<>();
+    private volatile int size;
+    private long accepted;
+
+    // Backoff after failed flushes; guarded by flushLock
+    private volatile long retryAt = System.nanoTime();
+    private long backoff;
+
+    private final Counter flushedMarks;
+    private final Counter failedMarks;
+    private final Counter rejectedMarks;
+    private final Counter discardedMarks;
+    private final Timer flushTimer;
+
+    private WriteBehindLog writeLog;
+    private ScheduledExecutorService flusher;
+
+    public AttendanceWriteBuffer(BulkManualMarkService bulkManualMarkService,
+                                 AdminAttendanceRepository adminAttendanceRepository,
+                                 AttendanceArchive attendanceArchive,
+                                 AttendanceVersions attendanceVersions,
+                                 AttendanceMapper attendanceMapper,
+                                 AdminMetrics adminMetrics,
+                                 AdminAttendanceProperties properties) {
+        this.bulkManualMarkService = bulkManualMarkService;
+        this.adminAttendanceRepository = adminAttendanceRepository;
+        this.attendanceArchive = attendanceArchive;
+        this.attendanceVersions = attendanceVersions;
+        this.attendanceMapper = attendanceMapper;
+        this.config = properties.getWriteBehind();
+
+        Gauge.builder(AdminMetrics.PREFIX + ".write_behind.pending", this, AttendanceWriteBuffer::getSize)
+            .description("Employee-days with a manual mark not yet written to the database")
+            .register(adminMetrics.getRegistry());
+        this.flushedMarks = Counter.builder(AdminMetrics.PREFIX + ".write_behind.marks")
+            .tag("outcome", "flushed")
+            .register(adminMetrics.getRegistry());
+        this.failedMarks = Counter.builder(AdminMetrics.PREFIX + ".write_behind.marks")
+            .tag("outcome", "retried")
+            .register(adminMetrics.getRegistry());
+        this.rejectedMarks = Counter.builder(AdminMetrics.PREFIX + ".write_behind.marks")
+            .tag("outcome", "rejected")
+            .register(adminMetrics.getRegistry());
+        this.discardedMarks = Counter.builder(AdminMetrics.PREFIX + ".write_behind.marks")
+            .tag("outcome", "discarded")
+            .register(adminMetrics.getRegistry());
+        this.flushTimer = Timer.builder(AdminMetrics.PREFIX + ".write_behind.flush")
+            .register(adminMetrics.getRegistry());
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (config.getLogDir() == null) {
+            throw new IllegalStateException(
+                "admin.attendance.write-behind.log-dir must be set to a persistent directory when write-behind is enabled");
+        }
+
+        writeLog = new WriteBehindLog(config.getLogDir());
+        int recovered = writeLog.open(new WriteBehindLog.Replay() {
+            @Override
+            public void mark(ManualAttendanceRequest mark, long base) {
+                merge(mark, base);
+            }
+
+            @Override
+            public void discard(Long userId, LocalDate date) {
+                PendingMark mark = pending.getOrDefault(date, Map.of()).get(userId);
+                if (mark != null) {
+                    remove(mark);
+                }
+            }
+        }, UNKNOWN);
+        if (recovered > 0) {
+            log.warn("Recovered {} buffered manual marks ({} employee-days) from {}", recovered, size, config.getLogDir());
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+
+        // Write what is left; anything that still fails stays in the log for the next start
+        try {
+            flush(true);
+        } catch (IOException | RuntimeException e) {
+            log.error("Final write-behind flush failed; pending marks stay in {}", config.getLogDir(), e);
+        }
+        writeLog.close();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Accept a manual mark into the buffer. Returns the record as it will be written,
+     * without anything the database already holds for the day.
+     *
+     * @throws RejectedExecutionException if the buffer stays full for the enqueue timeout
+     */
+    public AttendanceResponse manualMark(Map<String, Object> request) {
+        ManualAttendanceRequest mark = ManualAttendanceRequest.fromMap(request);
+        if (mark.getCheckInTime() != null && mark.getCheckOutTime() != null
+                && mark.getCheckOutTime().isBefore(mark.getCheckInTime())) {
+            throw new IllegalArgumentException("checkOutTime is before checkInTime");
+        }
+        attendanceArchive.checkWritable(mark.getDate());
+        long base = fingerprint(mark.getUserId(), mark.getDate());
+
+        ManualAttendanceRequest merged;
+        long position;
+        lock.lock();
+        try {
+            awaitRoom(mark);
+            position = writeLog.append(mark, base);
+            merged = merge(mark, base);
+            if (size >= config.getFlushSize()) {
+                requestFlush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append manual mark to the write-behind log", e);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writeLog.force(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to force the write-behind log", e);
+        }
+        attendanceVersions.onBufferedWrite(mark.getUserId(), mark.getDate());
+
+        Attendance attendance = Attendance.builder()
+            .userId(merged.getUserId())
+            .date(merged.getDate())
+            .build();
+        merged.applyTo(attendance);
+        return attendanceMapper.toResponse(attendance);
+    }
+
+    /**
+     * Pending mark of one employee-day
+     */
+    public Optional<ManualAttendanceRequest> getPending(Long userId, LocalDate date) {
+        if (size == 0) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            PendingMark mark = pending.getOrDefault(date, Map.of()).get(userId);
+            return mark != null ? Optional.of(mark.mark) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pending marks of one day by employee
+     */
+    public Map<Long, ManualAttendanceRequest> getPendingByDate(LocalDate date) {
+        if (size == 0) {
+            return Map.of();
+        }
+        lock.lock();
+        try {
+            Map<Long, ManualAttendanceRequest> marks = new HashMap<>();
+            pending.getOrDefault(date, Map.of()).forEach((userId, mark) -> marks.put(userId, mark.mark));
+            return marks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pending marks of one employee within an inclusive date range, by day
+     */
+    public Map<LocalDate, ManualAttendanceRequest> getPendingByEmployee(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (size == 0) {
+            return Map.of();
+        }
+        lock.lock();
+        try {
+            Map<LocalDate, ManualAttendanceRequest> marks = new TreeMap<>();
+            pending.subMap(startDate, true, endDate, true).forEach((date, byEmployee) -> {
+                PendingMark mark = byEmployee.get(userId);
+                if (mark != null) {
+                    marks.put(date, mark.mark);
+                }
+            });
+            return marks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", config.isEnabled());
+        statistics.put("pending", size);
+        statistics.put("capacity", config.getCapacity());
+        statistics.put("flushed", (long) flushedMarks.count());
+        statistics.put("retried", (long) failedMarks.count());
+        statistics.put("rejected", (long) rejectedMarks.count());
+        statistics.put("discarded", (long) discardedMarks.count());
+        return statistics;
+    }
+
+    /**
+     * Write every mark accepted so far before a synchronous write, ignoring the retry
+     * backoff. Returns false if some of them could not be written; the caller should
+     * not write over them then.
+     */
+    public boolean drain() {
+        if (size == 0) {
+            return true;
+        }
+        long through;
+        lock.lock();
+        try {
+            through = accepted;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flush(true);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Draining the attendance write buffer failed", e);
+        }
+
+        lock.lock();
+        try {
+            for (Map<Long, PendingMark> byEmployee : pending.values()) {
+                for (PendingMark mark : byEmployee.values()) {
+                    if (mark.sequence <= through) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discard the pending marks that another write supersedes, once it commits. The
+     * buffer's own flushes are skipped.
+     */
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        if (size == 0 || flushLock.isHeldByCurrentThread()) {
+            return;
+        }
+
+        Set<EmployeeDay> written = new HashSet<>();
+        for (AttendanceChange change : event.getChanges()) {
+            if (change.hasPrevious()) {
+                written.add(new EmployeeDay(change.getUserId(), change.getPreviousDate()));
+            }
+            if (change.hasCurrent()) {
+                written.add(new EmployeeDay(change.getUserId(), change.getDate()));
+            }
+        }
+        long through;
+        lock.lock();
+        try {
+            through = accepted;
+        } finally {
+            lock.unlock();
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(written, through);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                discard(written, through);
+            }
+        });
+    }
+
+    /**
+     * Write every pending mark accepted so far. Runs on the flusher thread, on
+     * {@link #drain}, and once more on shutdown; unless forced, waits out the backoff
+     * of an earlier failure.
+     */
+    void flush(boolean force) throws IOException {
+        flushLock.lock();
+        try {
+            if (force || System.nanoTime() - retryAt >= 0) {
+                flushPending();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() throws IOException {
+        List<PendingMark> batch = new ArrayList<>();
+        long sealed;
+        lock.lock();
+        try {
+            if (size == 0) {
+                return;
+            }
+            // Marks accepted from here on go to a new segment; the sealed ones hold only marks in this batch
+            sealed = writeLog.rollOver();
+            pending.values().forEach(byEmployee -> batch.addAll(byEmployee.values()));
+        } finally {
+            lock.unlock();
+        }
+
+        long started = System.nanoTime();
+        List<PendingMark> written = new ArrayList<>(batch.size());
+        List<PendingMark> failed = new ArrayList<>();
+        List<PendingMark> rejected = new ArrayList<>();
+        List<PendingMark> superseded = new ArrayList<>();
+        int chunkSize = Math.max(1, config.getFlushSize());
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<PendingMark> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+            write(chunk, written, failed, rejected, superseded);
+        }
+
+        boolean retained;
+        long position = 0;
+        List<PendingMark> replaced = new ArrayList<>();
+        lock.lock();
+        try {
+            // Marks settled by this flush whose records stay in the sealed segment if it is kept
+            List<PendingMark> settled = new ArrayList<>(written.size());
+            for (PendingMark mark : written) {
+                if (remove(mark)) {
+                    settled.add(mark);
+                } else {
+                    replaced.add(mark);
+                }
+            }
+            for (PendingMark mark : superseded) {
+                if (remove(mark)) {
+                    position = writeLog.appendDiscard(mark.mark.getUserId(), mark.mark.getDate());
+                    discardedMarks.increment();
+                    log.info("Discarded buffered manual mark for user {} on {}: its record was written since it was accepted",
+                        mark.mark.getUserId(), mark.mark.getDate());
+                }
+            }
+            for (PendingMark mark : rejected) {
+                // Cannot succeed on a retry; keep it aside rather than lose an acknowledged mark
+                try {
+                    writeLog.reject(mark.mark);
+                } catch (IOException e) {
+                    log.error("Failed to set aside rejected manual mark for user {} on {}; retrying it",
+                        mark.mark.getUserId(), mark.mark.getDate(), e);
+                    failed.add(mark);
+                    continue;
+                }
+                if (remove(mark)) {
+                    settled.add(mark);
+                    rejectedMarks.increment();
+                    log.error("Manual mark for user {} on {} rejected by the database write; kept in {}",
+                        mark.mark.getUserId(), mark.mark.getDate(), config.getLogDir());
+                }
+            }
+            // Failed marks stay pending; a newer mark merged over one still carries its fields, so keep the log either way
+            retained = !failed.isEmpty();
+            if (retained) {
+                // No newer mark of these employee-days was logged, so the discard cancels only settled ones
+                for (PendingMark mark : settled) {
+                    position = writeLog.appendDiscard(mark.mark.getUserId(), mark.mark.getDate());
+                }
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (position > 0) {
+            writeLog.force(position);
+        }
+        if (!replaced.isEmpty()) {
+            rebase(replaced);
+        }
+
+        flushedMarks.increment(written.size());
+        failedMarks.increment(failed.size());
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (retained) {
+            backoff = backoff == 0
+                ? config.getRetryBackoff().toNanos()
+                : Math.min(backoff * 2, config.getMaxRetryBackoff().toNanos());
+            retryAt = System.nanoTime() + backoff;
+            log.warn("{} buffered manual marks could not be written; retrying in {} ms",
+                failed.size(), backoff / 1_000_000);
+        } else {
+            backoff = 0;
+            retryAt = System.nanoTime();
+            writeLog.deleteThrough(sealed);
+        }
+        log.debug("Flushed {} buffered manual marks, {} failed, in {} ms",
+            written.size(), failed.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Newer marks accepted while this flush wrote their employee-day may hold a
+     * fingerprint taken before the write, which would make them look superseded by
+     * it. Take the fingerprint again, now that the write is committed, and log it.
+     */
+    private void rebase(List<PendingMark> replaced) throws IOException {
+        long through;
+        lock.lock();
+        try {
+            through = accepted;
+        } finally {
+            lock.unlock();
+        }
+
+        Map<EmployeeDay, Long> fingerprints;
+        try {
+            fingerprints = fingerprints(replaced);
+        } catch (DataAccessException e) {
+            log.warn("Could not read back {} records written by a flush; their newer marks will not be checked for later writes",
+                replaced.size(), e);
+            fingerprints = null;
+        }
+
+        long position = 0;
+        lock.lock();
+        try {
+            for (PendingMark written : replaced) {
+                EmployeeDay day = new EmployeeDay(written.mark.getUserId(), written.mark.getDate());
+                Map<Long, PendingMark> byEmployee = pending.get(day.getDate());
+                PendingMark newer = byEmployee != null ? byEmployee.get(day.getUserId()) : null;
+                if (newer == null || newer.sequence > through) {
+                    // Gone, or accepted after the read and so fingerprinted after the write
+                    continue;
+                }
+                long base = fingerprints != null ? fingerprints.getOrDefault(day, ABSENT) : UNKNOWN;
+                position = writeLog.append(newer.mark, base);
+                byEmployee.put(day.getUserId(), new PendingMark(newer.mark, newer.sequence, base));
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (position > 0) {
+            writeLog.force(position);
+        }
+    }
+
+    private void write(List<PendingMark> chunk, List<PendingMark> written, List<PendingMark> failed,
+                       List<PendingMark> rejected, List<PendingMark> superseded) {
+        List<PendingMark> current = new ArrayList<>(chunk.size());
+        List<ManualAttendanceRequest> requests = new ArrayList<>(chunk.size());
+        BulkManualMarkResponse response;
+        try {
+            // Records written since their mark was accepted, by any node, supersede it
+            Map<EmployeeDay, Long> fingerprints = fingerprints(chunk);
+            for (PendingMark mark : chunk) {
+                EmployeeDay day = new EmployeeDay(mark.mark.getUserId(), mark.mark.getDate());
+                if (mark.base != UNKNOWN && fingerprints.getOrDefault(day, ABSENT) != mark.base) {
+                    superseded.add(mark);
+                } else {
+                    current.add(mark);
+                    requests.add(mark.mark);
+                }
+            }
+            if (requests.isEmpty()) {
+                return;
+            }
+            response = bulkManualMarkService.apply(requests);
+        } catch (RuntimeException e) {
+            log.warn("Flushing {} buffered manual marks failed; retrying them later", chunk.size(), e);
+            superseded.removeAll(chunk);
+            failed.addAll(chunk);
+            return;
+        }
+
+        for (BulkManualMarkResponse.RowResult result : response.getResults()) {
+            PendingMark mark = current.get(result.getRow() - 1);
+            if (result.getStatus() == RowStatus.CREATED || result.getStatus() == RowStatus.UPDATED) {
+                written.add(mark);
+            } else if (result.getStatus() == RowStatus.REJECTED) {
+                // Cannot succeed on a retry either
+                rejected.add(mark);
+            } else {
+                failed.add(mark);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush(false);
+        } catch (IOException | RuntimeException e) {
+            log.error("Write-behind flush failed", e);
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Wait, holding the lock between checks, until the mark's employee-day is buffered
+     * already or there is room for it
+     */
+    private void awaitRoom(ManualAttendanceRequest mark) {
+        long remaining = config.getEnqueueTimeout().toNanos();
+        while (size >= config.getCapacity()
+                && !pending.getOrDefault(mark.getDate(), Map.of()).containsKey(mark.getUserId())) {
+            requestFlush();
+            if (remaining <= 0) {
+                throw new RejectedExecutionException("Attendance write buffer is full");
+            }
+            try {
+                remaining = notFull.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the attendance write buffer", e);
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of an employee-day's record as the database holds it now, or
+     * {@link #UNKNOWN} when it cannot be read
+     */
+    private long fingerprint(Long userId, LocalDate date) {
+        try {
+            return fingerprints(List.of(userId), List.of(date)).getOrDefault(new EmployeeDay(userId, date), ABSENT);
+        } catch (DataAccessException e) {
+            log.warn("Could not read the record of user {} on {}; its mark will not be checked for later writes",
+                userId, date, e);
+            return UNKNOWN;
+        }
+    }
+
+    private Map<EmployeeDay, Long> fingerprints(List<PendingMark> marks) {
+        Set<Long> userIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (PendingMark mark : marks) {
+            userIds.add(mark.mark.getUserId());
+            dates.add(mark.mark.getDate());
+        }
+        return fingerprints(userIds, dates);
+    }
+
+    /**
+     * Fingerprints of the records of the given employees on the given days, by
+     * employee-day; the query may return other pairs of the two sets, which are
+     * simply not asked for
+     */
+    private Map<EmployeeDay, Long> fingerprints(Collection<Long> userIds, Collection<LocalDate> dates) {
+        Map<EmployeeDay, Long> fingerprints = new HashMap<>();
+        for (Attendance attendance : adminAttendanceRepository.findAllByUserIdsAndDates(userIds, dates)) {
+            fingerprints.put(new EmployeeDay(attendance.getUserId(), attendance.getDate()), fingerprintOf(attendance));
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Hash of the fields a write of the record changes; never {@link #ABSENT} or {@link #UNKNOWN}
+     */
+    static long fingerprintOf(Attendance attendance) {
+        int hash = Objects.hash(attendance.getAttendanceStatus(), attendance.getCheckInTime(),
+            attendance.getCheckOutTime(), attendance.getTotalHours(), attendance.getRemarks());
+        return (hash & 0xffffffffL) + 1;
+    }
+
+    /**
+     * Merge a newer mark into the employee-day's pending mark; times the newer mark
+     * leaves out keep their pending value, as they would in the database. The merged
+     * mark is checked against the record as it was when the newer mark was accepted.
+     */
+    private ManualAttendanceRequest merge(ManualAttendanceRequest mark, long base) {
+        Map<Long, PendingMark> byEmployee = pending.computeIfAbsent(mark.getDate(), date -> new HashMap<>());
+        PendingMark previous = byEmployee.get(mark.getUserId());
+
+        ManualAttendanceRequest merged = mark;
+        if (previous != null) {
+            merged = ManualAttendanceRequest.builder()
+                .userId(mark.getUserId())
+                .date(mark.getDate())
+                .status(mark.getStatus())
+                .remarks(mark.getRemarks())
+                .checkInTime(mark.getCheckInTime() != null ? mark.getCheckInTime() : previous.mark.getCheckInTime())
+                .checkOutTime(mark.getCheckOutTime() != null ? mark.getCheckOutTime() : previous.mark.getCheckOutTime())
+                .build();
+        } else {
+            size++;
+        }
+        byEmployee.put(mark.getUserId(), new PendingMark(merged, ++accepted, base));
+        return merged;
+    }
+
+    /**
+     * Discard the pending marks of the given employee-days accepted up to a sequence,
+     * logging the discard so a replay does not bring them back
+     */
+    private void discard(Set<EmployeeDay> written, long through) {
+        long position = 0;
+        lock.lock();
+        try {
+            for (EmployeeDay day : written) {
+                PendingMark mark = pending.getOrDefault(day.getDate(), Map.of()).get(day.getUserId());
+                if (mark == null || mark.sequence > through) {
+                    continue;
+                }
+                position = writeLog.appendDiscard(day.getUserId(), day.getDate());
+                remove(mark);
+                discardedMarks.increment();
+                log.info("Discarded buffered manual mark for user {} on {}: superseded by a later write",
+                    day.getUserId(), day.getDate());
+            }
+            notFull.signalAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append a discard to the write-behind log", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (position > 0) {
+            try {
+                writeLog.force(position);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to force the write-behind log", e);
+            }
+        }
+    }
+
+    /**
+     * Remove a flushed mark unless a newer one replaced it meanwhile
+     */
+    private boolean remove(PendingMark mark) {
+        Map<Long, PendingMark> byEmployee = pending.get(mark.mark.getDate());
+        if (byEmployee == null || !byEmployee.remove(mark.mark.getUserId(), mark)) {
+            return false;
+        }
+        size--;
+        if (byEmployee.isEmpty()) {
+            pending.remove(mark.mark.getDate());
+        }
+        return true;
+    }
+
+    private static final class PendingMark {
+
+        final ManualAttendanceRequest mark;
+        final long sequence;
+        final long base;
+
+        PendingMark(ManualAttendanceRequest mark, long sequence, long base) {
+            this.mark = mark;
+            this.sequence = sequence;
+            this.base = base;
+        }
+    }
+
+    @Value
+    private static class EmployeeDay {
+
+        Long userId;
+        LocalDate date;
+    }
+}
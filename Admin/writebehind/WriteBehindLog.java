@@ -0,0 +1,303 @@
+package com.company.admin.writebehind;
+
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.attendance.model.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-Behind Log
+ * Durable local append log of buffered manual marks. Each mark is appended to the
+ * current segment as a length- and checksum-prefixed record and acknowledged once
+ * forced to disk; callers forcing at the same time share one force. A flush seals
+ * the current segment and starts a new one, and sealed segments are deleted once
+ * every mark in them is in the database. A discard record cancels the marks logged
+ * before it for one employee-day; one is also logged for each mark written or
+ * superseded by a flush whose segment is kept, so a replay does not bring those
+ * back over later writes. Each mark carries the fingerprint of the database row it
+ * was accepted over. Replaying is idempotent, so the remaining
+ * segments are simply replayed in order on startup; a torn record at the end of a
+ * segment ends its replay. Marks the database rejects for good are moved to a
+ * separate file that is never replayed.
+ */
+@Slf4j
+class WriteBehindLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+    private static final String REJECTED_NAME = "rejected.log";
+    private static final long NO_TIME = -1;
+    private static final byte MARK = 1;
+    private static final byte DISCARD = 2;
+    private static final byte MARK_WITH_BASE = 3;
+
+    /**
+     * Receives the records of the remaining segments on startup
+     */
+    interface Replay {
+
+        /**
+         * A logged mark and the fingerprint of the row it was accepted over; marks
+         * logged before fingerprints were recorded replay with {@code noBase}
+         */
+        void mark(ManualAttendanceRequest mark, long base);
+
+        void discard(Long userId, LocalDate date);
+    }
+
+    private final Path directory;
+    private final Object forceLock = new Object();
+
+    // Appends and rollover are serialized by the buffer's lock; forcing by forceLock
+    private volatile FileChannel channel;
+    private long segment;
+    private volatile long appended;
+    private long segmentStart;
+    private long forced;
+
+    WriteBehindLog(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Replay the segments left by an earlier run in order, then open a new segment after them
+     */
+    int open(Replay replay, long noBase) throws IOException {
+        int replayed = 0;
+        for (Path path : segments()) {
+            replayed += replaySegment(path, replay, noBase);
+            segment = Math.max(segment, segmentNumber(path));
+        }
+        channel = openSegment(++segment);
+        return replayed;
+    }
+
+    /**
+     * Append a mark and the fingerprint of the row it was accepted over without
+     * forcing it; returns the position to pass to {@link #force}
+     */
+    long append(ManualAttendanceRequest mark, long base) throws IOException {
+        appended += write(channel, encode(mark, base));
+        return appended;
+    }
+
+    /**
+     * Append a record cancelling the marks logged so far for one employee-day,
+     * without forcing it; returns the position to pass to {@link #force}
+     */
+    long appendDiscard(Long userId, LocalDate date) throws IOException {
+        appended += write(channel, encodeDiscard(userId, date));
+        return appended;
+    }
+
+    /**
+     * Keep a mark the database rejected for good, forced, in a file that is never replayed
+     */
+    void reject(ManualAttendanceRequest mark) throws IOException {
+        try (FileChannel rejected = FileChannel.open(directory.resolve(REJECTED_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            write(rejected, encode(mark, 0));
+            rejected.force(false);
+        }
+    }
+
+    /**
+     * Force everything appended up to the given position to disk, sharing the force
+     * with any concurrent caller
+     */
+    void force(long position) throws IOException {
+        synchronized (forceLock) {
+            if (forced >= position) {
+                return;
+            }
+            long target = appended;
+            channel.force(false);
+            forced = target;
+        }
+    }
+
+    /**
+     * Seal the current segment and start a new one; returns the sealed segment's number.
+     * An empty segment stays current, and the one before it counts as sealed.
+     */
+    long rollOver() throws IOException {
+        synchronized (forceLock) {
+            if (appended == segmentStart) {
+                return segment - 1;
+            }
+            channel.force(false);
+            channel.close();
+            forced = appended;
+
+            long sealed = segment;
+            channel = openSegment(++segment);
+            return sealed;
+        }
+    }
+
+    /**
+     * Delete the sealed segments up to and including the given one
+     */
+    void deleteThrough(long sealed) throws IOException {
+        for (Path path : segments()) {
+            if (segmentNumber(path) <= sealed) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        segmentStart = appended;
+        return FileChannel.open(directory.resolve(String.format("segment-%012d.log", number)),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static int replaySegment(Path path, Replay replay, long noBase) throws IOException {
+        int replayed = 0;
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                byte[] payload;
+                long checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readLong();
+                    if (length <= 0 || length > 64 * 1024) {
+                        log.warn("Write-behind segment {} has a corrupt record after {} marks; ignoring the rest", path, replayed);
+                        return replayed;
+                    }
+                    payload = in.readNBytes(length);
+                    if (payload.length < length) {
+                        throw new EOFException();
+                    }
+                } catch (EOFException e) {
+                    // Clean end of segment, or a record torn by a crash that was never acknowledged
+                    return replayed;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (crc.getValue() != checksum) {
+                    log.warn("Write-behind segment {} has a corrupt record after {} marks; ignoring the rest", path, replayed);
+                    return replayed;
+                }
+
+                if (payload[0] == DISCARD) {
+                    DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+                    replay.discard(record.readLong(), LocalDate.ofEpochDay(record.readLong()));
+                } else {
+                    // Marks of older versions end without a fingerprint
+                    long base = payload[0] == MARK_WITH_BASE
+                        ? ByteBuffer.wrap(payload, payload.length - Long.BYTES, Long.BYTES).getLong()
+                        : noBase;
+                    replay.mark(decode(payload), base);
+                    replayed++;
+                }
+            }
+        }
+    }
+
+    private static int write(FileChannel target, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + payload.length);
+        record.putInt(payload.length).putLong(crc.getValue()).put(payload).flip();
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+        return record.limit();
+    }
+
+    private static byte[] encode(ManualAttendanceRequest mark, long base) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(104);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MARK_WITH_BASE);
+            out.writeLong(mark.getUserId());
+            out.writeLong(mark.getDate().toEpochDay());
+            out.writeUTF(mark.getStatus().name());
+            out.writeLong(mark.getCheckInTime() != null ? mark.getCheckInTime().toNanoOfDay() : NO_TIME);
+            out.writeLong(mark.getCheckOutTime() != null ? mark.getCheckOutTime().toNanoOfDay() : NO_TIME);
+            out.writeBoolean(mark.getRemarks() != null);
+            if (mark.getRemarks() != null) {
+                out.writeUTF(mark.getRemarks());
+            }
+            out.writeLong(base);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeDiscard(Long userId, LocalDate date) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(17);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(DISCARD);
+            out.writeLong(userId);
+            out.writeLong(date.toEpochDay());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ManualAttendanceRequest decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+            ManualAttendanceRequest.ManualAttendanceRequestBuilder mark = ManualAttendanceRequest.builder()
+                .userId(in.readLong())
+                .date(LocalDate.ofEpochDay(in.readLong()))
+                .status(AttendanceStatus.valueOf(in.readUTF()))
+                .checkInTime(timeOf(in.readLong()))
+                .checkOutTime(timeOf(in.readLong()));
+            if (in.readBoolean()) {
+                mark.remarks(in.readUTF());
+            }
+            return mark.build();
+        }
+    }
+
+    private static LocalTime timeOf(long nanoOfDay) {
+        return nanoOfDay != NO_TIME ? LocalTime.ofNanoOfDay(nanoOfDay) : null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.admin.benchmark;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.embedded.Location;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic month of attendance for benchmarks. Every employee has one row per
+ * working day, generated by {@link SyntheticAttendance} like the load-test seed.
+ * Generation is seeded, so every run sees the same rows.
+ */
+public final class AttendanceDataset {
+
+    public static final YearMonth MONTH = YearMonth.of(2026, 3);
+    public static final int WORKING_DAYS = 22;
+
+    private final List<Attendance> attendances;
+    private final List<Object[]> columns;
+    private final Map<Long, EmployeeInfo> employees;
+
+    private AttendanceDataset(List<Attendance> attendances, List<Object[]> columns, Map<Long, EmployeeInfo> employees) {
+        this.attendances = attendances;
+        this.columns = columns;
+        this.employees = employees;
+    }
+
+    public static AttendanceDataset generate(int rows, long seed) {
+        SyntheticAttendance generator = new SyntheticAttendance(seed);
+        int employeeCount = Math.max(1, rows / WORKING_DAYS);
+
+        Map<Long, EmployeeInfo> employees = new HashMap<>(employeeCount * 2);
+        for (long userId = 1; userId <= employeeCount; userId++) {
+            employees.put(userId, EmployeeInfo.builder()
+                .userId(userId)
+                .name("Employee " + userId)
+                .department("Department " + (userId % 25))
+                .build());
+        }
+
+        List<Attendance> attendances = new ArrayList<>(rows);
+        List<Object[]> columns = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long id = i + 1;
+            long userId = (i % employeeCount) + 1;
+            LocalDate date = MONTH.atDay(1 + (i / employeeCount) % MONTH.lengthOfMonth());
+
+            Attendance attendance = generator.next(userId, date, false);
+            attendances.add(attendance);
+
+            // Same row in the shape of AdminAttendanceRepository.streamColumnsByDateRange
+            Location checkIn = attendance.getCheckInLocation();
+            columns.add(new Object[] {
+                id, userId, date, attendance.getAttendanceStatus(), attendance.getTotalHours(),
+                checkIn != null ? checkIn.getLatitude() : null,
+                checkIn != null ? checkIn.getLongitude() : null
+            });
+        }
+
+        return new AttendanceDataset(attendances, columns, employees);
+    }
+
+    public List<Attendance> getAttendances() {
+        return attendances;
+    }
+
+    public List<Object[]> getColumns() {
+        return columns;
+    }
+
+    public Map<Long, EmployeeInfo> getEmployees() {
+        return employees;
+    }
+
+    public int size() {
+        return attendances.size();
+    }
+}
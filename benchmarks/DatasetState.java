@@ -0,0 +1,26 @@
+package com.company.admin.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One synthetic month shared by all threads of a trial, generated once per scale
+ */
+@State(Scope.Benchmark)
+public class DatasetState {
+
+    static final long SEED = 20260301L;
+
+    @Param({"1000", "100000", "5000000"})
+    public int rows;
+
+    AttendanceDataset dataset;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        dataset = AttendanceDataset.generate(rows, SEED);
+    }
+}
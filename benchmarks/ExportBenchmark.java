@@ -0,0 +1,54 @@
+package com.company.admin.benchmark;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.admin.export.AttendanceReportWriter;
+import com.company.admin.export.CountingOutputStream;
+import com.company.admin.export.ExportFormat;
+import com.company.attendance.model.Attendance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report serialization as done by exportAttendanceReport, minus the database:
+ * every row of the month is written with its employee details into a stream
+ * that discards the bytes. Returns the number of bytes produced.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"csv", "xlsx", "arrow"})
+    public String format;
+
+    @Benchmark
+    public long export(DatasetState data) throws IOException {
+        Map<Long, EmployeeInfo> employees = data.dataset.getEmployees();
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+
+        try (AttendanceReportWriter writer = ExportFormat.fromParameter(format).createWriter(out)) {
+            writer.writeHeader();
+            for (Attendance a : data.dataset.getAttendances()) {
+                writer.writeRow(a, employees.get(a.getUserId()));
+            }
+            writer.finish();
+        }
+        return out.getCount();
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.admin.benchmark;
+
+import com.company.admin.columnar.EmployeeCheckIns;
+import com.company.admin.location.GeoMath;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.embedded.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The distance math of getEmployeeLocationAnalytics for every employee of the
+ * month: centroid and maximum distance from it, once through BigDecimal
+ * {@link Location} objects as the entity path does, once with the primitive
+ * kernel over the columnar check-ins
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class LocationAnalyticsBenchmark {
+
+    private List<List<Location>> locationsByEmployee;
+    private EmployeeCheckIns checkIns;
+
+    @Setup(Level.Trial)
+    public void group(DatasetState data) {
+        Map<Long, List<Location>> grouped = new LinkedHashMap<>();
+        for (Attendance a : data.dataset.getAttendances()) {
+            if (a.getCheckInLocation() != null && a.getCheckInLocation().isValid()) {
+                grouped.computeIfAbsent(a.getUserId(), id -> new ArrayList<>()).add(a.getCheckInLocation());
+            }
+        }
+        locationsByEmployee = new ArrayList<>(grouped.values());
+
+        checkIns = Stubs.monthColumnStore(data.dataset).snapshot(AttendanceDataset.MONTH).query().checkInsByEmployee();
+    }
+
+    @Benchmark
+    public double entityDistances() {
+        double total = 0;
+        for (List<Location> locations : locationsByEmployee) {
+            double sumLat = 0;
+            double sumLon = 0;
+            for (Location location : locations) {
+                sumLat += location.getLatitude().doubleValue();
+                sumLon += location.getLongitude().doubleValue();
+            }
+            Location average = Location.builder()
+                .latitude(BigDecimal.valueOf(sumLat / locations.size()))
+                .longitude(BigDecimal.valueOf(sumLon / locations.size()))
+                .build();
+
+            double maxDistance = 0;
+            for (Location location : locations) {
+                maxDistance = Math.max(maxDistance, location.distanceFrom(average));
+            }
+            total += maxDistance;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double primitiveKernel() {
+        double[] latitudes = checkIns.getLatitudes();
+        double[] longitudes = checkIns.getLongitudes();
+        double[] distances = new double[32];
+
+        double total = 0;
+        for (int e = 0; e < checkIns.getEmployeeCount(); e++) {
+            int start = checkIns.getStart(e);
+            int end = checkIns.getEnd(e);
+            if (distances.length < end - start) {
+                distances = new double[end - start];
+            }
+
+            double centroidLat = GeoMath.mean(latitudes, start, end);
+            double centroidLon = GeoMath.mean(longitudes, start, end);
+            GeoMath.distancesFrom(centroidLat, centroidLon, latitudes, longitudes, start, end, distances);
+
+            double maxDistance = 0;
+            for (int i = 0; i < end - start; i++) {
+                maxDistance = Math.max(maxDistance, distances[i]);
+            }
+            total += maxDistance;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.admin.benchmark;
+
+import com.company.attendance.mapper.AttendanceMapper;
+import com.company.attendance.model.Attendance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AttendanceMapper.toResponse over every row of the month, the per-row cost of
+ * all list and NDJSON endpoints
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private AttendanceMapper mapper;
+
+    @Setup(Level.Trial)
+    public void createMapper() {
+        mapper = Stubs.attendanceMapper();
+    }
+
+    @Benchmark
+    public void toResponse(DatasetState data, Blackhole blackhole) {
+        for (Attendance a : data.dataset.getAttendances()) {
+            blackhole.consume(mapper.toResponse(a));
+        }
+    }
+}
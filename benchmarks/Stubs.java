@@ -0,0 +1,103 @@
+package com.company.admin.benchmark;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.columnar.MonthColumnStore;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AttendanceArchiveRepository;
+import com.company.admin.repository.AttendanceVersionRepository;
+import com.company.attendance.mapper.AttendanceMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * In-memory stand-ins so benchmarks run offline, without a database or a
+ * Spring context
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Repository whose month column query streams the dataset; every other method fails
+     */
+    static AdminAttendanceRepository repository(AttendanceDataset dataset) {
+        return (AdminAttendanceRepository) Proxy.newProxyInstance(
+            AdminAttendanceRepository.class.getClassLoader(),
+            new Class<?>[] {AdminAttendanceRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("streamColumnsByDateRange")) {
+                    return dataset.getColumns().stream();
+                }
+                throw new UnsupportedOperationException("Not stubbed: " + method.getName());
+            });
+    }
+
+    /**
+     * Column store over the dataset, loading snapshots through the stub repository
+     */
+    static MonthColumnStore monthColumnStore(AttendanceDataset dataset) {
+        return new MonthColumnStore(repository(dataset), versionRepository(), emptyArchive(),
+            new AdminMetrics(new SimpleMeterRegistry()), transactionManager(), new AdminAttendanceProperties());
+    }
+
+    /**
+     * Version counters of a dataset that is never written to
+     */
+    static AttendanceVersionRepository versionRepository() {
+        return new AttendanceVersionRepository(null) {
+            @Override
+            public long sum(long userId, YearMonth from, YearMonth to) {
+                return 0;
+            }
+        };
+    }
+
+    /**
+     * Archive without archived months; it is never refreshed, so it never queries its repository
+     */
+    static AttendanceArchive emptyArchive() {
+        return new AttendanceArchive(new AttendanceArchiveRepository(null), new AdminAttendanceProperties());
+    }
+
+    static PlatformTransactionManager transactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+
+    /**
+     * The application's mapper: MapStruct's generated implementation when the
+     * mapper is an interface, otherwise the class itself
+     */
+    static AttendanceMapper attendanceMapper() {
+        for (String name : List.of(AttendanceMapper.class.getName() + "Impl", AttendanceMapper.class.getName())) {
+            try {
+                return (AttendanceMapper) Class.forName(name).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException ignored) {
+                // try the next candidate
+            }
+        }
+        throw new IllegalStateException("No instantiable AttendanceMapper on the classpath");
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.admin.benchmark;
+
+import com.company.admin.columnar.MonthColumns;
+import com.company.admin.model.MonthlyRollup;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month summary as served by getAttendanceSummary: from a resident columnar
+ * snapshot, from a snapshot loaded for the call, and, as a baseline, by walking
+ * the month's entities the way the original implementation did
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class SummaryBenchmark {
+
+    private MonthColumns resident;
+
+    @Setup(Level.Trial)
+    public void loadSnapshot(DatasetState data) {
+        resident = Stubs.monthColumnStore(data.dataset).snapshot(AttendanceDataset.MONTH);
+    }
+
+    @Benchmark
+    public Map<String, Object> residentSnapshot() {
+        return resident.toRollup().toSummary();
+    }
+
+    @Benchmark
+    public Map<String, Object> loadSnapshotAndSummarize(DatasetState data) {
+        return Stubs.monthColumnStore(data.dataset).snapshot(AttendanceDataset.MONTH).toRollup().toSummary();
+    }
+
+    @Benchmark
+    public Map<String, Object> entityAggregation(DatasetState data) {
+        Map<AttendanceStatus, long[]> records = new EnumMap<>(AttendanceStatus.class);
+        Map<AttendanceStatus, double[]> hours = new EnumMap<>(AttendanceStatus.class);
+        Set<Long> employees = new HashSet<>();
+
+        for (Attendance a : data.dataset.getAttendances()) {
+            records.computeIfAbsent(a.getAttendanceStatus(), s -> new long[1])[0]++;
+            if (a.getTotalHours() != null) {
+                hours.computeIfAbsent(a.getAttendanceStatus(), s -> new double[1])[0] += a.getTotalHours();
+            }
+            employees.add(a.getUserId());
+        }
+
+        Map<AttendanceStatus, MonthlyRollup.StatusTotals> totals = new EnumMap<>(AttendanceStatus.class);
+        records.forEach((status, count) -> totals.put(status, new MonthlyRollup.StatusTotals(
+            count[0], hours.containsKey(status) ? hours.get(status)[0] : 0)));
+        return new MonthlyRollup(AttendanceDataset.MONTH, employees.size(), totals).toSummary();
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.admin.benchmark;
+
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import com.company.attendance.model.embedded.Location;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of synthetic attendance rows, shared by the benchmark dataset
+ * and the load-test seeder so both see the same data. Statuses, missing hours and
+ * missing locations follow the ratios seen in production data; each employee
+ * checks in near one of a fixed set of offices. Not thread-safe.
+ */
+public final class SyntheticAttendance {
+
+    public static final double ABSENT_RATIO = 0.06;
+    public static final double LEAVE_RATIO = 0.04;
+    public static final double MISSING_HOURS_RATIO = 0.08;
+    public static final double MISSING_LOCATION_RATIO = 0.15;
+    public static final double MISSING_CHECK_OUT_LOCATION_RATIO = 0.25;
+
+    private static final int OFFICES = 40;
+
+    private final SplittableRandom random;
+    private final double[] officeLat = new double[OFFICES];
+    private final double[] officeLon = new double[OFFICES];
+
+    public SyntheticAttendance(long seed) {
+        this.random = new SplittableRandom(seed);
+        for (int o = 0; o < OFFICES; o++) {
+            officeLat[o] = 8 + random.nextDouble() * 24;
+            officeLon[o] = 70 + random.nextDouble() * 18;
+        }
+    }
+
+    /**
+     * The next row of an employee on a day. Open rows are checked in but not out.
+     */
+    public Attendance next(long userId, LocalDate date, boolean open) {
+        int office = (int) (userId % OFFICES);
+
+        AttendanceStatus status = status();
+        Attendance attendance = Attendance.builder()
+            .userId(userId)
+            .date(date)
+            .build();
+        attendance.setAttendanceStatus(status);
+
+        if (status == AttendanceStatus.PRESENT) {
+            LocalTime in = LocalTime.of(8, 0).plusMinutes(random.nextInt(90));
+            attendance.setCheckInTime(in);
+            if (random.nextDouble() >= MISSING_LOCATION_RATIO) {
+                attendance.setCheckInLocation(near(officeLat[office], officeLon[office]));
+            }
+            if (!open && random.nextDouble() >= MISSING_HOURS_RATIO) {
+                LocalTime out = in.plusMinutes(420 + random.nextInt(180));
+                attendance.setCheckOutTime(out);
+                attendance.setTotalHours((out.toSecondOfDay() - in.toSecondOfDay()) / 3600.0);
+                if (random.nextDouble() >= MISSING_CHECK_OUT_LOCATION_RATIO) {
+                    attendance.setCheckOutLocation(near(officeLat[office], officeLon[office]));
+                }
+            }
+        }
+        return attendance;
+    }
+
+    private AttendanceStatus status() {
+        double r = random.nextDouble();
+        if (r < ABSENT_RATIO) {
+            return AttendanceStatus.ABSENT;
+        }
+        if (r < ABSENT_RATIO + LEAVE_RATIO) {
+            return AttendanceStatus.LEAVE;
+        }
+        return AttendanceStatus.PRESENT;
+    }
+
+    /**
+     * A point within roughly 300 m of an office, with the column's scale of 8 digits
+     */
+    private Location near(double lat, double lon) {
+        return Location.builder()
+            .latitude(BigDecimal.valueOf(lat + (random.nextDouble() - 0.5) * 0.006).setScale(8, RoundingMode.HALF_UP))
+            .longitude(BigDecimal.valueOf(lon + (random.nextDouble() - 0.5) * 0.006).setScale(8, RoundingMode.HALF_UP))
+            .build();
+    }
+}
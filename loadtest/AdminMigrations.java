@@ -0,0 +1,34 @@
+package com.company.admin.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+
+/**
+ * Runs the admin Flyway migrations against the load-test database as soon as
+ * Hibernate has created the attendance table, before the admin beans start.
+ * Flyway's own schema history decides what a reused database is missing.
+ */
+@Slf4j
+final class AdminMigrations implements BeanPostProcessor {
+
+    private static final String LOCATION = "classpath:db/migration";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof EntityManagerFactoryInfo entityManagerFactory) {
+            MigrateResult result = Flyway.configure()
+                .dataSource(entityManagerFactory.getDataSource())
+                .locations(LOCATION)
+                // Hibernate has already created the attendance table; every admin migration comes after it
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+            log.info("Applied {} admin migrations to the load-test database", result.migrationsExecuted);
+        }
+        return bean;
+    }
+}
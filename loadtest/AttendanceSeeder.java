@@ -0,0 +1,157 @@
+package com.company.admin.loadtest;
+
+import com.company.admin.benchmark.SyntheticAttendance;
+import com.company.admin.presence.AttendancePresenceIndex;
+import com.company.admin.service.AttendanceRollupService;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.embedded.Location;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seeds one row per employee and working day over the configured months with
+ * batched JDBC inserts, generated by the benchmarks' {@link SyntheticAttendance}.
+ * Table and column names are read from the attendance entity's mapping, so the
+ * schema is still the application's own. Past days are complete; today's present
+ * rows are checked in but not out. The inserts bypass Hibernate and its change
+ * events, so every seeded month's rollup is rebuilt and the presence index
+ * reloaded afterwards.
+ */
+@Slf4j
+public final class AttendanceSeeder {
+
+    private static final int ROWS_PER_BATCH = 2_000;
+
+    private static final String[] ATTRIBUTES = {
+        "userId", "date", "attendanceStatus", "checkInTime", "checkOutTime", "totalHours",
+        "checkInLocation.latitude", "checkInLocation.longitude",
+        "checkOutLocation.latitude", "checkOutLocation.longitude", "remarks"
+    };
+
+    private static final String[] ROLLUP_TABLES = {
+        "attendance_monthly_rollup", "attendance_monthly_rollup_employee", "attendance_monthly_rollup_stripe",
+        "attendance_monthly_rollup_state"
+    };
+
+    private final ConfigurableApplicationContext context;
+    private final LoadTestOptions options;
+
+    public AttendanceSeeder(ConfigurableApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.options = options;
+    }
+
+    public void seed() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance", Long.class);
+        if (existing != null && existing > 0) {
+            if (!options.isReseed()) {
+                log.info("Database already has {} attendance rows; skipping seed (pass --reseed=true to replace them)", existing);
+                return;
+            }
+            jdbcTemplate.execute("TRUNCATE TABLE attendance");
+        }
+        // Rollups of the replaced rows, and the empty months materialized at startup, are rebuilt below
+        for (String table : ROLLUP_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+
+        String insert = insertStatement();
+        SyntheticAttendance generator = new SyntheticAttendance(options.getSeed());
+
+        YearMonth lastMonth = options.getLastMonth();
+        YearMonth firstMonth = lastMonth.minusMonths(options.getMonths() - 1L);
+        LocalDate today = LocalDate.now();
+        LocalDate end = lastMonth.atEndOfMonth().isAfter(today) ? today : lastMonth.atEndOfMonth();
+        int employees = options.getEmployees();
+
+        long started = System.nanoTime();
+        long rows = 0;
+        List<Object[]> batch = new ArrayList<>(ROWS_PER_BATCH);
+        for (LocalDate date = firstMonth.atDay(1); !date.isAfter(end); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            boolean open = date.equals(today);
+
+            for (long userId = 1; userId <= employees; userId++) {
+                batch.add(parameters(generator.next(userId, date, open)));
+                if (batch.size() == ROWS_PER_BATCH) {
+                    jdbcTemplate.batchUpdate(insert, batch);
+                    rows += batch.size();
+                    batch.clear();
+                }
+            }
+
+            if (date.getDayOfMonth() == date.lengthOfMonth()) {
+                log.info("Seeded {} rows up to {} in {} s", rows, date, (System.nanoTime() - started) / 1_000_000_000);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+            rows += batch.size();
+        }
+        log.info("Seeded {} attendance rows for {} employees from {} to {} in {} s",
+            rows, employees, firstMonth.atDay(1), end, (System.nanoTime() - started) / 1_000_000_000);
+
+        AttendanceRollupService rollupService = context.getBean(AttendanceRollupService.class);
+        for (YearMonth month = firstMonth; !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            rollupService.rebuild(month);
+        }
+        rollupService.rebuild(YearMonth.from(today).plusMonths(1));
+        context.getBean(AttendancePresenceIndex.class).reconcile();
+    }
+
+    /**
+     * INSERT into the attendance table with the columns the entity maps its attributes to
+     */
+    private String insertStatement() {
+        AbstractEntityPersister persister = (AbstractEntityPersister) context.getBean(EntityManagerFactory.class)
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(Attendance.class);
+
+        List<String> columns = new ArrayList<>(ATTRIBUTES.length);
+        for (String attribute : ATTRIBUTES) {
+            columns.add(persister.getPropertyColumnNames(attribute)[0]);
+        }
+        return "INSERT INTO " + persister.getTableName() + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    private static Object[] parameters(Attendance a) {
+        Location checkIn = a.getCheckInLocation();
+        Location checkOut = a.getCheckOutLocation();
+        return new Object[] {
+            a.getUserId(),
+            Date.valueOf(a.getDate()),
+            a.getAttendanceStatus().name(),
+            time(a.getCheckInTime()),
+            time(a.getCheckOutTime()),
+            a.getTotalHours(),
+            checkIn != null ? checkIn.getLatitude() : null,
+            checkIn != null ? checkIn.getLongitude() : null,
+            checkOut != null ? checkOut.getLatitude() : null,
+            checkOut != null ? checkOut.getLongitude() : null,
+            "Seeded by load test"
+        };
+    }
+
+    private static Time time(LocalTime time) {
+        return time != null ? Time.valueOf(time) : null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.admin.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-operation latencies and outcomes of the measured phase. Latencies are kept
+ * in full, in microseconds, so percentiles are exact; a five-minute run at a few
+ * hundred requests per second is well within memory.
+ */
+public final class LatencyRecorder {
+
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+
+    public LatencyRecorder(List<String> operations) {
+        operations.forEach(name -> stats.put(name, new OperationStats()));
+    }
+
+    public void success(String operation, long latencyNanos) {
+        stats.get(operation).record(latencyNanos, null);
+    }
+
+    /**
+     * A response with an error status, or a failure such as a timeout, named by outcome
+     */
+    public void error(String operation, long latencyNanos, String outcome) {
+        stats.get(operation).record(latencyNanos, outcome);
+    }
+
+    /**
+     * An arrival that found every virtual user busy and was never sent
+     */
+    public void dropped(String operation) {
+        stats.get(operation).drop();
+    }
+
+    public Map<String, OperationStats> getStats() {
+        return stats;
+    }
+
+    public static final class OperationStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long dropped;
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, String outcome) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos / 1_000;
+            if (outcome != null) {
+                errors.merge(outcome, 1L, Long::sum);
+            }
+        }
+
+        synchronized void drop() {
+            dropped++;
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        public synchronized long getDropped() {
+            return dropped;
+        }
+
+        public synchronized long getErrorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public synchronized Map<String, Long> getErrors() {
+            return new TreeMap<>(errors);
+        }
+
+        /**
+         * Sorted copy of the latencies in microseconds
+         */
+        public synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
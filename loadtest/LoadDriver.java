@@ -0,0 +1,112 @@
+package com.company.admin.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load at a fixed arrival rate. Arrivals are scheduled at even
+ * intervals regardless of how fast responses come back, and each one is sent
+ * from its own virtual thread while one of the virtual users is free. Latency
+ * is measured from the scheduled arrival, so a slow server also delays the
+ * requests queued behind it instead of hiding them.
+ */
+@Slf4j
+public final class LoadDriver {
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final HttpClient client;
+
+    public LoadDriver(LoadTestOptions options, Workload workload) {
+        this.options = options;
+        this.workload = workload;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    /**
+     * Run the warmup, then the measured phase, and return what the measured phase recorded
+     */
+    public LatencyRecorder run() throws InterruptedException {
+        if (!options.getWarmup().isZero()) {
+            log.info("Warming up for {} at {} requests/s", options.getWarmup(), options.getRps());
+            drive(options.getWarmup(), new LatencyRecorder(workload.getOperationNames()));
+        }
+
+        log.info("Measuring for {} at {} requests/s with {} virtual users", options.getDuration(), options.getRps(), options.getUsers());
+        LatencyRecorder recorder = new LatencyRecorder(workload.getOperationNames());
+        drive(options.getDuration(), recorder);
+        return recorder;
+    }
+
+    private void drive(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        Semaphore users = new Semaphore(options.getUsers());
+        long interval = 1_000_000_000L / options.getRps();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long arrival = start; arrival < end; arrival += interval) {
+                long wait = arrival - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Workload.Operation operation = workload.next(random);
+                HttpRequest request = operation.newRequest(random);
+                if (!users.tryAcquire()) {
+                    recorder.dropped(operation.getName());
+                    continue;
+                }
+
+                long scheduled = arrival;
+                executor.submit(() -> {
+                    try {
+                        send(operation.getName(), request, scheduled, recorder);
+                    } finally {
+                        users.release();
+                    }
+                });
+            }
+
+            // Let in-flight requests finish so they are counted, but not forever
+            if (!users.tryAcquire(options.getUsers(), options.getRequestTimeout().toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+                log.warn("Requests still in flight after the request timeout; cancelling them");
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void send(String operation, HttpRequest request, long scheduled, LatencyRecorder recorder) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - scheduled;
+            if (response.statusCode() >= 400) {
+                recorder.error(operation, latency, "http-" + response.statusCode());
+            } else {
+                recorder.success(operation, latency);
+            }
+        } catch (HttpTimeoutException e) {
+            recorder.error(operation, System.nanoTime() - scheduled, "timeout");
+        } catch (IOException e) {
+            recorder.error(operation, System.nanoTime() - scheduled, "io-" + e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.admin.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test entry point. Boots the application on a random port against an
+ * embedded H2 database, seeds the synthetic org unless the database already has
+ * it, drives the workload, writes the report and exits non-zero when the gate
+ * fails. With {@code --base-url} it skips the boot and seed and only drives load.
+ */
+@Slf4j
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.getBaseUrl();
+        if (baseUrl == null) {
+            context = boot(options);
+            new AttendanceSeeder(context, options).seed();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        int exitCode;
+        try {
+            Workload workload = new Workload(options, baseUrl);
+            Instant startedAt = Instant.now();
+            LatencyRecorder recorder = new LoadDriver(options, workload).run();
+
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            LoadTestReport report = LoadTestReport.of(options, baseUrl, startedAt, workload.getWeights(), recorder);
+            report = report.withGate(new RegressionGate(objectMapper, options).evaluate(report));
+
+            Files.createDirectories(options.getOutput().toAbsolutePath().getParent());
+            objectMapper.writeValue(options.getOutput().toFile(), report);
+
+            for (LoadTestReport.OperationReport operation : report.getOperations()) {
+                log.info("{}: {} requests, p50 {} ms, p95 {} ms, p99 {} ms, max {} ms, error rate {}",
+                    operation.getOperation(), operation.getRequests(), operation.getP50Ms(), operation.getP95Ms(),
+                    operation.getP99Ms(), operation.getMaxMs(), operation.getErrorRate());
+            }
+            report.getGate().getViolations().forEach(violation -> log.warn("Gate violation: {}", violation));
+            log.info("Report written to {}; gate {}", options.getOutput(), report.getGate().isPassed() ? "passed" : "failed");
+
+            exitCode = report.getGate().isPassed() ? 0 : 1;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) throws ClassNotFoundException {
+        if (options.getAppClass() == null) {
+            throw new IllegalArgumentException("Pass --app-class=<Spring Boot application class> or --base-url=<running instance>");
+        }
+        Class<?> applicationClass = Class.forName(options.getAppClass());
+        SyntheticOrg org = new SyntheticOrg(options.getEmployees());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", options.getJdbcUrl());
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 32);
+        // The attendance table comes from the entity; AdminMigrations runs the admin migrations after it
+        properties.put("spring.flyway.enabled", false);
+        properties.put("spring.liquibase.enabled", false);
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", 1000);
+        properties.put("spring.jpa.properties.hibernate.order_inserts", true);
+        properties.put("admin.attendance.export-jobs.spool-dir",
+            Path.of(System.getProperty("java.io.tmpdir"), "attendance-loadtest-exports").toString());
+        properties.putAll(options.getApplicationProperties());
+
+        return new SpringApplicationBuilder(applicationClass)
+            .properties(properties)
+            .initializers(context -> {
+                context.getBeanFactory().registerSingleton("loadTestOrg", org);
+                context.getBeanFactory().addBeanPostProcessor(new AdminMigrations());
+            })
+            .run();
+    }
+}
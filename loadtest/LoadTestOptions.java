@@ -0,0 +1,171 @@
+package com.company.admin.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test options, given as {@code --name=value} arguments. Without
+ * {@code --base-url} the harness boots the application class named by
+ * {@code --app-class} against an embedded H2 database and seeds it first.
+ */
+public final class LoadTestOptions {
+
+    private final Map<String, String> values;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    /**
+     * Fully qualified name of the Spring Boot application class to boot
+     */
+    public String getAppClass() {
+        return values.get("app-class");
+    }
+
+    /**
+     * Target an already running instance instead of booting one
+     */
+    public String getBaseUrl() {
+        return values.get("base-url");
+    }
+
+    public String getJdbcUrl() {
+        return values.getOrDefault("jdbc-url",
+            "jdbc:h2:file:./target/loadtest/attendance;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    /**
+     * Value of the Authorization header sent with every request
+     */
+    public String getAuthorization() {
+        return values.get("authorization");
+    }
+
+    public int getEmployees() {
+        return intValue("employees", 20_000);
+    }
+
+    public int getMonths() {
+        return intValue("months", 24);
+    }
+
+    /**
+     * Last seeded month; it is seeded up to today so check-in endpoints see open rows
+     */
+    public YearMonth getLastMonth() {
+        return values.containsKey("last-month") ? YearMonth.parse(values.get("last-month")) : YearMonth.now();
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    /**
+     * Drop and reseed even if the database already has attendance rows
+     */
+    public boolean isReseed() {
+        return Boolean.parseBoolean(values.getOrDefault("reseed", "false"));
+    }
+
+    public int getRps() {
+        return intValue("rps", 200);
+    }
+
+    /**
+     * Maximum requests in flight; arrivals beyond it are counted as dropped
+     */
+    public int getUsers() {
+        return intValue("users", 64);
+    }
+
+    public Duration getWarmup() {
+        return Duration.parse(values.getOrDefault("warmup", "PT30S"));
+    }
+
+    public Duration getDuration() {
+        return Duration.parse(values.getOrDefault("duration", "PT5M"));
+    }
+
+    public Duration getRequestTimeout() {
+        return Duration.parse(values.getOrDefault("request-timeout", "PT30S"));
+    }
+
+    /**
+     * Operation weights, e.g. {@code summary:20,by-date:25}; unnamed operations keep their default
+     */
+    public Map<String, Integer> getMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        String spec = values.get("mix");
+        if (spec == null || spec.isBlank()) {
+            return mix;
+        }
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got " + part);
+            }
+            mix.put(entry[0], Integer.parseInt(entry[1]));
+        }
+        return mix;
+    }
+
+    public Path getOutput() {
+        return Path.of(values.getOrDefault("output", "target/loadtest/report.json"));
+    }
+
+    /**
+     * Report of an earlier run to compare against; the run fails when it regressed
+     */
+    public Path getBaseline() {
+        return values.containsKey("baseline") ? Path.of(values.get("baseline")) : null;
+    }
+
+    /**
+     * Allowed relative increase of an operation's p95 and p99 over the baseline
+     */
+    public double getMaxLatencyRegression() {
+        return Double.parseDouble(values.getOrDefault("max-latency-regression", "0.20"));
+    }
+
+    /**
+     * Allowed error rate of any operation, regardless of the baseline
+     */
+    public double getMaxErrorRate() {
+        return Double.parseDouble(values.getOrDefault("max-error-rate", "0.01"));
+    }
+
+    /**
+     * Options naming application properties, such as {@code --spring.profiles.active=loadtest},
+     * passed through to the booted application
+     */
+    public Map<String, String> getApplicationProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        values.forEach((name, value) -> {
+            if (name.startsWith("spring.") || name.startsWith("admin.") || name.startsWith("server.")) {
+                properties.put(name, value);
+            }
+        });
+        return properties;
+    }
+
+    private int intValue(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,126 @@
+package com.company.admin.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test run, written as JSON. Latencies are in
+ * milliseconds; the error rate counts failed and dropped requests against all
+ * arrivals of the operation.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LoadTestReport {
+
+    String startedAt;
+    String target;
+    int employees;
+    int months;
+    int targetRps;
+    int users;
+    double durationSeconds;
+    Map<String, Integer> mix;
+    List<OperationReport> operations;
+    Gate gate;
+
+    @Value
+    @Builder
+    public static class OperationReport {
+        String operation;
+        long requests;
+        long errors;
+        long dropped;
+        double errorRate;
+        double throughputRps;
+        double p50Ms;
+        double p95Ms;
+        double p99Ms;
+        double maxMs;
+        double meanMs;
+        Map<String, Long> errorsByOutcome;
+    }
+
+    @Value
+    @Builder
+    public static class Gate {
+        String baseline;
+        double maxLatencyRegression;
+        double maxErrorRate;
+        boolean passed;
+        List<String> violations;
+    }
+
+    public static LoadTestReport of(LoadTestOptions options, String target, Instant startedAt,
+                                    Map<String, Integer> mix, LatencyRecorder recorder) {
+        double seconds = options.getDuration().toMillis() / 1000.0;
+
+        List<OperationReport> operations = new ArrayList<>();
+        recorder.getStats().forEach((name, stats) -> {
+            long[] sorted = stats.sortedLatencies();
+            long arrivals = sorted.length + stats.getDropped();
+            long failed = stats.getErrorCount() + stats.getDropped();
+
+            long sum = 0;
+            for (long latency : sorted) {
+                sum += latency;
+            }
+
+            Map<String, Long> outcomes = new LinkedHashMap<>(stats.getErrors());
+            if (stats.getDropped() > 0) {
+                outcomes.put("dropped", stats.getDropped());
+            }
+
+            operations.add(OperationReport.builder()
+                .operation(name)
+                .requests(sorted.length)
+                .errors(stats.getErrorCount())
+                .dropped(stats.getDropped())
+                .errorRate(arrivals > 0 ? (double) failed / arrivals : 0)
+                .throughputRps(sorted.length / seconds)
+                .p50Ms(millis(percentile(sorted, 50)))
+                .p95Ms(millis(percentile(sorted, 95)))
+                .p99Ms(millis(percentile(sorted, 99)))
+                .maxMs(millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0))
+                .meanMs(millis(sorted.length > 0 ? sum / sorted.length : 0))
+                .errorsByOutcome(outcomes)
+                .build());
+        });
+
+        return LoadTestReport.builder()
+            .startedAt(startedAt.toString())
+            .target(target)
+            .employees(options.getEmployees())
+            .months(options.getMonths())
+            .targetRps(options.getRps())
+            .users(options.getUsers())
+            .durationSeconds(seconds)
+            .mix(mix)
+            .operations(operations)
+            .build();
+    }
+
+    public LoadTestReport withGate(Gate gate) {
+        return toBuilder().gate(gate).build();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted microsecond latencies
+     */
+    static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.admin.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Release gate over a report. Every operation must stay under the maximum error
+ * rate; with a baseline report, its p95 and p99 must also stay within the allowed
+ * regression of the baseline's. Operations missing from the baseline are only
+ * checked for errors.
+ */
+public final class RegressionGate {
+
+    private final ObjectMapper objectMapper;
+    private final LoadTestOptions options;
+
+    public RegressionGate(ObjectMapper objectMapper, LoadTestOptions options) {
+        this.objectMapper = objectMapper;
+        this.options = options;
+    }
+
+    public LoadTestReport.Gate evaluate(LoadTestReport report) throws IOException {
+        Map<String, JsonNode> baseline = readBaseline(options.getBaseline());
+        double allowed = 1 + options.getMaxLatencyRegression();
+
+        List<String> violations = new ArrayList<>();
+        for (LoadTestReport.OperationReport operation : report.getOperations()) {
+            String name = operation.getOperation();
+            if (operation.getErrorRate() > options.getMaxErrorRate()) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f",
+                    name, operation.getErrorRate(), options.getMaxErrorRate()));
+            }
+
+            JsonNode previous = baseline.get(name);
+            if (previous == null) {
+                continue;
+            }
+            checkLatency(violations, name, "p95", operation.getP95Ms(), previous.path("p95Ms").asDouble(), allowed);
+            checkLatency(violations, name, "p99", operation.getP99Ms(), previous.path("p99Ms").asDouble(), allowed);
+        }
+
+        return LoadTestReport.Gate.builder()
+            .baseline(options.getBaseline() != null ? options.getBaseline().toString() : null)
+            .maxLatencyRegression(options.getMaxLatencyRegression())
+            .maxErrorRate(options.getMaxErrorRate())
+            .passed(violations.isEmpty())
+            .violations(violations)
+            .build();
+    }
+
+    private static void checkLatency(List<String> violations, String name, String percentile,
+                                     double current, double previous, double allowed) {
+        if (previous > 0 && current > previous * allowed) {
+            violations.add(String.format("%s: %s %.1f ms is %.0f%% above baseline %.1f ms",
+                name, percentile, current, (current / previous - 1) * 100, previous));
+        }
+    }
+
+    private Map<String, JsonNode> readBaseline(Path path) throws IOException {
+        Map<String, JsonNode> operations = new HashMap<>();
+        if (path == null) {
+            return operations;
+        }
+        for (JsonNode operation : objectMapper.readTree(path.toFile()).path("operations")) {
+            operations.put(operation.path("operation").asText(), operation);
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.admin.loadtest;
+
+import com.company.admin.directory.EmployeeDirectoryClient;
+import com.company.admin.directory.EmployeeInfo;
+import com.company.admin.roster.EmployeeRosterSource;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Seeded organisation of employees 1 to n. Registered in the booted context as
+ * both the directory client and the roster source, so responses carry employee
+ * details and absent-today sees the whole org, as they would in production.
+ */
+public final class SyntheticOrg implements EmployeeDirectoryClient, EmployeeRosterSource {
+
+    static final int DEPARTMENTS = 25;
+
+    private final int employees;
+
+    public SyntheticOrg(int employees) {
+        this.employees = employees;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    @Override
+    public Map<Long, EmployeeInfo> findByIds(Collection<Long> userIds) {
+        Map<Long, EmployeeInfo> found = new HashMap<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            if (userId != null && userId >= 1 && userId <= employees) {
+                found.put(userId, EmployeeInfo.builder()
+                    .userId(userId)
+                    .name("Employee " + userId)
+                    .department("Department " + (userId % DEPARTMENTS))
+                    .build());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long[] fetchActiveEmployeeIds() {
+        return LongStream.rangeClosed(1, employees).toArray();
+    }
+}
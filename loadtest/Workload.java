@@ -0,0 +1,189 @@
+package com.company.admin.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Weighted mix of admin attendance operations over the seeded org. Each draw picks
+ * an operation by weight and builds its request with random employees, days and
+ * months within the seeded range.
+ */
+public final class Workload {
+
+    static final String API = "/api/v1/admin/attendance";
+
+    private static final String[] MANUAL_STATUSES = {"PRESENT", "ABSENT", "LEAVE"};
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    public Workload(LoadTestOptions options, String baseUrl) {
+        Target target = new Target(baseUrl, options);
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("summary", 20);
+        weights.put("by-date", 25);
+        weights.put("range", 25);
+        weights.put("checked-in-now", 20);
+        weights.put("export", 2);
+        weights.put("manual-mark", 8);
+        options.getMix().forEach((name, weight) -> {
+            if (!weights.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation in --mix: " + name + "; expected one of " + weights.keySet());
+            }
+            weights.put(name, weight);
+        });
+
+        add(weights, target, "summary", (t, r) -> {
+            YearMonth month = t.month(r);
+            return t.get("/summary?month=" + month.getMonthValue() + "&year=" + month.getYear());
+        });
+        add(weights, target, "by-date", (t, r) -> t.get("/date/" + t.workingDay(r)));
+        add(weights, target, "range", (t, r) -> {
+            LocalDate end = t.workingDay(r);
+            return t.get("/employee/" + t.employee(r) + "/range?startDate=" + end.minusDays(30) + "&endDate=" + end);
+        });
+        add(weights, target, "checked-in-now", (t, r) -> t.get("/checked-in-now"));
+        add(weights, target, "export", (t, r) -> {
+            YearMonth month = t.month(r);
+            return t.get("/export?month=" + month.getMonthValue() + "&year=" + month.getYear() + "&format=csv");
+        });
+        add(weights, target, "manual-mark", (t, r) -> t.post("/manual-mark",
+            "{\"userId\":" + t.employee(r)
+                + ",\"date\":\"" + t.workingDay(r)
+                + "\",\"status\":\"" + MANUAL_STATUSES[r.nextInt(MANUAL_STATUSES.length)]
+                + "\",\"remarks\":\"Load test\"}"));
+
+        operations.removeIf(operation -> operation.weight <= 0);
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Every operation in --mix has weight 0");
+        }
+        this.totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+    }
+
+    public List<String> getOperationNames() {
+        return operations.stream().map(operation -> operation.name).toList();
+    }
+
+    public Map<String, Integer> getWeights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        operations.forEach(operation -> weights.put(operation.name, operation.weight));
+        return weights;
+    }
+
+    /**
+     * Pick the next operation by weight
+     */
+    public Operation next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void add(Map<String, Integer> weights, Target target, String name,
+                     BiFunction<Target, SplittableRandom, HttpRequest> factory) {
+        operations.add(new Operation(name, weights.get(name), target, factory));
+    }
+
+    public static final class Operation {
+
+        private final String name;
+        private final int weight;
+        private final Target target;
+        private final BiFunction<Target, SplittableRandom, HttpRequest> factory;
+
+        Operation(String name, int weight, Target target, BiFunction<Target, SplittableRandom, HttpRequest> factory) {
+            this.name = name;
+            this.weight = weight;
+            this.target = target;
+            this.factory = factory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HttpRequest newRequest(SplittableRandom random) {
+            return factory.apply(target, random);
+        }
+    }
+
+    /**
+     * Seeded range and request defaults shared by every operation
+     */
+    static final class Target {
+
+        private final String baseUrl;
+        private final String authorization;
+        private final Duration timeout;
+        private final int employees;
+        private final YearMonth firstMonth;
+        private final YearMonth lastMonth;
+        private final LocalDate lastDay;
+        private final int monthCount;
+
+        Target(String baseUrl, LoadTestOptions options) {
+            this.baseUrl = baseUrl;
+            this.authorization = options.getAuthorization();
+            this.timeout = options.getRequestTimeout();
+            this.employees = options.getEmployees();
+            this.lastMonth = options.getLastMonth();
+            this.firstMonth = lastMonth.minusMonths(options.getMonths() - 1L);
+            LocalDate today = LocalDate.now();
+            this.lastDay = lastMonth.atEndOfMonth().isAfter(today) ? today : lastMonth.atEndOfMonth();
+            this.monthCount = options.getMonths();
+        }
+
+        long employee(SplittableRandom random) {
+            return 1 + random.nextInt(employees);
+        }
+
+        YearMonth month(SplittableRandom random) {
+            YearMonth month = firstMonth.plusMonths(random.nextInt(monthCount));
+            return month.isAfter(YearMonth.from(lastDay)) ? YearMonth.from(lastDay) : month;
+        }
+
+        LocalDate workingDay(SplittableRandom random) {
+            long days = lastDay.toEpochDay() - firstMonth.atDay(1).toEpochDay() + 1;
+            LocalDate day = firstMonth.atDay(1).plusDays(random.nextLong(days));
+            while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                day = day.minusDays(1);
+            }
+            return day.isBefore(firstMonth.atDay(1)) ? firstMonth.atDay(1) : day;
+        }
+
+        HttpRequest get(String path) {
+            return builder(path).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return builder(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        }
+
+        private HttpRequest.Builder builder(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + API + path)).timeout(timeout);
+            if (authorization != null) {
+                builder.header("Authorization", authorization);
+            }
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.company.admin.archive;
+
+import com.company.admin.model.MonthlyRollup;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveFileTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 2);
+    private static final int EMPLOYEES = 3;
+    private static final int DAYS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rowsReadBackAsWritten() throws IOException {
+        List<Object[]> rows = rows();
+        try (ArchiveFile file = write(rows, 4)) {
+            assertEquals(rows.size(), file.getRowCount());
+
+            List<Attendance> read = new ArrayList<>();
+            file.scan(null, 1, MONTH.lengthOfMonth(), AttendanceArchive.ALL_COLUMNS, group -> {
+                for (int i = 0; i < group.size(); i++) {
+                    read.add(group.toAttendance(i));
+                }
+            });
+            read.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+
+            assertEquals(rows.size(), read.size());
+            for (int r = 0; r < rows.size(); r++) {
+                Object[] row = rows.get(r);
+                Attendance attendance = read.get(r);
+                assertEquals(row[0], attendance.getId());
+                assertEquals(row[1], attendance.getUserId());
+                assertEquals(row[2], attendance.getDate());
+                assertEquals(row[3], attendance.getAttendanceStatus());
+                assertEquals(row[4], attendance.getCheckInTime());
+                assertEquals(row[5], attendance.getCheckOutTime());
+                assertEquals(row[6], attendance.getTotalHours());
+                if (row[7] != null) {
+                    assertEquals(row[7], attendance.getCheckInLocation().getLatitude());
+                    assertEquals(row[8], attendance.getCheckInLocation().getLongitude());
+                } else {
+                    assertNull(attendance.getCheckInLocation());
+                }
+                assertNull(attendance.getCheckOutLocation());
+                assertEquals(row[11], attendance.getRemarks());
+            }
+
+            MonthlyRollup rollup = AttendanceArchive.summarize(file);
+            assertEquals(EMPLOYEES, rollup.getEmployeeCount());
+            assertEquals(rows.size(), rollup.getStatusTotals().values().stream()
+                .mapToLong(MonthlyRollup.StatusTotals::getRecords).sum());
+        }
+    }
+
+    @Test
+    void dayAndEmployeeReadsSkipOtherRowGroups() throws IOException {
+        // Every employee fills a block of its own, written as one row group per day
+        try (ArchiveFile file = write(rows(), 4)) {
+            assertEquals(EMPLOYEES * DAYS, file.getRowGroupCount());
+
+            List<Integer> dayGroups = new ArrayList<>();
+            List<Integer> employeeGroups = new ArrayList<>();
+            for (int g = 0; g < file.getRowGroupCount(); g++) {
+                if (file.mayContain(g, null, 3, 3)) {
+                    dayGroups.add(g);
+                }
+                if (file.mayContain(g, 2L, 1, MONTH.lengthOfMonth())) {
+                    employeeGroups.add(g);
+                }
+            }
+            assertEquals(EMPLOYEES, dayGroups.size());
+            assertEquals(DAYS, employeeGroups.size());
+
+            for (int g : dayGroups) {
+                ArchiveRowGroup group = file.readRowGroup(g, EnumSet.of(ArchiveColumn.USER_ID, ArchiveColumn.DAY));
+                for (int i = 0; i < group.size(); i++) {
+                    assertEquals(3, group.getDay(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void fileClosesWithItsLastReference() throws IOException {
+        ArchiveFile file = write(rows(), 64);
+        assertTrue(file.retain());
+
+        file.close();
+        assertEquals(1, file.readRowGroup(0, EnumSet.of(ArchiveColumn.DAY)).getDay(0));
+
+        file.close();
+        assertFalse(file.retain());
+        assertThrows(IOException.class, () -> file.readRowGroup(0, EnumSet.of(ArchiveColumn.DAY)));
+    }
+
+    private ArchiveFile write(List<Object[]> rows, int rowsPerGroup) throws IOException {
+        Path path = directory.resolve(AttendanceArchive.fileName(MONTH));
+        try (ArchiveFileWriter writer = new ArchiveFileWriter(path, MONTH, rowsPerGroup)) {
+            for (Object[] row : rows) {
+                writer.append(row);
+            }
+            writer.finish();
+        }
+        return ArchiveFile.open(path);
+    }
+
+    /**
+     * Rows as streamed for archiving, sorted by employee and date
+     */
+    private static List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        for (long userId = 1; userId <= EMPLOYEES; userId++) {
+            for (int day = 1; day <= DAYS; day++) {
+                LocalDate date = MONTH.atDay(day);
+                boolean present = day != 2;
+                rows.add(new Object[] {
+                    id++,
+                    userId,
+                    date,
+                    present ? AttendanceStatus.PRESENT : AttendanceStatus.LEAVE,
+                    present ? LocalTime.of(9, day) : null,
+                    present ? LocalTime.of(17, 30) : null,
+                    present ? 8.5 - day / 60.0 : null,
+                    present ? new BigDecimal("12.97160000").add(BigDecimal.valueOf(userId, 8)) : null,
+                    present ? new BigDecimal("77.59460000") : null,
+                    null,
+                    null,
+                    present ? null : "Approved leave"
+                });
+            }
+        }
+        return rows;
+    }
+}
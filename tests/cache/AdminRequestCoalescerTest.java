@@ -0,0 +1,105 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.ExportJobResponse;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.export.job.ExportJobStatus;
+import com.company.admin.service.AdminAttendanceService;
+import com.company.admin.service.AttendanceExportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminRequestCoalescerTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private AdminAttendanceService adminAttendanceService;
+    private AttendanceExportJobService exportJobService;
+    private AdminRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        adminAttendanceService = mock(AdminAttendanceService.class);
+        exportJobService = mock(AttendanceExportJobService.class);
+        coalescer = new AdminRequestCoalescer(adminAttendanceService, exportJobService, new AdminAttendanceProperties());
+    }
+
+    @Test
+    void callersGetTheirOwnCopyOfNestedSummaryValues() {
+        when(adminAttendanceService.getAttendanceSummary(2026, 3)).thenReturn(Map.of(
+            "statusBreakdown", Map.of("PRESENT", 3L),
+            "days", List.of(Map.of("day", 1))));
+
+        Map<String, Object> first = coalescer.getAttendanceSummary(2026, 3);
+        castMap(first.get("statusBreakdown")).put("PRESENT", 0L);
+        castMap(((List<?>) first.get("days")).get(0)).put("day", 2);
+
+        Map<String, Object> second = coalescer.getAttendanceSummary(2026, 3);
+        assertEquals(3L, castMap(second.get("statusBreakdown")).get("PRESENT"));
+        assertEquals(1, castMap(((List<?>) second.get("days")).get(0)).get("day"));
+    }
+
+    @Test
+    void exportIsServedFromTheSharedJobFile() throws Exception {
+        Path file = spoolDir.resolve("job-1.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("id,name\n1,Asha\n".getBytes(StandardCharsets.UTF_8));
+        }
+        when(exportJobService.submit(2026, 3, "csv")).thenReturn(job(ExportJobStatus.RUNNING));
+        when(exportJobService.getJob("job-1")).thenReturn(
+            Optional.of(job(ExportJobStatus.RUNNING)), Optional.of(job(ExportJobStatus.COMPLETED)));
+        when(exportJobService.getCompletedJob("job-1")).thenReturn(
+            Optional.of(ExportJob.builder().id("job-1").status(ExportJobStatus.COMPLETED).file(file).build()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        coalescer.exportAttendanceReport(2026, 3, "csv", out);
+
+        assertEquals("id,name\n1,Asha\n", out.toString(StandardCharsets.UTF_8));
+        verify(adminAttendanceService, never()).exportAttendanceReport(eq(2026), eq(3), eq("csv"), any(OutputStream.class));
+    }
+
+    @Test
+    void failedJobFallsBackToADirectExport() throws Exception {
+        when(exportJobService.submit(2026, 3, "csv")).thenReturn(job(ExportJobStatus.QUEUED));
+        when(exportJobService.getJob("job-1")).thenReturn(Optional.of(job(ExportJobStatus.FAILED)));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("direct".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(adminAttendanceService).exportAttendanceReport(eq(2026), eq(3), eq("csv"), any(OutputStream.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        coalescer.exportAttendanceReport(2026, 3, "csv", out);
+
+        assertEquals("direct", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ExportJobResponse job(ExportJobStatus status) {
+        return ExportJobResponse.builder().jobId("job-1").status(status).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> castMap(Object value) {
+        return (Map<Object, Object>) value;
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.repository.AttendanceVersionRepository;
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AttendanceVersionsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final YearMonth MONTH = YearMonth.from(DAY);
+
+    private DriverManagerDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private AttendanceVersions node1;
+    private AttendanceVersions node2;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V2026_02_07__attendance_version.sql"))
+            .execute(dataSource);
+        new JdbcTemplate(dataSource).update(
+            "INSERT INTO attendance_version (version_year, version_month, user_id, version) VALUES (2026, 3, 0, 41)");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V2026_02_10__attendance_day_version.sql"))
+            .execute(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AttendanceVersionRepository repository = new AttendanceVersionRepository(new JdbcTemplate(dataSource));
+        node1 = new AttendanceVersions(repository, transactionManager, new AdminAttendanceProperties());
+        node2 = new AttendanceVersions(repository, transactionManager, new AdminAttendanceProperties());
+    }
+
+    @Test
+    void writeOnOneNodeChangesTagsOnEveryNode() {
+        String month = node2.monthVersion(MONTH);
+        String employee = node2.employeeMonthVersion(7L, MONTH);
+        String other = node2.employeeMonthVersion(8L, MONTH);
+
+        write(node1, 7L, DAY);
+
+        assertNotEquals(month, node2.monthVersion(MONTH));
+        assertNotEquals(employee, node2.employeeMonthVersion(7L, MONTH));
+        assertEquals(other, node2.employeeMonthVersion(8L, MONTH));
+        assertEquals(node1.dayVersion(DAY), node2.dayVersion(DAY));
+    }
+
+    @Test
+    void rangeTagChangesWhenAnyMonthChanges() {
+        YearMonth from = MONTH.minusMonths(2);
+        String range = node1.monthRangeVersion(from, MONTH);
+        String employeeRange = node1.employeeRangeVersion(7L, from.atDay(1), DAY);
+
+        write(node1, 7L, from.atDay(5));
+
+        assertNotEquals(range, node1.monthRangeVersion(from, MONTH));
+        assertNotEquals(employeeRange, node1.employeeRangeVersion(7L, from.atDay(1), DAY));
+        assertEquals(node1.monthVersion(MONTH), node2.monthVersion(MONTH));
+    }
+
+    @Test
+    void writesOfOneDayAreSpreadOverStripes() {
+        String otherDay = node1.dayVersion(DAY.plusDays(1));
+        String day = node1.dayVersion(DAY);
+
+        write(node1, 7L, DAY);
+        write(node1, 8L, DAY);
+        write(node1, 7L + AttendanceVersionRepository.DAY_STRIPES, DAY);
+
+        assertNotEquals(day, node1.dayVersion(DAY));
+        assertEquals(otherDay, node1.dayVersion(DAY.plusDays(1)));
+        assertEquals(List.of(2L, 1L), new JdbcTemplate(dataSource).queryForList(
+            "SELECT version FROM attendance_day_version WHERE version_date = ? ORDER BY stripe", Long.class, DAY));
+    }
+
+    @Test
+    void monthTagsContinueFromTheWholeMonthCounters() {
+        assertEquals(41L, new JdbcTemplate(dataSource).queryForObject(
+            "SELECT SUM(version) FROM attendance_day_version", Long.class));
+        String month = node1.monthVersion(MONTH);
+
+        write(node1, 7L, DAY);
+
+        assertEquals("42", node1.monthVersion(MONTH).split("-")[0]);
+        assertNotEquals(month, node1.monthVersion(MONTH));
+    }
+
+    @Test
+    void rolledBackWriteKeepsTags() {
+        String month = node1.monthVersion(MONTH);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            node1.onAttendanceChanged(event(7L, DAY));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(month, node1.monthVersion(MONTH));
+    }
+
+    @Test
+    void bufferedWriteOnlyChangesTheBufferingNode() {
+        String month = node2.monthVersion(MONTH);
+
+        node1.onBufferedWrite(7L, DAY);
+
+        assertNotEquals(month, node1.monthVersion(MONTH));
+        assertEquals(month, node2.monthVersion(MONTH));
+    }
+
+    private void write(AttendanceVersions node, Long userId, LocalDate date) {
+        transactionTemplate.executeWithoutResult(status -> node.onAttendanceChanged(event(userId, date)));
+    }
+
+    private static AttendanceChangedEvent event(Long userId, LocalDate date) {
+        return new AttendanceChangedEvent(List.of(AttendanceChange.builder()
+            .type(AttendanceChange.Type.INSERTED)
+            .userId(userId)
+            .date(date)
+            .status(AttendanceStatus.PRESENT)
+            .build()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.admin.cache;
+
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.repository.AttendanceVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeMonthCacheTest {
+
+    private AdminAttendanceProperties properties;
+    private AttendanceVersionRepository versionRepository;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdminAttendanceProperties();
+        versionRepository = mock(AttendanceVersionRepository.class);
+    }
+
+    @Test
+    void closedMonthsAreServedWithoutReadingVersions() {
+        EmployeeMonthCache cache = new EmployeeMonthCache(properties, versionRepository);
+        EmployeeMonthKey key = new EmployeeMonthKey(7L, YearMonth.now().minusMonths(3));
+
+        get(cache, key);
+        get(cache, key);
+
+        assertEquals(1, loads.get());
+        verify(versionRepository, never()).sum(anyLong(), any(), any());
+    }
+
+    @Test
+    void openMonthsAreCheckedOncePerInterval() {
+        properties.getEmployeeMonthCache().setVersionCheckInterval(Duration.ofHours(1));
+        EmployeeMonthCache cache = new EmployeeMonthCache(properties, versionRepository);
+        EmployeeMonthKey key = new EmployeeMonthKey(7L, YearMonth.now());
+        when(versionRepository.sum(anyLong(), any(), any())).thenReturn(1L, 2L);
+
+        get(cache, key);
+        get(cache, key);
+
+        assertEquals(1, loads.get());
+        verify(versionRepository, times(1)).sum(anyLong(), any(), any());
+    }
+
+    @Test
+    void openMonthsReloadWhenTheirCounterMoved() {
+        properties.getEmployeeMonthCache().setVersionCheckInterval(Duration.ZERO);
+        EmployeeMonthCache cache = new EmployeeMonthCache(properties, versionRepository);
+        EmployeeMonthKey key = new EmployeeMonthKey(7L, YearMonth.now());
+        when(versionRepository.sum(anyLong(), any(), any())).thenReturn(1L, 1L, 2L);
+
+        get(cache, key);
+        get(cache, key);
+        assertEquals(1, loads.get());
+
+        get(cache, key);
+        assertEquals(2, loads.get());
+    }
+
+    private Map<String, Object> get(EmployeeMonthCache cache, EmployeeMonthKey key) {
+        return cache.getLocationAnalytics(key, k -> Map.of("load", loads.incrementAndGet()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.admin.columnar;
+
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthColumnsTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+
+    @Test
+    void deletedRowsAreCompactedAwayOnceLoaded() {
+        MonthColumns columns = new MonthColumns(MONTH);
+        for (long id = 1; id <= 4000; id++) {
+            columns.load(id, id % 50, (int) (id % 28) + 1, AttendanceStatus.PRESENT, 8.0, Double.NaN, Double.NaN);
+        }
+        columns.markLoaded();
+
+        for (long id = 1; id <= 2000; id++) {
+            columns.remove(id);
+        }
+
+        assertEquals(2000, columns.getRowCount());
+        assertTrue(columns.size < 4000);
+        assertEquals(2000, columns.query().count());
+
+        // Rows kept by compaction are still found by id
+        columns.upsert(3000, 7, 1, AttendanceStatus.ABSENT, 0.0, Double.NaN, Double.NaN, true);
+        columns.remove(3999);
+        assertEquals(1999, columns.getRowCount());
+        assertEquals(1, columns.query().status(AttendanceStatus.ABSENT).count());
+    }
+
+    @Test
+    void tombstonesOfUnloadedRowsSurviveUntilTheLoadEnds() {
+        MonthColumns columns = new MonthColumns(MONTH);
+        for (long id = 1; id <= 2000; id++) {
+            columns.remove(id);
+        }
+        for (long id = 1; id <= 2000; id++) {
+            columns.load(id, 1, 1, AttendanceStatus.PRESENT, 8.0, Double.NaN, Double.NaN);
+        }
+        columns.markLoaded();
+
+        assertEquals(0, columns.getRowCount());
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.admin.export;
+
+import com.company.admin.directory.EmployeeInfo;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import com.company.attendance.model.embedded.Location;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AttendanceCsvWriterTest {
+
+    @Test
+    void coordinatesAndTextStayInTheirColumns() throws IOException {
+        Attendance attendance = Attendance.builder()
+            .userId(7L)
+            .date(LocalDate.of(2026, 3, 9))
+            .build();
+        attendance.setAttendanceStatus(AttendanceStatus.PRESENT);
+        attendance.setCheckInTime(LocalTime.of(9, 0));
+        attendance.setCheckInLocation(Location.builder()
+            .latitude(new BigDecimal("12.97160000"))
+            .longitude(new BigDecimal("77.59460000"))
+            .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AttendanceCsvWriter writer = new AttendanceCsvWriter(out)) {
+            writer.writeRow(attendance, EmployeeInfo.builder().name("Doe, \"JD\" Jane").build());
+            writer.finish();
+        }
+
+        assertEquals("2026-03-09,7,PRESENT,09:00,,,\"12.97160000,77.59460000\",,\"Doe, \"\"JD\"\" Jane\",\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+}
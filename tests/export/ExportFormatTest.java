@@ -0,0 +1,55 @@
+package com.company.admin.export;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportFormatTest {
+
+    @Test
+    void missingFormatDefaultsToCsv() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter(null));
+    }
+
+    @Test
+    void formatIsTrimmedAndCaseInsensitive() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter(" CSV "));
+        assertEquals(ExportFormat.XLSX, ExportFormat.fromParameter("Xlsx"));
+    }
+
+    @Test
+    void excelAliasesResolveToXlsx() {
+        assertEquals(ExportFormat.XLSX, ExportFormat.fromParameter("xls"));
+        assertEquals(ExportFormat.XLSX, ExportFormat.fromParameter("excel"));
+    }
+
+    @Test
+    void arrowAliasesResolveToArrow() {
+        assertEquals(ExportFormat.ARROW, ExportFormat.resolve("arrow"));
+        assertEquals(ExportFormat.ARROW, ExportFormat.resolve(" Arrows "));
+    }
+
+    @Test
+    void arrowIsOnlyOfferedWhenArrowMemoryInitializes() {
+        if (ExportFormat.ARROW.isAvailable()) {
+            assertEquals(ExportFormat.ARROW, ExportFormat.fromParameter("arrow"));
+        } else {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ExportFormat.fromParameter("arrow"));
+            assertEquals("Export format arrow is not available on this server", e.getMessage());
+        }
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ExportFormat.fromParameter("pdf"));
+        assertEquals("Unsupported export format: pdf", e.getMessage());
+    }
+
+    @Test
+    void blankFormatIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter(""));
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.admin.presence;
+
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.attendance.dto.response.AttendanceResponse;
+import com.company.attendance.mapper.AttendanceMapper;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.repository.AttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttendancePresenceIndexTest {
+
+    private AttendanceRepository attendanceRepository;
+    private AdminAttendanceRepository adminAttendanceRepository;
+    private AttendancePresenceIndex index;
+    private final List<Object> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository = mock(AttendanceRepository.class);
+        adminAttendanceRepository = mock(AdminAttendanceRepository.class);
+        AttendanceMapper mapper = mock(AttendanceMapper.class);
+        when(mapper.toResponse(any())).thenAnswer(invocation -> {
+            Attendance a = invocation.getArgument(0);
+            return AttendanceResponse.builder().userId(a.getUserId()).date(a.getDate()).build();
+        });
+        ApplicationEventPublisher publisher = published::add;
+        index = new AttendancePresenceIndex(attendanceRepository, adminAttendanceRepository, mapper, publisher,
+            mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void checkInCommittedDuringReloadIsKept() {
+        LocalDate today = LocalDate.now();
+        when(attendanceRepository.findPendingCheckouts(today)).thenAnswer(invocation -> {
+            // Committed after the reload started reading, so missing from what it reads
+            index.onAttendanceChanged(checkIn(7L, today));
+            return List.of();
+        });
+        when(adminAttendanceRepository.findCheckedInUserIds(today)).thenReturn(List.of());
+
+        index.reconcile();
+
+        assertTrue(index.isCheckedIn(7L));
+        Roaring64Bitmap roster = Roaring64Bitmap.bitmapOf(7L, 8L);
+        assertEquals(1, index.notCheckedInToday(roster).getLongCardinality());
+    }
+
+    @Test
+    void reconcilePublishesDifferencesFromOtherNodes() {
+        LocalDate today = LocalDate.now();
+        index.onAttendanceChanged(checkIn(7L, today));
+        published.clear();
+
+        Attendance other = Attendance.builder().userId(8L).date(today).checkInTime(LocalTime.NOON).build();
+        when(attendanceRepository.findPendingCheckouts(today)).thenReturn(List.of(other));
+        when(adminAttendanceRepository.findCheckedInUserIds(today)).thenReturn(List.of(7L, 8L));
+
+        index.reconcile();
+
+        assertFalse(index.isCheckedIn(7L));
+        assertTrue(index.isCheckedIn(8L));
+        assertEquals(2, published.size());
+        assertTrue(published.stream().anyMatch(e -> e instanceof PresenceDelta d
+            && d.getType() == PresenceDelta.Type.CHECKED_OUT && d.getUserId() == 7L));
+        assertTrue(published.stream().anyMatch(e -> e instanceof PresenceDelta d
+            && d.getType() == PresenceDelta.Type.CHECKED_IN && d.getUserId() == 8L));
+    }
+
+    private static AttendanceChangedEvent checkIn(Long userId, LocalDate date) {
+        Attendance attendance = Attendance.builder().userId(userId).date(date).checkInTime(LocalTime.of(9, 0)).build();
+        return new AttendanceChangedEvent(List.of(AttendanceChange.builder()
+            .type(AttendanceChange.Type.INSERTED)
+            .userId(userId)
+            .date(date)
+            .checkInTime(attendance.getCheckInTime())
+            .attendance(attendance)
+            .build()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.admin.repository;
+
+import com.company.admin.export.ExportFormat;
+import com.company.admin.export.job.ExportJob;
+import com.company.admin.export.job.ExportJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceExportJobRepositoryTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+
+    private AttendanceExportJobRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V2026_02_08__attendance_export_job.sql"))
+            .execute(dataSource);
+        repository = new AttendanceExportJobRepository(new JdbcTemplate(dataSource));
+    }
+
+    @Test
+    void completedJobIsReusedOnlyForTheSameDataVersion() {
+        ExportJob job = insert("v1");
+        repository.markCompleted(job.getId(), 10, job.getId() + ".csv.gz", 100);
+
+        ExportJob reused = repository.findReusable(MONTH, ExportFormat.CSV, "v1", Instant.now()).orElseThrow();
+        assertEquals(job.getId(), reused.getId());
+        assertEquals(ExportJobStatus.COMPLETED, reused.getStatus());
+        assertEquals(10, reused.getRowsWritten());
+
+        assertTrue(repository.findReusable(MONTH, ExportFormat.CSV, "v2", Instant.now()).isEmpty());
+        assertTrue(repository.findReusable(MONTH, ExportFormat.XLSX, "v1", Instant.now()).isEmpty());
+    }
+
+    @Test
+    void failedAndUnrenewedJobsAreNotReused() {
+        ExportJob failed = insert("v1");
+        repository.markFailed(failed.getId(), "boom");
+        insert("v1");
+
+        Instant past = Instant.now().minusSeconds(60);
+        assertTrue(repository.findReusable(MONTH, ExportFormat.CSV, "v1", past).isPresent());
+        assertTrue(repository.findReusable(MONTH, ExportFormat.CSV, "v1", Instant.now().plusSeconds(1)).isEmpty());
+    }
+
+    @Test
+    void abandonedJobsAreFailed() {
+        ExportJob live = insert("v1");
+
+        assertEquals(1, repository.failAbandoned(Instant.now().plusSeconds(1), "Export was interrupted"));
+
+        ExportJob failed = repository.find(live.getId()).orElseThrow();
+        assertEquals(ExportJobStatus.FAILED, failed.getStatus());
+        assertEquals(1, repository.findFinishedBefore(Instant.now().plusSeconds(1)).size());
+    }
+
+    private ExportJob insert(String dataVersion) {
+        ExportJob job = ExportJob.builder()
+            .id(UUID.randomUUID().toString())
+            .yearMonth(MONTH)
+            .format(ExportFormat.CSV)
+            .dataVersion(dataVersion)
+            .status(ExportJobStatus.QUEUED)
+            .owner("node-1")
+            .createdAt(Instant.now())
+            .build();
+        repository.insert(job);
+        return job;
+    }
+}
@@ -0,0 +1,218 @@
+package com.company.admin.repository;
+
+import com.company.admin.model.MonthlyRollup;
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceRollupRepositoryTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AttendanceRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000;NON_KEYWORDS=DATE");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new AttendanceRollupRepository(jdbcTemplate);
+
+        jdbcTemplate.execute(
+            "CREATE TABLE attendance (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+            "date DATE NOT NULL, attendance_status VARCHAR(32), total_hours DOUBLE PRECISION)");
+        new ResourceDatabasePopulator(
+            new ClassPathResource("db/migration/V2026_02_02__attendance_monthly_rollup.sql"),
+            new ClassPathResource("db/migration/V2026_02_06__attendance_rollup_building.sql"),
+            new ClassPathResource("db/migration/V2026_02_09__attendance_rollup_stripes.sql"))
+            .execute(dataSource);
+    }
+
+    @Test
+    void rebuildCountsRowsAndKeepsStateRow() {
+        insertAttendance(1, MONTH.atDay(2), 8.0);
+        insertAttendance(1, MONTH.atDay(3), 7.5);
+        insertAttendance(2, MONTH.atDay(3), 6.0);
+
+        assertFalse(repository.lockMonth(MONTH));
+        repository.createMonth(MONTH);
+        assertTrue(repository.findMonth(MONTH).isEmpty(), "month being built must not be read");
+
+        repository.rebuild(MONTH);
+        MonthlyRollup rollup = repository.findMonth(MONTH).orElseThrow();
+        assertEquals(3, rollup.getRecords(AttendanceStatus.PRESENT));
+        assertEquals(21.5, rollup.getTotalHours(), 1e-9);
+        assertEquals(2, rollup.getEmployeeCount());
+
+        repository.rebuild(MONTH);
+        assertTrue(repository.isMaterialized(MONTH));
+        assertEquals(3, repository.findMonth(MONTH).orElseThrow().getTotalRecords());
+    }
+
+    @Test
+    void employeeCountFollowsEmployeeRecords() {
+        repository.createMonth(MONTH);
+        repository.rebuild(MONTH);
+
+        repository.addEmployeeRecords(MONTH, 7, 1);
+        repository.addEmployeeRecords(MONTH, 7, 1);
+        repository.addEmployeeRecords(MONTH, 8, 1);
+        assertEquals(2, repository.findMonth(MONTH).orElseThrow().getEmployeeCount());
+
+        repository.addEmployeeRecords(MONTH, 7, -2);
+        assertEquals(1, repository.findMonth(MONTH).orElseThrow().getEmployeeCount());
+    }
+
+    @Test
+    void employeesOfMonthsMergeIntoDistinctRangeCount() {
+        YearMonth next = MONTH.plusMonths(1);
+        insertAttendance(1, MONTH.atDay(2), 8.0);
+        insertAttendance(2, MONTH.atDay(3), 8.0);
+        insertAttendance(2, next.atDay(3), 8.0);
+        insertAttendance(3, next.atDay(4), 8.0);
+        for (YearMonth month : new YearMonth[] { MONTH, next }) {
+            repository.createMonth(month);
+            repository.rebuild(month);
+        }
+
+        Roaring64Bitmap employees = repository.findEmployees(MONTH);
+        employees.or(repository.findEmployees(next));
+        assertEquals(3, employees.getLongCardinality());
+    }
+
+    @Test
+    void concurrentFirstInsertOfAKeyIsAddedNotLost() throws Exception {
+        repository.createMonth(MONTH);
+        repository.rebuild(MONTH);
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s -> {
+            repository.addStatusTotals(MONTH, 0, AttendanceStatus.LEAVE, 1, 0);
+            inserted.countDown();
+            await(release);
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        // Neither writer locked the stripe; the second one's insert collides with the first
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s ->
+            repository.addStatusTotals(MONTH, 0, AttendanceStatus.LEAVE, 1, 0)));
+        Thread.sleep(200);
+        release.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertEquals(2, repository.findMonth(MONTH).orElseThrow().getRecords(AttendanceStatus.LEAVE));
+    }
+
+    @Test
+    void writerQueuesBehindRebuildAndIsNotLost() throws Exception {
+        insertAttendance(1, MONTH.atDay(2), 8.0);
+        repository.createMonth(MONTH);
+
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s -> {
+            repository.rebuild(MONTH);
+            rebuilt.countDown();
+            await(release);
+        }));
+        assertTrue(rebuilt.await(10, TimeUnit.SECONDS));
+
+        // A check-in the rebuild did not see; its delta must wait for the rebuild and land on top
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s -> {
+            insertAttendance(2, MONTH.atDay(4), 5.0);
+            assertTrue(repository.lockStripe(MONTH, AttendanceRollupRepository.stripe(2)));
+            repository.addStatusTotals(MONTH, AttendanceRollupRepository.stripe(2), AttendanceStatus.PRESENT, 1, 5.0);
+            repository.addEmployeeRecords(MONTH, 2, 1);
+        }));
+        Thread.sleep(200);
+        assertFalse(writer.isDone(), "writer must wait for the rebuild");
+        release.countDown();
+
+        rebuild.get(10, TimeUnit.SECONDS);
+        writer.get(10, TimeUnit.SECONDS);
+        MonthlyRollup rollup = repository.findMonth(MONTH).orElseThrow();
+        assertEquals(2, rollup.getRecords(AttendanceStatus.PRESENT));
+        assertEquals(13.0, rollup.getTotalHours(), 1e-9);
+        assertEquals(2, rollup.getEmployeeCount());
+    }
+
+    @Test
+    void writersOfOtherStripesDoNotWait() throws Exception {
+        repository.createMonth(MONTH);
+        repository.rebuild(MONTH);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s -> {
+            assertTrue(repository.lockStripe(MONTH, AttendanceRollupRepository.stripe(1)));
+            repository.addStatusTotals(MONTH, AttendanceRollupRepository.stripe(1), AttendanceStatus.PRESENT, 1, 8.0);
+            repository.addEmployeeRecords(MONTH, 1, 1);
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        // Another employee's stripe is free while the first writer is still open
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(s -> {
+            assertTrue(repository.lockStripe(MONTH, AttendanceRollupRepository.stripe(2)));
+            repository.addStatusTotals(MONTH, AttendanceRollupRepository.stripe(2), AttendanceStatus.PRESENT, 1, 6.0);
+            repository.addEmployeeRecords(MONTH, 2, 1);
+        }));
+        second.get(5, TimeUnit.SECONDS);
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        MonthlyRollup rollup = repository.findMonth(MONTH).orElseThrow();
+        assertEquals(2, rollup.getRecords(AttendanceStatus.PRESENT));
+        assertEquals(14.0, rollup.getTotalHours(), 1e-9);
+        assertEquals(2, rollup.getEmployeeCount());
+    }
+
+    @Test
+    void replacedMonthKeepsItsEmployeeCount() {
+        repository.createMonth(MONTH);
+        repository.replace(new MonthlyRollup(MONTH, 40,
+            Map.of(AttendanceStatus.PRESENT, new MonthlyRollup.StatusTotals(300, 2400.0))));
+
+        MonthlyRollup rollup = repository.findMonth(MONTH).orElseThrow();
+        assertEquals(40, rollup.getEmployeeCount());
+        assertEquals(300, rollup.getRecords(AttendanceStatus.PRESENT));
+    }
+
+    private void insertAttendance(long userId, LocalDate date, double hours) {
+        jdbcTemplate.update("INSERT INTO attendance (user_id, date, attendance_status, total_hours) VALUES (?, ?, ?, ?)",
+            userId, date, AttendanceStatus.PRESENT.name(), hours);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.cache.AdminRequestCoalescer;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.response.AdminDashboardResponse;
+import com.company.admin.service.AdminAttendanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdminDashboardServiceImplTest {
+
+    private AdminAttendanceService adminAttendanceService;
+    private AdminRequestCoalescer adminRequestCoalescer;
+    private SimpleAsyncTaskExecutor executor;
+    private AdminAttendanceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        adminAttendanceService = mock(AdminAttendanceService.class);
+        adminRequestCoalescer = mock(AdminRequestCoalescer.class);
+        executor = new SimpleAsyncTaskExecutor("dashboard-test-");
+        properties = new AdminAttendanceProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void sectionsBeyondTheLimitFailAtOnce() throws Exception {
+        properties.getDashboard().setMaxConcurrentSections(2);
+        AdminDashboardServiceImpl service = newService();
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(adminRequestCoalescer.getAttendanceSummary(2026, 3)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of("totalRecords", 1L);
+        });
+        when(adminAttendanceService.getCurrentlyCheckedInEmployees()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(adminAttendanceService.getAbsentEmployeesToday()).thenReturn(List.of());
+
+        Thread releaser = new Thread(() -> {
+            sleep(200);
+            release.countDown();
+        });
+        releaser.start();
+        AdminDashboardResponse response = service.getDashboard(2026, 3);
+        releaser.join();
+
+        assertFalse(response.isComplete());
+        assertEquals(Map.of("absentToday", "Too many dashboard sections running"), response.getErrors());
+        assertEquals(Map.of("totalRecords", 1L), response.getSummary());
+    }
+
+    @Test
+    void slotsAreFreedWhenSectionsEnd() {
+        properties.getDashboard().setMaxConcurrentSections(3);
+        AdminDashboardServiceImpl service = newService();
+
+        when(adminRequestCoalescer.getAttendanceSummary(2026, 3)).thenReturn(Map.of());
+        when(adminAttendanceService.getCurrentlyCheckedInEmployees()).thenThrow(new IllegalStateException("down"));
+        when(adminAttendanceService.getAbsentEmployeesToday()).thenReturn(List.of());
+
+        service.getDashboard(2026, 3);
+        AdminDashboardResponse response = service.getDashboard(2026, 3);
+
+        assertEquals(Map.of("checkedInNow", "Failed"), response.getErrors());
+        assertTrue(response.getAbsentToday().isEmpty());
+    }
+
+    private AdminDashboardServiceImpl newService() {
+        return new AdminDashboardServiceImpl(adminAttendanceService, adminRequestCoalescer, executor,
+            mock(PlatformTransactionManager.class), properties);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
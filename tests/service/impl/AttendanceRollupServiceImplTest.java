@@ -0,0 +1,152 @@
+package com.company.admin.service.impl;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.event.AttendanceChange;
+import com.company.admin.event.AttendanceChangedEvent;
+import com.company.admin.model.MonthlyRollup;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.repository.AttendanceRollupRepository;
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceRollupServiceImplTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+
+    private AttendanceRollupRepository rollupRepository;
+    private AttendanceRollupServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(AttendanceRollupRepository.class);
+        service = new AttendanceRollupServiceImpl(rollupRepository, mock(AdminAttendanceRepository.class),
+            mock(AttendanceArchive.class), mock(PlatformTransactionManager.class));
+        when(rollupRepository.findMonth(any())).thenAnswer(invocation ->
+            Optional.of(new MonthlyRollup(invocation.getArgument(0), 0, Map.of())));
+    }
+
+    @Test
+    void deltasAreNettedAndAppliedToLockedStripes() {
+        when(rollupRepository.lockStripe(eq(MARCH), anyInt())).thenReturn(true);
+
+        service.onAttendanceChanged(new AttendanceChangedEvent(List.of(
+            inserted(1L, MARCH.atDay(2), AttendanceStatus.PRESENT, 8.0),
+            updated(1L, MARCH.atDay(2), AttendanceStatus.PRESENT, 8.0, AttendanceStatus.LEAVE, 0.0))));
+
+        verify(rollupRepository).addStatusTotals(MARCH, 1, AttendanceStatus.LEAVE, 1, 0.0);
+        verify(rollupRepository, never())
+            .addStatusTotals(eq(MARCH), anyInt(), eq(AttendanceStatus.PRESENT), anyLong(), anyDouble());
+        verify(rollupRepository).addEmployeeRecords(MARCH, 1L, 1);
+        verify(rollupRepository, never()).lockMonth(any());
+    }
+
+    @Test
+    void monthsWithoutStateRowAreSkipped() {
+        when(rollupRepository.lockStripe(eq(MARCH), anyInt())).thenReturn(false);
+
+        service.onAttendanceChanged(new AttendanceChangedEvent(List.of(
+            inserted(1L, MARCH.atDay(2), AttendanceStatus.PRESENT, 8.0))));
+
+        verify(rollupRepository, never()).addStatusTotals(any(), anyInt(), any(), anyLong(), anyDouble());
+        verify(rollupRepository, never()).addEmployeeRecords(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void monthsAndStripesAreLockedInOrder() {
+        when(rollupRepository.lockStripe(any(), anyInt())).thenReturn(true);
+
+        service.onAttendanceChanged(new AttendanceChangedEvent(List.of(
+            inserted(1L, APRIL.atDay(1), AttendanceStatus.PRESENT, 8.0),
+            inserted(5L, MARCH.atDay(30), AttendanceStatus.PRESENT, 8.0),
+            inserted(2L, MARCH.atDay(31), AttendanceStatus.PRESENT, 8.0))));
+
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).lockStripe(MARCH, 2);
+        order.verify(rollupRepository).lockStripe(MARCH, 5);
+        order.verify(rollupRepository).lockStripe(APRIL, 1);
+    }
+
+    @Test
+    void rollupFailureDoesNotFailTheWriteAndRebuildsTheMonth() {
+        when(rollupRepository.lockStripe(eq(MARCH), anyInt())).thenReturn(true);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(rollupRepository).addStatusTotals(eq(MARCH), anyInt(), any(), anyLong(), anyDouble());
+
+        assertDoesNotThrow(() -> service.onAttendanceChanged(new AttendanceChangedEvent(List.of(
+            inserted(1L, MARCH.atDay(2), AttendanceStatus.PRESENT, 8.0)))));
+
+        verify(rollupRepository).rebuild(MARCH);
+    }
+
+    @Test
+    void failedRepairDropsTheMonth() {
+        when(rollupRepository.lockStripe(eq(MARCH), anyInt())).thenReturn(true);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(rollupRepository).addStatusTotals(eq(MARCH), anyInt(), any(), anyLong(), anyDouble());
+        doThrow(new IllegalStateException("rebuild failed")).when(rollupRepository).rebuild(MARCH);
+
+        assertDoesNotThrow(() -> service.onAttendanceChanged(new AttendanceChangedEvent(List.of(
+            inserted(1L, MARCH.atDay(2), AttendanceStatus.PRESENT, 8.0)))));
+
+        verify(rollupRepository).deleteMonth(MARCH);
+    }
+
+    @Test
+    void firstBuildCreatesStateRowBeforeRebuilding() {
+        when(rollupRepository.lockMonth(MARCH)).thenReturn(false);
+
+        service.rebuild(MARCH);
+
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).createMonth(MARCH);
+        order.verify(rollupRepository).rebuild(MARCH);
+    }
+
+    private static AttendanceChange inserted(Long userId, LocalDate date, AttendanceStatus status, Double hours) {
+        return AttendanceChange.builder()
+            .type(AttendanceChange.Type.INSERTED)
+            .userId(userId)
+            .date(date)
+            .status(status)
+            .hours(hours)
+            .build();
+    }
+
+    private static AttendanceChange updated(Long userId, LocalDate date, AttendanceStatus previousStatus,
+                                            Double previousHours, AttendanceStatus status, Double hours) {
+        return AttendanceChange.builder()
+            .type(AttendanceChange.Type.UPDATED)
+            .userId(userId)
+            .previousDate(date)
+            .previousStatus(previousStatus)
+            .previousHours(previousHours)
+            .date(date)
+            .status(status)
+            .hours(hours)
+            .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.admin.writebehind;
+
+import com.company.admin.archive.AttendanceArchive;
+import com.company.admin.cache.AttendanceVersions;
+import com.company.admin.config.AdminAttendanceProperties;
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.admin.dto.response.BulkManualMarkResponse;
+import com.company.admin.dto.response.BulkManualMarkResponse.RowResult;
+import com.company.admin.dto.response.BulkManualMarkResponse.RowStatus;
+import com.company.admin.metrics.AdminMetrics;
+import com.company.admin.repository.AdminAttendanceRepository;
+import com.company.admin.service.BulkManualMarkService;
+import com.company.attendance.mapper.AttendanceMapper;
+import com.company.attendance.model.Attendance;
+import com.company.attendance.model.AttendanceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceWriteBufferTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 9);
+
+    @TempDir
+    Path logDir;
+
+    private BulkManualMarkService bulkManualMarkService;
+    private AdminAttendanceRepository adminAttendanceRepository;
+    private AdminAttendanceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        bulkManualMarkService = mock(BulkManualMarkService.class);
+        adminAttendanceRepository = mock(AdminAttendanceRepository.class);
+        properties = new AdminAttendanceProperties();
+        properties.getWriteBehind().setEnabled(true);
+        properties.getWriteBehind().setLogDir(logDir);
+        properties.getWriteBehind().setFlushInterval(Duration.ofHours(1));
+        when(adminAttendanceRepository.findAllByUserIdsAndDates(anyCollection(), anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    void marksWrittenByAPartlyFailedFlushAreNotReplayed() throws Exception {
+        // Employee 1 is written, employee 2 keeps failing
+        when(bulkManualMarkService.apply(any())).thenAnswer(invocation -> {
+            List<ManualAttendanceRequest> requests = invocation.getArgument(0);
+            List<RowResult> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(RowResult.builder()
+                    .row(i + 1)
+                    .status(requests.get(i).getUserId() == 1L ? RowStatus.CREATED : RowStatus.FAILED)
+                    .build());
+            }
+            return BulkManualMarkResponse.builder().results(results).build();
+        });
+
+        AttendanceWriteBuffer buffer = newBuffer();
+        buffer.start();
+        buffer.manualMark(mark(1L));
+        buffer.manualMark(mark(2L));
+        buffer.flush(true);
+        buffer.stop();
+
+        AttendanceWriteBuffer restarted = newBuffer();
+        restarted.start();
+        assertTrue(restarted.getPending(1L, DAY).isEmpty());
+        assertTrue(restarted.getPending(2L, DAY).isPresent());
+        restarted.stop();
+    }
+
+    @Test
+    void markIsDiscardedWhenItsRecordWasWrittenSinceItWasAccepted() throws Exception {
+        AttendanceWriteBuffer buffer = newBuffer();
+        buffer.start();
+        buffer.manualMark(mark(1L));
+
+        // Another node checks the employee in before the flush
+        Attendance checkedIn = Attendance.builder()
+            .userId(1L)
+            .date(DAY)
+            .attendanceStatus(AttendanceStatus.PRESENT)
+            .checkInTime(LocalTime.of(9, 0))
+            .build();
+        when(adminAttendanceRepository.findAllByUserIdsAndDates(anyCollection(), anyCollection()))
+            .thenReturn(List.of(checkedIn));
+        buffer.flush(true);
+
+        verify(bulkManualMarkService, never()).apply(any());
+        assertTrue(buffer.getPending(1L, DAY).isEmpty());
+        assertEquals(1L, buffer.getStatistics().get("discarded"));
+        buffer.stop();
+
+        AttendanceWriteBuffer restarted = newBuffer();
+        restarted.start();
+        assertEquals(0, restarted.getSize());
+        restarted.stop();
+    }
+
+    private AttendanceWriteBuffer newBuffer() {
+        return new AttendanceWriteBuffer(bulkManualMarkService, adminAttendanceRepository, mock(AttendanceArchive.class),
+            mock(AttendanceVersions.class), mock(AttendanceMapper.class), new AdminMetrics(new SimpleMeterRegistry()),
+            properties);
+    }
+
+    private static Map<String, Object> mark(Long userId) {
+        return Map.of(
+            "userId", userId,
+            "date", DAY.toString(),
+            "status", AttendanceStatus.PRESENT.name(),
+            "checkInTime", "09:30");
+    }
+}
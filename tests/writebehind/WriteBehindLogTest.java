@@ -0,0 +1,136 @@
+package com.company.admin.writebehind;
+
+import com.company.admin.dto.request.ManualAttendanceRequest;
+import com.company.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindLogTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 9);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysMarksAndDiscardsInOrder() throws IOException {
+        ManualAttendanceRequest first = mark(1L, LocalTime.of(9, 0), null);
+        ManualAttendanceRequest second = mark(2L, null, LocalTime.of(18, 30));
+
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            writeLog.open(new Recorder(), -1);
+            writeLog.append(first, 0);
+            writeLog.rollOver();
+            writeLog.force(writeLog.append(second, 42));
+            writeLog.force(writeLog.appendDiscard(1L, DAY));
+        }
+
+        Recorder replayed = new Recorder();
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            assertEquals(2, writeLog.open(replayed, -1));
+        }
+        assertEquals(List.of(first, second), replayed.marks);
+        assertEquals(List.of(0L, 42L), replayed.bases);
+        assertEquals(List.of("1@" + DAY), replayed.discards);
+    }
+
+    @Test
+    void tornRecordEndsReplayOfItsSegment() throws IOException {
+        ManualAttendanceRequest first = mark(1L, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            writeLog.open(new Recorder(), -1);
+            writeLog.append(first, 0);
+            writeLog.force(writeLog.append(mark(2L, LocalTime.of(8, 45), null), 0));
+        }
+
+        // A crash in the middle of the second record
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        Recorder replayed = new Recorder();
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            assertEquals(1, writeLog.open(replayed, -1));
+
+            // New marks go to a fresh segment after the torn one
+            writeLog.force(writeLog.append(mark(3L, null, null), 0));
+        }
+        assertEquals(List.of(first), replayed.marks);
+        assertEquals(2, segments().size());
+    }
+
+    @Test
+    void deletedSegmentsAreNotReplayedButRejectedMarksAreKept() throws IOException {
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            writeLog.open(new Recorder(), -1);
+            writeLog.force(writeLog.append(mark(1L, null, null), 0));
+            writeLog.deleteThrough(writeLog.rollOver());
+            writeLog.reject(mark(2L, null, null));
+
+            // Nothing appended since the last rollover: no empty segment is sealed
+            long sealed = writeLog.rollOver();
+            writeLog.deleteThrough(sealed);
+        }
+
+        Recorder replayed = new Recorder();
+        try (WriteBehindLog writeLog = new WriteBehindLog(directory)) {
+            assertEquals(0, writeLog.open(replayed, -1));
+        }
+        assertTrue(replayed.marks.isEmpty());
+        assertTrue(Files.size(directory.resolve("rejected.log")) > 0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().startsWith("segment-"))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static ManualAttendanceRequest mark(Long userId, LocalTime checkIn, LocalTime checkOut) {
+        return ManualAttendanceRequest.builder()
+            .userId(userId)
+            .date(DAY)
+            .status(AttendanceStatus.PRESENT)
+            .checkInTime(checkIn)
+            .checkOutTime(checkOut)
+            .remarks(userId == 1L ? ManualAttendanceRequest.DEFAULT_REMARKS : null)
+            .build();
+    }
+
+    private static final class Recorder implements WriteBehindLog.Replay {
+
+        final List<ManualAttendanceRequest> marks = new ArrayList<>();
+        final List<Long> bases = new ArrayList<>();
+        final List<String> discards = new ArrayList<>();
+
+        @Override
+        public void mark(ManualAttendanceRequest mark, long base) {
+            marks.add(mark);
+            bases.add(base);
+        }
+
+        @Override
+        public void discard(Long userId, LocalDate date) {
+            discards.add(userId + "@" + date);
+        }
+    }
+}